@@ -22,16 +22,38 @@
 
 package com.smartnsoft.droid4me;
 
+import java.io.Closeable;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Inherited;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import android.app.Activity;
 import android.app.Fragment;
 import android.os.Bundle;
 
+import com.smartnsoft.droid4me.app.ActivityController;
+import com.smartnsoft.droid4me.concurrent.CancellationToken;
+import com.smartnsoft.droid4me.concurrent.SmartExecutors;
+import com.smartnsoft.droid4me.log.Logger;
+import com.smartnsoft.droid4me.log.LoggerFactory;
+
 /**
  * Identifies a typical life cycle work-flow for an {@link Activity activity} or a {@link Fragment fragment} of the framework. When referring to the
  * {@link Activity} "life cycle", we do not consider the entity instance re-creation due to <a
@@ -84,6 +106,36 @@ public interface LifeCycle
 
   }
 
+  /**
+   * An annotation which indicates how the bursts of {@link #refreshBusinessObjectsAndDisplay(boolean, Runnable, boolean) refresh requests}, like
+   * the ones triggered by successive reload broadcast intents, should be merged into a single refresh. The merged refresh retrieves the business
+   * objects if any of the requests asked for it, and runs all the requests {@code onOver} callbacks.
+   * <p>
+   * <p>
+   * The first retrieval of the business objects is never postponed.
+   * </p>
+   *
+   * @since 2026.10.18
+   */
+  @Retention(RetentionPolicy.RUNTIME)
+  @Target(ElementType.TYPE)
+  @Inherited
+  @interface BusinessObjectsRefreshPolicy
+  {
+
+    /**
+     * @return the duration without any new request after which the refresh is run: every new request restarts that duration ; {@code 0} means no
+     * debouncing
+     */
+    long debounceInMilliseconds() default 0;
+
+    /**
+     * @return the minimal duration between the start of two refreshes ; {@code 0} means no throttling
+     */
+    long throttleInMilliseconds() default 0;
+
+  }
+
   /**
    * This exception should be triggered on the framework methods which allow to throw it, when a business object is not accessible.
    */
@@ -141,6 +193,356 @@ public interface LifeCycle
 
   }
 
+  /**
+   * Indicates that some of the optional tasks of a {@link LifeCycle.ParallelRetrieval} have failed, while all its mandatory tasks have succeeded.
+   *
+   * @see ActivityController.PartialFailureExceptionHandler
+   * @since 2026.10.18
+   */
+  class BusinessObjectsPartiallyUnavailableException
+      extends BusinessObjectUnavailableException
+  {
+
+    private static final long serialVersionUID = 4209675310842516727L;
+
+    /**
+     * The failures of the optional tasks, indexed by the task names, in the order the tasks have been forked.
+     */
+    public final Map<String, Throwable> failures;
+
+    public BusinessObjectsPartiallyUnavailableException(Map<String, Throwable> failures)
+    {
+      super("The retrieval task(s) " + failures.keySet() + " failed", failures.isEmpty() == true ? null : failures.values().iterator().next());
+      this.failures = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+    }
+
+  }
+
+  /**
+   * Runs concurrently some independent business objects retrieval tasks, typically several web services calls, so that the
+   * {@link LifeCycle#onRetrieveBusinessObjects()} method lasts as long as the slowest of them, instead of the sum of their durations.
+   * <p>
+   * <p>
+   * Create an instance from the {@link LifeCycle#onRetrieveBusinessObjects()} method, {@link #fork(String, long, boolean, LifeCycle.ParallelRetrieval.Task)
+   * fork} the tasks, and {@link #join()} them before returning, so that all the business objects are available when the
+   * {@link LifeCycle#onFulfillDisplayObjects()} method is invoked.
+   * </p>
+   * <p>
+   * <p>
+   * The tasks run on the {@link #EXECUTOR}, each one with its own timeout and its own {@link CancellationToken}, which is cancelled when the timeout
+   * expires or when the token of the thread which created the instance is cancelled, i.e. when the entity is destroyed. When a mandatory task fails,
+   * the other tasks are cancelled and the {@link #join()} method throws, as if the {@link LifeCycle#onRetrieveBusinessObjects()} method had failed. When only
+   * optional tasks fail, their failures are {@link ActivityController#handleException(boolean, android.content.Context, Object, Throwable) reported}
+   * through a {@link LifeCycle.BusinessObjectsPartiallyUnavailableException}, and the entity goes on with the business objects which could be
+   * retrieved. When the entity is destroyed, nothing is reported and the {@link #join()} method throws a {@link CancellationException}.
+   * </p>
+   * <p>
+   * <p>
+   * An instance is not supposed to be shared between threads.
+   * </p>
+   *
+   * @since 2026.10.18
+   */
+  final class ParallelRetrieval
+  {
+
+    /**
+     * A business objects retrieval task, which stores the business objects it retrieves in the entity.
+     */
+    public interface Task
+    {
+
+      /**
+       * Is invoked from a background thread, which is interrupted if the task is cancelled.
+       *
+       * @throws BusinessObjectUnavailableException if the business objects could not be retrieved
+       */
+      void run()
+          throws BusinessObjectUnavailableException;
+
+    }
+
+    private static final class ForkedTask
+    {
+
+      private final String name;
+
+      private final boolean mandatory;
+
+      private final long timeoutInNanoseconds;
+
+      private final long startInNanoseconds = System.nanoTime();
+
+      private final CancellationToken cancellationToken = new CancellationToken();
+
+      private final FutureTask<Void> future;
+
+      private final Closeable canceller = new Closeable()
+      {
+        @Override
+        public void close()
+        {
+          cancel();
+        }
+      };
+
+      /**
+       * Set when the task has been cancelled because its timeout expired.
+       */
+      private volatile boolean timedOut;
+
+      private ForkedTask(String name, boolean mandatory, long timeoutInMilliseconds, final LifeCycle.ParallelRetrieval.Task task,
+          final BlockingQueue<LifeCycle.ParallelRetrieval.ForkedTask> completedTasks)
+      {
+        this.name = name;
+        this.mandatory = mandatory;
+        this.timeoutInNanoseconds = TimeUnit.MILLISECONDS.toNanos(timeoutInMilliseconds);
+        future = new SmartExecutors.TimedFutureTask<Void>(new Callable<Void>()
+        {
+          @Override
+          public Void call()
+              throws Exception
+          {
+            final CancellationToken previousToken = CancellationToken.attach(cancellationToken);
+            try
+            {
+              task.run();
+              return null;
+            }
+            finally
+            {
+              CancellationToken.attach(previousToken);
+            }
+          }
+        })
+        {
+          @Override
+          protected void done()
+          {
+            // The task is handed over to the joining thread as soon as it is over, whatever the outcome
+            completedTasks.add(LifeCycle.ParallelRetrieval.ForkedTask.this);
+          }
+        };
+      }
+
+      /**
+       * @return how long the task may still run before its timeout expires, {@link Long#MAX_VALUE} when the task has no timeout
+       */
+      private long computeRemainingNanoseconds()
+      {
+        return timeoutInNanoseconds <= 0 ? Long.MAX_VALUE : timeoutInNanoseconds - (System.nanoTime() - startInNanoseconds);
+      }
+
+      /**
+       * Must only be invoked once the task is over.
+       *
+       * @return the reason why the task failed ; {@code null} if it succeeded
+       */
+      private Throwable getFailure()
+      {
+        try
+        {
+          future.get();
+          return null;
+        }
+        catch (ExecutionException exception)
+        {
+          return exception.getCause();
+        }
+        catch (CancellationException exception)
+        {
+          if (timedOut == true)
+          {
+            return new TimeoutException("The retrieval task '" + name + "' did not complete within " + TimeUnit.NANOSECONDS.toMillis(timeoutInNanoseconds) + " ms");
+          }
+          return exception;
+        }
+        catch (InterruptedException exception)
+        {
+          // Cannot happen, since the task is over
+          Thread.currentThread().interrupt();
+          return exception;
+        }
+      }
+
+      private void timeOut()
+      {
+        timedOut = true;
+        cancel();
+      }
+
+      private void cancel()
+      {
+        cancellationToken.cancel();
+        future.cancel(true);
+      }
+
+    }
+
+    /**
+     * The executor which runs the tasks of all the instances.
+     */
+    public static final SmartExecutors.InstrumentedThreadPoolExecutor EXECUTOR = SmartExecutors.newExecutor("retrieval", SmartExecutors.Lane.Io, Integer.MAX_VALUE, null, null);
+
+    private static final Logger log = LoggerFactory.getInstance(LifeCycle.ParallelRetrieval.class);
+
+    private final Activity activity;
+
+    private final Object component;
+
+    private final CancellationToken cancellationToken = CancellationToken.getCurrent();
+
+    private final List<LifeCycle.ParallelRetrieval.ForkedTask> tasks = new ArrayList<>();
+
+    /**
+     * The forked tasks, in the order they are over.
+     */
+    private final BlockingQueue<LifeCycle.ParallelRetrieval.ForkedTask> completedTasks = new LinkedBlockingQueue<>();
+
+    private boolean joined;
+
+    /**
+     * @param activity  the activity which retrieves the business objects, used when reporting the optional tasks failures ; may be {@code null}
+     * @param component the component which retrieves the business objects, when it is not the activity ; may be {@code null}
+     */
+    public ParallelRetrieval(Activity activity, Object component)
+    {
+      this.activity = activity;
+      this.component = component;
+    }
+
+    /**
+     * Starts running a task in background.
+     *
+     * @param name                  the name of the task, used when reporting its failure
+     * @param timeoutInMilliseconds the duration, counted from now, after which the task is cancelled and considered as failed ; when negative or
+     *                              equal to {@code 0}, the task has no timeout
+     * @param mandatory             when {@code true}, the failure of the task makes the whole retrieval fail
+     * @param task                  the task to run
+     * @return the current instance, so that calls may be chained
+     * @throws IllegalStateException if the tasks have already been {@link #join() joined}
+     */
+    public LifeCycle.ParallelRetrieval fork(String name, long timeoutInMilliseconds, boolean mandatory, LifeCycle.ParallelRetrieval.Task task)
+    {
+      if (joined == true)
+      {
+        throw new IllegalStateException("Cannot fork the retrieval task '" + name + "', because the tasks have already been joined");
+      }
+      final LifeCycle.ParallelRetrieval.ForkedTask forkedTask = new LifeCycle.ParallelRetrieval.ForkedTask(name, mandatory, timeoutInMilliseconds, task, completedTasks);
+      tasks.add(forkedTask);
+      cancellationToken.register(forkedTask.canceller);
+      try
+      {
+        LifeCycle.ParallelRetrieval.EXECUTOR.execute(forkedTask.future);
+      }
+      catch (RejectedExecutionException exception)
+      {
+        if (log.isWarnEnabled())
+        {
+          log.warn("The executor is saturated: running the retrieval task '" + name + "' in the calling thread");
+        }
+        forkedTask.future.run();
+      }
+      return this;
+    }
+
+    /**
+     * Waits for all the forked tasks to complete, fail or time out. The tasks are handled in the order they are over, so that the failure of a
+     * mandatory task is detected as soon as it happens, whatever the order the tasks have been forked.
+     *
+     * @throws BusinessObjectUnavailableException if a mandatory task failed, in which case the other tasks are cancelled, or if the calling thread has
+     *                                            been interrupted
+     * @throws CancellationException              if the token of the thread which created the instance has been cancelled, i.e. if the entity has
+     *                                            been destroyed, in which case the tasks failures are not reported, since they are very likely to
+     *                                            come from that cancellation
+     */
+    public void join()
+        throws BusinessObjectUnavailableException, CancellationException
+    {
+      joined = true;
+      final Map<LifeCycle.ParallelRetrieval.ForkedTask, Throwable> tasksFailures = new HashMap<>();
+      try
+      {
+        int pendingCount = tasks.size();
+        while (pendingCount > 0)
+        {
+          long waitInNanoseconds = Long.MAX_VALUE;
+          for (LifeCycle.ParallelRetrieval.ForkedTask task : tasks)
+          {
+            if (task.future.isDone() == false)
+            {
+              waitInNanoseconds = Math.min(waitInNanoseconds, task.computeRemainingNanoseconds());
+            }
+          }
+          final LifeCycle.ParallelRetrieval.ForkedTask task = waitInNanoseconds == Long.MAX_VALUE ? completedTasks.take() : completedTasks.poll(Math.max(0, waitInNanoseconds), TimeUnit.NANOSECONDS);
+          if (task == null)
+          {
+            cancellationToken.throwIfCancelled();
+            // The nearest timeout has expired: the tasks which are late are cancelled, and will be handed over as soon as they are over
+            for (LifeCycle.ParallelRetrieval.ForkedTask lateTask : tasks)
+            {
+              if (lateTask.future.isDone() == false && lateTask.computeRemainingNanoseconds() <= 0)
+              {
+                lateTask.timeOut();
+              }
+            }
+            continue;
+          }
+          pendingCount--;
+          final Throwable failure = task.getFailure();
+          if (failure == null)
+          {
+            continue;
+          }
+          // A task cancelled along with the entity has not actually failed
+          cancellationToken.throwIfCancelled();
+          if (task.mandatory == true)
+          {
+            if (failure instanceof BusinessObjectUnavailableException)
+            {
+              throw (BusinessObjectUnavailableException) failure;
+            }
+            throw new BusinessObjectUnavailableException("The mandatory retrieval task '" + task.name + "' failed", failure);
+          }
+          tasksFailures.put(task, failure);
+        }
+      }
+      catch (InterruptedException exception)
+      {
+        Thread.currentThread().interrupt();
+        throw new BusinessObjectUnavailableException("Interrupted while joining the retrieval tasks", exception);
+      }
+      finally
+      {
+        for (LifeCycle.ParallelRetrieval.ForkedTask task : tasks)
+        {
+          cancellationToken.unregister(task.canceller);
+          if (task.future.isDone() == false)
+          {
+            task.cancel();
+          }
+        }
+      }
+      // The entity may have been destroyed while the last tasks were completing
+      cancellationToken.throwIfCancelled();
+      // The failures are reported in the order the tasks have been forked
+      final Map<String, Throwable> failures = new LinkedHashMap<>();
+      for (LifeCycle.ParallelRetrieval.ForkedTask task : tasks)
+      {
+        final Throwable failure = tasksFailures.get(task);
+        if (failure != null)
+        {
+          failures.put(task.name, failure);
+        }
+      }
+      if (failures.isEmpty() == false)
+      {
+        ActivityController.getInstance().handleException(true, activity, component, new LifeCycle.BusinessObjectsPartiallyUnavailableException(failures));
+      }
+    }
+
+  }
+
   /**
    * This is the place where the derived class should {@code Activity.setContentView() set its layout}, extract all {@link android.view.View widgets}
    * which require a further customization and store them as instance attributes. This method is invoked only once during the entity life cycle.
@@ -199,6 +601,11 @@ public interface LifeCycle
    * <p>
    * Never invoke this method, only the framework should, because this is a callback!
    * </p>
+   * <p>
+   * <p>
+   * When the business objects come from several independent sources, use a {@link LifeCycle.ParallelRetrieval} in order to retrieve them
+   * concurrently.
+   * </p>
    *
    * @throws BusinessObjectUnavailableException if the extraction of the business objects was a failure and that this issue cannot be recovered, this enables to notify the framework
    *                                            that the current entity cannot continue its execution
@@ -370,6 +370,34 @@ public class ActivityController
     
   }
 
+  /**
+   * An {@link ActivityController.ExceptionHandler} which is also notified when some of the optional tasks of a {@link LifeCycle.ParallelRetrieval}
+   * fail. When the registered exception handler does not implement this interface, those failures are only logged.
+   *
+   * @since 2026.10.18
+   */
+  public interface PartialFailureExceptionHandler
+      extends ActivityController.ExceptionHandler
+  {
+
+    /**
+     * Is invoked whenever some optional tasks of a {@link LifeCycle.ParallelRetrieval} failed, while its mandatory tasks succeeded: the entity goes
+     * on with the business objects which could be retrieved, whatever this method returns.
+     * <p>
+     * <p>
+     * Warning, it is not ensured that this method will be invoked from the UI thread!
+     * </p>
+     *
+     * @param activity  the activity that issued the exception, and which is ensured not to be {@link Activity#finish() finishing} ; cannot be {@code null}
+     * @param component the component that issued the exception ; may be {@code null}
+     * @param exception the exception which holds the failures of the optional tasks
+     * @return {@code true} if the handler has actually handled the exception
+     */
+    boolean onBusinessObjectsPartiallyUnavailableException(Activity activity, Object component,
+        LifeCycle.BusinessObjectsPartiallyUnavailableException exception);
+
+  }
+
   /**
    * Responsible for analyzing issues resulting from {@link Throwable} entities.
    *
@@ -757,7 +785,21 @@ public class ActivityController
     }
     try
     {
-      if (activity != null && throwable instanceof BusinessObjectUnavailableException)
+      if (throwable instanceof LifeCycle.BusinessObjectsPartiallyUnavailableException)
+      {
+        final LifeCycle.BusinessObjectsPartiallyUnavailableException exception = (LifeCycle.BusinessObjectsPartiallyUnavailableException) throwable;
+        if (log.isWarnEnabled())
+        {
+          log.warn("Some business objects could not be retrieved during the processing of " + (context == null ? "a null Context" : "the Context from class with name '" + context.getClass().getName() + "'"), exception);
+        }
+        // We do nothing if the activity is dying
+        if (activity == null || activity.isFinishing() == true || exceptionHandler instanceof ActivityController.PartialFailureExceptionHandler == false)
+        {
+          return false;
+        }
+        return ((ActivityController.PartialFailureExceptionHandler) exceptionHandler).onBusinessObjectsPartiallyUnavailableException(activity, component, exception);
+      }
+      else if (activity != null && throwable instanceof BusinessObjectUnavailableException)
       {
         // Should only occur with a non-null activity
         final BusinessObjectUnavailableException exception = (BusinessObjectUnavailableException) throwable;
@@ -24,12 +24,12 @@ package com.smartnsoft.droid4me.app;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Future;
-import java.util.concurrent.SynchronousQueue;
-import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import android.app.Activity;
 import android.content.BroadcastReceiver;
@@ -39,10 +39,13 @@ import android.content.IntentFilter;
 import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.os.Handler;
+import android.os.SystemClock;
 import android.preference.PreferenceManager;
 
 import com.smartnsoft.droid4me.LifeCycle;
 import com.smartnsoft.droid4me.app.AppPublics.UseNativeBroadcast;
+import com.smartnsoft.droid4me.concurrent.CancellationToken;
+import com.smartnsoft.droid4me.concurrent.SmartExecutors;
 import com.smartnsoft.droid4me.log.Logger;
 import com.smartnsoft.droid4me.log.LoggerFactory;
 import com.smartnsoft.droid4me.support.v4.content.LocalBroadcastManager;
@@ -79,35 +82,259 @@ public final class AppInternals
   }
 
   /**
-   * There for gathering all instance variables, and in order to make copy and paste smarter.
+   * A request for refreshing the business objects and the display of an entity, which may result from the merging of several requests.
    *
-   * @param <AggregateClass> the aggregate class accessible though the {@link #setAggregate(Object)} and {@link #getAggregate()} methods
-   * @param <ComponentClass> the instance the container has been created for
-   * @since 2009.02.16
+   * @see LifeCycle#refreshBusinessObjectsAndDisplay(boolean, Runnable, boolean)
+   * @since 2026.10.18
    */
-  static final class StateContainer<AggregateClass, ComponentClass>
+  public static final class RefreshRequest
   {
 
-    private final static class RefreshBusinessObjectsAndDisplay
+    /**
+     * Merges a new refresh request into a previous one, so that a single refresh satisfies both: the business objects are retrieved if any of the
+     * requests asks for it, and both {@code onOver} callbacks are run, in the order of the requests.
+     *
+     * @param previous the previous request ; may be {@code null}
+     * @return the request which replaces the previous one
+     */
+    public static AppInternals.RefreshRequest merge(AppInternals.RefreshRequest previous, boolean retrieveBusinessObjects, final Runnable onOver,
+        boolean immediately)
+    {
+      if (previous == null)
+      {
+        return new AppInternals.RefreshRequest(retrieveBusinessObjects, onOver, immediately);
+      }
+      final Runnable previousOnOver = previous.onOver;
+      final Runnable mergedOnOver;
+      if (previousOnOver == null || onOver == null)
+      {
+        mergedOnOver = previousOnOver == null ? onOver : previousOnOver;
+      }
+      else
+      {
+        mergedOnOver = new Runnable()
+        {
+          public void run()
+          {
+            try
+            {
+              previousOnOver.run();
+            }
+            finally
+            {
+              onOver.run();
+            }
+          }
+        };
+      }
+      return new AppInternals.RefreshRequest(previous.retrieveBusinessObjects == true || retrieveBusinessObjects == true, mergedOnOver, previous.immediately == true || immediately == true);
+    }
+
+    public final boolean retrieveBusinessObjects;
+
+    /**
+     * The callback to run once the refresh is over ; may be {@code null}.
+     */
+    public final Runnable onOver;
+
+    public final boolean immediately;
+
+    private RefreshRequest(boolean retrieveBusinessObjects, Runnable onOver, boolean immediately)
+    {
+      this.retrieveBusinessObjects = retrieveBusinessObjects;
+      this.onOver = onOver;
+      this.immediately = immediately;
+    }
+
+    private void refreshBusinessObjectsAndDisplay(LifeCycle lifeCycle)
+    {
+      lifeCycle.refreshBusinessObjectsAndDisplay(retrieveBusinessObjects, onOver, immediately);
+    }
+
+  }
+
+  /**
+   * Postpones and merges the refresh requests of an entity according to its {@link LifeCycle.BusinessObjectsRefreshPolicy}, so that a burst of
+   * requests results in a single refresh.
+   * <p>
+   * <p>
+   * A postponed request is due once no other request has been received during the debounce window, and once the throttle window following the start
+   * of the previous refresh is over. The merged request is then handed over to the {@link RefreshScheduler.Listener}, through the
+   * {@link RefreshScheduler.Timer}.
+   * </p>
+   *
+   * @since 2026.10.18
+   */
+  public static final class RefreshScheduler
+  {
+
+    /**
+     * Gives the time and runs the postponed requests when they are due, which is the job of an Android {@link Handler} in the framework.
+     */
+    public interface Timer
     {
 
-      private final boolean retrieveBusinessObjects;
+      /**
+       * @return the current time, in the same referential as the {@link SystemClock#uptimeMillis()} method
+       */
+      long uptimeMillis();
 
-      private final Runnable onOver;
+      void postAtTime(Runnable runnable, long uptimeMillis);
 
-      private RefreshBusinessObjectsAndDisplay(boolean retrieveBusinessObjects, Runnable onOver)
+      void removeCallbacks(Runnable runnable);
+
+    }
+
+    /**
+     * Is notified when a postponed request is due.
+     */
+    public interface Listener
+    {
+
+      void onRefreshDue(AppInternals.RefreshRequest request);
+
+    }
+
+    private static final Logger log = LoggerFactory.getInstance(AppInternals.RefreshScheduler.class);
+
+    /**
+     * The duration during which a refresh request waits for other requests.
+     */
+    public final long debounceInMilliseconds;
+
+    /**
+     * The minimal duration between the start of two refreshes.
+     */
+    public final long throttleInMilliseconds;
+
+    private final AppInternals.RefreshScheduler.Timer timer;
+
+    private final AppInternals.RefreshScheduler.Listener listener;
+
+    /**
+     * The {@link RefreshScheduler.Timer#uptimeMillis() time} when the last refresh started.
+     */
+    private long lastRefreshStartTimestamp;
+
+    /**
+     * The refresh requests which have been merged while waiting for the debounce and throttle windows to be over.
+     */
+    private AppInternals.RefreshRequest scheduledRequest;
+
+    /**
+     * Set while the scheduled request is being handed over to the {@link #listener}, so that it is not postponed again.
+     */
+    private boolean runningScheduledRequest;
+
+    private final Runnable dueRunnable = new Runnable()
+    {
+      public void run()
       {
-        this.retrieveBusinessObjects = retrieveBusinessObjects;
-        this.onOver = onOver;
+        runScheduledRequest();
       }
+    };
+
+    public RefreshScheduler(long debounceInMilliseconds, long throttleInMilliseconds, AppInternals.RefreshScheduler.Timer timer,
+        AppInternals.RefreshScheduler.Listener listener)
+    {
+      this.debounceInMilliseconds = debounceInMilliseconds;
+      this.throttleInMilliseconds = throttleInMilliseconds;
+      this.timer = timer;
+      this.listener = listener;
+    }
 
-      private void refreshBusinessObjectsAndDisplay(LifeCycle lifeCycleActivity)
+    /**
+     * @return {@code true} if and only if the requests may be postponed, i.e. a debounce or a throttle window has been set
+     */
+    public boolean isEnabled()
+    {
+      return debounceInMilliseconds > 0 || throttleInMilliseconds > 0;
+    }
+
+    /**
+     * Postpones the refresh request, and merges it with the other postponed requests, when the debounce or the throttle window requires it.
+     *
+     * @return {@code true} if and only if the refresh has been postponed ; when {@code false}, the refresh should be run right now
+     */
+    public synchronized boolean schedule(boolean retrieveBusinessObjects, Runnable onOver, boolean immediately)
+    {
+      if (runningScheduledRequest == true || isEnabled() == false)
+      {
+        return false;
+      }
+      final long now = timer.uptimeMillis();
+      final long dueTimestamp = Math.max(now + debounceInMilliseconds, lastRefreshStartTimestamp + throttleInMilliseconds);
+      if (dueTimestamp <= now && scheduledRequest == null)
+      {
+        return false;
+      }
+      scheduledRequest = AppInternals.RefreshRequest.merge(scheduledRequest, retrieveBusinessObjects, onOver, immediately);
+      // The debounce window restarts with every request
+      timer.removeCallbacks(dueRunnable);
+      timer.postAtTime(dueRunnable, dueTimestamp);
+      if (log.isDebugEnabled())
       {
-        lifeCycleActivity.refreshBusinessObjectsAndDisplay(retrieveBusinessObjects, onOver, true);
+        log.debug("The refresh of the business objects and display is postponed by " + (dueTimestamp - now) + " ms, in order to merge it with the next requests");
       }
+      return true;
+    }
 
+    /**
+     * Should be invoked every time a refresh starts, so that the throttle window is computed from that time.
+     */
+    public synchronized void onRefreshStarted()
+    {
+      lastRefreshStartTimestamp = timer.uptimeMillis();
     }
 
+    /**
+     * Forgets about the postponed requests.
+     */
+    public synchronized void cancel()
+    {
+      timer.removeCallbacks(dueRunnable);
+      scheduledRequest = null;
+    }
+
+    private void runScheduledRequest()
+    {
+      final AppInternals.RefreshRequest request;
+      synchronized (this)
+      {
+        request = scheduledRequest;
+        scheduledRequest = null;
+        if (request == null)
+        {
+          return;
+        }
+        runningScheduledRequest = true;
+      }
+      try
+      {
+        listener.onRefreshDue(request);
+      }
+      finally
+      {
+        synchronized (this)
+        {
+          runningScheduledRequest = false;
+        }
+      }
+    }
+
+  }
+
+  /**
+   * There for gathering all instance variables, and in order to make copy and paste smarter.
+   *
+   * @param <AggregateClass> the aggregate class accessible though the {@link #setAggregate(Object)} and {@link #getAggregate()} methods
+   * @param <ComponentClass> the instance the container has been created for
+   * @since 2009.02.16
+   */
+  static final class StateContainer<AggregateClass, ComponentClass>
+      implements SmartExecutors.CommandsOwner
+  {
+
     /**
      * Just here to mark the generated {@link BroadcastReceiver} which are supposed to use the native Android broadcast mechanism, and not the
      * {@link LocalBroadcastManager}.
@@ -143,6 +370,12 @@ public final class AppInternals
      */
     private final List<Future<?>> futures = new ArrayList<>();
 
+    /**
+     * The token attached to the threads running the commands of the entity, which is cancelled when the entity is destroyed, so that the work in
+     * progress, like network calls, is aborted.
+     */
+    private final CancellationToken cancellationToken = new CancellationToken();
+
     private boolean resumedForTheFirstTime = true;
 
     private Handler handler;
@@ -181,9 +414,19 @@ public final class AppInternals
      */
     private boolean isAlive = true;
 
-    private AppInternals.StateContainer.RefreshBusinessObjectsAndDisplay refreshBusinessObjectsAndDisplayNextTime;
+    private AppInternals.RefreshRequest refreshBusinessObjectsAndDisplayNextTime;
+
+    private AppInternals.RefreshRequest refreshBusinessObjectsAndDisplayPending;
 
-    private AppInternals.StateContainer.RefreshBusinessObjectsAndDisplay refreshBusinessObjectsAndDisplayPending;
+    /**
+     * Postpones and merges the refresh requests according to the {@link LifeCycle.BusinessObjectsRefreshPolicy}.
+     */
+    private final AppInternals.RefreshScheduler refreshScheduler;
+
+    /**
+     * The entity which should run the postponed refresh requests.
+     */
+    private LifeCycle refreshBusinessObjectsAndDisplayScheduledLifeCycle;
 
     /**
      * Should only be created by classes in the same package.
@@ -195,6 +438,33 @@ public final class AppInternals
     {
       this.activity = activity;
       this.component = component;
+      final LifeCycle.BusinessObjectsRefreshPolicy refreshPolicy = component == null ? null : component.getClass().getAnnotation(LifeCycle.BusinessObjectsRefreshPolicy.class);
+      refreshScheduler = new AppInternals.RefreshScheduler(refreshPolicy == null ? 0 : refreshPolicy.debounceInMilliseconds(), refreshPolicy == null ? 0 : refreshPolicy.throttleInMilliseconds(), new AppInternals.RefreshScheduler.Timer()
+      {
+        public long uptimeMillis()
+        {
+          return SystemClock.uptimeMillis();
+        }
+
+        public void postAtTime(Runnable runnable, long uptimeMillis)
+        {
+          handler.postAtTime(runnable, uptimeMillis);
+        }
+
+        public void removeCallbacks(Runnable runnable)
+        {
+          if (handler != null)
+          {
+            handler.removeCallbacks(runnable);
+          }
+        }
+      }, new AppInternals.RefreshScheduler.Listener()
+      {
+        public void onRefreshDue(AppInternals.RefreshRequest request)
+        {
+          runScheduledRefreshBusinessObjectsAndDisplay(request);
+        }
+      });
     }
 
     private void registerBroadcastListeners(int index, final AppPublics.BroadcastListener broadcastListener)
@@ -387,6 +657,15 @@ public final class AppInternals
       return isAlive() == true && activity.isFinishing() == false;
     }
 
+    /**
+     * The commands of the entity are dropped as soon as it is not {@link #isAliveAsWellAsHostingActivity() alive anymore}.
+     */
+    @Override
+    public boolean isAcceptingCommands()
+    {
+      return isAliveAsWellAsHostingActivity();
+    }
+
     synchronized SharedPreferences getPreferences(Context applicationContext)
     {
       if (preferences == null)
@@ -616,7 +895,7 @@ public final class AppInternals
      * <p>
      * <p>
      * The method marks the entity as {@link #isAlive no more alive}, unregisters the previously registered {@link AppPublics.BroadcastListener
-     * broadcast listeners}, and eventually interrupts all pending {@link #futures}.
+     * broadcast listeners}, {@link CancellationToken#cancel() cancels} the work in progress and eventually interrupts all pending {@link #futures}.
      * </p>
      */
     void onDestroy()
@@ -632,6 +911,15 @@ public final class AppInternals
       // We unregister all the "BroadcastListener" entities
       unregisterBroadcastListeners();
 
+      // We forget about the scheduled refresh
+      synchronized (this)
+      {
+        refreshScheduler.cancel();
+        refreshBusinessObjectsAndDisplayScheduledLifeCycle = null;
+      }
+
+      // We abort the work in progress, which closes the sockets being read
+      cancellationToken.cancel();
       // We cancel all the commands which are still running, or which have not yet been started
       for (Future<?> future : futures)
       {
@@ -679,7 +967,13 @@ public final class AppInternals
       return stopHandling == false && beingRedirected == false;
     }
 
-    synchronized boolean shouldDelayRefreshBusinessObjectsAndDisplay(boolean retrieveBusinessObjects, Runnable onOver,
+    /**
+     * Decides whether a refresh request should be run right now. When it should not, the request is merged with the previous ones which have been
+     * delayed for the same reason, so that a burst of requests only results in a single refresh.
+     *
+     * @return {@code true} if and only if the refresh should not be run now
+     */
+    synchronized boolean shouldDelayRefreshBusinessObjectsAndDisplay(LifeCycle lifeCycle, boolean retrieveBusinessObjects, Runnable onOver,
         boolean immediately)
     {
       // If the entity or the hosting Activity is finishing, we give up
@@ -690,13 +984,18 @@ public final class AppInternals
       // We test whether the Activity is active (its life-cycle state is between 'onResume()' and 'onPause()'
       if (isInteracting == false && immediately == false)
       {
-        refreshBusinessObjectsAndDisplayNextTime = new AppInternals.StateContainer.RefreshBusinessObjectsAndDisplay(retrieveBusinessObjects, onOver);
+        refreshBusinessObjectsAndDisplayNextTime = AppInternals.RefreshRequest.merge(refreshBusinessObjectsAndDisplayNextTime, retrieveBusinessObjects, onOver, false);
         if (log.isDebugEnabled())
         {
           log.debug("The refresh of the business objects and display is delayed because the Activity is not interacting");
         }
         return true;
       }
+      // We test whether the refresh should wait for other requests
+      if (scheduleRefreshBusinessObjectsAndDisplay(lifeCycle, retrieveBusinessObjects, onOver, immediately) == true)
+      {
+        return true;
+      }
       // We test whether the Activity is already being refreshed
       if (isRefreshingBusinessObjectsAndDisplay() == true)
       {
@@ -705,18 +1004,52 @@ public final class AppInternals
         {
           log.debug("The refresh of the business objects and display is stacked because it is already refreshing");
         }
-        refreshBusinessObjectsAndDisplayPending = new AppInternals.StateContainer.RefreshBusinessObjectsAndDisplay(retrieveBusinessObjects, onOver);
+        refreshBusinessObjectsAndDisplayPending = AppInternals.RefreshRequest.merge(refreshBusinessObjectsAndDisplayPending, retrieveBusinessObjects, onOver, true);
         return true;
       }
       refreshBusinessObjectsAndDisplayNextTime = null;
+      refreshScheduler.onRefreshStarted();
       return false;
     }
 
+    /**
+     * Postpones the refresh request when the {@link LifeCycle.BusinessObjectsRefreshPolicy} requires it, the first retrieval of the business objects
+     * being never postponed.
+     *
+     * @return {@code true} if and only if the refresh has been postponed
+     */
+    private boolean scheduleRefreshBusinessObjectsAndDisplay(LifeCycle lifeCycle, boolean retrieveBusinessObjects, Runnable onOver,
+        boolean immediately)
+    {
+      if (businessObjectsRetrieved == false || handler == null || refreshScheduler.schedule(retrieveBusinessObjects, onOver, immediately) == false)
+      {
+        return false;
+      }
+      refreshBusinessObjectsAndDisplayScheduledLifeCycle = lifeCycle;
+      return true;
+    }
+
+    private void runScheduledRefreshBusinessObjectsAndDisplay(AppInternals.RefreshRequest request)
+    {
+      final LifeCycle lifeCycle;
+      synchronized (this)
+      {
+        lifeCycle = refreshBusinessObjectsAndDisplayScheduledLifeCycle;
+        refreshBusinessObjectsAndDisplayScheduledLifeCycle = null;
+        if (lifeCycle == null || isAliveAsWellAsHostingActivity() == false)
+        {
+          return;
+        }
+      }
+      request.refreshBusinessObjectsAndDisplay(lifeCycle);
+    }
+
     /**
      * Is responsible for executing the given runnable in background via the {@link AppInternals#THREAD_POOL internal threads pool}.
      * <p>
      * <p>
-     * The command will be remembered, so as to be able to abort/cancel/remove it when the underlying activity/fragment is destroyed.
+     * The command will be remembered, so as to be able to abort/cancel/remove it when the underlying activity/fragment is destroyed. If the entity is
+     * not alive anymore when a thread becomes available, the command is dropped without being run.
      * </p>
      *
      * @param activity  the activity which is responsible for running the command
@@ -730,8 +1063,27 @@ public final class AppInternals
         // The hosting entity or Activity can be considered as finished, hence we do nothing
         return;
       }
-      final Future<?> future = AppInternals.THREAD_POOL.submit(runnable);
-      futures.add(future);
+      // We forget about the commands which are over
+      final Iterator<Future<?>> iterator = futures.iterator();
+      while (iterator.hasNext() == true)
+      {
+        if (iterator.next().isDone() == true)
+        {
+          iterator.remove();
+        }
+      }
+      final SmartExecutors.OwnedFutureTask command = new SmartExecutors.OwnedFutureTask(this, cancellationToken, runnable);
+      futures.add(command);
+      try
+      {
+        AppInternals.THREAD_POOL.execute(command);
+      }
+      catch (RejectedExecutionException exception)
+      {
+        // The command is never run on the calling thread, which is usually the UI thread: the rejection is reported instead
+        futures.remove(command);
+        ActivityController.getInstance().handleException(true, activity, component, exception);
+      }
     }
 
     /**
@@ -759,7 +1111,12 @@ public final class AppInternals
    * This threads pool is used internally, in order to prevent from new thread creation, for an optimization purpose.
    * <p>
    * <ul>
-   * <li>This pool can contain an unlimited number of threads;</li>
+   * <li>This pool contains at most as many threads as the {@link SmartExecutors.Lane#Io} lane settings allow, its idle threads being released, and the
+   * commands which cannot be run immediately are queued;</li>
+   * <li>when the queue is full, the queued commands of the finished activities and fragments are dropped, and if this is not enough, the command is
+   * rejected and the {@link java.util.concurrent.RejectedExecutionException} is reported to the
+   * {@link ActivityController#registerExceptionHandler(ActivityController.ExceptionHandler) exception handler}, since the submitting thread is
+   * usually the UI thread, which should never run it;</li>
    * <li>exceptions thrown by the {@link Runnable} are handled by the
    * {@link ActivityController#registerExceptionHandler(ActivityController.ExceptionHandler) exception handler}.</li>
    * </ul>
@@ -770,19 +1127,12 @@ public final class AppInternals
    *
    * @see SmartCommands#LOW_PRIORITY_THREAD_POOL
    */
-  public static final SmartCommands.SmartThreadPoolExecutor THREAD_POOL = new SmartCommands.SmartThreadPoolExecutor(0, Integer.MAX_VALUE, 60l, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), new ThreadFactory()
-  {
+  public static final SmartCommands.SmartThreadPoolExecutor THREAD_POOL = SmartExecutors.register(new SmartCommands.SmartThreadPoolExecutor("pool", SmartExecutors.Lane.Io, SmartExecutors.computeThreadsCount(SmartExecutors.Lane.Io, Integer.MAX_VALUE), SmartExecutors.computeThreadsCount(SmartExecutors.Lane.Io, Integer.MAX_VALUE), SmartExecutors.getLaneSettings(SmartExecutors.Lane.Io).keepAliveInSeconds, TimeUnit.SECONDS, SmartExecutors.newWorkQueue(SmartExecutors.Lane.Io), SmartExecutors.newThreadFactory("pool", Thread.NORM_PRIORITY), new SmartExecutors.DropFinishedOwnersPolicy(new ThreadPoolExecutor.AbortPolicy())));
 
-    private final AtomicInteger threadsCount = new AtomicInteger(1);
-
-    public Thread newThread(Runnable runnable)
-    {
-      final Thread thread = new Thread(runnable);
-      thread.setName("droid4me-pool-thread #" + threadsCount.getAndIncrement());
-      return thread;
-    }
-
-  });
+  static
+  {
+    AppInternals.THREAD_POOL.allowCoreThreadTimeOut(true);
+  }
 
   /**
    * An internal key, which enables to determine whether an activity has already been started.
@@ -177,7 +177,7 @@ public final class Droid4mizer<AggregateClass, ComponentClass>
       // In that case, we skip the processing
       return;
     }
-    if (stateContainer.shouldDelayRefreshBusinessObjectsAndDisplay(retrieveBusinessObjects, onOver, immediately) == true)
+    if (stateContainer.shouldDelayRefreshBusinessObjectsAndDisplay(this, retrieveBusinessObjects, onOver, immediately) == true)
     {
       return;
     }
@@ -43,6 +43,7 @@ import android.view.WindowManager;
 import com.smartnsoft.droid4me.BuildConfig;
 import com.smartnsoft.droid4me.app.ActivityController.ExceptionHandler;
 import com.smartnsoft.droid4me.app.ExceptionHandlers.AbstractExceptionHandler;
+import com.smartnsoft.droid4me.concurrent.SmartExecutors;
 import com.smartnsoft.droid4me.log.Logger;
 import com.smartnsoft.droid4me.log.LoggerFactory;
 
@@ -151,6 +152,7 @@ public abstract class SmartApplication
    * and will perform the following things:
    * <ol>
    * <li>set the {@link LoggerFactory#logLevel log level},</li>
+   * <li>configure the {@link SmartExecutors executors},</li>
    * <li>register the {@link ActivityController.ExceptionHandler},</li>
    * <li>register the {@link ActivityController.Redirector},</li>
    * <li>register the {@link ActivityController.Interceptor},</li>
@@ -168,6 +170,7 @@ public abstract class SmartApplication
    * </p>
    *
    * @see #getLogLevel()
+   * @see #getExecutorsConfiguration()
    * @see #getExceptionHandler()
    * @see #getActivityRedirector()
    * @see #getInterceptor()
@@ -189,6 +192,12 @@ public abstract class SmartApplication
       final long start = System.currentTimeMillis();
 
       LoggerFactory.logLevel = getLogLevel();
+      // The executors need to be configured before any of them is created
+      final SmartExecutors.Configuration executorsConfiguration = getExecutorsConfiguration();
+      if (executorsConfiguration != null)
+      {
+        SmartExecutors.configure(executorsConfiguration);
+      }
       // We initialize the preferences very soon, so that they are available
       preferences = PreferenceManager.getDefaultSharedPreferences(this);
 
@@ -259,8 +268,8 @@ public abstract class SmartApplication
   }
 
   /**
-   * In addition to the default behavior, this event will be logged, and the {@link SmartCommands#LOW_PRIORITY_THREAD_POOL} and
-   * {@link AppInternals#THREAD_POOL} thread pools shut down.
+   * In addition to the default behavior, this event will be logged, and the {@link SmartExecutors registered executors}, among which the
+   * {@link SmartCommands#LOW_PRIORITY_THREAD_POOL} and {@link AppInternals#THREAD_POOL} thread pools, shut down.
    */
   @Override
   public void onTerminate()
@@ -277,8 +286,7 @@ public abstract class SmartApplication
         log.debug("Application terminating");
       }
       // We stop the threads pools
-      SmartCommands.LOW_PRIORITY_THREAD_POOL.shutdown();
-      AppInternals.THREAD_POOL.shutdown();
+      SmartExecutors.shutdown();
     }
     finally
     {
@@ -337,6 +345,25 @@ public abstract class SmartApplication
     return false;
   }
 
+  /**
+   * This callback will be invoked by the application instance, in order to get the settings of the executors which run the framework background
+   * work. Override this method, in order to tune the number of threads and the queues capacity of the {@link SmartExecutors.Lane lanes}.
+   * <p>
+   * <p>
+   * It is ensured that the framework will only call once this method (unless you explicitly invoke it, which you should not), at the very beginning
+   * of the {@link Application#onCreate()} method execution. If an executor has already been created by then, for instance by a static initializer,
+   * the returned settings are ignored.
+   * </p>
+   *
+   * @return the executors settings ; if {@code null}, the {@link SmartExecutors.Configuration#newDefault() default settings} are used. Returns
+   * {@code null} by default
+   * @see SmartExecutors#configure(SmartExecutors.Configuration)
+   */
+  protected SmartExecutors.Configuration getExecutorsConfiguration()
+  {
+    return null;
+  }
+
   /**
    * This callback will be invoked by the application instance, in order to get a reference on the application
    * {@link ActivityController.SystemServiceProvider}: this method is responsible for creating an implementation of this component interface. Override
@@ -22,13 +22,24 @@
 
 package com.smartnsoft.droid4me.app;
 
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.RunnableFuture;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import android.app.Activity;
 import android.app.Dialog;
@@ -40,6 +51,8 @@ import android.util.Log;
 import android.view.View;
 
 import com.smartnsoft.droid4me.app.ActivityController.ExceptionHandler;
+import com.smartnsoft.droid4me.concurrent.ExecutionProfiler;
+import com.smartnsoft.droid4me.concurrent.SmartExecutors;
 import com.smartnsoft.droid4me.log.Logger;
 import com.smartnsoft.droid4me.log.LoggerFactory;
 
@@ -70,6 +83,506 @@ public final class SmartCommands
 
   }
 
+  /**
+   * The priorities of the commands, from the lowest to the highest.
+   *
+   * @since 2026.10.18
+   */
+  public enum Priority
+  {
+    /**
+     * For the background work that the user is not waiting for, like analytics uploads.
+     */
+    Low,
+    /**
+     * The default priority.
+     */
+    Normal,
+    /**
+     * For the work that the user has just initiated.
+     */
+    High
+  }
+
+  /**
+   * A command which the {@link SmartCommands.PriorityWorkQueue} schedules according to its priority, and drops when it has expired before starting.
+   *
+   * @since 2026.10.18
+   */
+  public interface SchedulableCommand
+      extends Runnable
+  {
+
+    /**
+     * @return the priority of the command ; cannot be {@code null}
+     */
+    SmartCommands.Priority getPriority();
+
+    /**
+     * @return {@code true} if and only if the command deadline has passed, in which case it should not be started anymore
+     */
+    boolean isExpired();
+
+    /**
+     * Is invoked instead of the {@link #run()} method, when the command has been dropped because it has expired.
+     */
+    void onExpired();
+
+  }
+
+  /**
+   * A bounded work queue which hands out the {@link SmartCommands.SchedulableCommand commands} with the highest priority first, the commands with the
+   * same priority being handed out in their submission order, and the other commands having the {@link SmartCommands.Priority#Normal} priority.
+   * <p>
+   * <p>
+   * The {@link SmartCommands.SchedulableCommand#isExpired() expired} commands are dropped when they are about to be handed out: their
+   * {@link SmartCommands.SchedulableCommand#onExpired()} method is invoked instead, and when they are {@link Future futures}, they are cancelled.
+   * </p>
+   *
+   * @since 2026.10.18
+   */
+  public static final class PriorityWorkQueue
+      extends AbstractQueue<Runnable>
+      implements BlockingQueue<Runnable>
+  {
+
+    private static final class Entry
+        implements Comparable<SmartCommands.PriorityWorkQueue.Entry>
+    {
+
+      private final Runnable runnable;
+
+      private final int priority;
+
+      private final long sequence;
+
+      private Entry(Runnable runnable, long sequence)
+      {
+        this.runnable = runnable;
+        this.priority = (runnable instanceof SmartCommands.SchedulableCommand ? ((SmartCommands.SchedulableCommand) runnable).getPriority() : SmartCommands.Priority.Normal).ordinal();
+        this.sequence = sequence;
+      }
+
+      @Override
+      public int compareTo(SmartCommands.PriorityWorkQueue.Entry other)
+      {
+        if (priority != other.priority)
+        {
+          return priority > other.priority ? -1 : 1;
+        }
+        return sequence < other.sequence ? -1 : (sequence == other.sequence ? 0 : 1);
+      }
+
+    }
+
+    public final int capacity;
+
+    private final PriorityQueue<SmartCommands.PriorityWorkQueue.Entry> entries = new PriorityQueue<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Condition notFull = lock.newCondition();
+
+    private final AtomicLong expiredCount = new AtomicLong();
+
+    private long sequence;
+
+    /**
+     * @param capacity the maximum number of commands the queue may hold
+     */
+    public PriorityWorkQueue(int capacity)
+    {
+      this.capacity = capacity;
+    }
+
+    /**
+     * @return the number of commands which have been dropped so far, because they had expired
+     */
+    public long getExpiredCount()
+    {
+      return expiredCount.get();
+    }
+
+    @Override
+    public boolean offer(Runnable runnable)
+    {
+      if (runnable == null)
+      {
+        throw new NullPointerException("Cannot queue a null command!");
+      }
+      lock.lock();
+      try
+      {
+        if (entries.size() >= capacity)
+        {
+          return false;
+        }
+        enqueue(runnable);
+        return true;
+      }
+      finally
+      {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    public boolean offer(Runnable runnable, long timeout, TimeUnit unit)
+        throws InterruptedException
+    {
+      if (runnable == null)
+      {
+        throw new NullPointerException("Cannot queue a null command!");
+      }
+      long remainingInNanoseconds = unit.toNanos(timeout);
+      lock.lockInterruptibly();
+      try
+      {
+        while (entries.size() >= capacity)
+        {
+          if (remainingInNanoseconds <= 0)
+          {
+            return false;
+          }
+          remainingInNanoseconds = notFull.awaitNanos(remainingInNanoseconds);
+        }
+        enqueue(runnable);
+        return true;
+      }
+      finally
+      {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    public void put(Runnable runnable)
+        throws InterruptedException
+    {
+      offer(runnable, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Runnable poll()
+    {
+      final List<Runnable> expiredRunnables = new ArrayList<>();
+      final Runnable runnable;
+      lock.lock();
+      try
+      {
+        runnable = dequeue(expiredRunnables);
+      }
+      finally
+      {
+        lock.unlock();
+      }
+      onExpired(expiredRunnables);
+      return runnable;
+    }
+
+    @Override
+    public Runnable poll(long timeout, TimeUnit unit)
+        throws InterruptedException
+    {
+      final List<Runnable> expiredRunnables = new ArrayList<>();
+      long remainingInNanoseconds = unit.toNanos(timeout);
+      Runnable runnable = null;
+      lock.lockInterruptibly();
+      try
+      {
+        while ((runnable = dequeue(expiredRunnables)) == null && remainingInNanoseconds > 0)
+        {
+          remainingInNanoseconds = notEmpty.awaitNanos(remainingInNanoseconds);
+        }
+      }
+      finally
+      {
+        lock.unlock();
+        onExpired(expiredRunnables);
+      }
+      return runnable;
+    }
+
+    @Override
+    public Runnable take()
+        throws InterruptedException
+    {
+      final List<Runnable> expiredRunnables = new ArrayList<>();
+      Runnable runnable = null;
+      lock.lockInterruptibly();
+      try
+      {
+        while ((runnable = dequeue(expiredRunnables)) == null)
+        {
+          notEmpty.await();
+        }
+      }
+      finally
+      {
+        lock.unlock();
+        onExpired(expiredRunnables);
+      }
+      return runnable;
+    }
+
+    @Override
+    public Runnable peek()
+    {
+      lock.lock();
+      try
+      {
+        final SmartCommands.PriorityWorkQueue.Entry entry = entries.peek();
+        return entry == null ? null : entry.runnable;
+      }
+      finally
+      {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    public int size()
+    {
+      lock.lock();
+      try
+      {
+        return entries.size();
+      }
+      finally
+      {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    public int remainingCapacity()
+    {
+      lock.lock();
+      try
+      {
+        return capacity - entries.size();
+      }
+      finally
+      {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    public boolean remove(Object object)
+    {
+      lock.lock();
+      try
+      {
+        final Iterator<SmartCommands.PriorityWorkQueue.Entry> iterator = entries.iterator();
+        while (iterator.hasNext() == true)
+        {
+          if (iterator.next().runnable.equals(object) == true)
+          {
+            iterator.remove();
+            notFull.signal();
+            return true;
+          }
+        }
+        return false;
+      }
+      finally
+      {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> collection)
+    {
+      return drainTo(collection, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super Runnable> collection, int maximumCount)
+    {
+      if (collection == this)
+      {
+        throw new IllegalArgumentException("Cannot drain a queue into itself!");
+      }
+      lock.lock();
+      try
+      {
+        int count = 0;
+        while (count < maximumCount && entries.isEmpty() == false)
+        {
+          collection.add(entries.poll().runnable);
+          count++;
+        }
+        if (count > 0)
+        {
+          notFull.signalAll();
+        }
+        return count;
+      }
+      finally
+      {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * @return an iterator over a snapshot of the queued commands, in no particular order, which supports the removal
+     */
+    @Override
+    public Iterator<Runnable> iterator()
+    {
+      final List<Runnable> runnables = new ArrayList<>();
+      lock.lock();
+      try
+      {
+        for (SmartCommands.PriorityWorkQueue.Entry entry : entries)
+        {
+          runnables.add(entry.runnable);
+        }
+      }
+      finally
+      {
+        lock.unlock();
+      }
+      final Iterator<Runnable> iterator = runnables.iterator();
+      return new Iterator<Runnable>()
+      {
+
+        private Runnable current;
+
+        @Override
+        public boolean hasNext()
+        {
+          return iterator.hasNext();
+        }
+
+        @Override
+        public Runnable next()
+        {
+          current = iterator.next();
+          return current;
+        }
+
+        @Override
+        public void remove()
+        {
+          if (current == null)
+          {
+            throw new IllegalStateException();
+          }
+          PriorityWorkQueue.this.remove(current);
+          current = null;
+        }
+
+      };
+    }
+
+    private void enqueue(Runnable runnable)
+    {
+      entries.add(new SmartCommands.PriorityWorkQueue.Entry(runnable, sequence++));
+      notEmpty.signal();
+    }
+
+    /**
+     * Must be invoked while holding the lock.
+     *
+     * @param expiredRunnables the list which receives the expired commands which have been dropped
+     * @return the first command which has not expired ; {@code null} if there is none
+     */
+    private Runnable dequeue(List<Runnable> expiredRunnables)
+    {
+      SmartCommands.PriorityWorkQueue.Entry entry;
+      while ((entry = entries.poll()) != null)
+      {
+        notFull.signal();
+        if (entry.runnable instanceof SmartCommands.SchedulableCommand && ((SmartCommands.SchedulableCommand) entry.runnable).isExpired() == true)
+        {
+          expiredRunnables.add(entry.runnable);
+          continue;
+        }
+        return entry.runnable;
+      }
+      return null;
+    }
+
+    /**
+     * Notifies the expired commands, once the lock has been released.
+     */
+    private void onExpired(List<Runnable> expiredRunnables)
+    {
+      for (Runnable runnable : expiredRunnables)
+      {
+        expiredCount.incrementAndGet();
+        if (log.isDebugEnabled())
+        {
+          log.debug("Dropping a command which has expired before starting");
+        }
+        if (runnable instanceof Future)
+        {
+          ((Future<?>) runnable).cancel(false);
+        }
+        try
+        {
+          ((SmartCommands.SchedulableCommand) runnable).onExpired();
+        }
+        catch (Throwable throwable)
+        {
+          if (log.isErrorEnabled())
+          {
+            log.error("An exception occurred while notifying an expired command", throwable);
+          }
+        }
+      }
+    }
+
+  }
+
+  /**
+   * The {@link Future} returned when {@link SmartCommands.SmartThreadPoolExecutor#submit(GuardedCommand) submitting} a
+   * {@link SmartCommands.GuardedCommand}, which keeps its priority and deadline.
+   */
+  private static final class GuardedFutureTask<ResultClass>
+      extends SmartExecutors.TimedFutureTask<ResultClass>
+      implements SmartCommands.SchedulableCommand, ExecutionProfiler.CommandWrapper
+  {
+
+    private final SmartCommands.GuardedCommand<?> guardedCommand;
+
+    private GuardedFutureTask(SmartCommands.GuardedCommand<?> guardedCommand, ResultClass result)
+    {
+      super(guardedCommand, result);
+      this.guardedCommand = guardedCommand;
+    }
+
+    @Override
+    public SmartCommands.Priority getPriority()
+    {
+      return guardedCommand.getPriority();
+    }
+
+    @Override
+    public boolean isExpired()
+    {
+      return guardedCommand.isExpired();
+    }
+
+    @Override
+    public void onExpired()
+    {
+      guardedCommand.onExpired();
+    }
+
+    @Override
+    public Object getCommand()
+    {
+      return guardedCommand;
+    }
+
+  }
+
   /**
    * Defined as a wrapper over the built-in {@link Thread.UncaughtExceptionHandler uncaught exception handlers}.
    *
@@ -125,26 +638,43 @@ public final class SmartCommands
 
   /**
    * Introduced so as to be able to catch the exceptions thrown in the framework thread pools.
+   * <p>
+   * <p>
+   * Since 2026.10.18, it is an {@link SmartExecutors.InstrumentedThreadPoolExecutor}, registered in the {@link SmartExecutors} registry.
+   * </p>
    *
    * @since 2010.03.02
    */
   public static final class SmartThreadPoolExecutor
-      extends ThreadPoolExecutor
+      extends SmartExecutors.InstrumentedThreadPoolExecutor
   {
 
     /**
      * A flag which indicates whether the hereby {@code SmartThreadPoolExecutor} internal logs should be enabled. Logs will report execution durations
      * statistics. The default value is {@code false}.
+     * <p>
+     * <p>
+     * Whatever this flag, the executions are profiled per command class by the {@link ExecutionProfiler}.
+     * </p>
      *
      * @see #getExecutionDurationSumInNanoseconds()
      */
     public static boolean ARE_DEBUG_LOG_ENABLED = false;
 
     /**
-     * Records the sum of the durations of all command executions for this instance. Only fulfilled if {@link #ARE_DEBUG_LOG_ENABLED} is set to
-     * {@code true}.
+     * For every {@link SmartCommands.Priority}, the number of commands which have been started.
+     */
+    private final AtomicLongArray dequeuedCounts = new AtomicLongArray(SmartCommands.Priority.values().length);
+
+    /**
+     * For every {@link SmartCommands.Priority}, the sum of the durations the started commands have waited in the queue.
+     */
+    private final AtomicLongArray queueWaitSumsInNanoseconds = new AtomicLongArray(SmartCommands.Priority.values().length);
+
+    /**
+     * For every {@link SmartCommands.Priority}, the longest duration a started command has waited in the queue.
      */
-    private long executionDurationSumInNanoseconds;
+    private final AtomicLongArray maximumQueueWaitsInNanoseconds = new AtomicLongArray(SmartCommands.Priority.values().length);
 
     /**
      * {@inheritDoc}
@@ -152,7 +682,18 @@ public final class SmartCommands
     public SmartThreadPoolExecutor(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit,
         BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory)
     {
-      super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory);
+      this("custom", SmartExecutors.Lane.Io, corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 2026.10.18
+     */
+    public SmartThreadPoolExecutor(String name, SmartExecutors.Lane lane, int corePoolSize, int maximumPoolSize, long keepAliveTime,
+        TimeUnit unit, BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler)
+    {
+      super(name, lane, corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory, rejectedExecutionHandler);
     }
 
     /**
@@ -164,45 +705,76 @@ public final class SmartCommands
       super.execute(command);
     }
 
+    /**
+     * Available for statistics.
+     *
+     * @return the sum of the durations of all command executions for this instance
+     * @see #getMetrics()
+     */
+    public long getExecutionDurationSumInNanoseconds()
+    {
+      return getMetrics().executionSumInNanoseconds;
+    }
+
+    /**
+     * @return the average duration the started commands with the given priority have waited in the queue
+     * @since 2026.10.18
+     */
+    public long getAverageQueueWaitInNanoseconds(SmartCommands.Priority priority)
+    {
+      final long count = dequeuedCounts.get(priority.ordinal());
+      return count <= 0 ? 0 : queueWaitSumsInNanoseconds.get(priority.ordinal()) / count;
+    }
+
+    /**
+     * @return the longest duration a started command with the given priority has waited in the queue
+     * @since 2026.10.18
+     */
+    public long getMaximumQueueWaitInNanoseconds(SmartCommands.Priority priority)
+    {
+      return maximumQueueWaitsInNanoseconds.get(priority.ordinal());
+    }
+
+    /**
+     * @return the number of commands which have been dropped because they had expired before starting, when the executor queue is a
+     * {@link SmartCommands.PriorityWorkQueue} ; {@code 0} otherwise
+     * @since 2026.10.18
+     */
+    public long getExpiredCount()
+    {
+      return getQueue() instanceof SmartCommands.PriorityWorkQueue ? ((SmartCommands.PriorityWorkQueue) getQueue()).getExpiredCount() : 0;
+    }
+
     @Override
-    protected void beforeExecute(Thread thread, Runnable runnable)
+    protected <ResultClass> RunnableFuture<ResultClass> newTaskFor(Runnable runnable, ResultClass result)
     {
-      if (SmartThreadPoolExecutor.ARE_DEBUG_LOG_ENABLED == true)
+      if (runnable instanceof SmartCommands.GuardedCommand)
       {
-        new ThreadLocal<Long>().set(System.nanoTime());
+        return new SmartCommands.GuardedFutureTask<>((SmartCommands.GuardedCommand<?>) runnable, result);
       }
-      super.beforeExecute(thread, runnable);
+      return super.newTaskFor(runnable, result);
     }
 
     @Override
-    protected void afterExecute(Runnable runnable, Throwable throwable)
+    protected void onDequeued(Runnable runnable, long queueWaitInNanoseconds)
     {
-      super.afterExecute(runnable, throwable);
-      if (SmartThreadPoolExecutor.ARE_DEBUG_LOG_ENABLED == true)
+      final int index = (runnable instanceof SmartCommands.SchedulableCommand ? ((SmartCommands.SchedulableCommand) runnable).getPriority() : SmartCommands.Priority.Normal).ordinal();
+      dequeuedCounts.incrementAndGet(index);
+      queueWaitSumsInNanoseconds.addAndGet(index, queueWaitInNanoseconds);
+      long maximumInNanoseconds;
+      while ((maximumInNanoseconds = maximumQueueWaitsInNanoseconds.get(index)) < queueWaitInNanoseconds && maximumQueueWaitsInNanoseconds.compareAndSet(index, maximumInNanoseconds, queueWaitInNanoseconds) == false)
       {
-        final Long startInNanoseconds = new ThreadLocal<Long>().get();
-        final long durationInNanoseconds = System.nanoTime() - startInNanoseconds;
-        executionDurationSumInNanoseconds += durationInNanoseconds;
-        if (log.isDebugEnabled())
-        {
-          log.debug("A command has just end-up its execution and has lasted " + durationInNanoseconds + " ns.");
-        }
+        // Another thread has just updated the maximum: we try again
       }
     }
 
-    /**
-     * Available for statistics.
-     * <p>
-     * <p>
-     * Warning: this method will return valid data only if {@link #ARE_DEBUG_LOG_ENABLED} is set to {@code true}.
-     * </p>
-     *
-     * @return the sum of the durations of all command executions for this instance
-     * @see #ARE_DEBUG_LOG_ENABLED
-     */
-    public long getExecutionDurationSumInNanoseconds()
+    @Override
+    protected void onExecuted(Runnable runnable, long durationInNanoseconds)
     {
-      return executionDurationSumInNanoseconds;
+      if (SmartThreadPoolExecutor.ARE_DEBUG_LOG_ENABLED == true && log.isDebugEnabled())
+      {
+        log.debug("A command has just end-up its execution and has lasted " + durationInNanoseconds + " ns.");
+      }
     }
 
     /**
@@ -248,7 +820,7 @@ public final class SmartCommands
    * @since 2010.06.08
    */
   public static abstract class GuardedCommand<ContextClass extends Context>
-      implements Runnable, SmartCommands.GuardedHandler
+      implements SmartCommands.SchedulableCommand, SmartCommands.GuardedHandler, SmartExecutors.TimedCommand
   {
 
     /**
@@ -266,6 +838,17 @@ public final class SmartCommands
      */
     private SmartCommands.GuardedHandler delegate;
 
+    private volatile SmartCommands.Priority priority = SmartCommands.Priority.Normal;
+
+    /**
+     * The {@link System#nanoTime() time} after which the command should not be started anymore, only relevant when {@link #hasDeadline} is set.
+     */
+    private volatile long deadlineInNanoseconds;
+
+    private volatile boolean hasDeadline;
+
+    private long submissionTimeInNanoseconds;
+
     /**
      * Equivalent to calling {@code SmartCommands.GuardedCommand#GuardedCommand(Context, SmartCommands.GuardedHandler)} with the second argument being
      * {@code null}.
@@ -336,16 +919,23 @@ public final class SmartCommands
     }
 
     /**
-     * This method will invoke the {@link #runGuarded()} method, and handle any thrown exception.
+     * This method will invoke the {@link #runGuarded()} method, and handle any thrown exception. If the command has {@link #isExpired() expired}, the
+     * {@link #onExpired()} method is invoked instead.
      */
     public final void run()
     {
+      if (isExpired() == true)
+      {
+        onExpired();
+        return;
+      }
       try
       {
         runGuarded();
       }
       catch (Throwable throwable)
       {
+        ExecutionProfiler.markFailed();
         // We let a chance to the caller to handle the exception
         final Throwable modifiedThrowable = onThrowable(throwable);
         if (modifiedThrowable == null)
@@ -387,6 +977,88 @@ public final class SmartCommands
       return this;
     }
 
+    /**
+     * @return the priority of the command, which is {@link SmartCommands.Priority#Normal} by default
+     * @since 2026.10.18
+     */
+    @Override
+    public SmartCommands.Priority getPriority()
+    {
+      return priority;
+    }
+
+    /**
+     * Sets the priority of the command, which is taken into account by the {@link SmartCommands.PriorityWorkQueue}, as long as the command has not
+     * been submitted.
+     *
+     * @param priority the new priority of the command
+     * @return the current instance, so as to ease its usage
+     * @since 2026.10.18
+     */
+    public SmartCommands.GuardedCommand<ContextClass> setPriority(SmartCommands.Priority priority)
+    {
+      if (priority == null)
+      {
+        throw new NullPointerException("The priority should not be null!");
+      }
+      this.priority = priority;
+      return this;
+    }
+
+    /**
+     * Sets a deadline to the command: when it has not started once the deadline has passed, it is dropped, because its result would not be
+     * relevant anymore.
+     *
+     * @param durationInMilliseconds the duration, counted from now, after which the command should not be started anymore
+     * @return the current instance, so as to ease its usage
+     * @see #onExpired()
+     * @since 2026.10.18
+     */
+    public SmartCommands.GuardedCommand<ContextClass> setDeadline(long durationInMilliseconds)
+    {
+      deadlineInNanoseconds = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationInMilliseconds);
+      hasDeadline = true;
+      return this;
+    }
+
+    /**
+     * @since 2026.10.18
+     */
+    @Override
+    public boolean isExpired()
+    {
+      return hasDeadline == true && System.nanoTime() - deadlineInNanoseconds > 0;
+    }
+
+    /**
+     * @since 2026.10.18
+     */
+    @Override
+    public void setSubmissionTimeInNanoseconds(long submissionTimeInNanoseconds)
+    {
+      this.submissionTimeInNanoseconds = submissionTimeInNanoseconds;
+    }
+
+    /**
+     * @since 2026.10.18
+     */
+    @Override
+    public long getSubmissionTimeInNanoseconds()
+    {
+      return submissionTimeInNanoseconds;
+    }
+
+    /**
+     * Is invoked instead of the {@link #runGuarded()} method, when the {@link #setDeadline(long) deadline} of the command has passed before it
+     * starts. By default, the method does nothing.
+     *
+     * @since 2026.10.18
+     */
+    @Override
+    public void onExpired()
+    {
+    }
+
     /**
      * The body of the command execution.
      *
@@ -867,15 +1539,20 @@ public final class SmartCommands
    * Use this threads pool instead of creating your own {@link Thread#MIN_PRIORITY} threads.
    * <p>
    * <ul>
-   * <li>This pool will contain at most {@link #LOW_PRIORITY_THREAD_POOL_DEFAULT_SIZE} threads by default;</li>
-   * <li>exceptions thrown by the {@link Runnable} are handled by the {@link ActivityController.ExceptionHandler}.</li>
+   * <li>This pool will contain at most {@link #LOW_PRIORITY_THREAD_POOL_DEFAULT_SIZE} threads by default, bounded by the
+   * {@link SmartExecutors.Lane#Io} lane settings;</li>
+   * <li>exceptions thrown by the {@link Runnable} are handled by the {@link ActivityController.ExceptionHandler};</li>
+   * <li>its queue is a {@link SmartCommands.PriorityWorkQueue}, so that the commands with the highest {@link SmartCommands.Priority} are run first,
+   * and the expired commands are dropped;</li>
+   * <li>unlike the other framework executors, its queue is not bounded by the {@link SmartExecutors.LaneSettings#queueCapacity lane capacity}, so
+   * that the {@link #execute(Runnable)} and {@link #execute(SmartCommands.GuardedCommand)} methods keep on accepting all the commands.</li>
    * </ul>
    * <p>
    * <p>
    * You can use this pool in the application, instead of creating new threads.
    * </p>
    */
-  public final static SmartCommands.SmartThreadPoolExecutor LOW_PRIORITY_THREAD_POOL = new SmartCommands.SmartThreadPoolExecutor(SmartCommands.LOW_PRIORITY_THREAD_POOL_DEFAULT_SIZE, SmartCommands.LOW_PRIORITY_THREAD_POOL_DEFAULT_SIZE, 10l, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory()
+  public final static SmartCommands.SmartThreadPoolExecutor LOW_PRIORITY_THREAD_POOL = SmartExecutors.register(new SmartCommands.SmartThreadPoolExecutor("lowpool", SmartExecutors.Lane.Io, SmartExecutors.computeThreadsCount(SmartExecutors.Lane.Io, SmartCommands.LOW_PRIORITY_THREAD_POOL_DEFAULT_SIZE), SmartExecutors.computeThreadsCount(SmartExecutors.Lane.Io, SmartCommands.LOW_PRIORITY_THREAD_POOL_DEFAULT_SIZE), SmartExecutors.getLaneSettings(SmartExecutors.Lane.Io).keepAliveInSeconds, TimeUnit.SECONDS, new SmartCommands.PriorityWorkQueue(Integer.MAX_VALUE), new ThreadFactory()
   {
 
     /**
@@ -896,12 +1573,17 @@ public final class SmartCommands
       return thread;
     }
 
-  });
+  }, SmartExecutors.getLaneSettings(SmartExecutors.Lane.Io).rejectedExecutionHandler));
 
   private final static Logger log = LoggerFactory.getInstance(SmartCommands.class);
 
   /**
    * Equivalent to invoking {@code SmartCommands#LOW_PRIORITY_THREAD_POOL#execute(Runnable)}.
+   * <p>
+   * <p>
+   * The number of threads which run the commands is bounded by the {@link SmartExecutors.Lane#Io} lane settings, but the number of queued commands
+   * is not: the command is never rejected, unless the {@link #LOW_PRIORITY_THREAD_POOL} has been shut down.
+   * </p>
    *
    * @see #execute(SmartCommands.GuardedCommand)
    */
@@ -915,7 +1597,8 @@ public final class SmartCommands
    * from the {@link ExceptionHandler} if the command triggers an exception.
    * <p>
    * <p>
-   * Equivalent to invoking {@code SmartCommands#LOW_PRIORITY_THREAD_POOL#execute(Runnable)}.
+   * Equivalent to invoking {@code SmartCommands#LOW_PRIORITY_THREAD_POOL#execute(Runnable)}: as such, the command is never rejected, unless the
+   * {@link #LOW_PRIORITY_THREAD_POOL} has been shut down.
    * </p>
    *
    * @param guardedCommand the command to be executed
@@ -33,6 +33,7 @@ import com.smartnsoft.droid4me.bo.Business.IOStreamer;
 import com.smartnsoft.droid4me.bo.Business.UriInputStreamer;
 import com.smartnsoft.droid4me.bo.Business.UriStreamParser;
 import com.smartnsoft.droid4me.bo.Business.UriStreamParserSerializer;
+import com.smartnsoft.droid4me.concurrent.CancellationToken;
 import com.smartnsoft.droid4me.log.Logger;
 import com.smartnsoft.droid4me.log.LoggerFactory;
 
@@ -141,6 +142,8 @@ public class Cacher<BusinessObjectType, UriType, ParameterType, ParseExceptionTy
   public final Values.Info<BusinessObjectType> getValue(Cacher.Instructions instructions, ParameterType parameter)
       throws InputExceptionType, StreamerExceptionType, ParseExceptionType
   {
+    // There is no point retrieving a business object which is not needed anymore
+    CancellationToken.getCurrent().throwIfCancelled();
     final UriType uri = uriStreamParser.computeUri(parameter);
     // We first ask whether the timestamp associated with the cached data should be retrieved
     final boolean queryTimestamp = instructions.queryTimestamp();
@@ -320,6 +323,8 @@ public class Cacher<BusinessObjectType, UriType, ParameterType, ParseExceptionTy
       instructions.onUriStreamParser(Cacher.Status.Attempt);
     }
 
+    final CancellationToken cancellationToken = CancellationToken.getCurrent();
+    cancellationToken.throwIfCancelled();
     final Business.InputAtom atom = uriInputStreamer.getInputStream(uri);
     if (atom == null)
     {
@@ -364,6 +369,8 @@ public class Cacher<BusinessObjectType, UriType, ParameterType, ParseExceptionTy
       }
       catch (IOException exception)
       {
+        // The stream reading fails when the work is cancelled
+        cancellationToken.throwIfCancelled();
         if (log.isErrorEnabled())
         {
           log.error("Cannot duplicate the input stream corresponding to the URI '" + uri + "' and to the parameter '" + parameter + "'", exception);
@@ -385,7 +392,7 @@ public class Cacher<BusinessObjectType, UriType, ParameterType, ParseExceptionTy
       markableInputStream = null;
     }
     // We first parse the input stream, so as to make sure that it is valid before persisting it
-    final BusinessObjectType businessObject = uriStreamParser.parse(parameter, atom.headers, markableInputStream);
+    final BusinessObjectType businessObject = uriStreamParser.parse(parameter, atom.headers, cancellationToken.wrap(markableInputStream));
     boolean invokeOnNewInputStream = true;
     if (markableInputStream != null)
     {
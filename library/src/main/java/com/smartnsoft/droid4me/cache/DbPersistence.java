@@ -35,11 +35,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import android.content.ContentValues;
 import android.database.Cursor;
@@ -52,6 +48,7 @@ import android.provider.BaseColumns;
 
 import com.smartnsoft.droid4me.bo.Business;
 import com.smartnsoft.droid4me.bo.Business.InputAtom;
+import com.smartnsoft.droid4me.concurrent.SmartExecutors;
 
 /**
  * Enables to store some input streams on a SQLite database.
@@ -245,23 +242,10 @@ public final class DbPersistence
   public final static String DEFAULT_TABLE_NAME = "cache";
 
   /**
-   * The number of simultaneous available threads in the pool.
+   * Runs the asynchronous updates. It has a single thread, so that the updates related to the same URI are applied in the order they have been
+   * requested.
    */
-  private static final int THREAD_POOL_DEFAULT_SIZE = 3;
-
-  private final static ThreadPoolExecutor THREAD_POOL = new ThreadPoolExecutor(1, DbPersistence.THREAD_POOL_DEFAULT_SIZE, 5l, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory()
-  {
-
-    private final AtomicInteger threadCount = new AtomicInteger(1);
-
-    public Thread newThread(Runnable runnable)
-    {
-      final Thread thread = new Thread(runnable);
-      thread.setName("droid4me-dbpersistence-thread #" + threadCount.getAndIncrement());
-      return thread;
-    }
-
-  });
+  private final static ThreadPoolExecutor THREAD_POOL = SmartExecutors.newExecutor("dbpersistence", SmartExecutors.Lane.Io, 1, null, null);
 
   /**
    * The file names of the instances database files.
@@ -522,10 +522,7 @@ public final class FilePersistence
     if (isStorageLimited() == true && uriUsages.size() >= storageLimitFilesCount)
     {
       // We need to discard some cached URIs
-      if (log.isInfoEnabled())
-      {
-        log.info("The cache storage limit " + storageLimitFilesCount + " has been reached");
-      }
+      log.info("The cache storage limit {} has been reached", storageLimitFilesCount);
       cleanUpUris();
     }
     synchronized (uriUsages)
@@ -554,10 +551,7 @@ public final class FilePersistence
       }
       // We reset the remaining usages
       uriUsages.resetAccessCount();
-      if (log.isInfoEnabled())
-      {
-        log.info("The web cache has been cleaned-up and it now contains " + uriUsages.size() + " item(s)");
-      }
+      log.info("The web cache has been cleaned-up and it now contains {} item(s)", uriUsages.size());
     }
   }
 
@@ -40,8 +40,9 @@ import java.util.Set;
 
 import com.smartnsoft.droid4me.bo.Business;
 import com.smartnsoft.droid4me.bo.Business.InputAtom;
-import com.smartnsoft.droid4me.log.Logger;
+import com.smartnsoft.droid4me.concurrent.CancellationToken;
 import com.smartnsoft.droid4me.log.LoggerFactory;
+import com.smartnsoft.droid4me.log.ParameterizedLogger;
 
 /**
  * Enables to store persistently on the internal/external device "hard-drive" some contents.
@@ -247,7 +248,7 @@ public abstract class Persistence
 
   }
 
-  protected final static Logger log = LoggerFactory.getInstance(Persistence.class);
+  protected final static ParameterizedLogger log = LoggerFactory.getParameterizedInstance(Persistence.class);
 
   /**
    * The directory paths of the instances.
@@ -576,7 +577,7 @@ public abstract class Persistence
       throws Persistence.PersistenceException
   {
     checkAndInitializeIfNecessary();
-    return readInputStreamInstance(uri);
+    return readCancellableInputStream(uri);
   }
 
   /**
@@ -675,7 +676,7 @@ public abstract class Persistence
       throws Persistence.PersistenceException
   {
     checkAndInitializeIfNecessary();
-    return readInputStreamInstance(uri);
+    return readCancellableInputStream(uri);
   }
 
   /**
@@ -728,10 +729,7 @@ public abstract class Persistence
     }
     uriUsages.clear();
     beingProcessed.clear();
-    if (log.isInfoEnabled())
-    {
-      log.info("Cleaning up the persistence instance " + instanceIndex + " took " + (System.currentTimeMillis() - start) + " ms");
-    }
+    log.info("Cleaning up the persistence instance {} took {} ms", instanceIndex, System.currentTimeMillis() - start);
   }
 
   /**
@@ -801,6 +799,26 @@ public abstract class Persistence
     this.storageBackendAvailable = storageBackendAvailable;
   }
 
+  /**
+   * Reads the stream related to the given URI, unless the {@link CancellationToken#getCurrent() current work} has been cancelled, and makes its
+   * reading fail as soon as the work is cancelled.
+   */
+  private Business.InputAtom readCancellableInputStream(String uri)
+      throws Persistence.PersistenceException
+  {
+    final CancellationToken cancellationToken = CancellationToken.getCurrent();
+    if (cancellationToken.isCancelled() == true)
+    {
+      throw new Persistence.PersistenceException("The reading of the data related to the URI '" + uri + "' has been cancelled");
+    }
+    final Business.InputAtom inputAtom = readInputStreamInstance(uri);
+    if (inputAtom == null || inputAtom.inputStream == null || cancellationToken == CancellationToken.NONE)
+    {
+      return inputAtom;
+    }
+    return new Business.InputAtom(inputAtom.timestamp, inputAtom.headers, cancellationToken.wrap(inputAtom.inputStream), inputAtom.context);
+  }
+
   /**
    * Is responsible for performing the {@link #initialize()} method job.
    * <p>
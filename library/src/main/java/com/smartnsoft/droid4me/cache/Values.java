@@ -32,6 +32,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import com.smartnsoft.droid4me.bo.Business;
 import com.smartnsoft.droid4me.bo.Business.IOStreamer;
 import com.smartnsoft.droid4me.bo.Business.UriStreamParser;
+import com.smartnsoft.droid4me.concurrent.CancellationToken;
 import com.smartnsoft.droid4me.log.Logger;
 import com.smartnsoft.droid4me.log.LoggerFactory;
 
@@ -695,6 +696,11 @@ public final class Values
       }
       catch (Throwable throwable)
       {
+        if (CancellationToken.getCurrent().isCancelled() == true)
+        {
+          // The business object is not needed anymore, hence there is no point in a last attempt
+          throw new Values.CacheException("The reading of the business object corresponding to the URI '" + parameter + "' has been cancelled", throwable);
+        }
         // TODO: add a flag which controls whether a last attempts should be run
         // A last attempt is done to retrieve the data from the cache
         try
@@ -0,0 +1,242 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017 Smart&Soft
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.smartnsoft.droid4me.concurrent;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import com.smartnsoft.droid4me.log.Logger;
+import com.smartnsoft.droid4me.log.LoggerFactory;
+
+/**
+ * Enables to abort some work which is already running, like an HTTP request or the parsing of a stream, because its result is not needed anymore.
+ * <p>
+ * <p>
+ * A token is {@link #attach(CancellationToken) attached} to the thread running the work, so that the layers involved, like the
+ * {@link com.smartnsoft.droid4me.cache.Values}, the {@link com.smartnsoft.droid4me.cache.Cacher}, the
+ * {@link com.smartnsoft.droid4me.ws.URLConnectionWebServiceCaller} or the {@link com.smartnsoft.droid4me.cache.Persistence}, get it through the
+ * {@link #getCurrent()} method without it being passed along every method. The blocking resources, like sockets, are {@link #register(Closeable)
+ * registered}, so that they are closed as soon as the token is {@link #cancel() cancelled}, which unblocks the thread using them, and the streams
+ * are {@link #wrap(InputStream) wrapped}, so that reading them fails once the token is cancelled.
+ * </p>
+ * <p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ *
+ * @since 2026.10.18
+ */
+public final class CancellationToken
+{
+
+  /**
+   * The token returned when no token is attached to the current thread, which is never cancelled.
+   */
+  public static final CancellationToken NONE = new CancellationToken();
+
+  private static final Logger log = LoggerFactory.getInstance(CancellationToken.class);
+
+  private static final ThreadLocal<CancellationToken> currentTokens = new ThreadLocal<>();
+
+  /**
+   * @return the token attached to the current thread, or {@link #NONE} if none is attached ; never {@code null}
+   */
+  public static CancellationToken getCurrent()
+  {
+    final CancellationToken cancellationToken = CancellationToken.currentTokens.get();
+    return cancellationToken == null ? CancellationToken.NONE : cancellationToken;
+  }
+
+  /**
+   * Attaches a token to the current thread.
+   *
+   * @param cancellationToken the token to attach ; may be {@code null}, in which case the current thread has no token anymore
+   * @return the token previously attached to the current thread, so that it can be attached back once the work is over ; may be {@code null}
+   */
+  public static CancellationToken attach(CancellationToken cancellationToken)
+  {
+    final CancellationToken previousToken = CancellationToken.currentTokens.get();
+    if (cancellationToken == null)
+    {
+      CancellationToken.currentTokens.remove();
+    }
+    else
+    {
+      CancellationToken.currentTokens.set(cancellationToken);
+    }
+    return previousToken;
+  }
+
+  private final List<Closeable> closeables = new ArrayList<>();
+
+  private volatile boolean cancelled;
+
+  public boolean isCancelled()
+  {
+    return cancelled;
+  }
+
+  /**
+   * @throws CancellationException if the token has been cancelled
+   */
+  public void throwIfCancelled()
+      throws CancellationException
+  {
+    if (cancelled == true)
+    {
+      throw new CancellationException("The work has been cancelled");
+    }
+  }
+
+  /**
+   * Cancels the token and closes all the resources registered so far. Does nothing if the token has already been cancelled, or if it is the
+   * {@link #NONE} token.
+   */
+  public void cancel()
+  {
+    if (this == CancellationToken.NONE)
+    {
+      return;
+    }
+    final List<Closeable> closeablesToClose;
+    synchronized (this)
+    {
+      if (cancelled == true)
+      {
+        return;
+      }
+      cancelled = true;
+      closeablesToClose = new ArrayList<>(closeables);
+      closeables.clear();
+    }
+    for (Closeable closeable : closeablesToClose)
+    {
+      close(closeable);
+    }
+  }
+
+  /**
+   * Registers a resource which will be closed when the token is cancelled. If the token is already cancelled, the resource is closed immediately.
+   *
+   * @param closeable the resource to close on cancellation
+   * @see #unregister(Closeable)
+   */
+  public void register(Closeable closeable)
+  {
+    if (this == CancellationToken.NONE)
+    {
+      return;
+    }
+    synchronized (this)
+    {
+      if (cancelled == false)
+      {
+        closeables.add(closeable);
+        return;
+      }
+    }
+    close(closeable);
+  }
+
+  /**
+   * Forgets a resource previously {@link #register(Closeable) registered}, which should be done once the resource is not used anymore.
+   *
+   * @param closeable the resource which should not be closed on cancellation anymore
+   */
+  public synchronized void unregister(Closeable closeable)
+  {
+    closeables.remove(closeable);
+  }
+
+  /**
+   * @param inputStream the stream to wrap ; may be {@code null}
+   * @return a stream which reads the provided one, but which throws an {@link InterruptedIOException} once the token is cancelled ; {@code null} if
+   * the provided stream is {@code null}
+   */
+  public InputStream wrap(InputStream inputStream)
+  {
+    if (inputStream == null || this == CancellationToken.NONE)
+    {
+      return inputStream;
+    }
+    return new FilterInputStream(inputStream)
+    {
+
+      @Override
+      public int read()
+          throws IOException
+      {
+        checkNotCancelled();
+        return super.read();
+      }
+
+      @Override
+      public int read(byte[] buffer, int offset, int count)
+          throws IOException
+      {
+        checkNotCancelled();
+        return super.read(buffer, offset, count);
+      }
+
+      @Override
+      public long skip(long count)
+          throws IOException
+      {
+        checkNotCancelled();
+        return super.skip(count);
+      }
+
+      private void checkNotCancelled()
+          throws InterruptedIOException
+      {
+        if (cancelled == true)
+        {
+          throw new InterruptedIOException("The reading of the stream has been cancelled");
+        }
+      }
+
+    };
+  }
+
+  private void close(Closeable closeable)
+  {
+    try
+    {
+      closeable.close();
+    }
+    catch (Exception exception)
+    {
+      if (log.isWarnEnabled())
+      {
+        log.warn("Could not close a resource while cancelling", exception);
+      }
+    }
+  }
+
+}
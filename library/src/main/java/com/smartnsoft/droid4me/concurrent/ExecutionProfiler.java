@@ -0,0 +1,339 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017 Smart&Soft
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+
+package com.smartnsoft.droid4me.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Profiles the commands run by the {@link SmartExecutors.InstrumentedThreadPoolExecutor executors}. For every command class, it records how long the
+ * commands have waited in the queue, how long they have run and how many of them have failed.
+ * <p>
+ * <p>
+ * The profiling is always on, hence it is designed to be cheap: the durations are recorded in lock-free histograms, whose buckets are powers of two
+ * microseconds, and nothing is allocated once a command class has been seen. The {@link #getProfiles()} method returns a snapshot, which is
+ * computed on demand.
+ * </p>
+ * <p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ *
+ * @since 2026.10.18
+ */
+public final class ExecutionProfiler
+{
+
+  /**
+   * Implemented by the commands which wrap another command, like a {@link java.util.concurrent.FutureTask}, so that the wrapped command class is
+   * profiled, rather than the wrapper class.
+   */
+  public interface CommandWrapper
+  {
+
+    /**
+     * @return the wrapped command ; cannot be {@code null}
+     */
+    Object getCommand();
+
+  }
+
+  /**
+   * A snapshot of a {@link ExecutionProfiler.Histogram}.
+   */
+  public static final class HistogramSnapshot
+  {
+
+    public final long count;
+
+    public final long sumInNanoseconds;
+
+    public final long maximumInNanoseconds;
+
+    /**
+     * The number of durations per bucket: the bucket {@code 0} counts the durations under 1 microsecond, and the bucket {@code i} the durations
+     * between 2<sup>i-1</sup> and 2<sup>i</sup> microseconds.
+     */
+    private final long[] bucketCounts;
+
+    private HistogramSnapshot(long count, long sumInNanoseconds, long maximumInNanoseconds, long[] bucketCounts)
+    {
+      this.count = count;
+      this.sumInNanoseconds = sumInNanoseconds;
+      this.maximumInNanoseconds = maximumInNanoseconds;
+      this.bucketCounts = bucketCounts;
+    }
+
+    public long getAverageInNanoseconds()
+    {
+      return count <= 0 ? 0 : sumInNanoseconds / count;
+    }
+
+    /**
+     * @param percentile a number between {@code 0} and {@code 100}
+     * @return an upper bound of the given percentile, accurate up to a factor of two, and which never exceeds the maximum
+     */
+    public long getPercentileInNanoseconds(double percentile)
+    {
+      final long rank = (long) Math.ceil(count * percentile / 100d);
+      long cumulatedCount = 0;
+      for (int index = 0; index < bucketCounts.length; index++)
+      {
+        cumulatedCount += bucketCounts[index];
+        if (cumulatedCount >= rank && cumulatedCount > 0)
+        {
+          return Math.min(maximumInNanoseconds, TimeUnit.MICROSECONDS.toNanos(1L << index));
+        }
+      }
+      return maximumInNanoseconds;
+    }
+
+  }
+
+  /**
+   * A lock-free histogram of durations.
+   */
+  private static final class Histogram
+  {
+
+    private static final int BUCKETS_COUNT = 32;
+
+    private final AtomicLongArray bucketCounts = new AtomicLongArray(Histogram.BUCKETS_COUNT);
+
+    private final AtomicLong sumInNanoseconds = new AtomicLong();
+
+    private final AtomicLong maximumInNanoseconds = new AtomicLong();
+
+    private static int computeBucketIndex(long durationInNanoseconds)
+    {
+      final long microseconds = durationInNanoseconds / 1000L;
+      return microseconds <= 0 ? 0 : Math.min(64 - Long.numberOfLeadingZeros(microseconds), Histogram.BUCKETS_COUNT - 1);
+    }
+
+    private void record(long durationInNanoseconds)
+    {
+      bucketCounts.incrementAndGet(Histogram.computeBucketIndex(durationInNanoseconds));
+      sumInNanoseconds.addAndGet(durationInNanoseconds);
+      long maximum;
+      while ((maximum = maximumInNanoseconds.get()) < durationInNanoseconds && maximumInNanoseconds.compareAndSet(maximum, durationInNanoseconds) == false)
+      {
+        // Another thread has just updated the maximum: we try again
+      }
+    }
+
+    private ExecutionProfiler.HistogramSnapshot snapshot()
+    {
+      final long[] counts = new long[Histogram.BUCKETS_COUNT];
+      long total = 0;
+      for (int index = 0; index < counts.length; index++)
+      {
+        counts[index] = bucketCounts.get(index);
+        total += counts[index];
+      }
+      // The total is computed from the buckets, so that it is consistent with them, even if commands are being recorded meanwhile
+      return new ExecutionProfiler.HistogramSnapshot(total, sumInNanoseconds.get(), maximumInNanoseconds.get(), counts);
+    }
+
+  }
+
+  /**
+   * The profile of a command class.
+   */
+  public static final class CommandProfile
+  {
+
+    /**
+     * The name of the profiled command class.
+     */
+    public final String commandClassName;
+
+    public final ExecutionProfiler.HistogramSnapshot queueWait;
+
+    public final ExecutionProfiler.HistogramSnapshot run;
+
+    /**
+     * The number of commands which have failed.
+     */
+    public final long failedCount;
+
+    private CommandProfile(String commandClassName, ExecutionProfiler.HistogramSnapshot queueWait, ExecutionProfiler.HistogramSnapshot run,
+        long failedCount)
+    {
+      this.commandClassName = commandClassName;
+      this.queueWait = queueWait;
+      this.run = run;
+      this.failedCount = failedCount;
+    }
+
+    @Override
+    public String toString()
+    {
+      return commandClassName + ": " + run.count + " run(s), " + failedCount + " failed, run " + TimeUnit.NANOSECONDS.toMillis(run.getAverageInNanoseconds()) + " ms on average (p95 " + TimeUnit.NANOSECONDS.toMillis(run.getPercentileInNanoseconds(95)) + " ms, " + TimeUnit.NANOSECONDS.toMillis(run.maximumInNanoseconds) + " ms at most), waited " + TimeUnit.NANOSECONDS.toMillis(queueWait.getAverageInNanoseconds()) + " ms on average (" + TimeUnit.NANOSECONDS.toMillis(queueWait.maximumInNanoseconds) + " ms at most)";
+    }
+
+  }
+
+  private static final class Entry
+  {
+
+    private final ExecutionProfiler.Histogram queueWait = new ExecutionProfiler.Histogram();
+
+    private final ExecutionProfiler.Histogram run = new ExecutionProfiler.Histogram();
+
+    private final AtomicLong failedCount = new AtomicLong();
+
+  }
+
+  private static final ExecutionProfiler instance = new ExecutionProfiler();
+
+  /**
+   * Indicates whether the command currently run by the thread has failed.
+   */
+  private static final ThreadLocal<boolean[]> failures = new ThreadLocal<boolean[]>()
+  {
+    @Override
+    protected boolean[] initialValue()
+    {
+      return new boolean[1];
+    }
+  };
+
+  /**
+   * @return the profiler fed by all the {@link SmartExecutors.InstrumentedThreadPoolExecutor executors}
+   */
+  public static ExecutionProfiler getInstance()
+  {
+    return ExecutionProfiler.instance;
+  }
+
+  /**
+   * Marks the command currently run by the calling thread as failed. Should be invoked by the commands which handle their exceptions themselves, so
+   * that the executor does not see them.
+   */
+  public static void markFailed()
+  {
+    ExecutionProfiler.failures.get()[0] = true;
+  }
+
+  /**
+   * @return whether the command currently run by the calling thread has been {@link #markFailed() marked as failed}, the mark being cleared
+   */
+  static boolean clearFailed()
+  {
+    final boolean[] failed = ExecutionProfiler.failures.get();
+    final boolean result = failed[0];
+    failed[0] = false;
+    return result;
+  }
+
+  /**
+   * @return the class of the command, once unwrapped from its {@link ExecutionProfiler.CommandWrapper wrappers}
+   */
+  static Class<?> computeCommandClass(Object command)
+  {
+    Object actualCommand = command;
+    while (actualCommand instanceof ExecutionProfiler.CommandWrapper)
+    {
+      actualCommand = ((ExecutionProfiler.CommandWrapper) actualCommand).getCommand();
+    }
+    return actualCommand.getClass();
+  }
+
+  private final ConcurrentMap<Class<?>, ExecutionProfiler.Entry> entries = new ConcurrentHashMap<>();
+
+  /**
+   * Records the execution of a command.
+   *
+   * @param commandClass           the class of the command
+   * @param queueWaitInNanoseconds how long the command has waited in the queue
+   * @param runInNanoseconds       how long the command has run
+   * @param failed                 whether the command has failed
+   */
+  public void record(Class<?> commandClass, long queueWaitInNanoseconds, long runInNanoseconds, boolean failed)
+  {
+    ExecutionProfiler.Entry entry = entries.get(commandClass);
+    if (entry == null)
+    {
+      final ExecutionProfiler.Entry newEntry = new ExecutionProfiler.Entry();
+      entry = entries.putIfAbsent(commandClass, newEntry);
+      if (entry == null)
+      {
+        entry = newEntry;
+      }
+    }
+    entry.queueWait.record(queueWaitInNanoseconds);
+    entry.run.record(runInNanoseconds);
+    if (failed == true)
+    {
+      entry.failedCount.incrementAndGet();
+    }
+  }
+
+  /**
+   * @return a snapshot of the profiles of all the command classes which have been run so far, in no particular order
+   */
+  public List<ExecutionProfiler.CommandProfile> getProfiles()
+  {
+    final List<ExecutionProfiler.CommandProfile> profiles = new ArrayList<>(entries.size());
+    for (ConcurrentMap.Entry<Class<?>, ExecutionProfiler.Entry> entry : entries.entrySet())
+    {
+      profiles.add(new ExecutionProfiler.CommandProfile(entry.getKey().getName(), entry.getValue().queueWait.snapshot(), entry.getValue().run.snapshot(), entry.getValue().failedCount.get()));
+    }
+    return profiles;
+  }
+
+  /**
+   * @param count the maximum number of profiles to return
+   * @return the profiles of the command classes which have run the longest, the slowest first
+   */
+  public List<ExecutionProfiler.CommandProfile> getSlowestProfiles(int count)
+  {
+    final List<ExecutionProfiler.CommandProfile> profiles = getProfiles();
+    Collections.sort(profiles, new Comparator<ExecutionProfiler.CommandProfile>()
+    {
+      @Override
+      public int compare(ExecutionProfiler.CommandProfile profile1, ExecutionProfiler.CommandProfile profile2)
+      {
+        return profile1.run.maximumInNanoseconds > profile2.run.maximumInNanoseconds ? -1 : (profile1.run.maximumInNanoseconds == profile2.run.maximumInNanoseconds ? 0 : 1);
+      }
+    });
+    return profiles.size() <= count ? profiles : new ArrayList<>(profiles.subList(0, count));
+  }
+
+  /**
+   * Forgets all the recorded executions.
+   */
+  public void clear()
+  {
+    entries.clear();
+  }
+
+}
@@ -0,0 +1,845 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017 Smart&Soft
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.smartnsoft.droid4me.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.smartnsoft.droid4me.log.LoggerFactory;
+import com.smartnsoft.droid4me.log.ParameterizedLogger;
+
+/**
+ * The registry of all the executors which run the framework background work.
+ * <p>
+ * <p>
+ * Every executor belongs to a {@link SmartExecutors.Lane lane}, whose {@link SmartExecutors.LaneSettings settings} bound its number of threads and
+ * the capacity of its queue, and indicate what happens to the commands which cannot be accepted. All the executors are instrumented, so that their
+ * queue depth and the time their commands wait before being run can be monitored, either individually or per lane.
+ * </p>
+ * <p>
+ * <p>
+ * The settings are read when the executors are created, hence the {@link #configure(SmartExecutors.Configuration)} method needs to be invoked very
+ * early, which is done by the {@link com.smartnsoft.droid4me.app.SmartApplication#onCreate()} method.
+ * </p>
+ *
+ * @since 2026.10.18
+ */
+public final class SmartExecutors
+{
+
+  /**
+   * The kinds of work an executor runs.
+   */
+  public enum Lane
+  {
+    /**
+     * For the commands which mostly use the CPU, like decoding images: there is no point running more of them than there are cores.
+     */
+    Cpu,
+    /**
+     * For the commands which mostly wait for the network, the disk or a database.
+     */
+    Io
+  }
+
+  /**
+   * The entity on behalf of which commands are run, like a screen: once it is finished, its commands are useless.
+   */
+  public interface CommandsOwner
+  {
+
+    /**
+     * May be invoked from any thread.
+     *
+     * @return {@code false} if and only if the commands of the owner should not be run anymore
+     */
+    boolean isAcceptingCommands();
+
+  }
+
+  /**
+   * A command which keeps the time when it has been submitted to an {@link SmartExecutors.InstrumentedThreadPoolExecutor}, so that the executor
+   * knows how long it has waited in the queue.
+   *
+   * @since 2026.10.18
+   */
+  public interface TimedCommand
+  {
+
+    /**
+     * Is invoked by the executor when the command is submitted.
+     *
+     * @param submissionTimeInNanoseconds the {@link System#nanoTime()} when the command has been submitted
+     */
+    void setSubmissionTimeInNanoseconds(long submissionTimeInNanoseconds);
+
+    /**
+     * @return the value set through the {@link #setSubmissionTimeInNanoseconds(long)} method
+     */
+    long getSubmissionTimeInNanoseconds();
+
+  }
+
+  /**
+   * A {@link FutureTask} which keeps its submission time. This is the task created by the
+   * {@link SmartExecutors.InstrumentedThreadPoolExecutor#submit(Runnable) submit} methods of the instrumented executors.
+   *
+   * @since 2026.10.18
+   */
+  public static class TimedFutureTask<ResultClass>
+      extends FutureTask<ResultClass>
+      implements SmartExecutors.TimedCommand
+  {
+
+    /**
+     * Does not need to be volatile, because the executor queue hands the command over to the thread which runs it.
+     */
+    private long submissionTimeInNanoseconds;
+
+    public TimedFutureTask(Callable<ResultClass> callable)
+    {
+      super(callable);
+    }
+
+    public TimedFutureTask(Runnable runnable, ResultClass result)
+    {
+      super(runnable, result);
+    }
+
+    @Override
+    public void setSubmissionTimeInNanoseconds(long submissionTimeInNanoseconds)
+    {
+      this.submissionTimeInNanoseconds = submissionTimeInNanoseconds;
+    }
+
+    @Override
+    public long getSubmissionTimeInNanoseconds()
+    {
+      return submissionTimeInNanoseconds;
+    }
+
+  }
+
+  /**
+   * A command run on behalf of a {@link SmartExecutors.CommandsOwner}, which is dropped instead of being run when its owner is finished by the time a
+   * thread is available, and which runs with the {@link CancellationToken} of its owner attached to its thread.
+   */
+  public static class OwnedFutureTask
+      extends SmartExecutors.TimedFutureTask<Void>
+      implements ExecutionProfiler.CommandWrapper
+  {
+
+    public final SmartExecutors.CommandsOwner owner;
+
+    /**
+     * The command which is run.
+     */
+    public final Runnable runnable;
+
+    /**
+     * The token {@link CancellationToken#attach(CancellationToken) attached} to the thread while the command runs ; may be {@code null}.
+     */
+    public final CancellationToken cancellationToken;
+
+    public OwnedFutureTask(SmartExecutors.CommandsOwner owner, Runnable runnable)
+    {
+      this(owner, null, runnable);
+    }
+
+    public OwnedFutureTask(SmartExecutors.CommandsOwner owner, CancellationToken cancellationToken, Runnable runnable)
+    {
+      super(runnable, null);
+      this.owner = owner;
+      this.cancellationToken = cancellationToken;
+      this.runnable = runnable;
+    }
+
+    @Override
+    public Object getCommand()
+    {
+      return runnable;
+    }
+
+    @Override
+    public void run()
+    {
+      if (owner.isAcceptingCommands() == false)
+      {
+        if (log.isDebugEnabled())
+        {
+          log.debug("Dropping a command because its owner is finished");
+        }
+        cancel(false);
+        return;
+      }
+      final CancellationToken previousToken = CancellationToken.attach(cancellationToken);
+      try
+      {
+        super.run();
+      }
+      finally
+      {
+        CancellationToken.attach(previousToken);
+      }
+    }
+
+  }
+
+  /**
+   * A rejection policy which, when the queue is full, first drops the queued {@link SmartExecutors.OwnedFutureTask commands} whose owner is finished,
+   * so as to make room for the rejected command, and which resorts to another policy if this does not free any room.
+   * <p>
+   * <p>
+   * Once some room has been freed, the rejected command is submitted again through the {@link ThreadPoolExecutor#execute(Runnable)} method, so
+   * that an {@link SmartExecutors.InstrumentedThreadPoolExecutor} accounts for it as a new submission.
+   * </p>
+   */
+  public static final class DropFinishedOwnersPolicy
+      implements RejectedExecutionHandler
+  {
+
+    private final RejectedExecutionHandler fallbackHandler;
+
+    /**
+     * @param fallbackHandler the policy applied when no queued command can be dropped
+     */
+    public DropFinishedOwnersPolicy(RejectedExecutionHandler fallbackHandler)
+    {
+      this.fallbackHandler = fallbackHandler;
+    }
+
+    @Override
+    public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor)
+    {
+      if (executor.isShutdown() == false)
+      {
+        if (runnable instanceof SmartExecutors.OwnedFutureTask && ((SmartExecutors.OwnedFutureTask) runnable).owner.isAcceptingCommands() == false)
+        {
+          ((SmartExecutors.OwnedFutureTask) runnable).cancel(false);
+          return;
+        }
+        int droppedCount = 0;
+        for (Runnable queuedRunnable : executor.getQueue())
+        {
+          if (queuedRunnable instanceof SmartExecutors.OwnedFutureTask && ((SmartExecutors.OwnedFutureTask) queuedRunnable).owner.isAcceptingCommands() == false && executor.getQueue().remove(queuedRunnable) == true)
+          {
+            ((SmartExecutors.OwnedFutureTask) queuedRunnable).cancel(false);
+            droppedCount++;
+          }
+        }
+        if (log.isDebugEnabled())
+        {
+          log.debug("Dropped " + droppedCount + " queued command(s) of finished owners");
+        }
+        if (droppedCount > 0)
+        {
+          // The command is submitted again through the executor, so that it is instrumented like any other command: should it be rejected again,
+          // no queued command may be dropped anymore and the fallback policy applies
+          executor.execute(runnable);
+          return;
+        }
+      }
+      fallbackHandler.rejectedExecution(runnable, executor);
+    }
+
+  }
+
+  /**
+   * The settings which apply to all the executors of a {@link SmartExecutors.Lane}.
+   */
+  public static final class LaneSettings
+  {
+
+    /**
+     * The maximum number of threads of every executor of the lane.
+     */
+    public final int maximumThreadsCount;
+
+    /**
+     * The capacity of the queue of the executors of the lane, when they do not provide their own queue.
+     */
+    public final int queueCapacity;
+
+    /**
+     * How long an idle thread is kept alive.
+     */
+    public final long keepAliveInSeconds;
+
+    /**
+     * What happens to the commands which cannot be accepted, because the executor queue is full or because the executor has been shut down.
+     */
+    public final RejectedExecutionHandler rejectedExecutionHandler;
+
+    public LaneSettings(int maximumThreadsCount, int queueCapacity, long keepAliveInSeconds,
+        RejectedExecutionHandler rejectedExecutionHandler)
+    {
+      this.maximumThreadsCount = maximumThreadsCount;
+      this.queueCapacity = queueCapacity;
+      this.keepAliveInSeconds = keepAliveInSeconds;
+      this.rejectedExecutionHandler = rejectedExecutionHandler;
+    }
+
+  }
+
+  /**
+   * Gathers the settings of all the lanes.
+   *
+   * @see SmartExecutors#configure(SmartExecutors.Configuration)
+   */
+  public static final class Configuration
+  {
+
+    /**
+     * @return the configuration used when none is provided: the {@link SmartExecutors.Lane#Cpu} lane executors have as many threads as cores, the
+     * {@link SmartExecutors.Lane#Io} lane executors have at most 8 threads, and the commands which cannot be queued are rejected with a
+     * {@link java.util.concurrent.RejectedExecutionException}
+     */
+    public static SmartExecutors.Configuration newDefault()
+    {
+      final RejectedExecutionHandler abortPolicy = new ThreadPoolExecutor.AbortPolicy();
+      return new SmartExecutors.Configuration(new SmartExecutors.LaneSettings(Math.max(2, Runtime.getRuntime().availableProcessors()), 1024, 10l, abortPolicy), new SmartExecutors.LaneSettings(8, 1024, 10l, abortPolicy));
+    }
+
+    public final SmartExecutors.LaneSettings cpuLaneSettings;
+
+    public final SmartExecutors.LaneSettings ioLaneSettings;
+
+    public Configuration(SmartExecutors.LaneSettings cpuLaneSettings, SmartExecutors.LaneSettings ioLaneSettings)
+    {
+      this.cpuLaneSettings = cpuLaneSettings;
+      this.ioLaneSettings = ioLaneSettings;
+    }
+
+    public SmartExecutors.LaneSettings getLaneSettings(SmartExecutors.Lane lane)
+    {
+      return lane == SmartExecutors.Lane.Cpu ? cpuLaneSettings : ioLaneSettings;
+    }
+
+  }
+
+  /**
+   * A snapshot of the activity of an executor, or of all the executors of a lane.
+   */
+  public static final class Metrics
+  {
+
+    /**
+     * The name of the executor, or the name of the lane when the metrics relate to a lane.
+     */
+    public final String name;
+
+    public final SmartExecutors.Lane lane;
+
+    /**
+     * The current number of threads.
+     */
+    public final int threadsCount;
+
+    /**
+     * The largest number of threads that have ever simultaneously been alive.
+     */
+    public final int largestThreadsCount;
+
+    /**
+     * The number of commands currently waiting in the queue.
+     */
+    public final int queueDepth;
+
+    public final long submittedCount;
+
+    public final long completedCount;
+
+    public final long rejectedCount;
+
+    /**
+     * The sum of the durations the started commands have waited in the queue.
+     */
+    public final long queueWaitSumInNanoseconds;
+
+    /**
+     * The longest duration a started command has waited in the queue.
+     */
+    public final long maximumQueueWaitInNanoseconds;
+
+    /**
+     * The sum of the durations of the completed commands executions.
+     */
+    public final long executionSumInNanoseconds;
+
+    public Metrics(String name, SmartExecutors.Lane lane, int threadsCount, int largestThreadsCount, int queueDepth, long submittedCount,
+        long completedCount, long rejectedCount, long queueWaitSumInNanoseconds, long maximumQueueWaitInNanoseconds,
+        long executionSumInNanoseconds)
+    {
+      this.name = name;
+      this.lane = lane;
+      this.threadsCount = threadsCount;
+      this.largestThreadsCount = largestThreadsCount;
+      this.queueDepth = queueDepth;
+      this.submittedCount = submittedCount;
+      this.completedCount = completedCount;
+      this.rejectedCount = rejectedCount;
+      this.queueWaitSumInNanoseconds = queueWaitSumInNanoseconds;
+      this.maximumQueueWaitInNanoseconds = maximumQueueWaitInNanoseconds;
+      this.executionSumInNanoseconds = executionSumInNanoseconds;
+    }
+
+    public long getAverageQueueWaitInNanoseconds()
+    {
+      return completedCount <= 0 ? 0 : queueWaitSumInNanoseconds / completedCount;
+    }
+
+    public long getAverageExecutionInNanoseconds()
+    {
+      return completedCount <= 0 ? 0 : executionSumInNanoseconds / completedCount;
+    }
+
+    @Override
+    public String toString()
+    {
+      return name + " (" + lane + "): " + threadsCount + " thread(s) (" + largestThreadsCount + " at most), " + queueDepth + " queued, " + submittedCount + " submitted, " + completedCount + " completed, " + rejectedCount + " rejected, average wait " + TimeUnit.NANOSECONDS.toMillis(getAverageQueueWaitInNanoseconds()) + " ms (" + TimeUnit.NANOSECONDS.toMillis(maximumQueueWaitInNanoseconds) + " ms at most), average execution " + TimeUnit.NANOSECONDS.toMillis(getAverageExecutionInNanoseconds()) + " ms";
+    }
+
+  }
+
+  /**
+   * A {@link ThreadPoolExecutor} which measures how long its commands wait in its queue and how long they last, and which feeds the
+   * {@link ExecutionProfiler#getInstance() execution profiler}.
+   */
+  public static class InstrumentedThreadPoolExecutor
+      extends ThreadPoolExecutor
+  {
+
+    public final String name;
+
+    public final SmartExecutors.Lane lane;
+
+    /**
+     * The time when the queued commands which are not {@link SmartExecutors.TimedCommand timed commands} have been submitted. The entries are
+     * removed when the commands are run, rejected or {@link #remove(Runnable) removed}.
+     */
+    private final ConcurrentMap<Runnable, Long> submissionTimesInNanoseconds = new ConcurrentHashMap<>();
+
+    /**
+     * For the command being run by the thread, the time when it started, or {@link Long#MIN_VALUE} when no command is being run, and the duration
+     * it has waited in the queue, or {@code -1} when unknown.
+     */
+    private final ThreadLocal<long[]> executionTimesInNanoseconds = new ThreadLocal<long[]>()
+    {
+      @Override
+      protected long[] initialValue()
+      {
+        return new long[] { Long.MIN_VALUE, -1 };
+      }
+    };
+
+    private final AtomicLong submittedCount = new AtomicLong();
+
+    private final AtomicLong completedCount = new AtomicLong();
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    private final AtomicLong queueWaitSumInNanoseconds = new AtomicLong();
+
+    private final AtomicLong maximumQueueWaitInNanoseconds = new AtomicLong();
+
+    private final AtomicLong executionSumInNanoseconds = new AtomicLong();
+
+    public InstrumentedThreadPoolExecutor(String name, SmartExecutors.Lane lane, int corePoolSize, int maximumPoolSize, long keepAliveTime,
+        TimeUnit unit, BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler)
+    {
+      super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory);
+      this.name = name;
+      this.lane = lane;
+      setRejectedExecutionHandler(rejectedExecutionHandler);
+    }
+
+    /**
+     * The submission time of the command is kept by the command itself when it is a {@link SmartExecutors.TimedCommand}, which is the case of the
+     * tasks created by the {@code submit} methods and of the framework commands. It is kept by the executor otherwise.
+     */
+    @Override
+    public void execute(Runnable command)
+    {
+      submittedCount.incrementAndGet();
+      final long nowInNanoseconds = System.nanoTime();
+      if (command instanceof SmartExecutors.TimedCommand)
+      {
+        ((SmartExecutors.TimedCommand) command).setSubmissionTimeInNanoseconds(nowInNanoseconds);
+      }
+      else if (command != null)
+      {
+        submissionTimesInNanoseconds.put(command, nowInNanoseconds);
+      }
+      super.execute(command);
+    }
+
+    @Override
+    public boolean remove(Runnable task)
+    {
+      final boolean removed = super.remove(task);
+      if (removed == true)
+      {
+        submissionTimesInNanoseconds.remove(task);
+      }
+      return removed;
+    }
+
+    @Override
+    public List<Runnable> shutdownNow()
+    {
+      final List<Runnable> runnables = super.shutdownNow();
+      submissionTimesInNanoseconds.clear();
+      return runnables;
+    }
+
+    @Override
+    public void setRejectedExecutionHandler(final RejectedExecutionHandler rejectedExecutionHandler)
+    {
+      super.setRejectedExecutionHandler(new RejectedExecutionHandler()
+      {
+        @Override
+        public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor)
+        {
+          rejectedCount.incrementAndGet();
+          if (runnable instanceof SmartExecutors.TimedCommand == false)
+          {
+            submissionTimesInNanoseconds.remove(runnable);
+          }
+          log.warn("The executor '{}' rejects a command, while its queue holds {} command(s)", name, getQueue().size());
+          rejectedExecutionHandler.rejectedExecution(runnable, executor);
+        }
+      });
+    }
+
+    /**
+     * @return a snapshot of the executor activity
+     */
+    public SmartExecutors.Metrics getMetrics()
+    {
+      return new SmartExecutors.Metrics(name, lane, getPoolSize(), getLargestPoolSize(), getQueue().size(), submittedCount.get(), completedCount.get(), rejectedCount.get(), queueWaitSumInNanoseconds.get(), maximumQueueWaitInNanoseconds.get(), executionSumInNanoseconds.get());
+    }
+
+    @Override
+    protected void beforeExecute(Thread thread, Runnable runnable)
+    {
+      final long nowInNanoseconds = System.nanoTime();
+      final long[] executionTimes = executionTimesInNanoseconds.get();
+      executionTimes[1] = -1;
+      final Long submissionTimeInNanoseconds;
+      if (runnable instanceof SmartExecutors.TimedCommand)
+      {
+        submissionTimeInNanoseconds = ((SmartExecutors.TimedCommand) runnable).getSubmissionTimeInNanoseconds();
+      }
+      else
+      {
+        submissionTimeInNanoseconds = submissionTimesInNanoseconds.remove(runnable);
+      }
+      if (submissionTimeInNanoseconds != null)
+      {
+        final long queueWaitInNanoseconds = nowInNanoseconds - submissionTimeInNanoseconds;
+        executionTimes[1] = queueWaitInNanoseconds;
+        queueWaitSumInNanoseconds.addAndGet(queueWaitInNanoseconds);
+        long maximumInNanoseconds;
+        while ((maximumInNanoseconds = maximumQueueWaitInNanoseconds.get()) < queueWaitInNanoseconds && maximumQueueWaitInNanoseconds.compareAndSet(maximumInNanoseconds, queueWaitInNanoseconds) == false)
+        {
+          // Another thread has just updated the maximum: we try again
+        }
+        onDequeued(runnable, queueWaitInNanoseconds);
+      }
+      executionTimes[0] = nowInNanoseconds;
+      ExecutionProfiler.clearFailed();
+      super.beforeExecute(thread, runnable);
+    }
+
+    @Override
+    protected void afterExecute(Runnable runnable, Throwable throwable)
+    {
+      super.afterExecute(runnable, throwable);
+      final long[] executionTimes = executionTimesInNanoseconds.get();
+      if (executionTimes[0] != Long.MIN_VALUE)
+      {
+        final long durationInNanoseconds = System.nanoTime() - executionTimes[0];
+        executionTimes[0] = Long.MIN_VALUE;
+        executionSumInNanoseconds.addAndGet(durationInNanoseconds);
+        completedCount.incrementAndGet();
+        final boolean failed = ExecutionProfiler.clearFailed() == true || throwable != null || InstrumentedThreadPoolExecutor.hasFailed(runnable) == true;
+        ExecutionProfiler.getInstance().record(ExecutionProfiler.computeCommandClass(runnable), Math.max(0, executionTimes[1]), durationInNanoseconds, failed);
+        onExecuted(runnable, durationInNanoseconds);
+      }
+    }
+
+    @Override
+    protected <ResultClass> RunnableFuture<ResultClass> newTaskFor(Runnable runnable, ResultClass result)
+    {
+      return new SmartExecutors.TimedFutureTask<>(runnable, result);
+    }
+
+    @Override
+    protected <ResultClass> RunnableFuture<ResultClass> newTaskFor(Callable<ResultClass> callable)
+    {
+      return new SmartExecutors.TimedFutureTask<>(callable);
+    }
+
+    /**
+     * @return {@code true} if and only if the command is a {@link Future} which completed with an exception
+     */
+    private static boolean hasFailed(Runnable runnable)
+    {
+      if (runnable instanceof Future == false || ((Future<?>) runnable).isDone() == false || ((Future<?>) runnable).isCancelled() == true)
+      {
+        return false;
+      }
+      try
+      {
+        ((Future<?>) runnable).get();
+        return false;
+      }
+      catch (ExecutionException exception)
+      {
+        return true;
+      }
+      catch (InterruptedException exception)
+      {
+        Thread.currentThread().interrupt();
+        return false;
+      }
+    }
+
+    /**
+     * Invoked on the executing thread, just before a command submitted through the {@link #execute(Runnable)} method is run. Does nothing by
+     * default.
+     *
+     * @param runnable               the command which is about to be run
+     * @param queueWaitInNanoseconds how long the command has waited in the queue
+     */
+    protected void onDequeued(Runnable runnable, long queueWaitInNanoseconds)
+    {
+    }
+
+    /**
+     * Invoked on the executing thread, once a command has been run, whether it succeeded or not. Does nothing by default.
+     *
+     * @param runnable             the command which has just been run
+     * @param durationInNanoseconds how long the command lasted
+     */
+    protected void onExecuted(Runnable runnable, long durationInNanoseconds)
+    {
+    }
+
+  }
+
+  private final static ParameterizedLogger log = LoggerFactory.getParameterizedInstance(SmartExecutors.class);
+
+  private static SmartExecutors.Configuration configuration = SmartExecutors.Configuration.newDefault();
+
+  private static final List<SmartExecutors.InstrumentedThreadPoolExecutor> executors = new CopyOnWriteArrayList<>();
+
+  /**
+   * Sets the settings of the lanes. Should be invoked before any executor is created.
+   * <p>
+   * <p>
+   * Since some executors may be created by static initializers before the {@link com.smartnsoft.droid4me.app.SmartApplication#onCreate()} method
+   * is invoked, a late configuration does not fail: it is ignored and a warning is logged, because the settings of the existing executors cannot be
+   * changed anymore.
+   * </p>
+   *
+   * @param configuration the settings of all the lanes
+   * @return {@code true} if and only if the configuration has been taken into account, i.e. no executor had been created yet
+   */
+  public static synchronized boolean configure(SmartExecutors.Configuration configuration)
+  {
+    if (SmartExecutors.executors.isEmpty() == false)
+    {
+      if (log.isWarnEnabled())
+      {
+        log.warn("Ignoring the executors configuration, because the executor '" + SmartExecutors.executors.get(0).name + "' has already been created");
+      }
+      return false;
+    }
+    SmartExecutors.configuration = configuration;
+    return true;
+  }
+
+  public static synchronized SmartExecutors.LaneSettings getLaneSettings(SmartExecutors.Lane lane)
+  {
+    return SmartExecutors.configuration.getLaneSettings(lane);
+  }
+
+  /**
+   * Creates and registers an executor, whose threads count is bounded by its lane settings, and whose idle threads die after the lane keep-alive
+   * duration.
+   *
+   * @param name          the name of the executor, which is also used for naming its threads
+   * @param lane          the lane the executor belongs to
+   * @param threadsCount  the number of threads the executor would like to use: the lane {@link SmartExecutors.LaneSettings#maximumThreadsCount}
+   *                      prevails over it
+   * @param workQueue     the queue which holds the commands waiting for a thread ; when {@code null}, a queue with the lane
+   *                      {@link SmartExecutors.LaneSettings#queueCapacity} is used
+   * @param threadFactory creates the executor threads ; when {@code null}, normal priority threads named after the executor are created
+   * @return the new executor
+   */
+  public static SmartExecutors.InstrumentedThreadPoolExecutor newExecutor(String name, SmartExecutors.Lane lane, int threadsCount,
+      BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory)
+  {
+    final SmartExecutors.LaneSettings laneSettings = SmartExecutors.getLaneSettings(lane);
+    final int actualThreadsCount = SmartExecutors.computeThreadsCount(lane, threadsCount);
+    final SmartExecutors.InstrumentedThreadPoolExecutor executor = new SmartExecutors.InstrumentedThreadPoolExecutor(name, lane, actualThreadsCount, actualThreadsCount, laneSettings.keepAliveInSeconds, TimeUnit.SECONDS, workQueue == null ? SmartExecutors.newWorkQueue(lane) : workQueue, threadFactory == null ? SmartExecutors.newThreadFactory(name, Thread.NORM_PRIORITY) : threadFactory, laneSettings.rejectedExecutionHandler);
+    executor.allowCoreThreadTimeOut(true);
+    return SmartExecutors.register(executor);
+  }
+
+  /**
+   * Registers an executor which has been created outside of this class, so that it is monitored and shut down along with the other ones.
+   *
+   * @param executor the executor to register
+   * @return the provided executor
+   */
+  public static <ExecutorClass extends SmartExecutors.InstrumentedThreadPoolExecutor> ExecutorClass register(ExecutorClass executor)
+  {
+    SmartExecutors.executors.add(executor);
+    if (log.isDebugEnabled())
+    {
+      log.debug("Registered the executor '" + executor.name + "' on the " + executor.lane + " lane with " + executor.getMaximumPoolSize() + " thread(s) at most");
+    }
+    return executor;
+  }
+
+  /**
+   * @return the number of threads an executor of the given lane should use, given the number it would like to use
+   */
+  public static int computeThreadsCount(SmartExecutors.Lane lane, int threadsCount)
+  {
+    return Math.max(1, Math.min(threadsCount, SmartExecutors.getLaneSettings(lane).maximumThreadsCount));
+  }
+
+  /**
+   * @return a new queue with the lane {@link SmartExecutors.LaneSettings#queueCapacity}
+   */
+  public static BlockingQueue<Runnable> newWorkQueue(SmartExecutors.Lane lane)
+  {
+    return new LinkedBlockingQueue<>(SmartExecutors.getLaneSettings(lane).queueCapacity);
+  }
+
+  /**
+   * @param name     the name of the executor, used for naming the threads
+   * @param priority the priority of the threads
+   * @return a factory which creates threads named after the executor
+   */
+  public static ThreadFactory newThreadFactory(final String name, final int priority)
+  {
+    return new ThreadFactory()
+    {
+
+      private final AtomicInteger threadsCount = new AtomicInteger(1);
+
+      public Thread newThread(Runnable runnable)
+      {
+        final Thread thread = new Thread(runnable);
+        thread.setPriority(priority);
+        thread.setName("droid4me-" + name + "-thread #" + threadsCount.getAndIncrement());
+        return thread;
+      }
+
+    };
+  }
+
+  /**
+   * @return the metrics of all the registered executors
+   */
+  public static List<SmartExecutors.Metrics> getMetrics()
+  {
+    final List<SmartExecutors.Metrics> metrics = new ArrayList<>();
+    for (SmartExecutors.InstrumentedThreadPoolExecutor executor : SmartExecutors.executors)
+    {
+      metrics.add(executor.getMetrics());
+    }
+    return metrics;
+  }
+
+  /**
+   * @return the metrics of all the registered executors of the given lane, added up
+   */
+  public static SmartExecutors.Metrics getMetrics(SmartExecutors.Lane lane)
+  {
+    int threadsCount = 0;
+    int largestThreadsCount = 0;
+    int queueDepth = 0;
+    long submittedCount = 0;
+    long completedCount = 0;
+    long rejectedCount = 0;
+    long queueWaitSumInNanoseconds = 0;
+    long maximumQueueWaitInNanoseconds = 0;
+    long executionSumInNanoseconds = 0;
+    for (SmartExecutors.Metrics metrics : SmartExecutors.getMetrics())
+    {
+      if (metrics.lane == lane)
+      {
+        threadsCount += metrics.threadsCount;
+        largestThreadsCount += metrics.largestThreadsCount;
+        queueDepth += metrics.queueDepth;
+        submittedCount += metrics.submittedCount;
+        completedCount += metrics.completedCount;
+        rejectedCount += metrics.rejectedCount;
+        queueWaitSumInNanoseconds += metrics.queueWaitSumInNanoseconds;
+        maximumQueueWaitInNanoseconds = Math.max(maximumQueueWaitInNanoseconds, metrics.maximumQueueWaitInNanoseconds);
+        executionSumInNanoseconds += metrics.executionSumInNanoseconds;
+      }
+    }
+    return new SmartExecutors.Metrics(lane.name(), lane, threadsCount, largestThreadsCount, queueDepth, submittedCount, completedCount, rejectedCount, queueWaitSumInNanoseconds, maximumQueueWaitInNanoseconds, executionSumInNanoseconds);
+  }
+
+  /**
+   * Shuts down all the registered executors: the commands already submitted are run, but no new command is accepted.
+   */
+  public static void shutdown()
+  {
+    for (SmartExecutors.InstrumentedThreadPoolExecutor executor : SmartExecutors.executors)
+    {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * There is no reason creating an instance of that class, which is just a container.
+   */
+  private SmartExecutors()
+  {
+  }
+
+}
@@ -26,6 +26,7 @@ import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -47,6 +48,7 @@ import android.widget.TextView;
 
 import com.smartnsoft.droid4me.app.ActivityController.Interceptor;
 import com.smartnsoft.droid4me.app.Droid4mizer;
+import com.smartnsoft.droid4me.concurrent.ExecutionProfiler;
 import com.smartnsoft.droid4me.download.BitmapDownloader.AnalyticsDisplayer;
 
 /**
@@ -130,6 +132,69 @@ public class Droid4meDebugInterceptor
     }
   }
 
+  /**
+   * Displays the {@link ExecutionProfiler#getSlowestProfiles(int) slowest commands} run by the framework executors.
+   *
+   * @since 2026.10.18
+   */
+  private static class CommandsAnalyticsDisplayer
+  {
+
+    /**
+     * The number of command classes displayed.
+     */
+    private static final int DISPLAYED_COMMANDS_COUNT = 5;
+
+    private TextView commands;
+
+    private Button clear;
+
+    public View getView(final Context context)
+    {
+      final LinearLayout container = new LinearLayout(context);
+      container.setOrientation(LinearLayout.VERTICAL);
+      commands = new TextView(context);
+      commands.setTextColor(Color.WHITE);
+      commands.setTextSize(TypedValue.COMPLEX_UNIT_DIP, 8f);
+      container.addView(commands);
+      clear = new Button(context);
+      clear.setText("Clear");
+      clear.setTextSize(TypedValue.COMPLEX_UNIT_DIP, 8f);
+      container.addView(clear);
+      clear.setOnClickListener(new OnClickListener()
+      {
+        @Override
+        public void onClick(View v)
+        {
+          ExecutionProfiler.getInstance().clear();
+          updateView();
+        }
+      });
+      return container;
+    }
+
+    public void updateView()
+    {
+      final StringBuilder builder = new StringBuilder();
+      for (ExecutionProfiler.CommandProfile profile : ExecutionProfiler.getInstance().getSlowestProfiles(CommandsAnalyticsDisplayer.DISPLAYED_COMMANDS_COUNT))
+      {
+        if (builder.length() > 0)
+        {
+          builder.append('\n');
+        }
+        final String className = profile.commandClassName;
+        builder.append(className.substring(className.lastIndexOf('.') + 1)).append(" x").append(profile.run.count);
+        if (profile.failedCount > 0)
+        {
+          builder.append(" (").append(profile.failedCount).append(" KO)");
+        }
+        builder.append("\nrun ").append(TimeUnit.NANOSECONDS.toMillis(profile.run.getPercentileInNanoseconds(95))).append('/').append(TimeUnit.NANOSECONDS.toMillis(profile.run.maximumInNanoseconds)).append(" ms, wait ").append(TimeUnit.NANOSECONDS.toMillis(profile.queueWait.getPercentileInNanoseconds(95))).append('/').append(TimeUnit.NANOSECONDS.toMillis(profile.queueWait.maximumInNanoseconds)).append(" ms");
+      }
+      commands.setText(builder.length() <= 0 ? "No command" : builder.toString());
+    }
+
+  }
+
   public static final String DISPLAY_BITMAP_DOWNLOADER_EXTRA = "displayBitmapDownloaderWindowExtra";
 
   private static final Map<Activity, DebugAggregate> debugAggregates = new HashMap<>();
@@ -232,6 +297,8 @@ public class Droid4meDebugInterceptor
 
     private Droi4mizerAnalyticsDisplayer droi4mizerAnalyticsDisplayer;
 
+    private CommandsAnalyticsDisplayer commandsAnalyticsDisplayer;
+
     private PopupWindow popupWindow;
 
     public PopupWindow getPopupWindow(final Context context, boolean createIfNecessary, AtomicBoolean hasBeenCreated)
@@ -246,10 +313,14 @@ public class Droid4meDebugInterceptor
         droi4mizerAnalyticsDisplayer = new Droi4mizerAnalyticsDisplayer();
         final View view2 = droi4mizerAnalyticsDisplayer.getView(context);
 
+        commandsAnalyticsDisplayer = new CommandsAnalyticsDisplayer();
+        final View view3 = commandsAnalyticsDisplayer.getView(context);
+
         final LinearLayout container = new LinearLayout(context);
         container.setOrientation(LinearLayout.HORIZONTAL);
         addView(container, "Droid4mizer", view2);
         addView(container, "BitmapDownloader", view1);
+        addView(container, "Commands (p95/max)", view3);
 
         popupWindow.setContentView(container);
         popupWindow.setWidth(panelWidth);
@@ -267,6 +338,7 @@ public class Droid4meDebugInterceptor
     {
       analyticsDisplayer.plug();
       droi4mizerAnalyticsDisplayer.updateView();
+      commandsAnalyticsDisplayer.updateView();
     }
 
     public void onDestroy()
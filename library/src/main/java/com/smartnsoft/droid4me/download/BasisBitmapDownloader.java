@@ -24,21 +24,26 @@ package com.smartnsoft.droid4me.download;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.HashSet;
-import java.util.Hashtable;
-import java.util.Map;
+import java.util.Collections;
 import java.util.Set;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import android.view.View;
 
+import com.smartnsoft.droid4me.concurrent.SmartExecutors;
 import com.smartnsoft.droid4me.download.BasisDownloadInstructions.InputStreamDownloadInstructor;
+import com.smartnsoft.droid4me.download.BasisDownloadInstructions.ProgressiveInstructions;
 import com.smartnsoft.droid4me.download.DownloadContracts.Bitmapable;
 import com.smartnsoft.droid4me.download.DownloadContracts.Handlerable;
+import com.smartnsoft.droid4me.download.DownloadContracts.Prioritizable;
+import com.smartnsoft.droid4me.download.DownloadContracts.Priority;
 import com.smartnsoft.droid4me.download.DownloadContracts.Viewable;
 import com.smartnsoft.droid4me.download.DownloadInstructions.BitmapableGif;
 
@@ -53,6 +58,12 @@ import com.smartnsoft.droid4me.download.DownloadInstructions.BitmapableGif;
  * <li>{@link #setPreThreadPoolSize(int)},</li>
  * <li>{@link #setDownloadThreadPoolSize(int)}.</li>
  * </ul>
+ * <p>
+ * <p>
+ * The pending commands are not served in their submission order: the commands with the highest {@link Priority priority} are served first, and
+ * among them, the most recent ones first, because they most likely relate to the views currently displayed. A command whose view has been bound to
+ * another bitmap in the meantime is discarded before any thread is spent on it.
+ * </p>
  *
  * @author Édouard Mercier
  * @since 2009.02.19
@@ -128,9 +139,21 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
 
     public final int inProgressDownloadsSize;
 
+    /**
+     * The number of times a command has reused what another command retrieved for the same URL, instead of downloading it.
+     */
+    public final int savedDownloadsCount;
+
     protected BasisAnalyticsData(int bitmapsCount, int cleanUpsCount, int outOfMemoryOccurences, int commandsCount,
         int prioritiesPreStackSize, int prioritiesStackSize, int prioritiesDownloadStackSize,
         int inProgressDownloadsSize)
+    {
+      this(bitmapsCount, cleanUpsCount, outOfMemoryOccurences, commandsCount, prioritiesPreStackSize, prioritiesStackSize, prioritiesDownloadStackSize, inProgressDownloadsSize, 0);
+    }
+
+    protected BasisAnalyticsData(int bitmapsCount, int cleanUpsCount, int outOfMemoryOccurences, int commandsCount,
+        int prioritiesPreStackSize, int prioritiesStackSize, int prioritiesDownloadStackSize,
+        int inProgressDownloadsSize, int savedDownloadsCount)
     {
       super(bitmapsCount, cleanUpsCount, outOfMemoryOccurences);
       this.commandsCount = commandsCount;
@@ -138,6 +161,7 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
       this.prioritiesStackSize = prioritiesStackSize;
       this.prioritiesDownloadStackSize = prioritiesDownloadStackSize;
       this.inProgressDownloadsSize = inProgressDownloadsSize;
+      this.savedDownloadsCount = savedDownloadsCount;
     }
 
   }
@@ -176,15 +200,21 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
    */
   private static ThreadPoolExecutor DOWNLOAD_THREAD_POOL;
 
+  /**
+   * The single thread pool responsible for storing the downloaded bitmaps in the {@link #setDiskCache(BitmapDiskCache) disk cache}, so that the
+   * download threads do not wait for the disk writes.
+   */
+  private static ThreadPoolExecutor DISK_THREAD_POOL;
+
   /**
    * The counter of all commands, which is incremented by one on every new command, so as to be able to determine their creation order.
    */
-  private static int commandOrdinalCount = -1;
+  private static final AtomicInteger commandOrdinalCount = new AtomicInteger(-1);
 
   /**
    * The internal unique identifier of a command.
    */
-  private static int commandIdCount = -1;
+  private static final AtomicInteger commandIdCount = new AtomicInteger(-1);
 
   /**
    * Resets the BitmapDownloader, so that the commands count is reset to {@code 0} and so that the internal worker thread are purged.
@@ -195,8 +225,8 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
     {
       log.info("Resetting the BitmapDownloader");
     }
-    BasisBitmapDownloader.commandOrdinalCount = -1;
-    BasisBitmapDownloader.commandIdCount = -1;
+    BasisBitmapDownloader.commandOrdinalCount.set(-1);
+    BasisBitmapDownloader.commandIdCount.set(-1);
     if (BasisBitmapDownloader.PRE_THREAD_POOL != null)
     {
       BasisBitmapDownloader.PRE_THREAD_POOL.purge();
@@ -213,7 +243,8 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
   /**
    * Enables to tune how many threads at most will be available in the "pre" threads pool.
    *
-   * @param poolSize the maximum of threads will created for handling incoming commands ; defaults to {@link #PRE_THREAD_POOL_DEFAULT_SIZE}
+   * @param poolSize the maximum of threads will created for handling incoming commands, bounded by the {@link SmartExecutors.Lane#Cpu} lane settings ;
+   *                 defaults to {@link #PRE_THREAD_POOL_DEFAULT_SIZE}
    * @throws IllegalStateException if the this method is invoked while the threads pool has already been created, because the Android {@link ThreadPoolExecutor}
    *                               implementation does not support properly changing this parameter dynamically
    */
@@ -229,7 +260,8 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
   /**
    * Enables to tune how many threads at most will be available in the "download" threads pool.
    *
-   * @param poolSize the maximum of threads will created for handling incoming commands ; defaults to {@link #DOWNLOAD_THREAD_POOL_DEFAULT_SIZE}
+   * @param poolSize the maximum of threads will created for handling incoming commands, bounded by the {@link SmartExecutors.Lane#Io} lane settings ;
+   *                 defaults to {@link #DOWNLOAD_THREAD_POOL_DEFAULT_SIZE}
    * @throws IllegalStateException if the this method is invoked while the threads pool has already been created, because the Android {@link ThreadPoolExecutor}
    *                               implementation does not support properly changing this parameter dynamically
    */
@@ -242,11 +274,32 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
     BasisBitmapDownloader.DOWNLOAD_THREAD_POOL_SIZE = poolSize;
   }
 
+  private static BytesInputStream.Buffer readBytes(InputStream inputStream)
+      throws IOException
+  {
+    try
+    {
+      final BytesInputStream.Buffer outputStream = new BytesInputStream.Buffer();
+      final byte[] buffer = new byte[8192];
+      int count;
+      while ((count = inputStream.read(buffer)) != -1)
+      {
+        outputStream.write(buffer, 0, count);
+      }
+      return outputStream;
+    }
+    finally
+    {
+      inputStream.close();
+    }
+  }
+
   private static synchronized void ensurePreThreadPool()
   {
     if (BasisBitmapDownloader.PRE_THREAD_POOL == null)
     {
-      BasisBitmapDownloader.PRE_THREAD_POOL = new ThreadPoolExecutor(BasisBitmapDownloader.PRE_THREAD_POOL_SIZE, BasisBitmapDownloader.PRE_THREAD_POOL_SIZE, 5l, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory()
+      // The pre-commands mostly hit the memory cache or decode bitmaps, hence the CPU lane
+      BasisBitmapDownloader.PRE_THREAD_POOL = SmartExecutors.newExecutor("pre", SmartExecutors.Lane.Cpu, BasisBitmapDownloader.PRE_THREAD_POOL_SIZE, new PriorityBlockingQueue<Runnable>(), new ThreadFactory()
       {
         private final AtomicInteger threadsCount = new AtomicInteger(0);
 
@@ -256,7 +309,7 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
           thread.setName("droid4me-" + (threadsCount.get() < BasisBitmapDownloader.PRE_THREAD_POOL.getCorePoolSize() ? "core-" : "") + "pre #" + threadsCount.getAndIncrement());
           return thread;
         }
-      }, new ThreadPoolExecutor.AbortPolicy());
+      });
     }
   }
 
@@ -264,7 +317,7 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
   {
     if (BasisBitmapDownloader.DOWNLOAD_THREAD_POOL == null)
     {
-      BasisBitmapDownloader.DOWNLOAD_THREAD_POOL = new ThreadPoolExecutor(BasisBitmapDownloader.DOWNLOAD_THREAD_POOL_SIZE, BasisBitmapDownloader.DOWNLOAD_THREAD_POOL_SIZE, 5l, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory()
+      BasisBitmapDownloader.DOWNLOAD_THREAD_POOL = SmartExecutors.newExecutor("download", SmartExecutors.Lane.Io, BasisBitmapDownloader.DOWNLOAD_THREAD_POOL_SIZE, new PriorityBlockingQueue<Runnable>(), new ThreadFactory()
       {
         private final AtomicInteger threadsCount = new AtomicInteger(0);
 
@@ -274,52 +327,111 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
           thread.setName("droid4me-" + (threadsCount.get() < BasisBitmapDownloader.DOWNLOAD_THREAD_POOL.getCorePoolSize() ? "core-" : "") + "download #" + threadsCount.getAndIncrement());
           return thread;
         }
-      }, new ThreadPoolExecutor.AbortPolicy());
+      });
+    }
+  }
+
+  private static synchronized ThreadPoolExecutor ensureDiskThreadPool()
+  {
+    if (BasisBitmapDownloader.DISK_THREAD_POOL == null)
+    {
+      BasisBitmapDownloader.DISK_THREAD_POOL = SmartExecutors.newExecutor("disk", SmartExecutors.Lane.Io, 1, null, null);
     }
+    return BasisBitmapDownloader.DISK_THREAD_POOL;
   }
 
   /**
    * A map which handles the priorities of the {@link BasisBitmapDownloader.PreCommand pre-commands}: when a new command for an {@link View} is asked
    * for, if a {@link BasisBitmapDownloader.PreCommand} is already stacked for the same view (i.e. present in {@link #prioritiesPreStack stacked}), the old one
    * will be discarded.
+   * <p>
+   * <p>
+   * Like the other priorities maps, it is a concurrent map which is accessed without locking by the GUI thread and the worker threads: the
+   * {@link Viewable} keys are compared through their {@link Object#equals(Object)} method, which, for the Android views wrappers, amounts to the
+   * identity of the underlying {@link View}. An entry is only removed by the command it refers to, so that a finishing command never erases the entry
+   * of a command registered later on for the same view.
+   * </p>
    */
-  private final Map<ViewClass, PreCommand> prioritiesPreStack;
+  private final ConcurrentMap<ViewClass, PreCommand> prioritiesPreStack;
 
   /**
    * A map which contains all the {@link BasisBitmapDownloader.PreCommand commands} that are currently at the top of the priorities stack. When a new
    * command for an {@link View} is asked for, if a {@link BasisBitmapDownloader.PreCommand} is already stacked for the same view (i.e. present in
    * {@link BasisBitmapDownloader#prioritiesPreStack stacked}), the old one will be discarded.
    */
-  private final Map<ViewClass, Integer> prioritiesStack;
+  private final ConcurrentMap<ViewClass, Integer> prioritiesStack;
 
   /**
    * A map which remembers the {@link BasisBitmapDownloader.DownloadBitmapCommand download command} which have been registered. This map allows to
    * discard some commands if a new one has been registered for the same {@link View} later on.
    */
-  private final Map<ViewClass, DownloadBitmapCommand> prioritiesDownloadStack;
+  private final ConcurrentMap<ViewClass, DownloadBitmapCommand> prioritiesDownloadStack;
 
   private final Set<ViewClass> asynchronousDownloadCommands;
 
   /**
-   * Contains the URL of the bitmap being currently downloaded. The key is the URL, the value is a {@link DownloadingBitmap} used for the
-   * synchronization.
+   * Contains the bitmaps being currently retrieved. The key is the {@link CoreBitmapDownloader#computeCacheKey(String, Object) cache key}, the value
+   * is a {@link DownloadingBitmap} used for the synchronization.
+   */
+  private final ConcurrentMap<String, DownloadingBitmap> inProgressDownloads;
+
+  /**
+   * Contains the URLs being currently downloaded by a command whose {@link BasisDownloadInstructions.ShareableDownloadInstructions instructions}
+   * state that the download may be shared whatever the image specifications. The key is the URL, the value is a {@link SharedDownload} which holds
+   * the downloaded bytes once available.
    */
-  private Map<String, DownloadingBitmap> inProgressDownloads;
+  private final ConcurrentMap<String, SharedDownload> sharedDownloads;
+
+  /**
+   * The number of times a command has reused a bitmap or the bytes retrieved by another command, instead of downloading them.
+   */
+  private final AtomicInteger savedDownloadsCount = new AtomicInteger(0);
+
+  /**
+   * The second-level cache of the encoded bitmaps bytes, which is {@code null} by default.
+   */
+  private volatile BitmapDiskCache diskCache;
 
   public BasisBitmapDownloader(int instanceIndex, String name, long maxMemoryInBytes,
       long lowLevelMemoryWaterMarkInBytes, boolean useReferences, boolean recycleMap)
   {
     super(instanceIndex, name, maxMemoryInBytes, lowLevelMemoryWaterMarkInBytes, useReferences, recycleMap);
-    prioritiesStack = new Hashtable<>();// Collections.synchronizedMap(new IdentityHashMap<ViewClass, Integer>());
-    prioritiesPreStack = new Hashtable<ViewClass, PreCommand>();// Collections.synchronizedMap(new IdentityHashMap<ViewClass, PreCommand>());
-    prioritiesDownloadStack = new Hashtable<ViewClass, DownloadBitmapCommand>();// Collections.synchronizedMap(new IdentityHashMap<ViewClass,
-    // DownloadBitmapCommand>());
-    inProgressDownloads = new Hashtable<String, DownloadingBitmap>();
-    asynchronousDownloadCommands = new HashSet<>();
+    prioritiesStack = new ConcurrentHashMap<>();
+    prioritiesPreStack = new ConcurrentHashMap<>();
+    prioritiesDownloadStack = new ConcurrentHashMap<>();
+    inProgressDownloads = new ConcurrentHashMap<>();
+    sharedDownloads = new ConcurrentHashMap<>();
+    asynchronousDownloadCommands = Collections.newSetFromMap(new ConcurrentHashMap<ViewClass, Boolean>());
     BasisBitmapDownloader.ensurePreThreadPool();
     BasisBitmapDownloader.ensureDownloadThreadPool();
   }
 
+  /**
+   * @return the disk cache used by the instance ; may be {@code null}
+   * @see #setDiskCache(BitmapDiskCache)
+   */
+  public final BitmapDiskCache getDiskCache()
+  {
+    return diskCache;
+  }
+
+  /**
+   * Sets the disk cache of the encoded bitmaps bytes, which is consulted when a bitmap is not available in the memory cache.
+   * <p>
+   * <p>
+   * When a bitmap is available on the disk cache, it is decoded from the "pre" threads pool, without going through the "download" threads pool. The
+   * disk cache is only consulted provided the {@link BasisDownloadInstructions.Instructions#getInputStream(String, Object, String,
+   * InputStreamDownloadInstructor)} method returns {@code null}, and every downloaded bitmap is stored in it from a background thread, once it has
+   * been successfully decoded, so that a truncated or invalid response is never cached.
+   * </p>
+   *
+   * @param diskCache the disk cache to use ; when {@code null}, which is the default, no disk cache is used
+   */
+  public final void setDiskCache(BitmapDiskCache diskCache)
+  {
+    this.diskCache = diskCache;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -335,13 +447,15 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
     {
       return;
     }
+    final PreCommand command = new PreCommand(BasisBitmapDownloader.commandIdCount.incrementAndGet(), view, bitmapUid, imageSpecs, handler, instructions);
     if (view != null)
     {
       // We indicate to the potential asynchronous input stream downloads that a new request is now set for the bitmap
       asynchronousDownloadCommands.remove(view);
 
-      // We remove a previously stacked command for the same view
-      final PreCommand alreadyStackedCommand = prioritiesPreStack.get(view);
+      prioritiesStack.put(view, command.id);
+      // We atomically replace a previously stacked command for the same view, which is then removed
+      final PreCommand alreadyStackedCommand = prioritiesPreStack.put(view, command);
       if (alreadyStackedCommand != null)
       {
         if (IS_DEBUG_TRACE && log.isDebugEnabled())
@@ -361,12 +475,6 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
           instructions.onOver(true, alreadyStackedCommand.view, alreadyStackedCommand.bitmapUid, alreadyStackedCommand.imageSpecs);
         }
       }
-    }
-    final PreCommand command = new PreCommand(++BasisBitmapDownloader.commandIdCount, view, bitmapUid, imageSpecs, handler, instructions);
-    if (view != null)
-    {
-      prioritiesStack.put(view, command.id);
-      prioritiesPreStack.put(view, command);
       dump();
     }
     BasisBitmapDownloader.PRE_THREAD_POOL.execute(command);
@@ -394,7 +502,7 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
     }
     else
     {
-      final PreCommand preCommand = new PreCommand(++BasisBitmapDownloader.commandIdCount, view, bitmapUid, imageSpecs, handler, instructions, true);
+      final PreCommand preCommand = new PreCommand(BasisBitmapDownloader.commandIdCount.incrementAndGet(), view, bitmapUid, imageSpecs, handler, instructions, true);
       if (view != null)
       {
         prioritiesStack.put(view, preCommand.id);
@@ -425,7 +533,10 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
     prioritiesPreStack.clear();
     prioritiesDownloadStack.clear();
     inProgressDownloads.clear();
-    cache.clear();
+    synchronized (cache)
+    {
+      cache.clear();
+    }
     dump();
   }
 
@@ -442,7 +553,21 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
   @Override
   protected CoreAnalyticsData computeAnalyticsData()
   {
-    return new BasisAnalyticsData(cache.size(), cleanUpsCount, outOfMemoryOccurences, BasisBitmapDownloader.commandOrdinalCount, prioritiesPreStack.size(), prioritiesStack.size(), prioritiesDownloadStack.size(), inProgressDownloads.size());
+    final int cacheSize;
+    synchronized (cache)
+    {
+      cacheSize = cache.size();
+    }
+    return new BasisAnalyticsData(cacheSize, cleanUpsCount, outOfMemoryOccurences, BasisBitmapDownloader.commandOrdinalCount.get(), prioritiesPreStack.size(), prioritiesStack.size(), prioritiesDownloadStack.size(), inProgressDownloads.size(), savedDownloadsCount.get());
+  }
+
+  /**
+   * @return the number of times a command has reused a bitmap or the bytes retrieved by another command for the same URL, instead of downloading
+   * them
+   */
+  public final int getSavedDownloadsCount()
+  {
+    return savedDownloadsCount.get();
   }
 
   /**
@@ -467,7 +592,7 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
   }
 
   private abstract class BasisCommand
-      implements Runnable, Comparable<BasisCommand>
+      implements Runnable, Comparable<BasisCommand>, SmartExecutors.TimedCommand
   {
 
     protected final int id;
@@ -484,10 +609,14 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
 
     protected UsedBitmap usedBitmap;
 
-    private final int ordinal = ++BasisBitmapDownloader.commandOrdinalCount;
+    protected final Priority priority;
+
+    private final int ordinal = BasisBitmapDownloader.commandOrdinalCount.incrementAndGet();
 
     private boolean executeEnd;
 
+    private long submissionTimeInNanoseconds;
+
     public BasisCommand(int id, ViewClass view, String bitmapUid, Object imageSpecs, HandlerClass handler,
         BasisDownloadInstructions.Instructions<BitmapClass, ViewClass> instructions)
     {
@@ -504,6 +633,14 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
       this.handler = handler;
       this.instructions = instructions;
       this.executeEnd = executeEnd;
+      if (imageSpecs instanceof Prioritizable && ((Prioritizable) imageSpecs).getPriority() != null)
+      {
+        priority = ((Prioritizable) imageSpecs).getPriority();
+      }
+      else
+      {
+        priority = view != null ? Priority.Visible : Priority.Prefetch;
+      }
     }
 
     /**
@@ -516,6 +653,12 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
         if (executeEnd == false)
         {
           executeEnd = true;
+          if (view != null && wasCommandStackedMeanwhile() == true)
+          {
+            // The view has been bound to another bitmap since the command was queued: we do not spend any time on it
+            onDiscarded();
+            return;
+          }
           executeStart(false, false);
         }
         else
@@ -534,15 +677,22 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
         if (view != null)
         {
           // In case of an exception, we forget the command
-          prioritiesStack.remove(view);
-          prioritiesDownloadStack.remove(view);
-          prioritiesDownloadStack.remove(view);
+          prioritiesStack.remove(view, id);
+          prioritiesPreStack.remove(view, this);
+          prioritiesDownloadStack.remove(view, this);
         }
       }
     }
 
+    /**
+     * The commands with the most urgent {@link #priority} come first, and among them, the most recent ones.
+     */
     public final int compareTo(BasisCommand other)
     {
+      if (priority != other.priority)
+      {
+        return priority.ordinal() < other.priority.ordinal() ? -1 : 1;
+      }
       if (ordinal > other.ordinal)
       {
         return -1;
@@ -554,6 +704,18 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
       return 0;
     }
 
+    @Override
+    public final void setSubmissionTimeInNanoseconds(long submissionTimeInNanoseconds)
+    {
+      this.submissionTimeInNanoseconds = submissionTimeInNanoseconds;
+    }
+
+    @Override
+    public final long getSubmissionTimeInNanoseconds()
+    {
+      return submissionTimeInNanoseconds;
+    }
+
     public final String logCommandId()
     {
       return logCommandIdPrefix() + "C(" + id + ") ";
@@ -561,6 +723,18 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
 
     protected abstract void executeStart(boolean isFromGuiThread, boolean resumeWorkflowOnSameThread);
 
+    /**
+     * Is invoked when the command is taken from its threads pool, while another command has been requested for the same view in the meantime.
+     */
+    protected void onDiscarded()
+    {
+      if (IS_DEBUG_TRACE && log.isDebugEnabled())
+      {
+        log.debug(logCommandId() + "Discarding the command for the bitmap with uid '" + bitmapUid + "', because its view " + ("(id='" + view.getId() + "',hash=" + view.hashCode() + ")") + " has been requested again in the meantime");
+      }
+      instructions.onOver(true, view, bitmapUid, imageSpecs);
+    }
+
     /**
      * This method will always be executed in the UI thread.
      */
@@ -677,7 +851,7 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
       // The command is removed from the priority stack
       if (view != null)
       {
-        prioritiesPreStack.remove(view);
+        prioritiesPreStack.remove(view, this);
         dump();
       }
 
@@ -730,7 +904,7 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
         return;
       }
 
-      skipToDownloadCommand(url, resumeWorkflowOnSameThread);
+      skipToDownloadCommand(url, isFromGuiThread, resumeWorkflowOnSameThread);
     }
 
     /**
@@ -818,7 +992,7 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
         // We clear the priorities stack if the work is over for that command (i.e. no DownloadBitmapCommand is required)
         if (state != FinalState.NotInCache && view != null)
         {
-          prioritiesStack.remove(view);
+          prioritiesStack.remove(view, id);
           if (IS_DEBUG_TRACE && log.isDebugEnabled())
           {
             log.debug(logCommandId() + "Removed from the priority stack the view (id='" + view.getId() + "',hash=" + view.hashCode() + ")");
@@ -930,7 +1104,7 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
         return false;
       }
       // We check that the bitmap is not already in the cache
-      final UsedBitmap otherUsedBitmap = getUsedBitmapFromCache(url);
+      final UsedBitmap otherUsedBitmap = getUsedBitmapFromCache(computeCacheKey(url, imageSpecs));
       if (otherUsedBitmap != null)
       {
         usedBitmap = otherUsedBitmap;
@@ -972,7 +1146,7 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
       return false;
     }
 
-    private void skipToDownloadCommand(final String url, boolean resumeWorkflowOnSameThread)
+    private void skipToDownloadCommand(final String url, boolean isFromGuiThread, boolean resumeWorkflowOnSameThread)
     {
       // We want to remove any pending download command for the view
       if (view != null)
@@ -1014,14 +1188,38 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
         prioritiesDownloadStack.put(view, downloadCommand);
         dump();
       }
-      if (resumeWorkflowOnSameThread == false)
+      if (resumeWorkflowOnSameThread == true)
       {
-        BasisBitmapDownloader.DOWNLOAD_THREAD_POOL.execute(downloadCommand);
+        // In that case, we want the workflow to keep on running from the calling thread
+        downloadCommand.executeStart(true, false);
       }
       else
       {
-        // In that case, we want the workflow to keep on running from the calling thread
-        downloadCommand.executeStart(true, false);
+        // The disk cache entry is opened right away, so that it cannot be evicted before being read
+        final BitmapDiskCache diskCache = BasisBitmapDownloader.this.diskCache;
+        final InputStream diskCacheInputStream = isFromGuiThread == false && diskCache != null && diskCache.contains(url) == true ? diskCache.get(url) : null;
+        if (diskCacheInputStream != null)
+        {
+          // The bitmap is available on the disk cache: we do not need to spend a download thread for reading it
+          if (IS_DEBUG_TRACE && log.isDebugEnabled())
+          {
+            log.debug(logCommandId() + "The bitmap with uid '" + bitmapUid + "' relative to the URL '" + url + "' is available on the disk cache");
+          }
+          downloadCommand.diskCacheInputStream = diskCacheInputStream;
+          try
+          {
+            downloadCommand.executeStart(false, false);
+          }
+          finally
+          {
+            // The stream has not been consumed if the bitmap has been retrieved otherwise
+            downloadCommand.closeDiskCacheInputStream();
+          }
+        }
+        else
+        {
+          BasisBitmapDownloader.DOWNLOAD_THREAD_POOL.execute(downloadCommand);
+        }
       }
     }
 
@@ -1034,20 +1232,43 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
 
     protected final String url;
 
+    /**
+     * The key of the bitmap in the memory cache, which depends on the {@link #url} and on the {@link #imageSpecs}.
+     *
+     * @see CoreBitmapDownloader#computeCacheKey(String, Object)
+     */
+    protected final String cacheKey;
+
     private boolean downloaded;
 
     private boolean inputStreamAsynchronous;
 
+    /**
+     * Set as soon as the full bitmap binding has started, so that a {@link ProgressiveInstructions preview} bound later on does not replace it.
+     */
+    private volatile boolean bindingStarted;
+
     /**
      * When not negative, the timestamp corresponding to the time when the underlying bitmap started to be downloaded.
      */
     private long downloadStartTimestamp = -1;
 
+    /**
+     * The stream on the disk cache entry, opened before the command is started from the "pre" threads pool ; {@code null} otherwise.
+     */
+    private InputStream diskCacheInputStream;
+
+    /**
+     * The downloaded bytes which should be stored in the disk cache, once they have been successfully decoded ; {@code null} otherwise.
+     */
+    private BytesInputStream.Buffer bytesToStore;
+
     public DownloadBitmapCommand(int id, ViewClass view, String url, String bitmapUid, Object imageSpecs,
         HandlerClass handler, BasisDownloadInstructions.Instructions<BitmapClass, ViewClass> instructions)
     {
       super(id, view, bitmapUid, imageSpecs, handler, instructions);
       this.url = url;
+      this.cacheKey = computeCacheKey(url, imageSpecs);
     }
 
     public final void setAsynchronous()
@@ -1055,6 +1276,13 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
       inputStreamAsynchronous = true;
     }
 
+    @Override
+    protected void onDiscarded()
+    {
+      prioritiesDownloadStack.remove(view, this);
+      super.onDiscarded();
+    }
+
     public final void onDownloaded(InputStream inputStream)
     {
       try
@@ -1091,7 +1319,7 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
         }
 
         // We put in cache the bitmap
-        usedBitmap = putInCache(url, bitmap);
+        usedBitmap = putInCache(cacheKey, bitmap);
 
         onBitmapReady(true, bitmap);
 
@@ -1128,83 +1356,63 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
       // The command is removed from the priority stack
       if (view != null)
       {
-        prioritiesDownloadStack.remove(view);
+        prioritiesDownloadStack.remove(view, this);
         dump();
       }
       // We need to check whether the same URL has not been downloaded in the meantime
-      final UsedBitmap otherUsedBitmap = getUsedBitmapFromCache(url);
+      final UsedBitmap otherUsedBitmap = getUsedBitmapFromCache(cacheKey);
       if (otherUsedBitmap == null)
       {
         // If the bitmap is not already in memory, we retrieve it
         // But, before that, we check whether the same bitmap would not be currently downloading
         final BitmapClass bitmap;
-        final DownloadingBitmap downloadingBitmap;
-        synchronized (inProgressDownloads)
-        {
-          downloadingBitmap = inProgressDownloads.get(url);
-        }
+        final DownloadingBitmap newDownloadingBitmap = new DownloadingBitmap();
+        final DownloadingBitmap downloadingBitmap = inProgressDownloads.putIfAbsent(cacheKey, newDownloadingBitmap);
         if (downloadingBitmap != null)
         {
-          downloadingBitmap.referencesCount++;
           if (IS_DEBUG_TRACE && log.isDebugEnabled())
           {
             log.debug(logCommandId() + "Waiting for the bitmap corresponding to the URL '" + url + "' to be downloaded" + (view != null ? " regarding the view " + ("(id='" + view.getId() + "',hash=" + view.hashCode() + ")") : "") + (imageSpecs == null ? "" : (" and with specs '" + imageSpecs.toString() + "'")));
           }
-          synchronized (downloadingBitmap)
+          // We wait for the other download to complete
+          usedBitmap = downloadingBitmap.await();
+          bitmap = usedBitmap == null ? null : usedBitmap.getBitmap();
+          if (bitmap != null)
           {
-            // We wait for the other download to complete
-            bitmap = downloadingBitmap.bitmap;
-            downloadingBitmap.referencesCount--;
-            usedBitmap = downloadingBitmap.usedBitmap;
-            if (downloadingBitmap.referencesCount <= 0)
-            {
-              inProgressDownloads.remove(url);
-            }
+            savedDownloadsCount.incrementAndGet();
           }
         }
         else
         {
-          final DownloadingBitmap newDownloadingBitmap;
-          synchronized (inProgressDownloads)
+          BitmapClass retrievedBitmap = null;
+          try
           {
-            newDownloadingBitmap = new DownloadingBitmap();
-            inProgressDownloads.put(url, newDownloadingBitmap);
+            retrievedBitmap = retrieveBitmap();
           }
-          synchronized (newDownloadingBitmap)
+          catch (Throwable throwable)
           {
-            BitmapClass retrievedBitmap = null;
-            try
-            {
-              retrievedBitmap = retrieveBitmap();
-            }
-            catch (Throwable throwable)
+            // We want to make sure that the process resumes if a problem occurred during the retrieval of the bitmap
+            if (log.isWarnEnabled())
             {
-              // We want to make sure that the process resumes if a problem occurred during the retrieval of the bitmap
-              if (log.isWarnEnabled())
-              {
-                log.warn(logCommandId() + "An unattended problem occurred while retrieving the bitmap with uid '" + bitmapUid + "' corresponding to the URL '" + url + "'", throwable);
-              }
+              log.warn(logCommandId() + "An unattended problem occurred while retrieving the bitmap with uid '" + bitmapUid + "' corresponding to the URL '" + url + "'", throwable);
             }
+          }
+          finally
+          {
             bitmap = retrievedBitmap;
-
             if (bitmap != null)
             {
               // If the bitmap is not null, we cache it immediately
-              usedBitmap = putInCache(url, bitmap);
-              newDownloadingBitmap.usedBitmap = usedBitmap;
+              usedBitmap = putInCache(cacheKey, bitmap);
             }
+            // The waiting commands are released, whatever the outcome
+            inProgressDownloads.remove(cacheKey);
+            newDownloadingBitmap.complete(usedBitmap);
+          }
 
-            // A minor optimization
-            if (newDownloadingBitmap.referencesCount <= 0)
-            {
-              inProgressDownloads.remove(url);
-            }
-            newDownloadingBitmap.bitmap = bitmap;
-
-            if (inputStreamAsynchronous == true)
-            {
-              return;
-            }
+          if (inputStreamAsynchronous == true)
+          {
+            return;
           }
         }
 
@@ -1241,6 +1449,7 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
     @Override
     protected void executeEnd()
     {
+      bindingStarted = true;
       try
       {
         if (usedBitmap != null)
@@ -1275,8 +1484,9 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
       finally
       {
         // We clear the priorities stack because the work is over for that command
+        if (view != null)
         {
-          prioritiesStack.remove(view);
+          prioritiesStack.remove(view, id);
           if (IS_DEBUG_TRACE && log.isDebugEnabled())
           {
             log.debug(logCommandId() + "Removed from the priority stack the view" + (view != null ? " " + ("(id='" + view.getId() + "',hash=" + view.hashCode() + ")") : ""));
@@ -1387,6 +1597,10 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
       try
       {
         final BitmapClass bitmap = fromInputStreamToBitmapable(inputStream);
+        if (bitmap != null && bytesToStore != null)
+        {
+          storeInDiskCache(bytesToStore);
+        }
         if (downloadStartTimestamp >= 0)
         {
           final long stop = System.currentTimeMillis();
@@ -1465,6 +1679,20 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
         return null;
       }
 
+      final BitmapDiskCache diskCache = BasisBitmapDownloader.this.diskCache;
+      if (diskCache != null)
+      {
+        final InputStream cachedInputStream = diskCacheInputStream != null ? diskCacheInputStream : diskCache.get(url);
+        if (cachedInputStream != null)
+        {
+          if (IS_DEBUG_TRACE && log.isDebugEnabled())
+          {
+            log.debug(logCommandId() + "Using the disk cache input stream corresponding to the URL '" + url + "'");
+          }
+          return cachedInputStream;
+        }
+      }
+
       try
       {
         return downloadInputStream();
@@ -1496,10 +1724,221 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
       {
         return null;
       }
-      final InputStream inputStream = instructions.downloadInputStream(bitmapUid, imageSpecs, url);
-      final InputStream downloadedInputStream = onInputStreamDownloaded(inputStream);
-      downloaded = true;
-      return downloadedInputStream;
+      // The commands having the same image specifications already share the decoded bitmap, hence the downloaded bytes only need to be shared with
+      // the commands having other image specifications, which is only allowed when the download does not depend on them
+      SharedDownload newSharedDownload = null;
+      if ((instructions instanceof BasisDownloadInstructions.ShareableDownloadInstructions) == true && ((BasisDownloadInstructions.ShareableDownloadInstructions) instructions).isDownloadShareable(bitmapUid, imageSpecs, url) == true)
+      {
+        newSharedDownload = new SharedDownload();
+        final SharedDownload sharedDownload = sharedDownloads.putIfAbsent(url, newSharedDownload);
+        if (sharedDownload != null)
+        {
+          if (IS_DEBUG_TRACE && log.isDebugEnabled())
+          {
+            log.debug(logCommandId() + "Waiting for the bytes corresponding to the URL '" + url + "' to be downloaded by another command");
+          }
+          final BytesInputStream.Buffer sharedBytes = sharedDownload.await();
+          if (sharedBytes == null)
+          {
+            return null;
+          }
+          savedDownloadsCount.incrementAndGet();
+          downloaded = true;
+          return sharedBytes.toInputStream();
+        }
+      }
+      BytesInputStream.Buffer bytes = null;
+      try
+      {
+        final InputStream inputStream = instructions.downloadInputStream(bitmapUid, imageSpecs, url);
+        final InputStream downloadedInputStream = onInputStreamDownloaded(inputStream);
+        downloaded = true;
+        if (downloadedInputStream == null)
+        {
+          return null;
+        }
+        final BitmapDiskCache diskCache = BasisBitmapDownloader.this.diskCache;
+        final int previewThresholdInBytes = computePreviewThresholdInBytes();
+        if (newSharedDownload == null && diskCache == null && previewThresholdInBytes <= 0)
+        {
+          // Nothing requires the bytes in memory, hence they are decoded straight from the downloaded stream
+          return downloadedInputStream;
+        }
+        bytes = readDownloadedBytes(downloadedInputStream, previewThresholdInBytes);
+        if (diskCache != null)
+        {
+          // The bitmap bytes are persisted once they have been successfully decoded
+          bytesToStore = bytes;
+        }
+        return bytes.toInputStream();
+      }
+      finally
+      {
+        if (newSharedDownload != null)
+        {
+          sharedDownloads.remove(url);
+          newSharedDownload.complete(bytes);
+        }
+      }
+    }
+
+    /**
+     * Stores the downloaded bytes in the disk cache from the {@link #DISK_THREAD_POOL}.
+     */
+    private void storeInDiskCache(final BytesInputStream.Buffer bytes)
+    {
+      final BitmapDiskCache diskCache = BasisBitmapDownloader.this.diskCache;
+      if (diskCache == null)
+      {
+        return;
+      }
+      try
+      {
+        BasisBitmapDownloader.ensureDiskThreadPool().execute(new Runnable()
+        {
+          @Override
+          public void run()
+          {
+            final BytesInputStream bytesInputStream = bytes.toInputStream();
+            try
+            {
+              diskCache.put(url, bytesInputStream.getBytes(), bytesInputStream.getOffset(), bytesInputStream.getLength());
+            }
+            catch (IOException exception)
+            {
+              if (log.isWarnEnabled())
+              {
+                log.warn("Could not store in the disk cache the bitmap relative to the URL '" + url + "'", exception);
+              }
+            }
+          }
+        });
+      }
+      catch (RejectedExecutionException exception)
+      {
+        // The disk cache is only an optimization, hence the bytes are not stored when too many writes are pending
+        if (log.isWarnEnabled())
+        {
+          log.warn(logCommandId() + "Could not store in the disk cache the bitmap relative to the URL '" + url + "', because too many writes are pending");
+        }
+      }
+    }
+
+    private void closeDiskCacheInputStream()
+    {
+      if (diskCacheInputStream != null)
+      {
+        try
+        {
+          diskCacheInputStream.close();
+        }
+        catch (IOException exception)
+        {
+          // Does not really matter
+        }
+        diskCacheInputStream = null;
+      }
+    }
+
+    /**
+     * @return the number of downloaded bytes from which a preview should be decoded, when the {@link #instructions} implement the
+     * {@link ProgressiveInstructions} interface ; {@code 0} when no preview should be decoded
+     */
+    private int computePreviewThresholdInBytes()
+    {
+      if (view == null || (instructions instanceof ProgressiveInstructions) == false)
+      {
+        return 0;
+      }
+      return ((ProgressiveInstructions<?>) instructions).getPreviewThresholdInBytes(bitmapUid, imageSpecs, url);
+    }
+
+    /**
+     * Reads entirely the downloaded bytes. When a preview threshold is provided, a preview is
+     * {@link #bindPreview(ProgressiveInstructions, byte[]) bound} as soon as enough bytes have been read.
+     *
+     * @param previewThresholdInBytes the value returned by the {@link #computePreviewThresholdInBytes()} method
+     */
+    private BytesInputStream.Buffer readDownloadedBytes(InputStream inputStream, int previewThresholdInBytes)
+        throws IOException
+    {
+      if (previewThresholdInBytes <= 0)
+      {
+        return BasisBitmapDownloader.readBytes(inputStream);
+      }
+      @SuppressWarnings("unchecked") final ProgressiveInstructions<BitmapClass> progressiveInstructions = (ProgressiveInstructions<BitmapClass>) instructions;
+      try
+      {
+        final BytesInputStream.Buffer outputStream = new BytesInputStream.Buffer();
+        final byte[] buffer = new byte[8192];
+        boolean previewAttempted = false;
+        int count;
+        while ((count = inputStream.read(buffer)) != -1)
+        {
+          outputStream.write(buffer, 0, count);
+          if (previewAttempted == false && outputStream.size() >= previewThresholdInBytes)
+          {
+            previewAttempted = true;
+            bindPreview(progressiveInstructions, outputStream.toByteArray());
+          }
+        }
+        return outputStream;
+      }
+      finally
+      {
+        inputStream.close();
+      }
+    }
+
+    /**
+     * Decodes a preview from the partially downloaded bytes, and binds it through the GUI thread, unless another command has been stacked for the same
+     * view or the full bitmap binding has started in the meantime.
+     */
+    private void bindPreview(ProgressiveInstructions<BitmapClass> progressiveInstructions, byte[] bytes)
+    {
+      if (wasCommandStackedMeanwhile() == true)
+      {
+        return;
+      }
+      final BitmapClass preview;
+      try
+      {
+        preview = progressiveInstructions.convertPreview(bytes, bitmapUid, imageSpecs, url);
+      }
+      catch (OutOfMemoryError exception)
+      {
+        if (log.isWarnEnabled())
+        {
+          log.warn(logCommandId() + "Cannot decode the preview of the bitmap with uid '" + bitmapUid + "' because it exceeds the allowed memory", exception);
+        }
+        outOfMemoryOccurences++;
+        return;
+      }
+      if (preview == null)
+      {
+        return;
+      }
+      if (IS_DEBUG_TRACE && log.isDebugEnabled())
+      {
+        log.debug(logCommandId() + "Decoded a preview from " + bytes.length + " bytes of the bitmap with uid '" + bitmapUid + "' relative to the URL '" + url + "'");
+      }
+      if (handler.post(new Runnable()
+      {
+        @Override
+        public void run()
+        {
+          if (bindingStarted == false && wasCommandStackedMeanwhile() == false)
+          {
+            instructions.onBindTemporaryBitmap(view, preview, bitmapUid, imageSpecs);
+          }
+        }
+      }) == false)
+      {
+        if (log.isWarnEnabled())
+        {
+          log.warn(logCommandId() + "Failed to apply the preview for the bitmap with uid '" + bitmapUid + "' relative to the URL '" + url + "'");
+        }
+      }
     }
 
     /**
@@ -1523,16 +1962,72 @@ public class BasisBitmapDownloader<BitmapClass extends Bitmapable, ViewClass ext
   }
 
   /**
-   * An internal class used when donwloading a bitmap.
+   * An internal class used when donwloading a bitmap, which enables the commands requiring the same bitmap to wait for the one which retrieves it.
    */
   private final class DownloadingBitmap
   {
 
-    private BitmapClass bitmap;
+    private final CountDownLatch latch = new CountDownLatch(1);
+
+    private volatile UsedBitmap usedBitmap;
+
+    public void complete(UsedBitmap usedBitmap)
+    {
+      this.usedBitmap = usedBitmap;
+      latch.countDown();
+    }
+
+    /**
+     * @return the retrieved bitmap, or {@code null} if it could not be retrieved or if the calling thread has been interrupted
+     */
+    public UsedBitmap await()
+    {
+      try
+      {
+        latch.await();
+      }
+      catch (InterruptedException exception)
+      {
+        Thread.currentThread().interrupt();
+        return null;
+      }
+      return usedBitmap;
+    }
+
+  }
+
+  /**
+   * An internal class which enables the commands requiring the same URL to share the bytes downloaded by one of them.
+   */
+  private static final class SharedDownload
+  {
+
+    private final CountDownLatch latch = new CountDownLatch(1);
+
+    private volatile BytesInputStream.Buffer bytes;
 
-    private int referencesCount;
+    public void complete(BytesInputStream.Buffer bytes)
+    {
+      this.bytes = bytes;
+      latch.countDown();
+    }
 
-    private UsedBitmap usedBitmap;
+    /**
+     * @return the downloaded bytes, or {@code null} if the download failed or if the calling thread has been interrupted
+     */
+    public BytesInputStream.Buffer await()
+    {
+      try
+      {
+        latch.await();
+      }
+      catch (InterruptedException exception)
+      {
+        Thread.currentThread().interrupt();
+        return null;
+      }
+      return bytes;
+    }
 
   }
 
@@ -260,6 +260,84 @@ public class BasisDownloadInstructions
 
   }
 
+  /**
+   * An optional contract that {@link Instructions} may implement, so that a low-resolution preview of a large bitmap is displayed while it is being
+   * downloaded.
+   * <p>
+   * <p>
+   * When the {@link Instructions} also implement this interface, once {@link #getPreviewThresholdInBytes(String, Object, String) enough bytes} have
+   * been downloaded, the partial buffer is handed over to the {@link #convertPreview(byte[], String, Object, String)} method, and the resulting
+   * preview is bound through the {@link Instructions#onBindTemporaryBitmap(Viewable, Bitmapable, String, Object)} method, provided no other command
+   * has been stacked for the same view in the meantime and the full bitmap has not already been bound. The full bitmap eventually replaces it, through
+   * the {@link Instructions#onBindBitmap(boolean, Viewable, Bitmapable, String, Object)} method.
+   * </p>
+   * <p>
+   * <p>
+   * The preview is only attempted when the bitmap is actually downloaded from the network by a command attached to a view, at most once per
+   * download, and is neither cached nor recycled by the framework.
+   * </p>
+   *
+   * @since 2026.10.18
+   */
+  public interface ProgressiveInstructions<BitmapClass extends Bitmapable>
+  {
+
+    /**
+     * Indicates how many bytes should have been downloaded before attempting to decode a preview of the bitmap.
+     * <p>
+     * <p>
+     * It is not ensured that this method will be invoked from the GUI thread.
+     * </p>
+     *
+     * @return the number of bytes from which a preview is attempted ; a negative or zero value disables the preview for that bitmap
+     */
+    int getPreviewThresholdInBytes(String bitmapUid, Object imageSpecs, String url);
+
+    /**
+     * Invoked when a preview of the bitmap should be decoded from a partially downloaded buffer.
+     * <p>
+     * <p>
+     * It is ensured that this method will not be invoked from the GUI thread. The implementation should favor a cheap decoding, like a heavily sampled
+     * one, or the extraction of an embedded thumbnail.
+     * </p>
+     *
+     * @param bytes the first downloaded bytes of the bitmap, which are usually not sufficient for decoding the full bitmap
+     * @return the preview, or {@code null} if none could be decoded from the provided bytes
+     */
+    BitmapClass convertPreview(byte[] bytes, String bitmapUid, Object imageSpecs, String url);
+
+  }
+
+  /**
+   * An optional contract that {@link Instructions} may implement, so that the commands requiring the same URL with different image specifications
+   * share a single download.
+   * <p>
+   * <p>
+   * By default, only the commands with the same {@link CoreBitmapDownloader#computeCacheKey(String, Object) cache key} share a download, because
+   * the {@link Instructions#downloadInputStream(String, Object, String)} method may depend on the image specifications. When the {@link Instructions}
+   * implement this interface, the downloaded bytes are shared per URL whenever the {@link #isDownloadShareable(String, Object, String)} method
+   * returns {@code true}.
+   * </p>
+   *
+   * @since 2026.10.18
+   */
+  public interface ShareableDownloadInstructions
+  {
+
+    /**
+     * Indicates whether the bytes downloaded for the given URL do not depend on the image specifications, and hence may be shared with the other
+     * commands requiring the same URL.
+     * <p>
+     * <p>
+     * It is not ensured that this method will be invoked from the GUI thread.
+     * </p>
+     *
+     * @return {@code true} if and only if the download of the bitmap may be shared with the other commands requiring the same URL
+     */
+    boolean isDownloadShareable(String bitmapUid, Object imageSpecs, String url);
+
+  }
+
   /**
    * When the input stream related to an bitmap needs to be downloaded asynchronously, this interface enables to indicate it, and to notify the owner
    * when the input stream has been actually downloaded.
@@ -0,0 +1,658 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017 Smart&Soft
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.smartnsoft.droid4me.download;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.smartnsoft.droid4me.log.Logger;
+import com.smartnsoft.droid4me.log.LoggerFactory;
+
+/**
+ * A disk cache of the encoded bitmaps bytes, keyed by their URL, which is used by the {@link BasisBitmapDownloader} as a second-level cache, behind
+ * its memory cache.
+ * <p>
+ * <p>
+ * The cache is bounded by a number of bytes, and evicts its least recently used entries when that budget is exceeded. Every entry is first written
+ * to a temporary file, which is renamed once complete, so that a partially written file is never served. The cache index is persisted as an
+ * append-only journal, which is replayed when the instance is created, and compacted when it contains too many redundant lines.
+ * </p>
+ * <p>
+ * <p>
+ * This class is independent from the Android platform, and is thread-safe.
+ * </p>
+ *
+ * @see BasisBitmapDownloader#setDiskCache(BitmapDiskCache)
+ * @since 2026.10.18
+ */
+public class BitmapDiskCache
+{
+
+  private static final Logger log = LoggerFactory.getInstance("BitmapDownloader");
+
+  /**
+   * The name of the journal file, located in the cache directory.
+   */
+  public static final String JOURNAL_FILE_NAME = "journal";
+
+  /**
+   * The first line of the journal file, which enables to detect a file which does not belong to the cache.
+   */
+  private static final String JOURNAL_HEADER = "droid4me-bitmap-disk-cache 1";
+
+  private static final String PUT = "PUT";
+
+  private static final String READ = "READ";
+
+  private static final String REMOVE = "REMOVE";
+
+  private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+
+  /**
+   * When the journal contains more than this number of redundant lines, and more redundant lines than entries, it is compacted.
+   */
+  private static final int JOURNAL_COMPACTION_THRESHOLD = 2000;
+
+  private static final int BUFFER_SIZE_IN_BYTES = 8192;
+
+  /**
+   * The directory hosting the cached files and the journal.
+   */
+  public final File directory;
+
+  /**
+   * The maximum number of bytes that the cached files may take on the disk.
+   */
+  public final long maximumSizeInBytes;
+
+  /**
+   * The cache entries sizes, indexed by their key, in their access order.
+   */
+  private final LinkedHashMap<String, Long> entries = new LinkedHashMap<String, Long>(16, 0.75f, true);
+
+  /**
+   * Used for computing unique temporary file names.
+   */
+  private final AtomicInteger temporaryFilesCount = new AtomicInteger(0);
+
+  private long sizeInBytes;
+
+  private int redundantJournalLinesCount;
+
+  private Writer journalWriter;
+
+  private int hitsCount;
+
+  private int missesCount;
+
+  /**
+   * Creates the cache and replays its journal, if any.
+   *
+   * @param directory          the directory where the cached files will be stored ; it will be created if it does not exist
+   * @param maximumSizeInBytes the maximum number of bytes the cached files are allowed to take on the disk
+   * @throws IOException if the directory is not available, or if the journal cannot be written
+   */
+  public BitmapDiskCache(File directory, long maximumSizeInBytes)
+      throws IOException
+  {
+    this.directory = directory;
+    this.maximumSizeInBytes = maximumSizeInBytes;
+    directory.mkdirs();
+    if (directory.isDirectory() == false)
+    {
+      throw new IOException("The bitmap disk cache directory '" + directory.getAbsolutePath() + "' is not available");
+    }
+    synchronized (this)
+    {
+      readJournal();
+      deleteOrphanFiles();
+      rewriteJournal();
+      trimToSize();
+    }
+    if (log.isInfoEnabled())
+    {
+      log.info("The bitmap disk cache located at '" + directory.getAbsolutePath() + "' contains " + entries.size() + " entry(ies) and consumes " + sizeInBytes + " byte(s)");
+    }
+  }
+
+  /**
+   * Indicates whether an entry is available for the given URL. This method does not modify the entry access order, and does not access the disk.
+   *
+   * @param url the URL of the bitmap
+   * @return {@code true} if and only if the bitmap bytes are currently cached
+   */
+  public final synchronized boolean contains(String url)
+  {
+    return entries.containsKey(computeKey(url));
+  }
+
+  /**
+   * Opens the cached bytes corresponding to the given URL.
+   *
+   * @param url the URL of the bitmap
+   * @return {@code null} if the URL is not cached, or if its file could not be read ; the caller is responsible for closing the returned stream
+   */
+  public final synchronized InputStream get(String url)
+  {
+    final String key = computeKey(url);
+    if (entries.get(key) == null)
+    {
+      missesCount++;
+      return null;
+    }
+    final InputStream inputStream;
+    try
+    {
+      // We open the file while holding the lock, so that it cannot be evicted meanwhile
+      inputStream = new FileInputStream(new File(directory, key));
+    }
+    catch (IOException exception)
+    {
+      if (log.isWarnEnabled())
+      {
+        log.warn("Could not read the bitmap disk cache file corresponding to the URL '" + url + "': discarding it", exception);
+      }
+      sizeInBytes -= entries.remove(key);
+      appendToJournal(BitmapDiskCache.REMOVE, key, -1, true);
+      missesCount++;
+      return null;
+    }
+    appendToJournal(BitmapDiskCache.READ, key, -1, false);
+    hitsCount++;
+    return inputStream;
+  }
+
+  /**
+   * Stores the provided bytes on disk for the given URL, and returns a stream on the stored bytes, which enables to decode the bitmap while
+   * persisting it.
+   * <p>
+   * <p>
+   * The provided input stream is entirely consumed and closed by this method.
+   * </p>
+   *
+   * @param url         the URL of the bitmap
+   * @param inputStream the encoded bytes of the bitmap
+   * @return a stream on the stored bytes, which the caller is responsible for closing
+   * @throws IOException if the bytes could not be read or written ; in that case, no entry is created
+   * @see #put(String, byte[], int, int)
+   */
+  public final InputStream put(String url, InputStream inputStream)
+      throws IOException
+  {
+    final String key = computeKey(url);
+    final File temporaryFile = createTemporaryFile(key);
+    final long length;
+    try
+    {
+      length = copy(inputStream, temporaryFile);
+    }
+    catch (IOException exception)
+    {
+      temporaryFile.delete();
+      throw exception;
+    }
+    return commit(key, temporaryFile, length, true);
+  }
+
+  /**
+   * Stores the provided bytes on disk for the given URL. Contrary to the {@link #put(String, InputStream)} method, the stored file is not opened.
+   *
+   * @param url    the URL of the bitmap
+   * @param bytes  the array holding the encoded bytes of the bitmap
+   * @param offset the index of the first byte to store
+   * @param length the number of bytes to store
+   * @throws IOException if the bytes could not be written ; in that case, no entry is created
+   */
+  public final void put(String url, byte[] bytes, int offset, int length)
+      throws IOException
+  {
+    final String key = computeKey(url);
+    final File temporaryFile = createTemporaryFile(key);
+    try
+    {
+      final OutputStream outputStream = new FileOutputStream(temporaryFile);
+      try
+      {
+        outputStream.write(bytes, offset, length);
+      }
+      finally
+      {
+        outputStream.close();
+      }
+    }
+    catch (IOException exception)
+    {
+      temporaryFile.delete();
+      throw exception;
+    }
+    commit(key, temporaryFile, length, false);
+  }
+
+  /**
+   * Discards the cached bytes corresponding to the given URL, if any.
+   *
+   * @param url the URL of the bitmap
+   */
+  public final synchronized void remove(String url)
+  {
+    final String key = computeKey(url);
+    final Long length = entries.remove(key);
+    if (length != null)
+    {
+      sizeInBytes -= length;
+      new File(directory, key).delete();
+      appendToJournal(BitmapDiskCache.REMOVE, key, -1, true);
+    }
+  }
+
+  /**
+   * Discards all the cached bytes.
+   */
+  public final synchronized void clear()
+  {
+    for (String key : entries.keySet())
+    {
+      new File(directory, key).delete();
+    }
+    entries.clear();
+    sizeInBytes = 0;
+    rewriteJournal();
+  }
+
+  /**
+   * Closes the journal, which should be done once the cache is not used anymore: the entries which are stored afterwards may not be recorded in the
+   * journal, and hence be lost when the cache is created again.
+   */
+  public final synchronized void close()
+  {
+    closeJournal();
+  }
+
+  /**
+   * @return the number of bytes currently taken by the cached files
+   */
+  public final synchronized long getSizeInBytes()
+  {
+    return sizeInBytes;
+  }
+
+  /**
+   * @return the number of cached entries
+   */
+  public final synchronized int getEntriesCount()
+  {
+    return entries.size();
+  }
+
+  /**
+   * @return the number of times the {@link #get(String)} method returned a cached stream
+   */
+  public final synchronized int getHitsCount()
+  {
+    return hitsCount;
+  }
+
+  /**
+   * @return the number of times the {@link #get(String)} method returned {@code null}
+   */
+  public final synchronized int getMissesCount()
+  {
+    return missesCount;
+  }
+
+  /**
+   * Computes the file name used for storing the bytes of a given URL. The default implementation returns the hexadecimal MD5 digest of the URL.
+   *
+   * @param url the URL of the bitmap
+   * @return a string which is a valid file name, and which should not be equal to the {@link #JOURNAL_FILE_NAME}
+   */
+  protected String computeKey(String url)
+  {
+    try
+    {
+      final byte[] digest = MessageDigest.getInstance("MD5").digest(url.getBytes("UTF-8"));
+      final StringBuilder builder = new StringBuilder(digest.length * 2);
+      for (byte aByte : digest)
+      {
+        builder.append(Character.forDigit((aByte >> 4) & 0x0f, 16)).append(Character.forDigit(aByte & 0x0f, 16));
+      }
+      return builder.toString();
+    }
+    catch (NoSuchAlgorithmException exception)
+    {
+      // Cannot happen, since MD5 is always available
+      throw new IllegalStateException(exception);
+    }
+    catch (IOException exception)
+    {
+      // Cannot happen, since UTF-8 is always available
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  private File createTemporaryFile(String key)
+  {
+    return new File(directory, key + "." + temporaryFilesCount.incrementAndGet() + BitmapDiskCache.TEMPORARY_FILE_EXTENSION);
+  }
+
+  /**
+   * Turns the temporary file into the entry corresponding to the given key, and evicts the least recently used entries if the cache size is exceeded.
+   *
+   * @param openStream whether a stream on the entry should be returned
+   * @return a stream on the entry, which is opened before being potentially evicted, so that it remains readable ; {@code null} if the
+   * {@code openStream} parameter is {@code false}
+   */
+  private synchronized InputStream commit(String key, File temporaryFile, long length, boolean openStream)
+      throws IOException
+  {
+    final File file = new File(directory, key);
+    // We first delete any previous file, because some file systems do not support renaming over an existing file
+    file.delete();
+    if (temporaryFile.renameTo(file) == false)
+    {
+      temporaryFile.delete();
+      throw new IOException("Could not commit the bitmap disk cache file '" + file.getAbsolutePath() + "'");
+    }
+    final Long previousLength = entries.put(key, length);
+    if (previousLength != null)
+    {
+      sizeInBytes -= previousLength;
+      // The previous journal line for that entry has become redundant
+      redundantJournalLinesCount++;
+    }
+    sizeInBytes += length;
+    appendToJournal(BitmapDiskCache.PUT, key, length, true);
+    final InputStream cachedInputStream = openStream == true ? new FileInputStream(file) : null;
+    trimToSize();
+    return cachedInputStream;
+  }
+
+  private long copy(InputStream inputStream, File file)
+      throws IOException
+  {
+    long length = 0;
+    try
+    {
+      final OutputStream outputStream = new FileOutputStream(file);
+      try
+      {
+        final byte[] buffer = new byte[BitmapDiskCache.BUFFER_SIZE_IN_BYTES];
+        int count;
+        while ((count = inputStream.read(buffer)) != -1)
+        {
+          outputStream.write(buffer, 0, count);
+          length += count;
+        }
+      }
+      finally
+      {
+        outputStream.close();
+      }
+    }
+    finally
+    {
+      inputStream.close();
+    }
+    return length;
+  }
+
+  private void trimToSize()
+  {
+    final Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+    while (sizeInBytes > maximumSizeInBytes && iterator.hasNext() == true)
+    {
+      final Map.Entry<String, Long> entry = iterator.next();
+      iterator.remove();
+      sizeInBytes -= entry.getValue();
+      new File(directory, entry.getKey()).delete();
+      appendToJournal(BitmapDiskCache.REMOVE, entry.getKey(), -1, false);
+      if (log.isDebugEnabled())
+      {
+        log.debug("Evicted from the bitmap disk cache the entry '" + entry.getKey() + "' which consumed " + entry.getValue() + " byte(s)");
+      }
+    }
+    flushJournal();
+  }
+
+  private void readJournal()
+  {
+    final File journalFile = new File(directory, BitmapDiskCache.JOURNAL_FILE_NAME);
+    if (journalFile.exists() == false)
+    {
+      return;
+    }
+    try
+    {
+      final BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(journalFile), "UTF-8"));
+      try
+      {
+        if (BitmapDiskCache.JOURNAL_HEADER.equals(reader.readLine()) == false)
+        {
+          if (log.isWarnEnabled())
+          {
+            log.warn("The bitmap disk cache journal '" + journalFile.getAbsolutePath() + "' has an unexpected header: ignoring it");
+          }
+          return;
+        }
+        String line;
+        while ((line = reader.readLine()) != null)
+        {
+          final String[] tokens = line.split(" ");
+          if (tokens.length == 3 && BitmapDiskCache.PUT.equals(tokens[0]) == true)
+          {
+            final Long previousLength = entries.put(tokens[1], Long.parseLong(tokens[2]));
+            if (previousLength != null)
+            {
+              sizeInBytes -= previousLength;
+            }
+            sizeInBytes += Long.parseLong(tokens[2]);
+          }
+          else if (tokens.length == 2 && BitmapDiskCache.READ.equals(tokens[0]) == true)
+          {
+            // This updates the access order
+            entries.get(tokens[1]);
+          }
+          else if (tokens.length == 2 && BitmapDiskCache.REMOVE.equals(tokens[0]) == true)
+          {
+            final Long length = entries.remove(tokens[1]);
+            if (length != null)
+            {
+              sizeInBytes -= length;
+            }
+          }
+          else
+          {
+            // The last line may be truncated if the process was killed while writing it
+            if (log.isWarnEnabled())
+            {
+              log.warn("Ignoring the corrupted bitmap disk cache journal line '" + line + "'");
+            }
+          }
+        }
+      }
+      finally
+      {
+        reader.close();
+      }
+    }
+    catch (Exception exception)
+    {
+      if (log.isWarnEnabled())
+      {
+        log.warn("Could not read properly the bitmap disk cache journal '" + journalFile.getAbsolutePath() + "'", exception);
+      }
+    }
+  }
+
+  /**
+   * Forgets the entries whose file does not exist, and deletes the files which are not referenced by the journal, among which the temporary files
+   * left by an interrupted write.
+   */
+  private void deleteOrphanFiles()
+  {
+    final Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+    while (iterator.hasNext() == true)
+    {
+      final Map.Entry<String, Long> entry = iterator.next();
+      if (new File(directory, entry.getKey()).isFile() == false)
+      {
+        iterator.remove();
+        sizeInBytes -= entry.getValue();
+      }
+    }
+    final File[] files = directory.listFiles();
+    if (files != null)
+    {
+      for (File file : files)
+      {
+        final String fileName = file.getName();
+        if (fileName.startsWith(BitmapDiskCache.JOURNAL_FILE_NAME) == false && entries.containsKey(fileName) == false)
+        {
+          file.delete();
+        }
+      }
+    }
+  }
+
+  /**
+   * Writes a compact journal, which only contains the current entries in their access order, and atomically replaces the previous one.
+   */
+  private void rewriteJournal()
+  {
+    closeJournal();
+    final File journalFile = new File(directory, BitmapDiskCache.JOURNAL_FILE_NAME);
+    final File temporaryJournalFile = new File(directory, BitmapDiskCache.JOURNAL_FILE_NAME + BitmapDiskCache.TEMPORARY_FILE_EXTENSION);
+    try
+    {
+      final Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(temporaryJournalFile), "UTF-8"));
+      try
+      {
+        writer.write(BitmapDiskCache.JOURNAL_HEADER);
+        writer.write('\n');
+        for (Map.Entry<String, Long> entry : entries.entrySet())
+        {
+          writer.write(BitmapDiskCache.PUT + " " + entry.getKey() + " " + entry.getValue() + "\n");
+        }
+      }
+      finally
+      {
+        writer.close();
+      }
+      journalFile.delete();
+      if (temporaryJournalFile.renameTo(journalFile) == false)
+      {
+        throw new IOException("Could not rename the journal file '" + temporaryJournalFile.getAbsolutePath() + "'");
+      }
+      journalWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(journalFile, true), "UTF-8"));
+      redundantJournalLinesCount = 0;
+    }
+    catch (IOException exception)
+    {
+      if (log.isErrorEnabled())
+      {
+        log.error("Could not write the bitmap disk cache journal '" + journalFile.getAbsolutePath() + "': the cache index will not be persisted", exception);
+      }
+    }
+  }
+
+  private void appendToJournal(String operation, String key, long length, boolean flush)
+  {
+    if (journalWriter == null)
+    {
+      return;
+    }
+    try
+    {
+      journalWriter.write(length >= 0 ? (operation + " " + key + " " + length + "\n") : (operation + " " + key + "\n"));
+      if (flush == true)
+      {
+        journalWriter.flush();
+      }
+    }
+    catch (IOException exception)
+    {
+      if (log.isWarnEnabled())
+      {
+        log.warn("Could not append to the bitmap disk cache journal", exception);
+      }
+    }
+    if (BitmapDiskCache.PUT.equals(operation) == false)
+    {
+      redundantJournalLinesCount++;
+    }
+    if (redundantJournalLinesCount >= BitmapDiskCache.JOURNAL_COMPACTION_THRESHOLD && redundantJournalLinesCount >= entries.size())
+    {
+      rewriteJournal();
+    }
+  }
+
+  private void flushJournal()
+  {
+    if (journalWriter != null)
+    {
+      try
+      {
+        journalWriter.flush();
+      }
+      catch (IOException exception)
+      {
+        if (log.isWarnEnabled())
+        {
+          log.warn("Could not flush the bitmap disk cache journal", exception);
+        }
+      }
+    }
+  }
+
+  private void closeJournal()
+  {
+    if (journalWriter != null)
+    {
+      try
+      {
+        journalWriter.close();
+      }
+      catch (IOException exception)
+      {
+        // Does not really matter
+      }
+      journalWriter = null;
+    }
+  }
+
+}
@@ -22,6 +22,8 @@
 
 package com.smartnsoft.droid4me.download;
 
+import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 
@@ -203,6 +205,11 @@ public class BitmapDownloader
    */
   public static final long DEFAULT_LOW_LEVEL_MEMORY_WATER_MARK_IN_BYTES = 1L * 1024L * 1024L;
 
+  /**
+   * Indicates the default maximum number of bytes that each disk cache is allowed to take.
+   */
+  public static final long DEFAULT_DISK_CACHE_SIZE_IN_BYTES = 20L * 1024L * 1024L;
+
   /**
    * The number of instances of {@link BitmapDownloader} that will be created. Defaults to {@code 1}.
    * <p>
@@ -246,6 +253,31 @@ public class BitmapDownloader
    */
   public static boolean[] RECYCLE_BITMAP;
 
+  /**
+   * For each instance, the directory of its {@link BitmapDiskCache disk cache}. When not set, or when an item is {@code null}, the related instance
+   * does not use any disk cache.
+   *
+   * @see BasisBitmapDownloader#setDiskCache(BitmapDiskCache)
+   */
+  public static File[] DISK_CACHE_DIRECTORIES;
+
+  /**
+   * For each instance, the maximum number of bytes its {@link BitmapDiskCache disk cache} is allowed to take. If not set, the
+   * {@link #DEFAULT_DISK_CACHE_SIZE_IN_BYTES} value will be used for all instances.
+   */
+  public static long[] DISK_CACHE_SIZES_IN_BYTES;
+
+  /**
+   * When set, i.e. not {@code null} (which is the default), the bitmaps evicted from the instances memory cache are put in that pool instead of being
+   * recycled, provided the instance {@link #recycleMap} flag is set, and the {@link DownloadInstructions.AbstractInstructions} decode the new
+   * bitmaps into the pooled ones.
+   * <p>
+   * <p>
+   * Set that parameter before invoking the {@link BitmapDownloader#get} method.
+   * </p>
+   */
+  public static BitmapPool BITMAP_POOL;
+
   private static volatile BitmapDownloader[] instances;
 
   /**
@@ -294,6 +326,21 @@ public class BitmapDownloader
               final boolean references = BitmapDownloader.USE_REFERENCES == null ? false : BitmapDownloader.USE_REFERENCES[instanceIndex];
               final boolean recycle = BitmapDownloader.RECYCLE_BITMAP == null ? false : BitmapDownloader.RECYCLE_BITMAP[instanceIndex];
               final BitmapDownloader bitmapDownloader = constructor.newInstance(instanceIndex, "BitmapDownloader-" + instanceIndex, highWaterMark, lowWaterMark, references, recycle);
+              if (BitmapDownloader.DISK_CACHE_DIRECTORIES != null && BitmapDownloader.DISK_CACHE_DIRECTORIES[instanceIndex] != null)
+              {
+                final long diskCacheSize = BitmapDownloader.DISK_CACHE_SIZES_IN_BYTES == null ? BitmapDownloader.DEFAULT_DISK_CACHE_SIZE_IN_BYTES : BitmapDownloader.DISK_CACHE_SIZES_IN_BYTES[instanceIndex];
+                try
+                {
+                  bitmapDownloader.setDiskCache(new BitmapDiskCache(BitmapDownloader.DISK_CACHE_DIRECTORIES[instanceIndex], diskCacheSize));
+                }
+                catch (IOException exception)
+                {
+                  if (log.isErrorEnabled())
+                  {
+                    log.error("Cannot create the disk cache of the BitmapDownloader instance named '" + bitmapDownloader.name + "': it will not use any", exception);
+                  }
+                }
+              }
               newInstances[instanceIndex] = bitmapDownloader;
               if (log.isInfoEnabled())
               {
@@ -339,6 +386,19 @@ public class BitmapDownloader
     super(instanceIndex, name, maxMemoryInBytes, lowLevelMemoryWaterMarkInBytes, useReferences, recycleMap);
   }
 
+  /**
+   * Puts the evicted bitmap in the {@link #BITMAP_POOL} if it is set, and recycles it otherwise.
+   */
+  @Override
+  protected void recycleBitmap(BitmapableBitmap bitmap)
+  {
+    final BitmapPool bitmapPool = BitmapDownloader.BITMAP_POOL;
+    if (bitmapPool == null || bitmapPool.put(bitmap.getBitmap()) == false)
+    {
+      super.recycleBitmap(bitmap);
+    }
+  }
+
   public final void get(View view, String bitmapUid, Object imageSpecs, Handler handler,
       Instructions instructions)
   {
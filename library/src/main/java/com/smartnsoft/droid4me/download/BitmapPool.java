@@ -0,0 +1,235 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017 Smart&Soft
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.smartnsoft.droid4me.download;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Map;
+
+import android.graphics.Bitmap;
+import android.graphics.Bitmap.Config;
+import android.graphics.BitmapFactory;
+
+import com.smartnsoft.droid4me.log.Logger;
+import com.smartnsoft.droid4me.log.LoggerFactory;
+
+/**
+ * A pool of mutable bitmaps, which are not displayed anymore, and whose memory may be reused when decoding new bitmaps through the
+ * {@link BitmapFactory.Options#inBitmap} option, so as to reduce the allocations and the garbage collections.
+ * <p>
+ * <p>
+ * The pooled bitmaps are bucketed by their width, height and {@link Config configuration}, and the pool is bounded by a number of bytes: when that
+ * budget is exceeded, the oldest pooled bitmaps are recycled.
+ * </p>
+ * <p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ *
+ * @see BitmapDownloader#BITMAP_POOL
+ * @since 2026.10.18
+ */
+public class BitmapPool
+{
+
+  private static final Logger log = LoggerFactory.getInstance("BitmapDownloader");
+
+  private static String computeBucketKey(int width, int height, Config config)
+  {
+    return width + "x" + height + "-" + config;
+  }
+
+  private static int computeSizeInBytes(Bitmap bitmap)
+  {
+    return bitmap.getRowBytes() * bitmap.getHeight();
+  }
+
+  /**
+   * The maximum number of bytes that the pooled bitmaps may take in memory.
+   */
+  public final long maximumSizeInBytes;
+
+  /**
+   * The pooled bitmaps, indexed by their {@link #computeBucketKey(int, int, Config) bucket key}.
+   */
+  private final Map<String, LinkedList<Bitmap>> buckets = new HashMap<>();
+
+  /**
+   * All the pooled bitmaps, the oldest first.
+   */
+  private final LinkedList<Bitmap> pooledBitmaps = new LinkedList<>();
+
+  private long sizeInBytes;
+
+  private int hitsCount;
+
+  private int missesCount;
+
+  private int evictionsCount;
+
+  /**
+   * @param maximumSizeInBytes the maximum number of bytes that the pooled bitmaps are allowed to take in memory
+   */
+  public BitmapPool(long maximumSizeInBytes)
+  {
+    this.maximumSizeInBytes = maximumSizeInBytes;
+  }
+
+  /**
+   * Adds a bitmap which is not used anymore to the pool.
+   *
+   * @param bitmap the bitmap, which should not be displayed anymore
+   * @return {@code true} if and only if the bitmap has been pooled ; when {@code false}, the caller is responsible for recycling it
+   */
+  public final synchronized boolean put(Bitmap bitmap)
+  {
+    if (bitmap == null || bitmap.isRecycled() == true || bitmap.isMutable() == false || bitmap.getConfig() == null)
+    {
+      return false;
+    }
+    final int bitmapSizeInBytes = BitmapPool.computeSizeInBytes(bitmap);
+    if (bitmapSizeInBytes > maximumSizeInBytes)
+    {
+      return false;
+    }
+    final String key = BitmapPool.computeBucketKey(bitmap.getWidth(), bitmap.getHeight(), bitmap.getConfig());
+    LinkedList<Bitmap> bucket = buckets.get(key);
+    if (bucket == null)
+    {
+      bucket = new LinkedList<>();
+      buckets.put(key, bucket);
+    }
+    bucket.addLast(bitmap);
+    pooledBitmaps.addLast(bitmap);
+    sizeInBytes += bitmapSizeInBytes;
+    while (sizeInBytes > maximumSizeInBytes && pooledBitmaps.isEmpty() == false)
+    {
+      final Bitmap evictedBitmap = pooledBitmaps.removeFirst();
+      final LinkedList<Bitmap> evictedBucket = buckets.get(BitmapPool.computeBucketKey(evictedBitmap.getWidth(), evictedBitmap.getHeight(), evictedBitmap.getConfig()));
+      evictedBucket.removeFirst();
+      sizeInBytes -= BitmapPool.computeSizeInBytes(evictedBitmap);
+      evictedBitmap.recycle();
+      evictionsCount++;
+    }
+    return true;
+  }
+
+  /**
+   * Takes from the pool a bitmap with the provided dimensions and configuration.
+   *
+   * @param width  the width of the requested bitmap
+   * @param height the height of the requested bitmap
+   * @param config the configuration of the requested bitmap
+   * @return a mutable bitmap, which is not used anymore and whose content is undefined, or {@code null} if none is available
+   */
+  public final synchronized Bitmap get(int width, int height, Config config)
+  {
+    final LinkedList<Bitmap> bucket = buckets.get(BitmapPool.computeBucketKey(width, height, config));
+    if (bucket == null || bucket.isEmpty() == true)
+    {
+      missesCount++;
+      return null;
+    }
+    // The most recently pooled bitmap is the one which is the less likely to be evicted soon
+    final Bitmap bitmap = bucket.removeLast();
+    removeIdentity(pooledBitmaps, bitmap);
+    sizeInBytes -= BitmapPool.computeSizeInBytes(bitmap);
+    hitsCount++;
+    return bitmap;
+  }
+
+  /**
+   * Recycles all the pooled bitmaps.
+   */
+  public final synchronized void clear()
+  {
+    for (Bitmap bitmap : pooledBitmaps)
+    {
+      bitmap.recycle();
+    }
+    pooledBitmaps.clear();
+    buckets.clear();
+    sizeInBytes = 0;
+    if (log.isDebugEnabled())
+    {
+      log.debug("Cleared the bitmap pool");
+    }
+  }
+
+  /**
+   * @return the number of bytes currently taken by the pooled bitmaps
+   */
+  public final synchronized long getSizeInBytes()
+  {
+    return sizeInBytes;
+  }
+
+  /**
+   * @return the number of times the {@link #get(int, int, Config)} method returned a bitmap
+   */
+  public final synchronized int getHitsCount()
+  {
+    return hitsCount;
+  }
+
+  /**
+   * @return the number of times the {@link #get(int, int, Config)} method returned {@code null}
+   */
+  public final synchronized int getMissesCount()
+  {
+    return missesCount;
+  }
+
+  /**
+   * @return the ratio of the {@link #get(int, int, Config)} calls which returned a bitmap, between {@code 0} and {@code 1}
+   */
+  public final synchronized float getHitRate()
+  {
+    final int requestsCount = hitsCount + missesCount;
+    return requestsCount == 0 ? 0f : (float) hitsCount / (float) requestsCount;
+  }
+
+  /**
+   * @return the number of bitmaps which have been recycled because the pool budget was exceeded
+   */
+  public final synchronized int getEvictionsCount()
+  {
+    return evictionsCount;
+  }
+
+  private void removeIdentity(LinkedList<Bitmap> list, Bitmap bitmap)
+  {
+    // We do not rely on the Bitmap.equals() method, which may compare the pixels on some Android versions
+    final Iterator<Bitmap> iterator = list.descendingIterator();
+    while (iterator.hasNext() == true)
+    {
+      if (iterator.next() == bitmap)
+      {
+        iterator.remove();
+        return;
+      }
+    }
+  }
+
+}
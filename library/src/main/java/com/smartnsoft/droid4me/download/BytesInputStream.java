@@ -0,0 +1,106 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017 Smart&Soft
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+
+package com.smartnsoft.droid4me.download;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+/**
+ * A stream on encoded bitmap bytes which are already in memory, and which exposes them, so that a decoder may use them directly instead of copying
+ * them once more.
+ * <p>
+ * <p>
+ * The {@link BasisBitmapDownloader} hands such a stream to the {@link BasisDownloadInstructions.Instructions#convert(java.io.InputStream, String,
+ * Object, String)} method whenever it had to read the downloaded bytes in memory.
+ * </p>
+ *
+ * @see BytesInputStream.Buffer
+ * @since 2026.10.18
+ */
+public class BytesInputStream
+    extends ByteArrayInputStream
+{
+
+  /**
+   * An output stream which accumulates the bytes in memory, and which exposes them as {@link BytesInputStream streams} without copying them, contrary
+   * to the {@link ByteArrayOutputStream#toByteArray()} method.
+   * <p>
+   * <p>
+   * Once the bytes have been exposed, they must not be written anymore.
+   * </p>
+   */
+  public static class Buffer
+      extends ByteArrayOutputStream
+  {
+
+    public Buffer()
+    {
+      super(8192);
+    }
+
+    /**
+     * @return a new stream on the bytes written so far, which shares the underlying array with the buffer and with the other streams
+     */
+    public synchronized BytesInputStream toInputStream()
+    {
+      return new BytesInputStream(buf, 0, count);
+    }
+
+  }
+
+  /**
+   * @param bytes  the array holding the bytes, which is not copied
+   * @param offset the index of the first byte
+   * @param length the number of bytes
+   */
+  public BytesInputStream(byte[] bytes, int offset, int length)
+  {
+    super(bytes, offset, length);
+  }
+
+  /**
+   * @return the array which holds the bytes, which must not be modified ; the bytes remaining to be read start at {@link #getOffset()}
+   */
+  public synchronized byte[] getBytes()
+  {
+    return buf;
+  }
+
+  /**
+   * @return the index, in the {@link #getBytes() array}, of the next byte to be read
+   */
+  public synchronized int getOffset()
+  {
+    return pos;
+  }
+
+  /**
+   * @return the number of bytes remaining to be read
+   */
+  public synchronized int getLength()
+  {
+    return count - pos;
+  }
+
+}
@@ -25,9 +25,8 @@ package com.smartnsoft.droid4me.download;
 import java.lang.ref.Reference;
 import java.lang.ref.SoftReference;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -152,10 +151,11 @@ public abstract class CoreBitmapDownloader<BitmapClass extends Bitmapable, ViewC
    * {@link BasisDownloadInstructions.Instructions#computeUrl(String, Object) URL} of a cached bitmap.
    * <p>
    * <p>
-   * A {@link HashMap} is used instead of a {@link java.util.Hashtable}, because we want to allow null values.
+   * A {@link LinkedHashMap} is used instead of a {@link java.util.Hashtable}, because we want to allow null values. Since its iteration order is the
+   * access order, the least recently used bitmaps come first, which enables to evict them in O(1) per entry, without sorting the cache.
    * </p>
    */
-  protected final Map<String, UsedBitmap> cache = new HashMap<String, UsedBitmap>();
+  protected final Map<String, UsedBitmap> cache = new LinkedHashMap<String, UsedBitmap>(16, 0.75f, true);
 
   /**
    * The number of times the {@link #cleanUpCache()} method has actually cleaned up the cache.
@@ -343,6 +343,25 @@ public abstract class CoreBitmapDownloader<BitmapClass extends Bitmapable, ViewC
     }
   }
 
+  /**
+   * Computes the key under which a bitmap is stored in the memory cache. The default implementation appends the target size to the URL when the
+   * provided specifications are a {@link DownloadSpecs.SizedImageSpecs} with a {@link DownloadSpecs.SizedImageSpecs#hasTargetSize() target size},
+   * because the same URL is then decoded into different bitmaps depending on that size.
+   *
+   * @param url        the {@link BasisDownloadInstructions.Instructions#computeUrl(String, Object) URL} of the bitmap ; may be {@code null}
+   * @param imageSpecs the specifications of the bitmap
+   * @return the key of the bitmap in the memory cache, {@code null} if the URL is {@code null}
+   */
+  protected String computeCacheKey(String url, Object imageSpecs)
+  {
+    if (url != null && imageSpecs instanceof DownloadSpecs.SizedImageSpecs && ((DownloadSpecs.SizedImageSpecs) imageSpecs).hasTargetSize() == true)
+    {
+      final DownloadSpecs.SizedImageSpecs sizedImageSpecs = (DownloadSpecs.SizedImageSpecs) imageSpecs;
+      return url + "#" + sizedImageSpecs.width + "x" + sizedImageSpecs.height + (sizedImageSpecs.exactScale == true ? "!" : "");
+    }
+    return url;
+  }
+
   protected final UsedBitmap getUsedBitmapFromCache(String url)
   {
     synchronized (cache)
@@ -369,6 +388,8 @@ public abstract class CoreBitmapDownloader<BitmapClass extends Bitmapable, ViewC
   protected final UsedBitmap putInCache(String url, BitmapClass bitmap)
   {
     final UsedBitmap usedBitmap = new UsedBitmap(bitmap, url);
+    final int bitmapSize = usedBitmap.getMemoryConsumption();
+    final boolean cleanUpRequired;
     synchronized (cache)
     {
       final UsedBitmap previousUsedBitmap = cache.put(url, usedBitmap);
@@ -379,21 +400,21 @@ public abstract class CoreBitmapDownloader<BitmapClass extends Bitmapable, ViewC
         memoryConsumptionInBytes -= previousUsedBitmap.getMemoryConsumption();
         usedBitmap.rememberAccessed(previousUsedBitmap);
       }
+      memoryConsumptionInBytes += bitmapSize;
+      // If the cache water mark upper limit has been reached, the least recently used bitmaps are evicted
+      cleanUpRequired = memoryConsumptionInBytes > highLevelMemoryWaterMarkInBytes;
     }
     if (IS_DEBUG_TRACE && log.isDebugEnabled())
     {
       log.debug("The thread '" + Thread.currentThread().getName() + "' put in cache the bitmap with the URL '" + url + "'");
     }
-    final int bitmapSize = usedBitmap.getMemoryConsumption();
     if (IS_DEBUG_TRACE && log.isDebugEnabled())
     {
       log.debug("The bitmap consumes " + bitmapSize + " (" + memoryConsumptionInBytes + ") bytes and corresponds to the url '" + url + "'");
     }
-    memoryConsumptionInBytes += bitmapSize;
     usedBitmap.rememberAccessed();
 
-    // If the cache water mark upper limit has been reached, the cache is cleared
-    if (memoryConsumptionInBytes > highLevelMemoryWaterMarkInBytes)
+    if (cleanUpRequired == true)
     {
       cleanUpCache();
     }
@@ -449,6 +470,10 @@ public abstract class CoreBitmapDownloader<BitmapClass extends Bitmapable, ViewC
    * <p>
    * It is responsible for cleaning up the {@link #cache} attribute and update the {@link #memoryConsumptionInBytes} attribute accordingly.
    * </p>
+   * <p>
+   * The default implementation evicts the least recently used bitmaps first, by walking the access-ordered {@link #cache} from its eldest entry,
+   * and only as long as the low-level water mark is not reached. The bitmaps currently bound to a view are evicted last and are never recycled.
+   * </p>
    *
    * @see #cleanUpCache()
    */
@@ -456,46 +481,43 @@ public abstract class CoreBitmapDownloader<BitmapClass extends Bitmapable, ViewC
   {
     int discardedCount = 0;
     int recycledCount = 0;
-    final List<UsedBitmap> toBeDiscardedUsedBitmaps = new ArrayList<>(cache.values());
-    if (recycleMap == true)
+    // The cache is access-ordered: we first evict the least recently used bitmaps which are not bound to any view, and stop as soon as the low-level
+    // water mark is reached
+    final List<String> boundUrls = new ArrayList<String>();
+    final Iterator<Map.Entry<String, UsedBitmap>> iterator = cache.entrySet().iterator();
+    while (memoryConsumptionInBytes > lowLevelMemoryWaterMarkInBytes && iterator.hasNext() == true)
     {
-      // First, we clean up the references to all garbage-collected bitmaps
-      final Iterator<UsedBitmap> iterator = toBeDiscardedUsedBitmaps.iterator();
-      while (iterator.hasNext())
+      final Map.Entry<String, UsedBitmap> entry = iterator.next();
+      final UsedBitmap usedBitmap = entry.getValue();
+      if (usedBitmap.bindingCount > 0 && usedBitmap.getBitmap() != null)
       {
-        final UsedBitmap usedBitmap = iterator.next();
-        if (usedBitmap.getBitmap() == null)
-        {
-          iterator.remove();
-        }
+        // That bitmap is currently displayed, we keep it for the time being
+        boundUrls.add(entry.getKey());
+        continue;
       }
-    }
-    Collections.sort(toBeDiscardedUsedBitmaps);
-    int index = 0;
-    while (memoryConsumptionInBytes > lowLevelMemoryWaterMarkInBytes && index < toBeDiscardedUsedBitmaps.size())
-    {
-      final UsedBitmap discardedUsedCache = cache.remove(toBeDiscardedUsedBitmaps.get(index).url);
-      memoryConsumptionInBytes -= discardedUsedCache.getMemoryConsumption();
-      // We make the bitmap as recycled, so that it is actually removed from memory, only if it not being used
-      if (recycleMap == true && discardedUsedCache.bindingCount <= 0)
+      iterator.remove();
+      if (discardUsedBitmap(usedBitmap) == true)
       {
-        if (discardedUsedCache.getBitmap() != null)
-        {
-          discardedUsedCache.getBitmap().recycle();
-          recycledCount++;
-        }
+        recycledCount++;
       }
       discardedCount++;
-      if (IS_DEBUG_TRACE && log.isDebugEnabled())
-      {
-        log.debug("Removed from the cache the bitmap with URL '" + discardedUsedCache.url + "' accessed " + discardedUsedCache.accessCount + " time(s) and currently bound " + discardedUsedCache.bindingCount + " time(s)");
-      }
-      index++;
     }
-    // We reset the remaining usages
-    for (UsedBitmap uriUsage : cache.values())
+    // We move the bound bitmaps which have been kept to the most recently used end of the cache, so that the next clean up does not rescan them first
+    for (final String url : boundUrls)
     {
-      uriUsage.accessCount = 0;
+      cache.get(url);
+    }
+    if (memoryConsumptionInBytes > lowLevelMemoryWaterMarkInBytes)
+    {
+      // The bound bitmaps take too much memory: we forget the least recently used ones, but they will not be recycled
+      final Iterator<UsedBitmap> boundIterator = cache.values().iterator();
+      while (memoryConsumptionInBytes > lowLevelMemoryWaterMarkInBytes && boundIterator.hasNext() == true)
+      {
+        final UsedBitmap usedBitmap = boundIterator.next();
+        boundIterator.remove();
+        discardUsedBitmap(usedBitmap);
+        discardedCount++;
+      }
     }
     if (log.isInfoEnabled())
     {
@@ -503,6 +525,44 @@ public abstract class CoreBitmapDownloader<BitmapClass extends Bitmapable, ViewC
     }
   }
 
+  /**
+   * Updates the {@link #memoryConsumptionInBytes} attribute once the provided bitmap has been removed from the {@link #cache}, and recycles its
+   * underlying bitmap provided it is not bound to any view.
+   *
+   * @param usedBitmap the bitmap which has just been removed from the cache
+   * @return {@code true} if and only if the underlying bitmap has been recycled
+   */
+  private boolean discardUsedBitmap(UsedBitmap usedBitmap)
+  {
+    memoryConsumptionInBytes -= usedBitmap.getMemoryConsumption();
+    if (IS_DEBUG_TRACE && log.isDebugEnabled())
+    {
+      log.debug("Removed from the cache the bitmap with URL '" + usedBitmap.url + "' accessed " + usedBitmap.accessCount + " time(s) and currently bound " + usedBitmap.bindingCount + " time(s)");
+    }
+    // We make the bitmap as recycled, so that it is actually removed from memory, only if it not being used
+    if (recycleMap == true && usedBitmap.bindingCount <= 0)
+    {
+      final BitmapClass bitmap = usedBitmap.getBitmap();
+      if (bitmap != null)
+      {
+        recycleBitmap(bitmap);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Is invoked when a bitmap which is not bound to any view anymore is evicted from the memory cache, provided the {@link #recycleMap} flag is set.
+   * This method is aimed at being overridden, so as to reuse the bitmap memory instead of releasing it.
+   *
+   * @param bitmap the evicted bitmap, which is not {@code null}
+   */
+  protected void recycleBitmap(BitmapClass bitmap)
+  {
+    bitmap.recycle();
+  }
+
   /**
    * Dumps the analytics about the current state of the instance.
    */
@@ -31,6 +31,41 @@ package com.smartnsoft.droid4me.download;
 public final class DownloadContracts
 {
 
+  /**
+   * Indicates how urgently a bitmap is required, which enables the {@link BasisBitmapDownloader} to schedule its commands. The constants are declared
+   * from the most to the least urgent.
+   *
+   * @since 2026.10.18
+   */
+  public enum Priority
+  {
+    /**
+     * The bitmap is meant to be displayed right away.
+     */
+    Visible,
+    /**
+     * The bitmap is retrieved ahead of time, so as to be available in the cache when displayed.
+     */
+    Prefetch
+  }
+
+  /**
+   * When the image specifications passed to the {@link BasisBitmapDownloader} implement that interface, they state the priority of the command.
+   * Otherwise, a command with a view has the {@link Priority#Visible} priority, and a command without any view has the {@link Priority#Prefetch}
+   * priority.
+   *
+   * @since 2026.10.18
+   */
+  public interface Prioritizable
+  {
+
+    /**
+     * @return the priority of the bitmap retrieval ; should not be {@code null}
+     */
+    Priority getPriority();
+
+  }
+
   /**
    * An abstraction of a {@link android.graphics.Bitmap} which makes possible the writing of unitary tests.
    * <p>
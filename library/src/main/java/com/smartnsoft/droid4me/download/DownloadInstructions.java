@@ -135,9 +135,14 @@ public class DownloadInstructions
     public BitmapableGif(Gif gif)
     {
       this.gif = gif;
-      bitmap = gif.getBitmap(0);
+      bitmap = gif == null ? null : gif.getFirstFrame();
     }
 
+    /**
+     * Since the GIF frames are decoded on demand during the animation, the returned size does not depend on the number of frames.
+     *
+     * @see Gif#getSizeInBytes()
+     */
     @Override
     public int getSizeInBytes()
     {
@@ -147,19 +152,16 @@ public class DownloadInstructions
       }
       else
       {
-        return gif.getHeight() * gif.getWidth() * gif.getFramesCount();
+        return gif.getSizeInBytes();
       }
     }
 
     @Override
     public void recycle()
     {
-      if (gif != null && gif.getBitmaps().isEmpty() == false)
+      if (gif != null)
       {
-        for (Bitmap bitmap : gif.getBitmaps())
-        {
-          bitmap.recycle();
-        }
+        gif.recycle();
       }
     }
 
@@ -562,7 +564,7 @@ public class DownloadInstructions
     {
       if (view instanceof ImageView)
       {
-        ((ImageView) view).setImageBitmap(bitmap.getBitmap(0));
+        ((ImageView) view).setImageBitmap(bitmap.getFirstFrame());
       }
     }
 
@@ -717,11 +719,38 @@ public class DownloadInstructions
     {
     }
 
+    /**
+     * Computes the largest power of two sample size which, once applied to the provided bitmap dimensions, still produces a bitmap at least as large
+     * as the target dimensions.
+     *
+     * @param width        the width of the encoded bitmap
+     * @param height       the height of the encoded bitmap
+     * @param targetWidth  the width the bitmap will be displayed with
+     * @param targetHeight the height the bitmap will be displayed with
+     * @return a value greater or equal to {@code 1}, which is meant to be used as the {@link BitmapFactory.Options#inSampleSize}
+     */
+    public static int computeSampleSize(int width, int height, int targetWidth, int targetHeight)
+    {
+      int sampleSize = 1;
+      if (targetWidth <= 0 || targetHeight <= 0)
+      {
+        return sampleSize;
+      }
+      while ((width / (sampleSize * 2)) >= targetWidth && (height / (sampleSize * 2)) >= targetHeight)
+      {
+        sampleSize *= 2;
+      }
+      return sampleSize;
+    }
+
     /**
      * Actually converts the given {@link InputStream} into an Android {@link Bitmap}.
      * <p>
      * <p>
-     * The hereby implementation does not perform any scaling.
+     * The hereby implementation does not perform any scaling, unless the provided {@code imageSpecs} is a {@link DownloadSpecs.SizedImageSpecs}
+     * with a {@link DownloadSpecs.SizedImageSpecs#hasTargetSize() target size}: in that case, the bitmap is
+     * {@link #decodeSampledBitmap(InputStream, BitmapFactory.Options, DownloadSpecs.SizedImageSpecs, String) decoded with a sample size}. The same
+     * method is used when a {@link #getBitmapPool() bitmap pool} is available, so that the bitmap is decoded into a pooled one.
      * </p>
      *
      * @param inputStream the representation of the {@link Bitmap} to be decoded
@@ -746,9 +775,232 @@ public class DownloadInstructions
         }
       }
 
+      if (imageSpecs instanceof DownloadSpecs.SizedImageSpecs && ((DownloadSpecs.SizedImageSpecs) imageSpecs).hasTargetSize() == true)
+      {
+        return decodeSampledBitmap(inputStream, options, (DownloadSpecs.SizedImageSpecs) imageSpecs, url);
+      }
+      else if (getBitmapPool() != null)
+      {
+        return decodeSampledBitmap(inputStream, options, null, url);
+      }
       return BitmapFactory.decodeStream(inputStream, null, options);
     }
 
+    /**
+     * @return the pool which provides the bitmaps whose memory may be reused when decoding ; the default implementation returns the
+     * {@link BitmapDownloader#BITMAP_POOL}
+     */
+    protected BitmapPool getBitmapPool()
+    {
+      return BitmapDownloader.BITMAP_POOL;
+    }
+
+    /**
+     * Decodes the bitmap with the largest {@link #computeSampleSize(int, int, int, int) sample size} compatible with the target size, so that a
+     * large picture displayed in a small view does not take more memory than necessary.
+     * <p>
+     * <p>
+     * The encoded bytes are first read in memory, unless the stream is a {@link BytesInputStream} whose bytes are used as is, so that the bitmap
+     * bounds can be read before the actual decoding. If the {@link DownloadSpecs.SizedImageSpecs#exactScale} flag is set, the decoded bitmap is
+     * eventually scaled so as to fit exactly the target size, while preserving its aspect ratio.
+     * </p>
+     * <p>
+     * <p>
+     * When a {@link #getBitmapPool() bitmap pool} is available, the bitmap is decoded mutable, and into a pooled bitmap with the same dimensions and
+     * configuration, if any.
+     * </p>
+     *
+     * @param inputStream     the representation of the {@link Bitmap} to be decoded
+     * @param options         the options to use for the decoding
+     * @param sizedImageSpecs the specifications which hold the target size ; when {@code null}, the bitmap is decoded with its natural size
+     * @param url             the URL of the bitmap, used for the logs
+     * @return the decoded {@link Bitmap} if the conversion could be performed properly ; {@code null} otherwise
+     */
+    protected Bitmap decodeSampledBitmap(InputStream inputStream, BitmapFactory.Options options,
+        DownloadSpecs.SizedImageSpecs sizedImageSpecs, String url)
+    {
+      final BytesInputStream bytesInputStream;
+      if (inputStream instanceof BytesInputStream)
+      {
+        // The bytes are already in memory
+        bytesInputStream = (BytesInputStream) inputStream;
+      }
+      else
+      {
+        final BytesInputStream.Buffer outputStream = new BytesInputStream.Buffer();
+        try
+        {
+          final byte[] buffer = new byte[8192];
+          int count;
+          while ((count = inputStream.read(buffer)) != -1)
+          {
+            outputStream.write(buffer, 0, count);
+          }
+        }
+        catch (IOException exception)
+        {
+          if (log.isWarnEnabled())
+          {
+            log.warn("Could not read the bytes of the bitmap relative to the URL '" + url + "'", exception);
+          }
+          return null;
+        }
+        bytesInputStream = outputStream.toInputStream();
+      }
+      // The bytes are decoded from the array which holds them, without being copied
+      final byte[] bytes = bytesInputStream.getBytes();
+      final int offset = bytesInputStream.getOffset();
+      final int length = bytesInputStream.getLength();
+
+      options.inJustDecodeBounds = true;
+      BitmapFactory.decodeByteArray(bytes, offset, length, options);
+      if (options.outWidth <= 0 || options.outHeight <= 0)
+      {
+        return null;
+      }
+      if (sizedImageSpecs != null)
+      {
+        options.inSampleSize = AbstractInstructions.computeSampleSize(options.outWidth, options.outHeight, sizedImageSpecs.width, sizedImageSpecs.height);
+        if (CoreBitmapDownloader.IS_DEBUG_TRACE && CoreBitmapDownloader.log.isDebugEnabled())
+        {
+          CoreBitmapDownloader.log.debug("Decoding the bitmap of size " + options.outWidth + "x" + options.outHeight + " with a sample size of " + options.inSampleSize + " for a target size of " + sizedImageSpecs.width + "x" + sizedImageSpecs.height + " relative to the URL '" + url + "'");
+        }
+      }
+
+      final BitmapPool bitmapPool = getBitmapPool();
+      Bitmap reusableBitmap = null;
+      if (bitmapPool != null)
+      {
+        // Before KitKat, a bitmap can only be reused when decoding without any sample size
+        if (options.inSampleSize <= 1 || Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT)
+        {
+          if (options.inSampleSize > 1)
+          {
+            // We need the actual decoded dimensions
+            BitmapFactory.decodeByteArray(bytes, offset, length, options);
+          }
+          reusableBitmap = bitmapPool.get(options.outWidth, options.outHeight, options.inPreferredConfig == null ? Config.ARGB_8888 : options.inPreferredConfig);
+        }
+        options.inMutable = true;
+        options.inBitmap = reusableBitmap;
+      }
+      options.inJustDecodeBounds = false;
+      Bitmap bitmap;
+      try
+      {
+        bitmap = BitmapFactory.decodeByteArray(bytes, offset, length, options);
+      }
+      catch (IllegalArgumentException exception)
+      {
+        if (reusableBitmap == null)
+        {
+          throw exception;
+        }
+        // The pooled bitmap cannot be reused for that bitmap
+        if (log.isDebugEnabled())
+        {
+          log.debug("Could not reuse a pooled bitmap for decoding the bitmap relative to the URL '" + url + "'");
+        }
+        reusableBitmap.recycle();
+        options.inBitmap = null;
+        bitmap = BitmapFactory.decodeByteArray(bytes, offset, length, options);
+      }
+      if (bitmap == null || sizedImageSpecs == null || sizedImageSpecs.exactScale == false)
+      {
+        return bitmap;
+      }
+      final float scale = Math.min((float) sizedImageSpecs.width / (float) bitmap.getWidth(), (float) sizedImageSpecs.height / (float) bitmap.getHeight());
+      if (scale >= 1f)
+      {
+        return bitmap;
+      }
+      final Bitmap scaledBitmap = Bitmap.createScaledBitmap(bitmap, Math.max(1, Math.round(bitmap.getWidth() * scale)), Math.max(1, Math.round(bitmap.getHeight() * scale)), true);
+      if (scaledBitmap != bitmap)
+      {
+        bitmap.recycle();
+      }
+      return scaledBitmap;
+    }
+
+  }
+
+  /**
+   * An implementation of the {@link Instructions} which displays a low-resolution preview of the large bitmaps while they are being downloaded, by
+   * decoding heavily sampled the first downloaded bytes: with a progressive JPEG or an interlaced PNG, the preview covers the whole picture, and
+   * otherwise its top part only.
+   * <p>
+   * <p>
+   * Caution: like its parent class, this implementation supposes that the provided {@link View view} is actually an {@link ImageView}, both for the
+   * preview and the full bitmap bindings.
+   * </p>
+   *
+   * @see BasisDownloadInstructions.ProgressiveInstructions
+   * @since 2026.10.18
+   */
+  public static class ProgressiveInstructions
+      extends AbstractInstructions
+      implements BasisDownloadInstructions.ProgressiveInstructions<BitmapableBitmap>
+  {
+
+    /**
+     * The default number of bytes from which a preview is attempted.
+     */
+    public static final int DEFAULT_PREVIEW_THRESHOLD_IN_BYTES = 32 * 1024;
+
+    /**
+     * The sample size used for decoding the preview, when no target size is known.
+     */
+    public static final int DEFAULT_PREVIEW_SAMPLE_SIZE = 8;
+
+    /**
+     * @return {@link #DEFAULT_PREVIEW_THRESHOLD_IN_BYTES} by default
+     */
+    @Override
+    public int getPreviewThresholdInBytes(String bitmapUid, Object imageSpecs, String url)
+    {
+      return ProgressiveInstructions.DEFAULT_PREVIEW_THRESHOLD_IN_BYTES;
+    }
+
+    /**
+     * Decodes the provided bytes with a sample size four times as large as the one used for the full bitmap when the {@code imageSpecs} is a
+     * {@link DownloadSpecs.SizedImageSpecs} with a {@link DownloadSpecs.SizedImageSpecs#hasTargetSize() target size}, and with the
+     * {@link #DEFAULT_PREVIEW_SAMPLE_SIZE} otherwise.
+     */
+    @Override
+    public BitmapableBitmap convertPreview(byte[] bytes, String bitmapUid, Object imageSpecs, String url)
+    {
+      final BitmapFactory.Options options = new BitmapFactory.Options();
+      options.inJustDecodeBounds = true;
+      BitmapFactory.decodeByteArray(bytes, 0, bytes.length, options);
+      if (options.outWidth <= 0 || options.outHeight <= 0)
+      {
+        // The header of the bitmap has not been downloaded yet
+        return null;
+      }
+      if (imageSpecs instanceof DownloadSpecs.SizedImageSpecs && ((DownloadSpecs.SizedImageSpecs) imageSpecs).hasTargetSize() == true)
+      {
+        final DownloadSpecs.SizedImageSpecs sizedImageSpecs = (DownloadSpecs.SizedImageSpecs) imageSpecs;
+        options.inSampleSize = AbstractInstructions.computeSampleSize(options.outWidth, options.outHeight, sizedImageSpecs.width, sizedImageSpecs.height) * 4;
+      }
+      else
+      {
+        options.inSampleSize = ProgressiveInstructions.DEFAULT_PREVIEW_SAMPLE_SIZE;
+      }
+      options.inJustDecodeBounds = false;
+      options.inPreferredConfig = Config.RGB_565;
+      final Bitmap bitmap = BitmapFactory.decodeByteArray(bytes, 0, bytes.length, options);
+      return bitmap == null ? null : new BitmapableBitmap(bitmap);
+    }
+
+    /**
+     * Binds the preview to the {@link ImageView}.
+     */
+    @Override
+    public void onBindTemporaryBitmap(View view, Bitmap bitmap, String bitmapUid, Object imageSpecs)
+    {
+      ((ImageView) view).setImageBitmap(bitmap);
+    }
+
   }
 
   /**
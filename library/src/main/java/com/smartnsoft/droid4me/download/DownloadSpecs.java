@@ -22,6 +22,9 @@
 
 package com.smartnsoft.droid4me.download;
 
+import android.view.View;
+import android.view.ViewGroup.LayoutParams;
+
 /**
  * Gathers in one place some commonly used specifications used by the {@link BitmapDownloader}.
  *
@@ -111,20 +114,69 @@ public class DownloadSpecs
 
   /**
    * Enables to express an image specification, which indicates its size and a temporary image resource identification.
+   * <p>
+   * <p>
+   * When the target size is positive, the {@link DownloadInstructions.AbstractInstructions} decodes the bitmap with a sample size, so that it does
+   * not take more memory than necessary, and the decoded bitmaps are cached per target size.
+   * </p>
    */
   public static class SizedImageSpecs
       extends TemporaryImageSpecs
   {
 
+    /**
+     * Creates specifications whose target size is the one of the provided view, or the one of its layout parameters if it has not been measured
+     * yet.
+     *
+     * @param view            the view which will display the bitmap
+     * @param imageResourceId the Android resource image identification, {@code -1} if none
+     * @return the specifications ; their width and height are {@code 0} if the view size is not known
+     */
+    public static SizedImageSpecs fromView(View view, int imageResourceId)
+    {
+      int width = view.getWidth();
+      int height = view.getHeight();
+      final LayoutParams layoutParams = view.getLayoutParams();
+      if (width <= 0 && layoutParams != null)
+      {
+        width = Math.max(0, layoutParams.width);
+      }
+      if (height <= 0 && layoutParams != null)
+      {
+        height = Math.max(0, layoutParams.height);
+      }
+      return new SizedImageSpecs(imageResourceId, width, height);
+    }
+
     public final int width;
 
     public final int height;
 
+    /**
+     * Indicates whether, once decoded with a sample size, the bitmap should be scaled so as to exactly fit the target size, while preserving its
+     * aspect ratio.
+     */
+    public final boolean exactScale;
+
     public SizedImageSpecs(int imageResourceId, int width, int height)
+    {
+      this(imageResourceId, width, height, false);
+    }
+
+    public SizedImageSpecs(int imageResourceId, int width, int height, boolean exactScale)
     {
       super(imageResourceId);
       this.width = width;
       this.height = height;
+      this.exactScale = exactScale;
+    }
+
+    /**
+     * @return {@code true} if and only if the target width and height are both positive
+     */
+    public final boolean hasTargetSize()
+    {
+      return width > 0 && height > 0;
     }
 
   }
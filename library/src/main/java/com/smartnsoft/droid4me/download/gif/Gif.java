@@ -1,7 +1,9 @@
 package com.smartnsoft.droid4me.download.gif;
 
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import android.animation.ValueAnimator;
@@ -24,16 +26,136 @@ import com.smartnsoft.droid4me.log.LoggerFactory;
  */
 
 /**
- * This class represents a Gif File and its display in an ImageView
+ * This class represents a Gif File and its display in an ImageView.
+ * <p>
+ * <p>
+ * Only the parsed {@link GifHeader} and the raw GIF data are kept, along with the first frame, which is used as a still image. The other frames are
+ * decoded on demand while the animation runs, into at most two reusable bitmaps, so that the memory footprint does not depend on the number of
+ * frames.
+ * </p>
  */
 @RequiresApi(api = VERSION_CODES.HONEYCOMB_MR1)
 public final class Gif
     implements OnAttachStateChangeListener
 {
 
+  /**
+   * A {@link GifDecoder.BitmapProvider} which keeps the released frames bitmaps, so that they are reused for the next frames, and which relies on the
+   * {@link Gif#BITMAP_PROVIDER} for the rest.
+   */
+  private static final class FramesBitmapProvider
+      implements GifDecoder.BitmapProvider
+  {
+
+    /**
+     * The maximum number of released bitmaps which are kept for being reused.
+     */
+    private static final int MAXIMUM_FREE_BITMAPS_COUNT = 2;
+
+    private final List<Bitmap> freeBitmaps = new ArrayList<>(FramesBitmapProvider.MAXIMUM_FREE_BITMAPS_COUNT);
+
+    @NonNull
+    @Override
+    public Bitmap obtain(int width, int height, Bitmap.Config config)
+    {
+      for (int index = 0; index < freeBitmaps.size(); index++)
+      {
+        final Bitmap bitmap = freeBitmaps.get(index);
+        if (bitmap.getWidth() == width && bitmap.getHeight() == height && bitmap.getConfig() == config)
+        {
+          freeBitmaps.remove(index);
+          return bitmap;
+        }
+      }
+      return Gif.BITMAP_PROVIDER.obtain(width, height, config);
+    }
+
+    @Override
+    public void release(Bitmap bitmap)
+    {
+      if (freeBitmaps.size() < FramesBitmapProvider.MAXIMUM_FREE_BITMAPS_COUNT)
+      {
+        freeBitmaps.add(bitmap);
+      }
+      else
+      {
+        Gif.BITMAP_PROVIDER.release(bitmap);
+      }
+    }
+
+    @Override
+    public byte[] obtainByteArray(int size)
+    {
+      return Gif.BITMAP_PROVIDER.obtainByteArray(size);
+    }
+
+    @Override
+    public void release(byte[] bytes)
+    {
+      Gif.BITMAP_PROVIDER.release(bytes);
+    }
+
+    @Override
+    public int[] obtainIntArray(int size)
+    {
+      return Gif.BITMAP_PROVIDER.obtainIntArray(size);
+    }
+
+    @Override
+    public void release(int[] array)
+    {
+      Gif.BITMAP_PROVIDER.release(array);
+    }
+
+    @Override
+    public short[] obtainShortArray(int size)
+    {
+      return Gif.BITMAP_PROVIDER.obtainShortArray(size);
+    }
+
+    @Override
+    public void release(short[] array)
+    {
+      Gif.BITMAP_PROVIDER.release(array);
+    }
+
+    public void clear()
+    {
+      for (Bitmap bitmap : freeBitmaps)
+      {
+        Gif.BITMAP_PROVIDER.release(bitmap);
+      }
+      freeBitmaps.clear();
+    }
+
+  }
+
   public static final Logger log = LoggerFactory.getInstance("Gif");
 
-  private final List<Bitmap> bitmaps;
+  /**
+   * The provider of the working arrays and bitmaps shared by all the GIF decoders.
+   * <p>
+   * <p>
+   * Set that parameter before decoding any GIF, in order to change its budget.
+   * </p>
+   */
+  public static PooledBitmapProvider BITMAP_PROVIDER = new PooledBitmapProvider(4 * 1024 * 1024);
+
+  private final FramesBitmapProvider framesBitmapProvider = new FramesBitmapProvider();
+
+  private GifHeader header;
+
+  /**
+   * The raw GIF data, which is shared by all the decoders of this GIF.
+   */
+  private ByteBuffer data;
+
+  private Bitmap firstFrame;
+
+  /**
+   * For every frame, the time in milliseconds, since the animation start, when the frame display ends.
+   */
+  private int[] framesEndTimes = new int[0];
 
   private int duration;
 
@@ -45,10 +167,18 @@ public final class Gif
    */
   private ValueAnimator valueAnimator;
 
+  /**
+   * The decoder used during the animation, which only exists while the animation is running.
+   */
+  private GifDecoder decoder;
+
+  /**
+   * The frame currently displayed by the animation.
+   */
+  private Bitmap displayedFrame;
 
   public Gif(InputStream inputStream, String url)
   {
-    this.bitmaps = new ArrayList<>();
     decodeGif(inputStream, url);
   }
 
@@ -89,32 +219,57 @@ public final class Gif
 
   public int getHeight()
   {
-    return bitmaps.isEmpty() ? 0 : bitmaps.get(0).getHeight();
+    return header == null ? 0 : header.height;
   }
 
   public int getWidth()
   {
-    return bitmaps.isEmpty() ? 0 : bitmaps.get(0).getWidth();
+    return header == null ? 0 : header.width;
   }
 
   public int getFramesCount()
   {
-    return bitmaps.size();
+    return framesEndTimes.length;
   }
 
-  public Bitmap getBitmap(int index)
+  /**
+   * @return the first frame of the GIF, which may be used as a still image ; {@code null} if the GIF could not be decoded
+   */
+  public Bitmap getFirstFrame()
   {
-    return bitmaps.get(index);
+    return firstFrame;
   }
 
-  public List<Bitmap> getBitmaps()
+  public int getDuration()
   {
-    return bitmaps;
+    return duration;
   }
 
-  public int getDuration()
+  /**
+   * @return an estimation of the number of bytes taken by this GIF while animated: the raw data, the first frame, the two frames used by the
+   * animation and the decoder working arrays, which does not depend on the number of frames
+   */
+  public int getSizeInBytes()
   {
-    return duration;
+    if (header == null)
+    {
+      return 0;
+    }
+    final int pixelsCount = header.width * header.height;
+    // The frames use 4 bytes per pixel at most, and the decoder working arrays 5 bytes per pixel
+    return data.limit() + 3 * 4 * pixelsCount + 5 * pixelsCount;
+  }
+
+  /**
+   * Ends the animation and recycles all the bitmaps held by this GIF, which cannot be displayed anymore.
+   */
+  public void recycle()
+  {
+    end();
+    if (firstFrame != null)
+    {
+      firstFrame.recycle();
+    }
   }
 
   private void end()
@@ -123,40 +278,94 @@ public final class Gif
     {
       valueAnimator.cancel();
       valueAnimator.end();
-      bitmaps.clear();
     }
+    valueAnimator = null;
+    if (decoder != null)
+    {
+      decoder.clear();
+      decoder = null;
+    }
+    // The displayed frame is not recycled, because the ImageView may still draw it
+    displayedFrame = null;
+    framesBitmapProvider.clear();
   }
 
   private void animate()
   {
-    if (bitmaps.isEmpty() == false)
+    end();
+    if (firstFrame != null)
+    {
+      imageView.setImageBitmap(firstFrame);
+    }
+    if (framesEndTimes.length <= 1 || duration <= 0)
+    {
+      return;
+    }
+    decoder = new GifDecoder(framesBitmapProvider, header, data);
+    valueAnimator = ValueAnimator.ofInt(0, duration - 1);
+    valueAnimator.setInterpolator(new LinearInterpolator());
+    valueAnimator.setDuration(getDuration());
+    valueAnimator.setRepeatCount(ValueAnimator.INFINITE);
+    valueAnimator.addUpdateListener(new AnimatorUpdateListener()
     {
-      final int[] table = new int[bitmaps.size()];
-      for (int i = 0; i < table.length; i++)
+      @Override
+      public void onAnimationUpdate(ValueAnimator animation)
       {
-        table[i] = i;
+        if (valueAnimator != null && valueAnimator.isRunning())
+        {
+          showFrame(computeFrameIndex((Integer) animation.getAnimatedValue()));
+        }
       }
+    });
+    valueAnimator.start();
+  }
+
+  private int computeFrameIndex(int time)
+  {
+    final int index = Arrays.binarySearch(framesEndTimes, time);
+    // When the time is exactly the end time of a frame, the next frame is displayed
+    return Math.min(index >= 0 ? index + 1 : -index - 1, framesEndTimes.length - 1);
+  }
 
-      valueAnimator = ValueAnimator.ofInt(table);
-      valueAnimator.setInterpolator(new LinearInterpolator());
-      valueAnimator.setDuration(getDuration());
-      valueAnimator.setRepeatCount(ValueAnimator.INFINITE);
-      valueAnimator.addUpdateListener(new AnimatorUpdateListener()
+  /**
+   * Decodes and displays the given frame. Since a frame may depend on the previous ones, the frames between the last decoded one and the requested
+   * one are decoded in sequence, their bitmap being released right away.
+   */
+  private void showFrame(int frameIndex)
+  {
+    if (decoder == null || decoder.getCurrentFrameIndex() == frameIndex)
+    {
+      return;
+    }
+    Bitmap frame = null;
+    while (decoder.getCurrentFrameIndex() != frameIndex)
+    {
+      if (frame != null)
+      {
+        framesBitmapProvider.release(frame);
+      }
+      // The animation loops forever, whatever the GIF loop count
+      decoder.resetLoopIndex();
+      decoder.advance();
+      frame = decoder.getNextFrame();
+      if (frame == null)
       {
-        @Override
-        public void onAnimationUpdate(ValueAnimator animation)
+        if (log.isWarnEnabled())
         {
-          if (valueAnimator.isRunning())
-          {
-            imageView.setImageBitmap(bitmaps.get((Integer) animation.getAnimatedValue()));
-          }
+          log.warn("Cannot decode the frame #" + decoder.getCurrentFrameIndex() + " of the animated GIF: stopping its animation");
         }
-      });
-      valueAnimator.start();
+        end();
+        return;
+      }
     }
+    imageView.setImageBitmap(frame);
+    if (displayedFrame != null)
+    {
+      framesBitmapProvider.release(displayedFrame);
+    }
+    displayedFrame = frame;
   }
 
-
   private void decodeGif(final InputStream inputStream, final String url)
   {
     final GifDecoder gifDecoder;
@@ -166,7 +375,7 @@ public final class Gif
       {
         milliseconds = System.currentTimeMillis();
       }
-      gifDecoder = new GifDecoder();
+      gifDecoder = new GifDecoder(Gif.BITMAP_PROVIDER);
 
       if (gifDecoder.read(inputStream, 2 * 8192) != GifDecoder.STATUS_OK)
       {
@@ -184,26 +393,29 @@ public final class Gif
     }
 
     final int framesCount = gifDecoder.getFrameCount();
+    if (framesCount <= 0)
+    {
+      gifDecoder.clear();
+      return;
+    }
+    framesEndTimes = new int[framesCount];
+    for (int index = 0; index < framesCount; index++)
+    {
+      duration += Math.max(0, gifDecoder.getDelay(index));
+      framesEndTimes[index] = duration;
+    }
 
+    // Only the first frame is decoded, the other ones will be decoded during the animation
     final long milliseconds = System.currentTimeMillis();
-    while (bitmaps.size() < framesCount)
-    {
-      gifDecoder.advance();
-      final Bitmap nextBitmap = gifDecoder.getNextFrame();
-      // We need to deep copy the bitmap
-      duration += gifDecoder.getDelay(gifDecoder.getCurrentFrameIndex());
-      final Bitmap bitmap = nextBitmap.copy(nextBitmap.getConfig(), true);
-      if (bitmap == null)
-      {
-        break;
-      }
-      bitmaps.add(bitmap);
-    }
+    gifDecoder.advance();
+    firstFrame = gifDecoder.getNextFrame();
     if (log.isInfoEnabled())
     {
-      log.info("Prepared the individual images belonging to the animated GIF with URL '" + url + "' in " + (System.currentTimeMillis() - milliseconds) + " ms");
+      log.info("Decoded the first image of the animated GIF with URL '" + url + "' and " + framesCount + " frames in " + (System.currentTimeMillis() - milliseconds) + " ms");
     }
 
+    header = gifDecoder.getHeader();
+    data = gifDecoder.getData();
     gifDecoder.clear();
   }
 }
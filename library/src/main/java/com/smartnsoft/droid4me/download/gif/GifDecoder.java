@@ -216,6 +216,20 @@ public final class GifDecoder
      * @param array
      */
     void release(int[] array);
+
+    /**
+     * Returns a short array used for decoding the frames.
+     *
+     * @param size the size of the short array to obtain
+     */
+    short[] obtainShortArray(int size);
+
+    /**
+     * Release the given array back to the pool.
+     *
+     * @param array
+     */
+    void release(short[] array);
   }
 
   GifDecoder(BitmapProvider provider, GifHeader gifHeader, ByteBuffer rawData)
@@ -256,6 +270,11 @@ public final class GifDecoder
     return rawData;
   }
 
+  GifHeader getHeader()
+  {
+    return header;
+  }
+
   /**
    * Returns the current status of the decoder.
    * <p>
@@ -519,13 +538,16 @@ public final class GifDecoder
   void clear()
   {
     header = null;
+    // The released arrays are forgotten, because they may be handed over to another decoder by the provider
     if (mainPixels != null)
     {
       bitmapProvider.release(mainPixels);
+      mainPixels = null;
     }
     if (mainScratch != null)
     {
       bitmapProvider.release(mainScratch);
+      mainScratch = null;
     }
     if (previousImage != null)
     {
@@ -537,10 +559,27 @@ public final class GifDecoder
     if (block != null)
     {
       bitmapProvider.release(block);
+      block = null;
     }
     if (workBuffer != null)
     {
       bitmapProvider.release(workBuffer);
+      workBuffer = null;
+    }
+    if (prefix != null)
+    {
+      bitmapProvider.release(prefix);
+      prefix = null;
+    }
+    if (suffix != null)
+    {
+      bitmapProvider.release(suffix);
+      suffix = null;
+    }
+    if (pixelStack != null)
+    {
+      bitmapProvider.release(pixelStack);
+      pixelStack = null;
     }
   }
 
@@ -588,7 +627,15 @@ public final class GifDecoder
     downsampledHeight = header.height / sampleSize;
     // Now that we know the size, init scratch arrays.
     // TODO Find a way to avoid this entirely or at least downsample it (either should be possible).
+    if (mainPixels != null)
+    {
+      bitmapProvider.release(mainPixels);
+    }
     mainPixels = bitmapProvider.obtainByteArray(header.width * header.height);
+    if (mainScratch != null)
+    {
+      bitmapProvider.release(mainScratch);
+    }
     mainScratch = bitmapProvider.obtainIntArray(downsampledWidth * downsampledHeight);
   }
 
@@ -875,20 +922,24 @@ public final class GifDecoder
 
     if (mainPixels == null || mainPixels.length < npix)
     {
+      if (mainPixels != null)
+      {
+        bitmapProvider.release(mainPixels);
+      }
       // Allocate new pixel array.
       mainPixels = bitmapProvider.obtainByteArray(npix);
     }
     if (prefix == null)
     {
-      prefix = new short[MAX_STACK_SIZE];
+      prefix = bitmapProvider.obtainShortArray(MAX_STACK_SIZE);
     }
     if (suffix == null)
     {
-      suffix = new byte[MAX_STACK_SIZE];
+      suffix = bitmapProvider.obtainByteArray(MAX_STACK_SIZE);
     }
     if (pixelStack == null)
     {
-      pixelStack = new byte[MAX_STACK_SIZE + 1];
+      pixelStack = bitmapProvider.obtainByteArray(MAX_STACK_SIZE + 1);
     }
 
     // Initialize GIF data stream decoder.
@@ -0,0 +1,217 @@
+package com.smartnsoft.droid4me.download.gif;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+import android.graphics.Bitmap;
+import android.support.annotation.NonNull;
+
+import com.smartnsoft.droid4me.download.BitmapDownloader;
+import com.smartnsoft.droid4me.download.BitmapPool;
+
+/**
+ * A {@link GifDecoder.BitmapProvider} which pools the decoders working arrays across the GIF decodings, so that decoding successive GIFs does not
+ * reallocate them every time.
+ * <p>
+ * <p>
+ * The arrays are pooled by exact length, and the pool is bounded by a number of bytes: an array released while the pool is full is just left to the
+ * garbage collector. The bitmaps are taken from and given back to the {@link BitmapDownloader#BITMAP_POOL} when it is set, and are created and
+ * recycled otherwise.
+ * </p>
+ * <p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ *
+ * @see Gif#BITMAP_PROVIDER
+ * @since 2026.10.18
+ */
+public final class PooledBitmapProvider
+    implements GifDecoder.BitmapProvider
+{
+
+  /**
+   * The maximum number of bytes that the pooled arrays may take in memory.
+   */
+  public final long maximumArraysSizeInBytes;
+
+  private final Map<Integer, LinkedList<byte[]>> byteArrays = new HashMap<>();
+
+  private final Map<Integer, LinkedList<int[]>> intArrays = new HashMap<>();
+
+  private final Map<Integer, LinkedList<short[]>> shortArrays = new HashMap<>();
+
+  private long arraysSizeInBytes;
+
+  private int obtainedArraysCount;
+
+  private int allocatedArraysCount;
+
+  private long allocatedBytesCount;
+
+  /**
+   * @param maximumArraysSizeInBytes the maximum number of bytes that the pooled arrays are allowed to take in memory
+   */
+  public PooledBitmapProvider(long maximumArraysSizeInBytes)
+  {
+    this.maximumArraysSizeInBytes = maximumArraysSizeInBytes;
+  }
+
+  @NonNull
+  @Override
+  public Bitmap obtain(int width, int height, Bitmap.Config config)
+  {
+    final BitmapPool bitmapPool = BitmapDownloader.BITMAP_POOL;
+    final Bitmap bitmap = bitmapPool == null ? null : bitmapPool.get(width, height, config);
+    return bitmap != null ? bitmap : Bitmap.createBitmap(width, height, config);
+  }
+
+  @Override
+  public void release(Bitmap bitmap)
+  {
+    final BitmapPool bitmapPool = BitmapDownloader.BITMAP_POOL;
+    if (bitmapPool == null || bitmapPool.put(bitmap) == false)
+    {
+      bitmap.recycle();
+    }
+  }
+
+  @Override
+  public synchronized byte[] obtainByteArray(int size)
+  {
+    obtainedArraysCount++;
+    final LinkedList<byte[]> arrays = byteArrays.get(size);
+    if (arrays != null && arrays.isEmpty() == false)
+    {
+      arraysSizeInBytes -= size;
+      return arrays.removeLast();
+    }
+    onAllocated(size);
+    return new byte[size];
+  }
+
+  @Override
+  public synchronized void release(byte[] bytes)
+  {
+    if (canPool(bytes.length) == true)
+    {
+      PooledBitmapProvider.bucket(byteArrays, bytes.length).addLast(bytes);
+      arraysSizeInBytes += bytes.length;
+    }
+  }
+
+  @Override
+  public synchronized int[] obtainIntArray(int size)
+  {
+    obtainedArraysCount++;
+    final LinkedList<int[]> arrays = intArrays.get(size);
+    if (arrays != null && arrays.isEmpty() == false)
+    {
+      arraysSizeInBytes -= 4L * size;
+      return arrays.removeLast();
+    }
+    onAllocated(4L * size);
+    return new int[size];
+  }
+
+  @Override
+  public synchronized void release(int[] array)
+  {
+    if (canPool(4L * array.length) == true)
+    {
+      PooledBitmapProvider.bucket(intArrays, array.length).addLast(array);
+      arraysSizeInBytes += 4L * array.length;
+    }
+  }
+
+  @Override
+  public synchronized short[] obtainShortArray(int size)
+  {
+    obtainedArraysCount++;
+    final LinkedList<short[]> arrays = shortArrays.get(size);
+    if (arrays != null && arrays.isEmpty() == false)
+    {
+      arraysSizeInBytes -= 2L * size;
+      return arrays.removeLast();
+    }
+    onAllocated(2L * size);
+    return new short[size];
+  }
+
+  @Override
+  public synchronized void release(short[] array)
+  {
+    if (canPool(2L * array.length) == true)
+    {
+      PooledBitmapProvider.bucket(shortArrays, array.length).addLast(array);
+      arraysSizeInBytes += 2L * array.length;
+    }
+  }
+
+  /**
+   * Forgets all the pooled arrays.
+   */
+  public synchronized void clear()
+  {
+    byteArrays.clear();
+    intArrays.clear();
+    shortArrays.clear();
+    arraysSizeInBytes = 0;
+  }
+
+  /**
+   * @return the number of bytes currently taken by the pooled arrays
+   */
+  public synchronized long getArraysSizeInBytes()
+  {
+    return arraysSizeInBytes;
+  }
+
+  /**
+   * @return the number of arrays which have been requested so far
+   */
+  public synchronized int getObtainedArraysCount()
+  {
+    return obtainedArraysCount;
+  }
+
+  /**
+   * @return the number of arrays which had to be allocated so far, because no pooled array was available
+   */
+  public synchronized int getAllocatedArraysCount()
+  {
+    return allocatedArraysCount;
+  }
+
+  /**
+   * @return the number of bytes of all the arrays which had to be allocated so far
+   */
+  public synchronized long getAllocatedBytesCount()
+  {
+    return allocatedBytesCount;
+  }
+
+  private static <ArrayClass> LinkedList<ArrayClass> bucket(Map<Integer, LinkedList<ArrayClass>> arrays, int length)
+  {
+    LinkedList<ArrayClass> bucket = arrays.get(length);
+    if (bucket == null)
+    {
+      bucket = new LinkedList<>();
+      arrays.put(length, bucket);
+    }
+    return bucket;
+  }
+
+  private boolean canPool(long sizeInBytes)
+  {
+    return arraysSizeInBytes + sizeInBytes <= maximumArraysSizeInBytes;
+  }
+
+  private void onAllocated(long sizeInBytes)
+  {
+    allocatedArraysCount++;
+    allocatedBytesCount += sizeInBytes;
+  }
+
+}
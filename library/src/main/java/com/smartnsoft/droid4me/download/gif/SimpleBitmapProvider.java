@@ -48,4 +48,16 @@ public final class SimpleBitmapProvider
   {
     // no-op
   }
+
+  @Override
+  public short[] obtainShortArray(int size)
+  {
+    return new short[size];
+  }
+
+  @Override
+  public void release(short[] array)
+  {
+    // no-op
+  }
 }
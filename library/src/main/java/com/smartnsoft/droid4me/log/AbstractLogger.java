@@ -0,0 +1,430 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017 Smart&Soft
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.smartnsoft.droid4me.log;
+
+import android.util.Log;
+
+/**
+ * A basis implementation, which formats the parameterized messages only when their level is enabled, in a {@link StringBuilder} reused per thread.
+ * <p>
+ * <p>
+ * The derived classes only need to state how a built message is eventually output, through the {@link #print(int, CharSequence, Throwable)}
+ * method, and may append their own prefix to every message, through the {@link #appendPrefix(StringBuilder, int)} method.
+ * </p>
+ *
+ * @see LogFormatter
+ * @since 2026.10.18
+ */
+public abstract class AbstractLogger
+    implements ParameterizedLogger
+{
+
+  public boolean isDebugEnabled()
+  {
+    return LoggerFactory.logLevel <= Log.DEBUG;
+  }
+
+  public boolean isInfoEnabled()
+  {
+    return LoggerFactory.logLevel <= Log.INFO;
+  }
+
+  public boolean isWarnEnabled()
+  {
+    return LoggerFactory.logLevel <= Log.WARN;
+  }
+
+  public boolean isErrorEnabled()
+  {
+    return LoggerFactory.logLevel <= Log.ERROR;
+  }
+
+  public boolean isFatalEnabled()
+  {
+    return LoggerFactory.logLevel <= Log.ERROR;
+  }
+
+  public void debug(String message)
+  {
+    logMessage(Log.DEBUG, message, null);
+  }
+
+  public void info(String message)
+  {
+    logMessage(Log.INFO, message, null);
+  }
+
+  public void warn(String message)
+  {
+    logMessage(Log.WARN, message, null);
+  }
+
+  public void warn(String message, Throwable throwable)
+  {
+    logMessage(Log.WARN, message, throwable);
+  }
+
+  public void warn(StringBuffer message, Throwable throwable)
+  {
+    logMessage(Log.WARN, message, throwable);
+  }
+
+  public void error(String message)
+  {
+    logMessage(Log.ERROR, message, null);
+  }
+
+  public void error(String message, Throwable throwable)
+  {
+    logMessage(Log.ERROR, message, throwable);
+  }
+
+  public void error(StringBuffer message, Throwable throwable)
+  {
+    logMessage(Log.ERROR, message, throwable);
+  }
+
+  public void fatal(String message)
+  {
+    logMessage(Log.ASSERT, message, null);
+  }
+
+  public void fatal(String message, Throwable throwable)
+  {
+    logMessage(Log.ASSERT, message, throwable);
+  }
+
+  public void debug(String pattern, Object... arguments)
+  {
+    if (isDebugEnabled() == true)
+    {
+      logFormatted(Log.DEBUG, pattern, arguments);
+    }
+  }
+
+  public void debug(String pattern, Object argument)
+  {
+    if (isDebugEnabled() == true)
+    {
+      logFormatted(Log.DEBUG, pattern, argument);
+    }
+  }
+
+  public void debug(String pattern, Object argument1, Object argument2)
+  {
+    if (isDebugEnabled() == true)
+    {
+      logFormatted(Log.DEBUG, pattern, argument1, argument2);
+    }
+  }
+
+  public void debug(String pattern, long argument)
+  {
+    if (isDebugEnabled() == true)
+    {
+      logFormatted(Log.DEBUG, pattern, argument);
+    }
+  }
+
+  public void debug(String pattern, Object argument1, long argument2)
+  {
+    if (isDebugEnabled() == true)
+    {
+      logFormatted(Log.DEBUG, pattern, argument1, argument2);
+    }
+  }
+
+  public void debug(String pattern, long argument1, long argument2)
+  {
+    if (isDebugEnabled() == true)
+    {
+      logFormatted(Log.DEBUG, pattern, argument1, argument2);
+    }
+  }
+
+  public void info(String pattern, Object... arguments)
+  {
+    if (isInfoEnabled() == true)
+    {
+      logFormatted(Log.INFO, pattern, arguments);
+    }
+  }
+
+  public void info(String pattern, Object argument)
+  {
+    if (isInfoEnabled() == true)
+    {
+      logFormatted(Log.INFO, pattern, argument);
+    }
+  }
+
+  public void info(String pattern, Object argument1, Object argument2)
+  {
+    if (isInfoEnabled() == true)
+    {
+      logFormatted(Log.INFO, pattern, argument1, argument2);
+    }
+  }
+
+  public void info(String pattern, long argument)
+  {
+    if (isInfoEnabled() == true)
+    {
+      logFormatted(Log.INFO, pattern, argument);
+    }
+  }
+
+  public void info(String pattern, Object argument1, long argument2)
+  {
+    if (isInfoEnabled() == true)
+    {
+      logFormatted(Log.INFO, pattern, argument1, argument2);
+    }
+  }
+
+  public void info(String pattern, long argument1, long argument2)
+  {
+    if (isInfoEnabled() == true)
+    {
+      logFormatted(Log.INFO, pattern, argument1, argument2);
+    }
+  }
+
+  public void warn(String pattern, Object... arguments)
+  {
+    if (isWarnEnabled() == true)
+    {
+      logFormatted(Log.WARN, pattern, arguments);
+    }
+  }
+
+  public void warn(String pattern, Object argument)
+  {
+    if (isWarnEnabled() == true)
+    {
+      logFormatted(Log.WARN, pattern, argument);
+    }
+  }
+
+  public void warn(String pattern, Object argument1, Object argument2)
+  {
+    if (isWarnEnabled() == true)
+    {
+      logFormatted(Log.WARN, pattern, argument1, argument2);
+    }
+  }
+
+  public void warn(String pattern, long argument)
+  {
+    if (isWarnEnabled() == true)
+    {
+      logFormatted(Log.WARN, pattern, argument);
+    }
+  }
+
+  public void warn(String pattern, Object argument1, long argument2)
+  {
+    if (isWarnEnabled() == true)
+    {
+      logFormatted(Log.WARN, pattern, argument1, argument2);
+    }
+  }
+
+  public void warn(String pattern, long argument1, long argument2)
+  {
+    if (isWarnEnabled() == true)
+    {
+      logFormatted(Log.WARN, pattern, argument1, argument2);
+    }
+  }
+
+  public void error(String pattern, Object... arguments)
+  {
+    if (isErrorEnabled() == true)
+    {
+      logFormatted(Log.ERROR, pattern, arguments);
+    }
+  }
+
+  public void error(String pattern, Object argument)
+  {
+    if (isErrorEnabled() == true)
+    {
+      logFormatted(Log.ERROR, pattern, argument);
+    }
+  }
+
+  public void error(String pattern, Object argument1, Object argument2)
+  {
+    if (isErrorEnabled() == true)
+    {
+      logFormatted(Log.ERROR, pattern, argument1, argument2);
+    }
+  }
+
+  public void error(String pattern, long argument)
+  {
+    if (isErrorEnabled() == true)
+    {
+      logFormatted(Log.ERROR, pattern, argument);
+    }
+  }
+
+  public void error(String pattern, Object argument1, long argument2)
+  {
+    if (isErrorEnabled() == true)
+    {
+      logFormatted(Log.ERROR, pattern, argument1, argument2);
+    }
+  }
+
+  public void error(String pattern, long argument1, long argument2)
+  {
+    if (isErrorEnabled() == true)
+    {
+      logFormatted(Log.ERROR, pattern, argument1, argument2);
+    }
+  }
+
+  /**
+   * Outputs a message.
+   *
+   * @param level     the level of the message, among the {@link Log} priorities ; the fatal messages have the {@link Log#ASSERT} level
+   * @param message   the message, including its prefix ; this object is reused once the method returns, hence must not be retained
+   * @param throwable the throwable attached to the message ; may be {@code null}
+   */
+  protected abstract void print(int level, CharSequence message, Throwable throwable);
+
+  /**
+   * Is invoked before every message is appended. Does nothing by default.
+   *
+   * @param builder the builder the message is being built in
+   * @param level   the level of the message
+   */
+  protected void appendPrefix(StringBuilder builder, int level)
+  {
+  }
+
+  private void logMessage(int level, CharSequence message, Throwable throwable)
+  {
+    final StringBuilder builder = LogFormatter.acquireBuilder();
+    try
+    {
+      appendPrefix(builder, level);
+      builder.append(message);
+      print(level, builder, throwable);
+    }
+    finally
+    {
+      LogFormatter.releaseBuilder(builder);
+    }
+  }
+
+  private void logFormatted(int level, String pattern, Object[] arguments)
+  {
+    final StringBuilder builder = LogFormatter.acquireBuilder();
+    try
+    {
+      appendPrefix(builder, level);
+      print(level, builder, LogFormatter.appendFormatted(builder, pattern, arguments));
+    }
+    finally
+    {
+      LogFormatter.releaseBuilder(builder);
+    }
+  }
+
+  private void logFormatted(int level, String pattern, Object argument)
+  {
+    final StringBuilder builder = LogFormatter.acquireBuilder();
+    try
+    {
+      appendPrefix(builder, level);
+      print(level, builder, LogFormatter.appendFormatted(builder, pattern, argument));
+    }
+    finally
+    {
+      LogFormatter.releaseBuilder(builder);
+    }
+  }
+
+  private void logFormatted(int level, String pattern, Object argument1, Object argument2)
+  {
+    final StringBuilder builder = LogFormatter.acquireBuilder();
+    try
+    {
+      appendPrefix(builder, level);
+      print(level, builder, LogFormatter.appendFormatted(builder, pattern, argument1, argument2));
+    }
+    finally
+    {
+      LogFormatter.releaseBuilder(builder);
+    }
+  }
+
+  private void logFormatted(int level, String pattern, long argument)
+  {
+    final StringBuilder builder = LogFormatter.acquireBuilder();
+    try
+    {
+      appendPrefix(builder, level);
+      LogFormatter.appendFormatted(builder, pattern, argument);
+      print(level, builder, null);
+    }
+    finally
+    {
+      LogFormatter.releaseBuilder(builder);
+    }
+  }
+
+  private void logFormatted(int level, String pattern, Object argument1, long argument2)
+  {
+    final StringBuilder builder = LogFormatter.acquireBuilder();
+    try
+    {
+      appendPrefix(builder, level);
+      LogFormatter.appendFormatted(builder, pattern, argument1, argument2);
+      print(level, builder, null);
+    }
+    finally
+    {
+      LogFormatter.releaseBuilder(builder);
+    }
+  }
+
+  private void logFormatted(int level, String pattern, long argument1, long argument2)
+  {
+    final StringBuilder builder = LogFormatter.acquireBuilder();
+    try
+    {
+      appendPrefix(builder, level);
+      LogFormatter.appendFormatted(builder, pattern, argument1, argument2);
+      print(level, builder, null);
+    }
+    finally
+    {
+      LogFormatter.releaseBuilder(builder);
+    }
+  }
+
+}
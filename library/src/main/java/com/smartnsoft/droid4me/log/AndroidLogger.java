@@ -30,13 +30,18 @@ import android.util.Log;
  * <p>
  * This implementation can only be used when the code integrating the library runs environment with the Android runtime.
  * </p>
+ * <p>
+ * <p>
+ * The plain messages are handed over as is to the {@link Log}, while the parameterized ones are formatted in the {@link StringBuilder} reused per
+ * thread.
+ * </p>
  *
  * @author Édouard Mercier
  * @see LoggerFactory
  * @since 2007.12.23
  */
 public class AndroidLogger
-    implements Logger
+    extends AbstractLogger
 {
 
   private final String category;
@@ -101,29 +106,30 @@ public class AndroidLogger
     error(message, throwable);
   }
 
-  public boolean isDebugEnabled()
-  {
-    return LoggerFactory.logLevel <= Log.DEBUG;
-  }
-
-  public boolean isInfoEnabled()
-  {
-    return LoggerFactory.logLevel <= Log.INFO;
-  }
-
-  public boolean isWarnEnabled()
-  {
-    return LoggerFactory.logLevel <= Log.WARN;
-  }
-
-  public boolean isErrorEnabled()
-  {
-    return LoggerFactory.logLevel <= Log.ERROR;
-  }
-
-  public boolean isFatalEnabled()
-  {
-    return LoggerFactory.logLevel <= Log.ERROR;
+  @Override
+  protected void print(int level, CharSequence message, Throwable throwable)
+  {
+    final String string = message.toString();
+    if (throwable == null)
+    {
+      Log.println(level == Log.ASSERT ? Log.ERROR : level, category, string);
+      return;
+    }
+    switch (level)
+    {
+      case Log.DEBUG:
+        Log.d(category, string, throwable);
+        break;
+      case Log.INFO:
+        Log.i(category, string, throwable);
+        break;
+      case Log.WARN:
+        Log.w(category, string, throwable);
+        break;
+      default:
+        Log.e(category, string, throwable);
+        break;
+    }
   }
 
 }
@@ -0,0 +1,421 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017 Smart&Soft
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.smartnsoft.droid4me.log;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A logger which formats its messages on the calling thread, but which delegates their actual output to a background thread, so that the UI thread
+ * and the worker threads do not wait for the {@link android.util.Log} or the standard streams.
+ * <p>
+ * <p>
+ * The messages are enqueued into the bounded ring buffer of an {@link AsynchronousLogger.Appender}, which is shared by many loggers and drained by
+ * its single background thread. The prefix of the underlying logger is computed on the calling thread, hence it holds the right time and thread
+ * name, and the messages of a thread are output in their logging order. When the ring buffer is full, the appender
+ * {@link AsynchronousLogger.OverflowPolicy overflow policy} applies.
+ * </p>
+ * <p>
+ * <p>
+ * In order to use it for the whole application, the {@code SmartConfigurator} class may just extend the {@link AsynchronousLogger.Configurator}
+ * class.
+ * </p>
+ *
+ * @see LoggerFactory.LoggerConfigurator
+ * @since 2026.10.18
+ */
+public class AsynchronousLogger
+    extends AbstractLogger
+{
+
+  /**
+   * Indicates what happens to a message logged while the ring buffer is full.
+   */
+  public enum OverflowPolicy
+  {
+    /**
+     * The message is dropped and counted, so that the calling thread never waits.
+     */
+    Discard,
+    /**
+     * The calling thread waits until the background thread makes room for the message, so that no message is lost.
+     */
+    Block,
+    /**
+     * The message is output on the calling thread, so that no message is lost, but not necessarily in its logging order.
+     */
+    PrintSynchronously
+  }
+
+  /**
+   * A bounded ring buffer of log records, along with the background thread which outputs them.
+   * <p>
+   * <p>
+   * The enqueuing is lock-free: every slot holds a sequence number, which tells the producers whether it is free and the background thread whether
+   * it has been published, so that the logging threads only compete on an atomic counter, and the records are preallocated.
+   * </p>
+   */
+  public static final class Appender
+  {
+
+    /**
+     * The number of records that the ring buffer holds, which is a power of two.
+     */
+    public final int capacity;
+
+    public final AsynchronousLogger.OverflowPolicy overflowPolicy;
+
+    private final int mask;
+
+    private final AtomicLongArray sequences;
+
+    private final int[] levels;
+
+    private final String[] messages;
+
+    private final Throwable[] throwables;
+
+    private final AbstractLogger[] loggers;
+
+    private final AtomicLong producerPosition = new AtomicLong();
+
+    private final AtomicLong discardedCount = new AtomicLong();
+
+    private final Thread thread;
+
+    private volatile long consumerPosition;
+
+    private volatile boolean waiting;
+
+    /**
+     * Creates the ring buffer, and starts its background thread.
+     *
+     * @param capacity       the minimal number of records that the ring buffer holds, which is rounded up to a power of two
+     * @param overflowPolicy what happens to the messages logged while the ring buffer is full
+     */
+    public Appender(int capacity, AsynchronousLogger.OverflowPolicy overflowPolicy)
+    {
+      int actualCapacity = 2;
+      while (actualCapacity < capacity)
+      {
+        actualCapacity <<= 1;
+      }
+      this.capacity = actualCapacity;
+      this.overflowPolicy = overflowPolicy;
+      mask = actualCapacity - 1;
+      sequences = new AtomicLongArray(actualCapacity);
+      for (int index = 0; index < actualCapacity; index++)
+      {
+        sequences.set(index, index);
+      }
+      levels = new int[actualCapacity];
+      messages = new String[actualCapacity];
+      throwables = new Throwable[actualCapacity];
+      loggers = new AbstractLogger[actualCapacity];
+      thread = new Thread(new Runnable()
+      {
+        @Override
+        public void run()
+        {
+          drain();
+        }
+      }, "droid4me-logger-thread");
+      thread.setDaemon(true);
+      thread.setPriority(Thread.NORM_PRIORITY - 1);
+      thread.start();
+    }
+
+    /**
+     * @return the number of messages dropped because of the {@link AsynchronousLogger.OverflowPolicy#Discard} overflow policy
+     */
+    public long getDiscardedCount()
+    {
+      return discardedCount.get();
+    }
+
+    /**
+     * @return the number of messages which have been enqueued but not output yet
+     */
+    public long getPendingCount()
+    {
+      return Math.max(0, producerPosition.get() - consumerPosition);
+    }
+
+    /**
+     * Waits until all the messages enqueued before the method invocation have been output.
+     *
+     * @param timeoutInMilliseconds the maximum waiting duration
+     * @return {@code true} if and only if the messages have all been output within the given duration
+     */
+    public boolean flush(long timeoutInMilliseconds)
+    {
+      final long target = producerPosition.get();
+      final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMilliseconds);
+      while (consumerPosition < target)
+      {
+        if (System.nanoTime() >= deadline)
+        {
+          return false;
+        }
+        LockSupport.unpark(thread);
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+      }
+      return true;
+    }
+
+    private void append(AbstractLogger logger, int level, String message, Throwable throwable)
+    {
+      if (offer(logger, level, message, throwable) == true)
+      {
+        return;
+      }
+      if (Thread.currentThread() == thread)
+      {
+        // The underlying logger is logging while the ring buffer is full: waiting for the background thread would never end
+        logger.print(level, message, throwable);
+        return;
+      }
+      switch (overflowPolicy)
+      {
+        case Block:
+          do
+          {
+            LockSupport.unpark(thread);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+          }
+          while (offer(logger, level, message, throwable) == false);
+          break;
+        case PrintSynchronously:
+          logger.print(level, message, throwable);
+          break;
+        case Discard:
+        default:
+          discardedCount.incrementAndGet();
+          break;
+      }
+    }
+
+    private boolean offer(AbstractLogger logger, int level, String message, Throwable throwable)
+    {
+      long position = producerPosition.get();
+      int index;
+      while (true)
+      {
+        index = (int) (position & mask);
+        final long difference = sequences.get(index) - position;
+        if (difference == 0)
+        {
+          if (producerPosition.compareAndSet(position, position + 1) == true)
+          {
+            break;
+          }
+          position = producerPosition.get();
+        }
+        else if (difference < 0)
+        {
+          // The slot has not been output since the previous lap: the ring buffer is full
+          return false;
+        }
+        else
+        {
+          // Another thread has taken the slot
+          position = producerPosition.get();
+        }
+      }
+      levels[index] = level;
+      messages[index] = message;
+      throwables[index] = throwable;
+      loggers[index] = logger;
+      // This publishes the record to the background thread
+      sequences.set(index, position + 1);
+      if (waiting == true)
+      {
+        LockSupport.unpark(thread);
+      }
+      return true;
+    }
+
+    private void drain()
+    {
+      long position = 0;
+      while (true)
+      {
+        final int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1)
+        {
+          waiting = true;
+          // We check again, now that the producers know that they should wake us up
+          if (sequences.get(index) != position + 1)
+          {
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(100));
+          }
+          waiting = false;
+          continue;
+        }
+        final int level = levels[index];
+        final String message = messages[index];
+        final Throwable throwable = throwables[index];
+        final AbstractLogger logger = loggers[index];
+        messages[index] = null;
+        throwables[index] = null;
+        loggers[index] = null;
+        // The slot is released before the output, so that the producers get room as soon as possible
+        sequences.set(index, position + capacity);
+        position++;
+        try
+        {
+          logger.print(level, message, throwable);
+        }
+        catch (Throwable outputThrowable)
+        {
+          // There is no way to report that problem, but the logging must go on
+        }
+        consumerPosition = position;
+      }
+    }
+
+  }
+
+  /**
+   * A ready-to-use configurator, which makes all the loggers of the application asynchronous, and which share the same
+   * {@link AsynchronousLogger.Appender}.
+   * <p>
+   * <p>
+   * The {@code SmartConfigurator} class may extend it, and override its {@link #createLogger(String)} method in order to tune the underlying
+   * logger.
+   * </p>
+   */
+  public static class Configurator
+      implements LoggerFactory.LoggerConfigurator
+  {
+
+    /**
+     * The default number of records of the ring buffer.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final AsynchronousLogger.Appender appender;
+
+    /**
+     * Uses an appender which holds {@link #DEFAULT_CAPACITY} records, and which discards the overflowing messages.
+     */
+    public Configurator()
+    {
+      this(new AsynchronousLogger.Appender(AsynchronousLogger.Configurator.DEFAULT_CAPACITY, AsynchronousLogger.OverflowPolicy.Discard));
+    }
+
+    public Configurator(AsynchronousLogger.Appender appender)
+    {
+      this.appender = appender;
+    }
+
+    public final AsynchronousLogger.Appender getAppender()
+    {
+      return appender;
+    }
+
+    @Override
+    public Logger getLogger(String category)
+    {
+      return new AsynchronousLogger(appender, createLogger(category));
+    }
+
+    @Override
+    public Logger getLogger(Class<?> theClass)
+    {
+      return getLogger(theClass.getSimpleName());
+    }
+
+    /**
+     * Is responsible for creating the logger which actually outputs the messages. Returns an {@link AndroidLogger} by default.
+     *
+     * @param category the logger category
+     * @return the underlying logger; is not allowed to be {@code null}
+     */
+    protected AbstractLogger createLogger(String category)
+    {
+      return new AndroidLogger(category);
+    }
+
+  }
+
+  private final AsynchronousLogger.Appender appender;
+
+  private final AbstractLogger logger;
+
+  /**
+   * @param appender the appender which outputs the messages in the background
+   * @param logger   the logger which prefixes the messages on the calling thread, and outputs them on the appender thread
+   */
+  public AsynchronousLogger(AsynchronousLogger.Appender appender, AbstractLogger logger)
+  {
+    this.appender = appender;
+    this.logger = logger;
+  }
+
+  @Override
+  public boolean isDebugEnabled()
+  {
+    return logger.isDebugEnabled();
+  }
+
+  @Override
+  public boolean isInfoEnabled()
+  {
+    return logger.isInfoEnabled();
+  }
+
+  @Override
+  public boolean isWarnEnabled()
+  {
+    return logger.isWarnEnabled();
+  }
+
+  @Override
+  public boolean isErrorEnabled()
+  {
+    return logger.isErrorEnabled();
+  }
+
+  @Override
+  public boolean isFatalEnabled()
+  {
+    return logger.isFatalEnabled();
+  }
+
+  @Override
+  protected void appendPrefix(StringBuilder builder, int level)
+  {
+    logger.appendPrefix(builder, level);
+  }
+
+  @Override
+  protected void print(int level, CharSequence message, Throwable throwable)
+  {
+    // The message builder is reused once this method returns, hence the copy
+    appender.append(logger, level, message.toString(), throwable);
+  }
+
+}
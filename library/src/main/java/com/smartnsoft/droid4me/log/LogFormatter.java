@@ -0,0 +1,286 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017 Smart&Soft
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.smartnsoft.droid4me.log;
+
+/**
+ * Formats the parameterized log messages, in which every {@code {}} placeholder is replaced by the next argument.
+ * <p>
+ * <p>
+ * The messages are built in a {@link StringBuilder} which is reused per thread, so that logging does not allocate any intermediate string. When a
+ * message is being logged while another one is being formatted on the same thread (which happens when the {@link Object#toString()} method of an
+ * argument logs), a dedicated builder is used.
+ * </p>
+ * <p>
+ * <p>
+ * When the last argument is a {@link Throwable} which is not consumed by any placeholder, it is not formatted but returned, so that its stack trace
+ * is logged.
+ * </p>
+ *
+ * @see AbstractLogger
+ * @since 2026.10.18
+ */
+public final class LogFormatter
+{
+
+  /**
+   * The placeholder that the arguments replace in the patterns.
+   */
+  public static final String PLACEHOLDER = "{}";
+
+  /**
+   * A reused builder beyond this capacity is discarded, so that a single huge message does not retain its memory forever.
+   */
+  private static final int MAXIMUM_REUSED_CAPACITY = 8 * 1024;
+
+  private static final class BuilderHolder
+  {
+
+    private StringBuilder builder = new StringBuilder(256);
+
+    private boolean inUse;
+
+  }
+
+  private static final ThreadLocal<BuilderHolder> builderHolders = new ThreadLocal<BuilderHolder>()
+  {
+    @Override
+    protected BuilderHolder initialValue()
+    {
+      return new BuilderHolder();
+    }
+  };
+
+  /**
+   * Provides an empty builder, which must be given back through the {@link #releaseBuilder(StringBuilder)} method once the message has been
+   * logged.
+   *
+   * @return the builder of the current thread if it is available, a new one otherwise
+   */
+  public static StringBuilder acquireBuilder()
+  {
+    final BuilderHolder holder = LogFormatter.builderHolders.get();
+    if (holder.inUse == true)
+    {
+      return new StringBuilder(256);
+    }
+    holder.inUse = true;
+    holder.builder.setLength(0);
+    return holder.builder;
+  }
+
+  /**
+   * Gives back a builder obtained through the {@link #acquireBuilder()} method.
+   *
+   * @param builder the builder which is not used anymore
+   */
+  public static void releaseBuilder(StringBuilder builder)
+  {
+    final BuilderHolder holder = LogFormatter.builderHolders.get();
+    if (holder.builder == builder)
+    {
+      if (builder.capacity() > LogFormatter.MAXIMUM_REUSED_CAPACITY)
+      {
+        holder.builder = new StringBuilder(256);
+      }
+      holder.inUse = false;
+    }
+  }
+
+  /**
+   * Appends the pattern text which starts at the given index, up to its next placeholder.
+   *
+   * @param builder   the builder to append to
+   * @param pattern   the message pattern
+   * @param fromIndex the index in the pattern to start from
+   * @return the index in the pattern which follows the placeholder, or {@code -1} if there is no placeholder left, in which case all the remaining
+   * pattern text has been appended
+   */
+  public static int appendUntilPlaceholder(StringBuilder builder, String pattern, int fromIndex)
+  {
+    final int index = pattern.indexOf(LogFormatter.PLACEHOLDER, fromIndex);
+    if (index < 0)
+    {
+      builder.append(pattern, fromIndex, pattern.length());
+      return -1;
+    }
+    builder.append(pattern, fromIndex, index);
+    return index + LogFormatter.PLACEHOLDER.length();
+  }
+
+  /**
+   * Appends the formatted message.
+   *
+   * @param builder   the builder to append to
+   * @param pattern   the message pattern
+   * @param arguments the arguments which replace the placeholders ; may be {@code null}
+   * @return the last argument if it is a {@link Throwable} that no placeholder consumes, {@code null} otherwise
+   */
+  public static Throwable appendFormatted(StringBuilder builder, String pattern, Object... arguments)
+  {
+    if (pattern == null)
+    {
+      builder.append(pattern);
+      return null;
+    }
+    final int count = arguments == null ? 0 : arguments.length;
+    int index = 0;
+    for (int position = 0; position < count; position++)
+    {
+      index = LogFormatter.appendUntilPlaceholder(builder, pattern, index);
+      if (index < 0)
+      {
+        return LogFormatter.getThrowable(arguments[count - 1]);
+      }
+      builder.append(arguments[position]);
+    }
+    LogFormatter.appendRemaining(builder, pattern, index);
+    return null;
+  }
+
+  /**
+   * Same as {@link #appendFormatted(StringBuilder, String, Object...)}, but with a single argument.
+   */
+  public static Throwable appendFormatted(StringBuilder builder, String pattern, Object argument)
+  {
+    if (pattern == null)
+    {
+      builder.append(pattern);
+      return null;
+    }
+    final int index = LogFormatter.appendUntilPlaceholder(builder, pattern, 0);
+    if (index < 0)
+    {
+      return LogFormatter.getThrowable(argument);
+    }
+    builder.append(argument);
+    LogFormatter.appendRemaining(builder, pattern, index);
+    return null;
+  }
+
+  /**
+   * Same as {@link #appendFormatted(StringBuilder, String, Object...)}, but with two arguments.
+   */
+  public static Throwable appendFormatted(StringBuilder builder, String pattern, Object argument1, Object argument2)
+  {
+    if (pattern == null)
+    {
+      builder.append(pattern);
+      return null;
+    }
+    int index = LogFormatter.appendUntilPlaceholder(builder, pattern, 0);
+    if (index < 0)
+    {
+      return LogFormatter.getThrowable(argument2);
+    }
+    builder.append(argument1);
+    index = LogFormatter.appendUntilPlaceholder(builder, pattern, index);
+    if (index < 0)
+    {
+      return LogFormatter.getThrowable(argument2);
+    }
+    builder.append(argument2);
+    LogFormatter.appendRemaining(builder, pattern, index);
+    return null;
+  }
+
+  /**
+   * Same as {@link #appendFormatted(StringBuilder, String, Object)}, but with a primitive argument, which is not boxed.
+   */
+  public static void appendFormatted(StringBuilder builder, String pattern, long argument)
+  {
+    if (pattern == null)
+    {
+      builder.append(pattern);
+      return;
+    }
+    final int index = LogFormatter.appendUntilPlaceholder(builder, pattern, 0);
+    if (index >= 0)
+    {
+      builder.append(argument);
+      LogFormatter.appendRemaining(builder, pattern, index);
+    }
+  }
+
+  /**
+   * Same as {@link #appendFormatted(StringBuilder, String, Object, Object)}, but with a second primitive argument, which is not boxed.
+   */
+  public static void appendFormatted(StringBuilder builder, String pattern, Object argument1, long argument2)
+  {
+    if (pattern == null)
+    {
+      builder.append(pattern);
+      return;
+    }
+    int index = LogFormatter.appendUntilPlaceholder(builder, pattern, 0);
+    if (index < 0)
+    {
+      return;
+    }
+    builder.append(argument1);
+    index = LogFormatter.appendUntilPlaceholder(builder, pattern, index);
+    if (index >= 0)
+    {
+      builder.append(argument2);
+      LogFormatter.appendRemaining(builder, pattern, index);
+    }
+  }
+
+  /**
+   * Same as {@link #appendFormatted(StringBuilder, String, Object, Object)}, but with two primitive arguments, which are not boxed.
+   */
+  public static void appendFormatted(StringBuilder builder, String pattern, long argument1, long argument2)
+  {
+    if (pattern == null)
+    {
+      builder.append(pattern);
+      return;
+    }
+    int index = LogFormatter.appendUntilPlaceholder(builder, pattern, 0);
+    if (index < 0)
+    {
+      return;
+    }
+    builder.append(argument1);
+    index = LogFormatter.appendUntilPlaceholder(builder, pattern, index);
+    if (index >= 0)
+    {
+      builder.append(argument2);
+      LogFormatter.appendRemaining(builder, pattern, index);
+    }
+  }
+
+  private static void appendRemaining(StringBuilder builder, String pattern, int fromIndex)
+  {
+    builder.append(pattern, fromIndex, pattern.length());
+  }
+
+  private static Throwable getThrowable(Object argument)
+  {
+    return argument instanceof Throwable ? (Throwable) argument : null;
+  }
+
+  private LogFormatter()
+  {
+  }
+
+}
@@ -34,7 +34,8 @@ import android.util.Log;
  * <p>
  * <p>
  * In order to tune the {@link Logger} implementation that should be used at runtime, you may define the {@code SmartConfigurator} class, as explained
- * in {@link LoggerFactory.LoggerConfigurator}.
+ * in {@link LoggerFactory.LoggerConfigurator}. Extending the {@link AsynchronousLogger.Configurator} class makes the output of all the loggers happen on
+ * a background thread.
  * </p>
  * <p>
  * <p>
@@ -99,9 +100,9 @@ public class LoggerFactory
   public static int logLevel = android.util.Log.WARN;
 
   /**
-   * Remembers internally which {@link Logger} implementation to use.
+   * Remembers internally which {@link Logger} implementation to use, once resolved.
    */
-  private static LoggerImplementation loggerImplementation;
+  private static volatile LoggerImplementation loggerImplementation;
 
   /**
    * Remembers the {@link LoggerFactory.LoggerConfigurator} that will be used to instantiate {@link Logger} instances.
@@ -127,50 +128,50 @@ public class LoggerFactory
     return LoggerFactory.getInstance(null, theClass);
   }
 
-  private static Logger getInstance(String category, Class<?> theClass)
+  /**
+   * Same as {@link #getInstance(String)}, except that the returned instance exposes the parameterized logging methods.
+   *
+   * @param category the category used for logging
+   * @return a new instance of {@link ParameterizedLogger} implementation, holding the provided {@code category}; when the configured {@link Logger}
+   * does not implement the {@link ParameterizedLogger} interface, it is wrapped, so that the messages get formatted before being handed to it
+   * @see #getParameterizedInstance(Class)
+   */
+  public static ParameterizedLogger getParameterizedInstance(String category)
   {
-    synchronized (synchronizationObject)
-    {
-      // We need to synchronize this part of the code
-      if (LoggerFactory.loggerImplementation == null)
-      {
-        // The logger implementation has not been decided yet
-        if (LoggerFactory.retrieveCustomLoggerInstance("SmartConfigurator") == false)
-        {
-          if (LoggerFactory.retrieveCustomLoggerInstance("com.smartnsoft.droid4me.SmartConfigurator") == false)
-          {
-            // This means that the project does not expose the class which enables to configure the logging system
-            if (System.getProperty("droid4me.logging", "true").equals("false") == true)
-            {
-              LoggerFactory.loggerImplementation = LoggerImplementation.NativeLogger;
-            }
-            else
-            {
-              LoggerFactory.loggerImplementation = LoggerImplementation.AndroidLogger;
-            }
-          }
-        }
-        // The logger implementation has not been decided yet
-        final String loggerConfiguratorClassFqn = "SmartConfigurator";
-        try
-        {
-          final Class<?> loggerConfiguratorClass = Class.forName(loggerConfiguratorClassFqn);
-          LoggerFactory.loggerConfigurator = (LoggerConfigurator) loggerConfiguratorClass.newInstance();
-          LoggerFactory.loggerImplementation = LoggerImplementation.Other;
-        }
-        catch (Exception exception)
-        {
+    return LoggerFactory.toParameterizedLogger(LoggerFactory.getInstance(category, null));
+  }
 
+  /**
+   * Same as {@link #getInstance(Class)}, except that the returned instance exposes the parameterized logging methods.
+   *
+   * @param theClass the class used for computing the logging category
+   * @return a new instance of {@link ParameterizedLogger} implementation, holding the provided {@code category}
+   * @see #getParameterizedInstance(String)
+   */
+  public static ParameterizedLogger getParameterizedInstance(Class<?> theClass)
+  {
+    return LoggerFactory.toParameterizedLogger(LoggerFactory.getInstance(null, theClass));
+  }
 
-        }
-        if (LoggerFactory.logLevel >= android.util.Log.INFO)
-        {
-          Log.d("LoggerFactory", "Using the logger '" + LoggerFactory.loggerImplementation + "'");
-        }
-      }
+  private static ParameterizedLogger toParameterizedLogger(Logger logger)
+  {
+    if (logger instanceof ParameterizedLogger)
+    {
+      return (ParameterizedLogger) logger;
+    }
+    return new LoggerWrapper(logger);
+  }
+
+  private static Logger getInstance(String category, Class<?> theClass)
+  {
+    // Once resolved, the logger implementation is read without any synchronization
+    LoggerImplementation loggerImplementation = LoggerFactory.loggerImplementation;
+    if (loggerImplementation == null)
+    {
+      loggerImplementation = LoggerFactory.resolveLoggerImplementation();
     }
 
-    switch (LoggerFactory.loggerImplementation)
+    switch (loggerImplementation)
     {
       case Other:
         if (theClass != null)
@@ -203,13 +204,44 @@ public class LoggerFactory
     }
   }
 
+  private static LoggerImplementation resolveLoggerImplementation()
+  {
+    synchronized (synchronizationObject)
+    {
+      if (LoggerFactory.loggerImplementation == null)
+      {
+        // The logger implementation has not been decided yet
+        final LoggerImplementation loggerImplementation;
+        if (LoggerFactory.retrieveCustomLoggerInstance("SmartConfigurator") == true || LoggerFactory.retrieveCustomLoggerInstance("com.smartnsoft.droid4me.SmartConfigurator") == true)
+        {
+          loggerImplementation = LoggerImplementation.Other;
+        }
+        else if (System.getProperty("droid4me.logging", "true").equals("false") == true)
+        {
+          // This means that the project does not expose the class which enables to configure the logging system
+          loggerImplementation = LoggerImplementation.NativeLogger;
+        }
+        else
+        {
+          loggerImplementation = LoggerImplementation.AndroidLogger;
+        }
+        if (LoggerFactory.logLevel >= android.util.Log.INFO)
+        {
+          Log.d("LoggerFactory", "Using the logger '" + loggerImplementation + "'");
+        }
+        // The volatile write publishes the logger configurator as well, which is why it comes last
+        LoggerFactory.loggerImplementation = loggerImplementation;
+      }
+      return LoggerFactory.loggerImplementation;
+    }
+  }
+
   private static boolean retrieveCustomLoggerInstance(String loggerConfiguratorClassFqn)
   {
     try
     {
       final Class<?> loggerConfiguratorClass = Class.forName(loggerConfiguratorClassFqn);
       LoggerFactory.loggerConfigurator = (LoggerConfigurator) loggerConfiguratorClass.newInstance();
-      LoggerFactory.loggerImplementation = LoggerImplementation.Other;
       return true;
     }
     catch (Exception rollbackException)
@@ -22,11 +22,9 @@
 
 package com.smartnsoft.droid4me.log;
 
-import java.util.HashSet;
-import java.util.Hashtable;
-import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A class which enables to wrap a {@link Logger}, and to delegate all its interface methods to its underlying logger.
@@ -41,11 +39,11 @@ import java.util.Set;
  * @since 2013.04.19
  */
 public class LoggerWrapper
-    implements Logger
+    implements ParameterizedLogger
 {
 
-  // A "Hashtable" is used instead of the "HashMap", because of potential race conditions
-  private final static Map<String, LoggerWrapper> instances = new Hashtable<>();
+  // A concurrent map is used, so that the loggers creation never contends on a lock, and so that the configuration may iterate over it safely
+  private final static ConcurrentMap<String, LoggerWrapper> instances = new ConcurrentHashMap<>();
 
   /**
    * Enables to configure all already created {@link LoggerWrapper} instances.
@@ -54,25 +52,17 @@ public class LoggerWrapper
    */
   public static void configure(LoggerFactory.LoggerConfigurator loggerConfigurator)
   {
-    synchronized (LoggerWrapper.instances)
+    for (Entry<String, LoggerWrapper> entry : LoggerWrapper.instances.entrySet())
     {
-      /**
-       * We do this because of concurrent acces on the list
-       * It could cause massive crashs when logging
-       */
-      final Set<Entry<String, LoggerWrapper>> entries = new HashSet<>(LoggerWrapper.instances.entrySet());
-      for (Entry<String, LoggerWrapper> entry : entries)
-      {
-        final LoggerWrapper loggerWrapper = entry.getValue();
-        loggerWrapper.logger = loggerConfigurator.getLogger(entry.getKey());
-      }
+      final LoggerWrapper loggerWrapper = entry.getValue();
+      loggerWrapper.logger = loggerConfigurator.getLogger(entry.getKey());
     }
   }
 
   /**
-   * The wrapped {@link Logger}.
+   * The wrapped {@link Logger}, which may be replaced by another thread through the {@link #configure(LoggerFactory.LoggerConfigurator)} method.
    */
-  private Logger logger;
+  private volatile Logger logger;
 
   /**
    * Equivalent to using the {@link #LoggerWrapper(String, Logger)} constructor, by passing {@code theClass.getSimpleName()} as second argument.
@@ -91,10 +81,19 @@ public class LoggerWrapper
   public LoggerWrapper(String category, Logger logger)
   {
     this.logger = logger;
-    synchronized (LoggerWrapper.instances)
-    {
-      LoggerWrapper.instances.put(category, this);
-    }
+    LoggerWrapper.instances.put(category, this);
+  }
+
+  /**
+   * Creates a wrapper around the provided {@link Logger} instance, which is not registered, hence not impacted by the
+   * {@link #configure(LoggerFactory.LoggerConfigurator)} method: this is used by the {@link LoggerFactory} to expose a foreign {@link Logger} as a
+   * {@link ParameterizedLogger}.
+   *
+   * @param logger the wrapped logger
+   */
+  LoggerWrapper(Logger logger)
+  {
+    this.logger = logger;
   }
 
   @Override
@@ -177,6 +176,342 @@ public class LoggerWrapper
     logger.error(message, throwable);
   }
 
+  @Override
+  public void debug(String pattern, Object... arguments)
+  {
+    final Logger logger = this.logger;
+    if (logger instanceof ParameterizedLogger)
+    {
+      ((ParameterizedLogger) logger).debug(pattern, arguments);
+    }
+    else if (logger != null && logger.isDebugEnabled() == true)
+    {
+      LoggerWrapper.logFormatted(logger, android.util.Log.DEBUG, pattern, arguments);
+    }
+  }
+
+  @Override
+  public void debug(String pattern, Object argument)
+  {
+    final Logger logger = this.logger;
+    if (logger instanceof ParameterizedLogger)
+    {
+      ((ParameterizedLogger) logger).debug(pattern, argument);
+    }
+    else if (logger != null && logger.isDebugEnabled() == true)
+    {
+      LoggerWrapper.logFormatted(logger, android.util.Log.DEBUG, pattern, new Object[] { argument });
+    }
+  }
+
+  @Override
+  public void debug(String pattern, Object argument1, Object argument2)
+  {
+    final Logger logger = this.logger;
+    if (logger instanceof ParameterizedLogger)
+    {
+      ((ParameterizedLogger) logger).debug(pattern, argument1, argument2);
+    }
+    else if (logger != null && logger.isDebugEnabled() == true)
+    {
+      LoggerWrapper.logFormatted(logger, android.util.Log.DEBUG, pattern, new Object[] { argument1, argument2 });
+    }
+  }
+
+  @Override
+  public void debug(String pattern, long argument)
+  {
+    final Logger logger = this.logger;
+    if (logger instanceof ParameterizedLogger)
+    {
+      ((ParameterizedLogger) logger).debug(pattern, argument);
+    }
+    else if (logger != null && logger.isDebugEnabled() == true)
+    {
+      LoggerWrapper.logFormatted(logger, android.util.Log.DEBUG, pattern, new Object[] { argument });
+    }
+  }
+
+  @Override
+  public void debug(String pattern, Object argument1, long argument2)
+  {
+    final Logger logger = this.logger;
+    if (logger instanceof ParameterizedLogger)
+    {
+      ((ParameterizedLogger) logger).debug(pattern, argument1, argument2);
+    }
+    else if (logger != null && logger.isDebugEnabled() == true)
+    {
+      LoggerWrapper.logFormatted(logger, android.util.Log.DEBUG, pattern, new Object[] { argument1, argument2 });
+    }
+  }
+
+  @Override
+  public void debug(String pattern, long argument1, long argument2)
+  {
+    final Logger logger = this.logger;
+    if (logger instanceof ParameterizedLogger)
+    {
+      ((ParameterizedLogger) logger).debug(pattern, argument1, argument2);
+    }
+    else if (logger != null && logger.isDebugEnabled() == true)
+    {
+      LoggerWrapper.logFormatted(logger, android.util.Log.DEBUG, pattern, new Object[] { argument1, argument2 });
+    }
+  }
+
+  @Override
+  public void info(String pattern, Object... arguments)
+  {
+    final Logger logger = this.logger;
+    if (logger instanceof ParameterizedLogger)
+    {
+      ((ParameterizedLogger) logger).info(pattern, arguments);
+    }
+    else if (logger != null && logger.isInfoEnabled() == true)
+    {
+      LoggerWrapper.logFormatted(logger, android.util.Log.INFO, pattern, arguments);
+    }
+  }
+
+  @Override
+  public void info(String pattern, Object argument)
+  {
+    final Logger logger = this.logger;
+    if (logger instanceof ParameterizedLogger)
+    {
+      ((ParameterizedLogger) logger).info(pattern, argument);
+    }
+    else if (logger != null && logger.isInfoEnabled() == true)
+    {
+      LoggerWrapper.logFormatted(logger, android.util.Log.INFO, pattern, new Object[] { argument });
+    }
+  }
+
+  @Override
+  public void info(String pattern, Object argument1, Object argument2)
+  {
+    final Logger logger = this.logger;
+    if (logger instanceof ParameterizedLogger)
+    {
+      ((ParameterizedLogger) logger).info(pattern, argument1, argument2);
+    }
+    else if (logger != null && logger.isInfoEnabled() == true)
+    {
+      LoggerWrapper.logFormatted(logger, android.util.Log.INFO, pattern, new Object[] { argument1, argument2 });
+    }
+  }
+
+  @Override
+  public void info(String pattern, long argument)
+  {
+    final Logger logger = this.logger;
+    if (logger instanceof ParameterizedLogger)
+    {
+      ((ParameterizedLogger) logger).info(pattern, argument);
+    }
+    else if (logger != null && logger.isInfoEnabled() == true)
+    {
+      LoggerWrapper.logFormatted(logger, android.util.Log.INFO, pattern, new Object[] { argument });
+    }
+  }
+
+  @Override
+  public void info(String pattern, Object argument1, long argument2)
+  {
+    final Logger logger = this.logger;
+    if (logger instanceof ParameterizedLogger)
+    {
+      ((ParameterizedLogger) logger).info(pattern, argument1, argument2);
+    }
+    else if (logger != null && logger.isInfoEnabled() == true)
+    {
+      LoggerWrapper.logFormatted(logger, android.util.Log.INFO, pattern, new Object[] { argument1, argument2 });
+    }
+  }
+
+  @Override
+  public void info(String pattern, long argument1, long argument2)
+  {
+    final Logger logger = this.logger;
+    if (logger instanceof ParameterizedLogger)
+    {
+      ((ParameterizedLogger) logger).info(pattern, argument1, argument2);
+    }
+    else if (logger != null && logger.isInfoEnabled() == true)
+    {
+      LoggerWrapper.logFormatted(logger, android.util.Log.INFO, pattern, new Object[] { argument1, argument2 });
+    }
+  }
+
+  @Override
+  public void warn(String pattern, Object... arguments)
+  {
+    final Logger logger = this.logger;
+    if (logger instanceof ParameterizedLogger)
+    {
+      ((ParameterizedLogger) logger).warn(pattern, arguments);
+    }
+    else if (logger != null && logger.isWarnEnabled() == true)
+    {
+      LoggerWrapper.logFormatted(logger, android.util.Log.WARN, pattern, arguments);
+    }
+  }
+
+  @Override
+  public void warn(String pattern, Object argument)
+  {
+    final Logger logger = this.logger;
+    if (logger instanceof ParameterizedLogger)
+    {
+      ((ParameterizedLogger) logger).warn(pattern, argument);
+    }
+    else if (logger != null && logger.isWarnEnabled() == true)
+    {
+      LoggerWrapper.logFormatted(logger, android.util.Log.WARN, pattern, new Object[] { argument });
+    }
+  }
+
+  @Override
+  public void warn(String pattern, Object argument1, Object argument2)
+  {
+    final Logger logger = this.logger;
+    if (logger instanceof ParameterizedLogger)
+    {
+      ((ParameterizedLogger) logger).warn(pattern, argument1, argument2);
+    }
+    else if (logger != null && logger.isWarnEnabled() == true)
+    {
+      LoggerWrapper.logFormatted(logger, android.util.Log.WARN, pattern, new Object[] { argument1, argument2 });
+    }
+  }
+
+  @Override
+  public void warn(String pattern, long argument)
+  {
+    final Logger logger = this.logger;
+    if (logger instanceof ParameterizedLogger)
+    {
+      ((ParameterizedLogger) logger).warn(pattern, argument);
+    }
+    else if (logger != null && logger.isWarnEnabled() == true)
+    {
+      LoggerWrapper.logFormatted(logger, android.util.Log.WARN, pattern, new Object[] { argument });
+    }
+  }
+
+  @Override
+  public void warn(String pattern, Object argument1, long argument2)
+  {
+    final Logger logger = this.logger;
+    if (logger instanceof ParameterizedLogger)
+    {
+      ((ParameterizedLogger) logger).warn(pattern, argument1, argument2);
+    }
+    else if (logger != null && logger.isWarnEnabled() == true)
+    {
+      LoggerWrapper.logFormatted(logger, android.util.Log.WARN, pattern, new Object[] { argument1, argument2 });
+    }
+  }
+
+  @Override
+  public void warn(String pattern, long argument1, long argument2)
+  {
+    final Logger logger = this.logger;
+    if (logger instanceof ParameterizedLogger)
+    {
+      ((ParameterizedLogger) logger).warn(pattern, argument1, argument2);
+    }
+    else if (logger != null && logger.isWarnEnabled() == true)
+    {
+      LoggerWrapper.logFormatted(logger, android.util.Log.WARN, pattern, new Object[] { argument1, argument2 });
+    }
+  }
+
+  @Override
+  public void error(String pattern, Object... arguments)
+  {
+    final Logger logger = this.logger;
+    if (logger instanceof ParameterizedLogger)
+    {
+      ((ParameterizedLogger) logger).error(pattern, arguments);
+    }
+    else if (logger != null && logger.isErrorEnabled() == true)
+    {
+      LoggerWrapper.logFormatted(logger, android.util.Log.ERROR, pattern, arguments);
+    }
+  }
+
+  @Override
+  public void error(String pattern, Object argument)
+  {
+    final Logger logger = this.logger;
+    if (logger instanceof ParameterizedLogger)
+    {
+      ((ParameterizedLogger) logger).error(pattern, argument);
+    }
+    else if (logger != null && logger.isErrorEnabled() == true)
+    {
+      LoggerWrapper.logFormatted(logger, android.util.Log.ERROR, pattern, new Object[] { argument });
+    }
+  }
+
+  @Override
+  public void error(String pattern, Object argument1, Object argument2)
+  {
+    final Logger logger = this.logger;
+    if (logger instanceof ParameterizedLogger)
+    {
+      ((ParameterizedLogger) logger).error(pattern, argument1, argument2);
+    }
+    else if (logger != null && logger.isErrorEnabled() == true)
+    {
+      LoggerWrapper.logFormatted(logger, android.util.Log.ERROR, pattern, new Object[] { argument1, argument2 });
+    }
+  }
+
+  @Override
+  public void error(String pattern, long argument)
+  {
+    final Logger logger = this.logger;
+    if (logger instanceof ParameterizedLogger)
+    {
+      ((ParameterizedLogger) logger).error(pattern, argument);
+    }
+    else if (logger != null && logger.isErrorEnabled() == true)
+    {
+      LoggerWrapper.logFormatted(logger, android.util.Log.ERROR, pattern, new Object[] { argument });
+    }
+  }
+
+  @Override
+  public void error(String pattern, Object argument1, long argument2)
+  {
+    final Logger logger = this.logger;
+    if (logger instanceof ParameterizedLogger)
+    {
+      ((ParameterizedLogger) logger).error(pattern, argument1, argument2);
+    }
+    else if (logger != null && logger.isErrorEnabled() == true)
+    {
+      LoggerWrapper.logFormatted(logger, android.util.Log.ERROR, pattern, new Object[] { argument1, argument2 });
+    }
+  }
+
+  @Override
+  public void error(String pattern, long argument1, long argument2)
+  {
+    final Logger logger = this.logger;
+    if (logger instanceof ParameterizedLogger)
+    {
+      ((ParameterizedLogger) logger).error(pattern, argument1, argument2);
+    }
+    else if (logger != null && logger.isErrorEnabled() == true)
+    {
+      LoggerWrapper.logFormatted(logger, android.util.Log.ERROR, pattern, new Object[] { argument1, argument2 });
+    }
+  }
+
   @Override
   public void fatal(String message)
   {
@@ -227,4 +562,56 @@ public class LoggerWrapper
     return logger == null ? LoggerFactory.logLevel <= android.util.Log.ERROR : logger.isFatalEnabled();
   }
 
+  /**
+   * Formats the parameterized message on behalf of a wrapped {@link Logger} which does not implement the {@link ParameterizedLogger} interface, and
+   * outputs it through its plain methods.
+   *
+   * @param level the level of the message, among the {@link android.util.Log} priorities
+   */
+  private static void logFormatted(Logger logger, int level, String pattern, Object[] arguments)
+  {
+    final StringBuilder builder = LogFormatter.acquireBuilder();
+    final String message;
+    final Throwable throwable;
+    try
+    {
+      throwable = LogFormatter.appendFormatted(builder, pattern, arguments);
+      message = builder.toString();
+    }
+    finally
+    {
+      LogFormatter.releaseBuilder(builder);
+    }
+    switch (level)
+    {
+      case android.util.Log.DEBUG:
+        // The plain debug and info methods do not accept any throwable
+        logger.debug(throwable == null ? message : message + " " + throwable);
+        break;
+      case android.util.Log.INFO:
+        logger.info(throwable == null ? message : message + " " + throwable);
+        break;
+      case android.util.Log.WARN:
+        if (throwable == null)
+        {
+          logger.warn(message);
+        }
+        else
+        {
+          logger.warn(message, throwable);
+        }
+        break;
+      default:
+        if (throwable == null)
+        {
+          logger.error(message);
+        }
+        else
+        {
+          logger.error(message, throwable);
+        }
+        break;
+    }
+  }
+
 }
@@ -22,6 +22,8 @@
 
 package com.smartnsoft.droid4me.log;
 
+import java.io.PrintStream;
+
 import android.util.Log;
 
 /**
@@ -30,13 +32,17 @@ import android.util.Log;
  * <p>
  * This implementation can be used when the code integrating the library needs to run on an environment with no Android runtime available.
  * </p>
+ * <p>
+ * <p>
+ * Every line, prefix included, is built in the {@link StringBuilder} reused per thread.
+ * </p>
  *
  * @author Édouard Mercier
  * @see LoggerFactory
  * @since 2007.12.23
  */
 public class NativeLogger
-    implements Logger
+    extends AbstractLogger
 {
 
   private final String prefix;
@@ -51,89 +57,61 @@ public class NativeLogger
     this.prefix = "[" + category + "] ";
   }
 
-  public boolean isDebugEnabled()
-  {
-    return LoggerFactory.logLevel <= Log.DEBUG;
-  }
-
-  public boolean isInfoEnabled()
-  {
-    return LoggerFactory.logLevel <= Log.INFO;
-  }
-
-  public boolean isWarnEnabled()
-  {
-    return LoggerFactory.logLevel <= Log.WARN;
-  }
-
-  public boolean isErrorEnabled()
-  {
-    return LoggerFactory.logLevel <= Log.ERROR;
-  }
-
-  public boolean isFatalEnabled()
-  {
-    return LoggerFactory.logLevel <= Log.ERROR;
-  }
-
-  public void debug(String message)
-  {
-    System.out.println(getPrefix() + "[D] " + message);
-  }
-
-  public void error(String message)
-  {
-    System.err.println(getPrefix() + "[E] " + message);
-  }
-
-  public void error(String message, Throwable throwable)
-  {
-    System.err.println(getPrefix() + "[E] " + message);
-    throwable.printStackTrace(System.err);
-  }
-
-  public void error(StringBuffer message, Throwable throwable)
-  {
-    System.err.println(getPrefix() + message);
-    throwable.printStackTrace(System.err);
-  }
-
-  public void fatal(String message)
-  {
-    System.err.println(getPrefix() + "[F] " + message);
-  }
-
-  public void fatal(String message, Throwable throwable)
-  {
-    System.err.println(getPrefix() + "[F] " + message);
-    throwable.printStackTrace(System.err);
+  @Override
+  protected void appendPrefix(StringBuilder builder, int level)
+  {
+    appendContext(builder);
+    switch (level)
+    {
+      case Log.DEBUG:
+        builder.append("[D] ");
+        break;
+      case Log.INFO:
+        builder.append("[I] ");
+        break;
+      case Log.WARN:
+        builder.append("[W] ");
+        break;
+      case Log.ERROR:
+        builder.append("[E] ");
+        break;
+      case Log.ASSERT:
+        builder.append("[F] ");
+        break;
+      default:
+        builder.append("[V] ");
+        break;
+    }
+  }
+
+  @Override
+  protected void print(int level, CharSequence message, Throwable throwable)
+  {
+    final PrintStream stream = level >= Log.ERROR ? System.err : System.out;
+    stream.println(message);
+    if (throwable != null)
+    {
+      throwable.printStackTrace(stream);
+    }
   }
 
-  public void info(String message)
-  {
-    System.out.println(getPrefix() + "[I] " + message);
-  }
-
-  public void warn(String message)
-  {
-    System.out.println(getPrefix() + "[W] " + message);
-  }
-
-  public void warn(String message, Throwable throwable)
-  {
-    System.out.println(getPrefix() + "[W] " + message);
-    throwable.printStackTrace(System.out);
-  }
-
-  public void warn(StringBuffer message, Throwable throwable)
+  protected final String getPrefix()
   {
-    System.out.println(getPrefix() + "[W] " + message);
-    throwable.printStackTrace(System.out);
+    final StringBuilder builder = LogFormatter.acquireBuilder();
+    try
+    {
+      appendContext(builder);
+      return builder.toString();
+    }
+    finally
+    {
+      LogFormatter.releaseBuilder(builder);
+    }
   }
 
-  protected final String getPrefix()
+  private void appendContext(StringBuilder builder)
   {
-    return "[" + System.currentTimeMillis() + "] " + prefix + " [" + Thread.currentThread().getName() + "] ";
+    builder.append('[').append(System.currentTimeMillis()).append("] ").append(prefix).append(" [").append(Thread.currentThread().getName()).append("] ");
   }
 
-}
\ No newline at end of file
+}
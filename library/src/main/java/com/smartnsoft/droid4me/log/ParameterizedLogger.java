@@ -0,0 +1,126 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017 Smart&Soft
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+
+package com.smartnsoft.droid4me.log;
+
+/**
+ * A {@link Logger} which also offers parameterized methods, whose message is only formatted when their level is enabled.
+ * <p>
+ * <p>
+ * Prefer the parameterized methods, like {@link #debug(String, Object)}, to the string concatenations: the fixed arities and primitive overloads spare
+ * the allocation of an arguments array and of boxed values at the call site. All the loggers of the framework implement this interface, and the
+ * {@link LoggerFactory#getParameterizedInstance(Class)} method provides one whatever the configured {@link Logger} implementation.
+ * </p>
+ *
+ * @see LogFormatter
+ * @since 2026.10.18
+ */
+public interface ParameterizedLogger
+    extends Logger
+{
+
+  /**
+   * Logs the message resulting from the replacement of the {@code {}} placeholders of the pattern by the arguments, only if the debug level
+   * is enabled, so that the message is not formatted otherwise.
+   *
+   * @param pattern   the message pattern
+   * @param arguments the arguments; when the last one is a {@link Throwable} not consumed by any placeholder, its stack trace is logged
+   * @see #isDebugEnabled
+   * @see LogFormatter
+   */
+  void debug(String pattern, Object... arguments);
+
+  void debug(String pattern, Object argument);
+
+  void debug(String pattern, Object argument1, Object argument2);
+
+  void debug(String pattern, long argument);
+
+  void debug(String pattern, Object argument1, long argument2);
+
+  void debug(String pattern, long argument1, long argument2);
+
+  /**
+   * Logs the message resulting from the replacement of the {@code {}} placeholders of the pattern by the arguments, only if the info level
+   * is enabled, so that the message is not formatted otherwise.
+   *
+   * @param pattern   the message pattern
+   * @param arguments the arguments; when the last one is a {@link Throwable} not consumed by any placeholder, its stack trace is logged
+   * @see #isInfoEnabled
+   * @see LogFormatter
+   */
+  void info(String pattern, Object... arguments);
+
+  void info(String pattern, Object argument);
+
+  void info(String pattern, Object argument1, Object argument2);
+
+  void info(String pattern, long argument);
+
+  void info(String pattern, Object argument1, long argument2);
+
+  void info(String pattern, long argument1, long argument2);
+
+  /**
+   * Logs the message resulting from the replacement of the {@code {}} placeholders of the pattern by the arguments, only if the warn level
+   * is enabled, so that the message is not formatted otherwise.
+   *
+   * @param pattern   the message pattern
+   * @param arguments the arguments; when the last one is a {@link Throwable} not consumed by any placeholder, its stack trace is logged
+   * @see #isWarnEnabled
+   * @see LogFormatter
+   */
+  void warn(String pattern, Object... arguments);
+
+  void warn(String pattern, Object argument);
+
+  void warn(String pattern, Object argument1, Object argument2);
+
+  void warn(String pattern, long argument);
+
+  void warn(String pattern, Object argument1, long argument2);
+
+  void warn(String pattern, long argument1, long argument2);
+
+  /**
+   * Logs the message resulting from the replacement of the {@code {}} placeholders of the pattern by the arguments, only if the error level
+   * is enabled, so that the message is not formatted otherwise.
+   *
+   * @param pattern   the message pattern
+   * @param arguments the arguments; when the last one is a {@link Throwable} not consumed by any placeholder, its stack trace is logged
+   * @see #isErrorEnabled
+   * @see LogFormatter
+   */
+  void error(String pattern, Object... arguments);
+
+  void error(String pattern, Object argument);
+
+  void error(String pattern, Object argument1, Object argument2);
+
+  void error(String pattern, long argument);
+
+  void error(String pattern, Object argument1, long argument2);
+
+  void error(String pattern, long argument1, long argument2);
+
+}
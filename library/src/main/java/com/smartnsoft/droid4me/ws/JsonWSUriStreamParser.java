@@ -0,0 +1,256 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017 Smart&Soft
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.smartnsoft.droid4me.ws;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import android.util.JsonReader;
+import android.util.JsonToken;
+
+/**
+ * A {@link WSUriStreamParser} which parses the web service JSON responses in a streaming way, through a {@link JsonReader} pull parser plugged on
+ * the response {@link InputStream}: the business objects are bound incrementally, in a single pass, and no intermediate {@link String} is built.
+ * <p>
+ * <p>
+ * The static helper methods may also be used from any other {@link com.smartnsoft.droid4me.bo.Business.UriStreamParser#parse(Object, Map, InputStream)}
+ * implementation, once a reader has been created through the {@link WebServiceCaller#getJsonReader(InputStream, String)} method.
+ * </p>
+ *
+ * @param <BusinessObjectType> the business object type
+ * @param <ParameterType>      the kind of parameters that will be used to identify and generate the business object URI
+ * @since 2026.10.18
+ */
+public abstract class JsonWSUriStreamParser<BusinessObjectType, ParameterType>
+    extends WSUriStreamParser<BusinessObjectType, ParameterType, IOException>
+{
+
+  /**
+   * Responsible for binding a single JSON value into an object.
+   *
+   * @param <ObjectType> the type of the bound object
+   */
+  public interface Binder<ObjectType>
+  {
+
+    /**
+     * Consumes the next value of the reader, and turns it into an object.
+     *
+     * @param reader the reader, which is positioned on the value to bind
+     * @return the bound object ; may be {@code null}
+     * @throws IOException if the JSON content is malformed or cannot be read
+     */
+    ObjectType bind(JsonReader reader)
+        throws IOException;
+
+  }
+
+  /**
+   * Responsible for consuming the fields of a JSON object one after the other.
+   */
+  public interface FieldBinder
+  {
+
+    /**
+     * Invoked for every field of the JSON object.
+     *
+     * @param name   the name of the field
+     * @param reader the reader, which is positioned on the field value
+     * @return {@code true} if the field value has been consumed ; {@code false} if it should be skipped
+     * @throws IOException if the JSON content is malformed or cannot be read
+     */
+    boolean onField(String name, JsonReader reader)
+        throws IOException;
+
+  }
+
+  /**
+   * Responsible for being notified of the elements of a JSON array as soon as they are bound.
+   *
+   * @param <ElementType> the type of the array elements
+   */
+  public interface ElementListener<ElementType>
+  {
+
+    /**
+     * @param index   the index of the element in the array
+     * @param element the element which has just been bound
+     */
+    void onElement(int index, ElementType element);
+
+  }
+
+  /**
+   * Binds all the elements of the next JSON array.
+   *
+   * @param reader the reader, which is positioned on a JSON array or on {@code null}
+   * @param binder the binder which will be invoked for every element of the array
+   * @return the list of the bound elements, or {@code null} if the JSON value is {@code null}
+   * @throws IOException if the JSON content is malformed or cannot be read
+   */
+  public static <ElementType> List<ElementType> readArray(JsonReader reader,
+      JsonWSUriStreamParser.Binder<ElementType> binder)
+      throws IOException
+  {
+    if (reader.peek() == JsonToken.NULL)
+    {
+      reader.nextNull();
+      return null;
+    }
+    final List<ElementType> elements = new ArrayList<>();
+    reader.beginArray();
+    while (reader.hasNext() == true)
+    {
+      elements.add(binder.bind(reader));
+    }
+    reader.endArray();
+    return elements;
+  }
+
+  /**
+   * Binds the elements of the next JSON array one after the other, without keeping them, so that large arrays can be processed with a constant
+   * memory footprint.
+   *
+   * @param reader   the reader, which is positioned on a JSON array or on {@code null}
+   * @param binder   the binder which will be invoked for every element of the array
+   * @param listener notified every time an element has been bound
+   * @return the number of elements of the array
+   * @throws IOException if the JSON content is malformed or cannot be read
+   */
+  public static <ElementType> int readArray(JsonReader reader, JsonWSUriStreamParser.Binder<ElementType> binder,
+      JsonWSUriStreamParser.ElementListener<ElementType> listener)
+      throws IOException
+  {
+    if (reader.peek() == JsonToken.NULL)
+    {
+      reader.nextNull();
+      return 0;
+    }
+    int index = 0;
+    reader.beginArray();
+    while (reader.hasNext() == true)
+    {
+      listener.onElement(index++, binder.bind(reader));
+    }
+    reader.endArray();
+    return index;
+  }
+
+  /**
+   * Consumes the next JSON object, field after field, and skips the fields which are not consumed by the provided binder.
+   *
+   * @param reader      the reader, which is positioned on a JSON object or on {@code null}
+   * @param fieldBinder the binder which will be invoked for every field of the object
+   * @return {@code false} if the JSON value is {@code null} ; {@code true} otherwise
+   * @throws IOException if the JSON content is malformed or cannot be read
+   */
+  public static boolean readObject(JsonReader reader, JsonWSUriStreamParser.FieldBinder fieldBinder)
+      throws IOException
+  {
+    if (reader.peek() == JsonToken.NULL)
+    {
+      reader.nextNull();
+      return false;
+    }
+    reader.beginObject();
+    while (reader.hasNext() == true)
+    {
+      final String name = reader.nextName();
+      if (fieldBinder.onField(name, reader) == false)
+      {
+        reader.skipValue();
+      }
+    }
+    reader.endObject();
+    return true;
+  }
+
+  /**
+   * @return the next JSON string value, or {@code null} if the JSON value is {@code null}
+   */
+  public static String nextStringOrNull(JsonReader reader)
+      throws IOException
+  {
+    if (reader.peek() == JsonToken.NULL)
+    {
+      reader.nextNull();
+      return null;
+    }
+    return reader.nextString();
+  }
+
+  public JsonWSUriStreamParser(WebServiceClient webServiceClient)
+  {
+    super(webServiceClient);
+  }
+
+  /**
+   * Plugs a {@link JsonReader} on the provided input stream, and invokes the {@link #parse(Object, Map, JsonReader)} method. The reader and the
+   * input stream are closed once the parsing is over.
+   */
+  @Override
+  public final BusinessObjectType parse(ParameterType parameter, Map<String, List<String>> headers,
+      InputStream inputStream)
+      throws IOException
+  {
+    final JsonReader reader = WebServiceCaller.getJsonReader(inputStream, getContentEncoding());
+    try
+    {
+      return parse(parameter, headers, reader);
+    }
+    catch (IllegalStateException exception)
+    {
+      // The reader throws this exception when the JSON content does not have the expected structure
+      throw new IOException(exception);
+    }
+    finally
+    {
+      reader.close();
+    }
+  }
+
+  /**
+   * @return the charset used for decoding the JSON content ; defaults to {@code UTF-8}
+   */
+  protected String getContentEncoding()
+  {
+    return "UTF-8";
+  }
+
+  /**
+   * Is responsible for binding the business object from the JSON response.
+   *
+   * @param parameter the parameter which identifies the business object
+   * @param headers   the headers of the HTTP response
+   * @param reader    the reader, positioned at the beginning of the JSON content
+   * @return the business object
+   * @throws IOException if the JSON content is malformed or cannot be read
+   */
+  protected abstract BusinessObjectType parse(ParameterType parameter, Map<String, List<String>> headers,
+      JsonReader reader)
+      throws IOException;
+
+}
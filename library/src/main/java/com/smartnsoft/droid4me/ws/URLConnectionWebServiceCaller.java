@@ -22,26 +22,36 @@
 
 package com.smartnsoft.droid4me.ws;
 
-import java.io.BufferedWriter;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.DataOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.io.UnsupportedEncodingException;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.net.UnknownHostException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.GZIPInputStream;
 
 import android.support.annotation.Nullable;
 
+import com.smartnsoft.droid4me.concurrent.CancellationToken;
 import com.smartnsoft.droid4me.log.Logger;
 import com.smartnsoft.droid4me.log.LoggerFactory;
 
@@ -59,7 +69,8 @@ import com.smartnsoft.droid4me.log.LoggerFactory;
  * <li>if a connection issue arises (connection time-out, socket time-out, lost of connectivity), a {@link WebServiceCaller.CallException} exception
  * will be thrown, and it will {@link Throwable#getCause() embed} the reason for the connection issue ;</li>
  * <li>if the status code of the HTTP response does not belong to the [{@link HttpURLConnection#HTTP_OK}, {@link HttpURLConnection#HTTP_MULT_CHOICE}] range, the
- * {@link #onStatusCodeNotOk(String, CallType, Map, String, HttpURLConnection, URL, int, String, int)} method will be invoked.</li>
+ * {@link #onStatusCodeNotOk(String, CallType, Map, String, HttpURLConnection, URL, int, String, int)} method will be invoked, unless the
+ * {@link #getRetryPolicy() retry policy} decides that the request should be run again.</li>
  * </ol>
  *
  * @author Ludovic Roland
@@ -69,20 +80,258 @@ public abstract class URLConnectionWebServiceCaller
     extends WebServiceCaller
 {
 
+  /**
+   * Decides whether and when a failed HTTP request should be run again.
+   *
+   * @see URLConnectionWebServiceCaller#setRetryPolicy(URLConnectionWebServiceCaller.RetryPolicy)
+   * @since 2026.10.18
+   */
+  public interface RetryPolicy
+  {
+
+    /**
+     * Invoked every time an HTTP request attempt has failed, either because of an I/O problem or because its status code is not {@code 2XX}.
+     *
+     * @param callType        the HTTP method of the request
+     * @param statusCode      the status code of the response, or {@code -1} if no response has been received
+     * @param responseHeaders the headers of the response ; {@code null} if no response has been received
+     * @param throwable       the I/O exception which made the attempt fail ; {@code null} if a response has been received
+     * @param attemptsCount   the number of attempts that have been run so far for this request. Starts at {@code 1}
+     * @return the number of milliseconds to wait before running the request again, or a negative value if the request should not be run again
+     */
+    long computeRetryDelayInMilliseconds(CallType callType, int statusCode, Map<String, List<String>> responseHeaders,
+        Throwable throwable, int attemptsCount);
+
+  }
+
+  /**
+   * A retry policy which waits an exponentially growing delay between two attempts, with full jitter, i.e. a random delay between {@code 0} and
+   * {@code min(maximumDelay, baseDelay * 2^(attemptsCount - 1))}, so that clients do not run their retries in lockstep.
+   * <p>
+   * <p>
+   * Requests with an idempotent method ({@code GET}, {@code HEAD}, {@code OPTIONS}, {@code PUT}, {@code DELETE}) are retried on I/O problems, on
+   * {@code 5XX} and on {@code 429} status codes. The other requests are only retried on {@code 5XX} and {@code 429} status codes when the server
+   * sends a {@code Retry-After} header. When present, the {@code Retry-After} header value overrides the computed delay.
+   * </p>
+   *
+   * @since 2026.10.18
+   */
+  public static class ExponentialBackoffRetryPolicy
+      implements URLConnectionWebServiceCaller.RetryPolicy
+  {
+
+    /**
+     * The HTTP status code which indicates that the client sends too many requests.
+     */
+    public static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    private static final Random random = new Random();
+
+    /**
+     * The maximum number of attempts, including the initial one.
+     */
+    public final int maximumAttemptsCount;
+
+    /**
+     * The delay upper bound for the first retry.
+     */
+    public final long baseDelayInMilliseconds;
+
+    /**
+     * The upper bound of any retry delay, including the one indicated by a {@code Retry-After} header.
+     */
+    public final long maximumDelayInMilliseconds;
+
+    /**
+     * @param maximumAttemptsCount       the maximum number of attempts, including the initial one
+     * @param baseDelayInMilliseconds    the delay upper bound for the first retry, which is doubled for every subsequent retry
+     * @param maximumDelayInMilliseconds the upper bound of any retry delay
+     */
+    public ExponentialBackoffRetryPolicy(int maximumAttemptsCount, long baseDelayInMilliseconds,
+        long maximumDelayInMilliseconds)
+    {
+      this.maximumAttemptsCount = maximumAttemptsCount;
+      this.baseDelayInMilliseconds = baseDelayInMilliseconds;
+      this.maximumDelayInMilliseconds = maximumDelayInMilliseconds;
+    }
+
+    @Override
+    public long computeRetryDelayInMilliseconds(CallType callType, int statusCode,
+        Map<String, List<String>> responseHeaders, Throwable throwable, int attemptsCount)
+    {
+      if (attemptsCount >= maximumAttemptsCount)
+      {
+        return -1;
+      }
+      final boolean isRetryableStatusCode = statusCode >= HttpURLConnection.HTTP_INTERNAL_ERROR || statusCode == ExponentialBackoffRetryPolicy.HTTP_TOO_MANY_REQUESTS;
+      final long retryAfterInMilliseconds = isRetryableStatusCode == true ? computeRetryAfterInMilliseconds(responseHeaders) : -1;
+      if (isIdempotent(callType) == false && retryAfterInMilliseconds < 0)
+      {
+        return -1;
+      }
+      if (throwable == null && isRetryableStatusCode == false)
+      {
+        return -1;
+      }
+      if (retryAfterInMilliseconds >= 0)
+      {
+        return Math.min(retryAfterInMilliseconds, maximumDelayInMilliseconds);
+      }
+      final long ceilingInMilliseconds = Math.min(maximumDelayInMilliseconds, baseDelayInMilliseconds << Math.min(attemptsCount - 1, 30));
+      return (long) (ExponentialBackoffRetryPolicy.random.nextDouble() * ceilingInMilliseconds);
+    }
+
+    /**
+     * @return {@code true} if and only if running several times the provided request has the same effect as running it once
+     */
+    protected boolean isIdempotent(CallType callType)
+    {
+      switch (callType.verb)
+      {
+        case Get:
+        case Head:
+        case Options:
+        case Put:
+        case Delete:
+          return true;
+        default:
+          return false;
+      }
+    }
+
+    /**
+     * The formats of the HTTP-date form of the {@code Retry-After} header: the preferred RFC 1123 one, and the obsolete RFC 850 and ANSI C ones.
+     */
+    private static final String[] HTTP_DATE_PATTERNS = { "EEE, dd MMM yyyy HH:mm:ss zzz", "EEEE, dd-MMM-yy HH:mm:ss zzz", "EEE MMM d HH:mm:ss yyyy" };
+
+    /**
+     * @return the delay expressed by the {@code Retry-After} response header, either in seconds or as an HTTP-date, or {@code -1} if it is missing
+     * or cannot be parsed, so that the computed delay applies
+     */
+    protected long computeRetryAfterInMilliseconds(Map<String, List<String>> responseHeaders)
+    {
+      if (responseHeaders == null)
+      {
+        return -1;
+      }
+      for (Entry<String, List<String>> header : responseHeaders.entrySet())
+      {
+        if ("Retry-After".equalsIgnoreCase(header.getKey()) == true && header.getValue() != null && header.getValue().isEmpty() == false)
+        {
+          final String value = header.getValue().get(0).trim();
+          try
+          {
+            return Math.max(0, Long.parseLong(value) * 1000);
+          }
+          catch (NumberFormatException exception)
+          {
+            return computeDelayUntilHttpDate(value);
+          }
+        }
+      }
+      return -1;
+    }
+
+    private long computeDelayUntilHttpDate(String value)
+    {
+      for (String pattern : URLConnectionWebServiceCaller.ExponentialBackoffRetryPolicy.HTTP_DATE_PATTERNS)
+      {
+        // The "SimpleDateFormat" class is not thread-safe, hence the instance per parsing
+        final SimpleDateFormat dateFormat = new SimpleDateFormat(pattern, Locale.US);
+        dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+        try
+        {
+          return Math.max(0, dateFormat.parse(value).getTime() - System.currentTimeMillis());
+        }
+        catch (ParseException exception)
+        {
+          // We try the next format
+        }
+      }
+      if (log.isWarnEnabled())
+      {
+        log.warn("Cannot parse the 'Retry-After' header value '" + value + "'");
+      }
+      return -1;
+    }
+
+  }
+
+  /**
+   * Gathers the measures of the HTTP request being run by the current thread, which are eventually reported to the {@link #getMetrics() metrics}.
+   */
+  private static final class CallProbe
+  {
+
+    private final long startInNanoseconds = System.nanoTime();
+
+    private long attemptStartInNanoseconds;
+
+    private long connectedInNanoseconds;
+
+    private long firstByteInNanoseconds;
+
+    private int statusCode = -1;
+
+    private int retriesCount;
+
+    private long requestBytesCount = -1;
+
+    private long responseCompressedBytesCount = -1;
+
+    private long responseUncompressedBytesCount = -1;
+
+    /**
+     * The connection of the current attempt, which is disconnected when the call is cancelled.
+     */
+    private volatile HttpURLConnection connection;
+
+    private void onAttemptStart()
+    {
+      attemptStartInNanoseconds = System.nanoTime();
+      connectedInNanoseconds = -1;
+      firstByteInNanoseconds = -1;
+      statusCode = -1;
+      requestBytesCount = -1;
+    }
+
+    private long computeDurationInMilliseconds(long endInNanoseconds, long startInNanoseconds)
+    {
+      return endInNanoseconds < 0 ? -1 : (endInNanoseconds - startInNanoseconds) / 1000000;
+    }
+
+  }
+
   protected final static Logger log = LoggerFactory.getInstance(URLConnectionWebServiceCaller.class);
 
+  private final static ThreadLocal<URLConnectionWebServiceCaller.CallProbe> callProbes = new ThreadLocal<>();
+
   private final static String BOUNDARY = "URLConnectionWebServiceCaller";
 
   private final static String HYPHEN_HYPHEN = "--";
 
   private final static String NEW_LINE = "\r\n";
 
+  /**
+   * The size of the buffer used when streaming the multipart files of a request.
+   */
+  private final static int UPLOAD_BUFFER_SIZE_IN_BYTES = 32768;
+
+  /**
+   * The default value returned by the {@link #getStreamingThresholdInBytes()} method.
+   */
+  public final static int DEFAULT_STREAMING_THRESHOLD_IN_BYTES = 65536;
+
   private final int readTimeOutInMilliseconds;
 
   private final int connectTimeOutInMilliseconds;
 
   private final boolean acceptGzip;
 
+  private final AtomicInteger retriesCount = new AtomicInteger();
+
+  private volatile URLConnectionWebServiceCaller.RetryPolicy retryPolicy;
+
   protected URLConnectionWebServiceCaller(int readTimeOutInMilliseconds, int connectTimeOutInMilliseconds,
       boolean acceptGzip)
   {
@@ -142,9 +391,30 @@ public abstract class URLConnectionWebServiceCaller
       throws CallException
   {
     HttpURLConnection httpURLConnection = null;
+    final URLConnectionWebServiceCaller.CallProbe callProbe = new URLConnectionWebServiceCaller.CallProbe();
+    // A request may be run while another one is being run on the same thread, typically a token refresh from the "onStatusCodeNotOk()" method,
+    // hence the restoration of the previous probe once over
+    final URLConnectionWebServiceCaller.CallProbe previousCallProbe = URLConnectionWebServiceCaller.callProbes.get();
+    URLConnectionWebServiceCaller.callProbes.set(callProbe);
+    // When the work is cancelled, the connection is disconnected, which unblocks the thread waiting for the response
+    final CancellationToken cancellationToken = CancellationToken.getCurrent();
+    final Closeable canceller = new Closeable()
+    {
+      @Override
+      public void close()
+      {
+        final HttpURLConnection connection = callProbe.connection;
+        if (connection != null)
+        {
+          connection.disconnect();
+        }
+      }
+    };
 
     try
     {
+      throwIfCancelled(cancellationToken, uri, callType);
+      cancellationToken.register(canceller);
       httpURLConnection = performHttpRequest(uri, callType, headers, parameters, body, files);
       final Map<String, List<String>> headerFields = httpURLConnection.getHeaderFields();
       final int statusCode = httpURLConnection.getResponseCode();
@@ -161,7 +431,9 @@ public abstract class URLConnectionWebServiceCaller
         inputStream = getContent(uri, callType, httpURLConnection, false);
       }
 
-      return new HttpResponse(headerFields, statusCode, inputStream, errorInputStream);
+      measureResponseBytesCount(callProbe, httpURLConnection, inputStream != null ? inputStream : errorInputStream);
+      // The parsing of the response stops as soon as the work is cancelled
+      return new HttpResponse(headerFields, statusCode, cancellationToken.wrap(inputStream), cancellationToken.wrap(errorInputStream));
     }
     catch (CallException exception)
     {
@@ -169,14 +441,80 @@ public abstract class URLConnectionWebServiceCaller
     }
     catch (Exception exception)
     {
+      if (cancellationToken.isCancelled() == true)
+      {
+        // The exception is a consequence of the disconnection
+        throw new CallException(new InterruptedIOException("The HTTP " + callType + " request '" + uri + "' has been cancelled"));
+      }
       throw new CallException(exception);
     }
     finally
     {
+      cancellationToken.unregister(canceller);
       if (httpURLConnection != null)
       {
         httpURLConnection.disconnect();
       }
+      if (previousCallProbe == null)
+      {
+        URLConnectionWebServiceCaller.callProbes.remove();
+      }
+      else
+      {
+        URLConnectionWebServiceCaller.callProbes.set(previousCallProbe);
+      }
+      recordMetrics(uri, callType, callProbe);
+    }
+  }
+
+  /**
+   * Sets the policy which decides whether a failed HTTP request should be run again. Requests which upload {@link MultipartFile files} are never
+   * retried, because their input streams cannot be read twice.
+   * <p>
+   * <p>
+   * A thread waiting before a retry may be {@link Thread#interrupt() interrupted}: the request is then abandoned and a {@link CallException}
+   * embedding an {@link InterruptedIOException} is thrown.
+   * </p>
+   *
+   * @param retryPolicy the policy to use ; when {@code null}, which is the default, no retry is attempted, apart from the one decided by the
+   *                    {@link #onStatusCodeNotOk(String, CallType, Map, Map, String, HttpURLConnection, URL, int, String, int)} method
+   */
+  public void setRetryPolicy(URLConnectionWebServiceCaller.RetryPolicy retryPolicy)
+  {
+    this.retryPolicy = retryPolicy;
+  }
+
+  /**
+   * @return the number of HTTP requests which have been run again because of the {@link #getRetryPolicy() retry policy}, since the instance creation
+   */
+  public int getRetriesCount()
+  {
+    return retriesCount.get();
+  }
+
+  /**
+   * @return the policy previously set through the {@link #setRetryPolicy(RetryPolicy)} method ; may be {@code null}
+   */
+  protected URLConnectionWebServiceCaller.RetryPolicy getRetryPolicy()
+  {
+    return retryPolicy;
+  }
+
+  /**
+   * Invoked when an HTTP request is bound to be run again because of the {@link #getRetryPolicy() retry policy}, before waiting. The default
+   * implementation logs the retry.
+   *
+   * @param uri           the URI of the HTTP call
+   * @param callType      the type of the HTTP method
+   * @param statusCode    the status code of the failed attempt, or {@code -1} if no response has been received
+   * @param attemptsCount the number of attempts that have been run so far for this request. Starts at {@code 1}
+   * @param delayInMilliseconds the duration to wait before running the request again
+   */
+  protected void onRetry(String uri, CallType callType, int statusCode, int attemptsCount, long delayInMilliseconds)
+  {
+    if (log.isInfoEnabled() == true)
+    {
+      log.info("Running again in " + delayInMilliseconds + " ms the HTTP " + callType + " request '" + uri + "' after " + attemptsCount + " attempt(s)" + (statusCode == -1 ? "" : ", which returned the status code " + statusCode));
     }
   }
 
@@ -190,6 +528,26 @@ public abstract class URLConnectionWebServiceCaller
     return connectTimeOutInMilliseconds;
   }
 
+  /**
+   * Indicates from which size a request body which is not multipart is streamed to the connection, in
+   * {@link HttpURLConnection#setFixedLengthStreamingMode(int) fixed length streaming mode}, instead of being buffered by the connection.
+   * <p>
+   * <p>
+   * Since a streamed body cannot be sent again, the {@link HttpURLConnection} does not follow the redirections nor answers the authentication
+   * challenges of such requests anymore: it throws an {@link java.net.HttpRetryException} instead. This is why the smaller bodies, which do not
+   * weigh on the memory, are not streamed. Multipart bodies are always streamed, as explained in the
+   * {@link #writeMultipartBody(HttpURLConnection, Map, String, List)} method. The default implementation returns
+   * {@link #DEFAULT_STREAMING_THRESHOLD_IN_BYTES}.
+   * </p>
+   *
+   * @return the size in bytes from which a body is streamed ; {@link Integer#MAX_VALUE} to never stream the bodies
+   * @since 2026.10.18
+   */
+  protected int getStreamingThresholdInBytes()
+  {
+    return URLConnectionWebServiceCaller.DEFAULT_STREAMING_THRESHOLD_IN_BYTES;
+  }
+
   /**
    * Invoked when the result of the HTTP request is not <code>20X</code>. The default implementation logs the problem and throws an exception.
    *
@@ -481,6 +839,128 @@ public abstract class URLConnectionWebServiceCaller
     return false;
   }
 
+  private HttpURLConnection performHttpRequest(String uri, CallType callType, Map<String, String> headers,
+      Map<String, String> paramaters, String body, List<MultipartFile> files, int attemptsCount)
+      throws IOException, CallException
+  {
+    try
+    {
+      return performHttpRequestAttempt(uri, callType, headers, paramaters, body, files, attemptsCount);
+    }
+    catch (IOException exception)
+    {
+      // A cancelled request is not retried
+      final long delayInMilliseconds = CancellationToken.getCurrent().isCancelled() == true ? -1 : computeRetryDelayInMilliseconds(callType, -1, null, exception, files, attemptsCount + 1);
+      if (delayInMilliseconds < 0)
+      {
+        throw exception;
+      }
+      waitBeforeRetry(uri, callType, -1, attemptsCount + 1, delayInMilliseconds);
+      return performHttpRequest(uri, callType, headers, paramaters, body, files, attemptsCount + 1);
+    }
+  }
+
+  private static URLConnectionWebServiceCaller.CallProbe getCallProbe()
+  {
+    final URLConnectionWebServiceCaller.CallProbe callProbe = URLConnectionWebServiceCaller.callProbes.get();
+    // The request may be run outside of the "runRequest()" method by a derived class, in which case its measures are not reported
+    return callProbe != null ? callProbe : new URLConnectionWebServiceCaller.CallProbe();
+  }
+
+  private void measureResponseBytesCount(URLConnectionWebServiceCaller.CallProbe callProbe,
+      HttpURLConnection httpURLConnection, InputStream inputStream)
+  {
+    if (inputStream instanceof ByteArrayInputStream)
+    {
+      // The content has been entirely copied, hence its size is exact
+      callProbe.responseUncompressedBytesCount = ((ByteArrayInputStream) inputStream).available();
+    }
+    final long contentLength = httpURLConnection.getContentLength();
+    if ("gzip".equals(httpURLConnection.getHeaderField("Content-Encoding")) == true)
+    {
+      callProbe.responseCompressedBytesCount = contentLength;
+    }
+    else
+    {
+      if (callProbe.responseUncompressedBytesCount < 0)
+      {
+        callProbe.responseUncompressedBytesCount = contentLength;
+      }
+      callProbe.responseCompressedBytesCount = callProbe.responseUncompressedBytesCount;
+    }
+  }
+
+  private void recordMetrics(String uri, CallType callType, URLConnectionWebServiceCaller.CallProbe callProbe)
+  {
+    try
+    {
+      getMetrics().record(new WebServiceMetrics.Sample(callType.verb, computeUrlTemplate(uri), callProbe.statusCode, callProbe.retriesCount, callProbe.computeDurationInMilliseconds(callProbe.connectedInNanoseconds, callProbe.attemptStartInNanoseconds), callProbe.computeDurationInMilliseconds(callProbe.firstByteInNanoseconds, callProbe.attemptStartInNanoseconds), callProbe.computeDurationInMilliseconds(System.nanoTime(), callProbe.startInNanoseconds), callProbe.requestBytesCount, callProbe.responseCompressedBytesCount, callProbe.responseUncompressedBytesCount));
+    }
+    catch (Throwable throwable)
+    {
+      if (log.isWarnEnabled())
+      {
+        log.warn("Could not record the metrics of the HTTP " + callType + " request '" + uri + "'", throwable);
+      }
+    }
+  }
+
+  private long computeRetryDelayInMilliseconds(CallType callType, int statusCode,
+      Map<String, List<String>> responseHeaders, Throwable throwable, List<MultipartFile> files, int attemptsCount)
+  {
+    final URLConnectionWebServiceCaller.RetryPolicy retryPolicy = getRetryPolicy();
+    if (retryPolicy == null || (files != null && files.size() > 0))
+    {
+      return -1;
+    }
+    return retryPolicy.computeRetryDelayInMilliseconds(callType, statusCode, responseHeaders, throwable, attemptsCount);
+  }
+
+  private void waitBeforeRetry(String uri, CallType callType, int statusCode, int attemptsCount,
+      long delayInMilliseconds)
+      throws CallException
+  {
+    final CancellationToken cancellationToken = CancellationToken.getCurrent();
+    throwIfCancelled(cancellationToken, uri, callType);
+    retriesCount.incrementAndGet();
+    URLConnectionWebServiceCaller.getCallProbe().retriesCount++;
+    onRetry(uri, callType, statusCode, attemptsCount, delayInMilliseconds);
+    // The token does not interrupt the thread when cancelled, hence the wait is released through a registered resource rather than by an interruption
+    final CountDownLatch latch = new CountDownLatch(1);
+    final Closeable waitReleaser = new Closeable()
+    {
+      @Override
+      public void close()
+      {
+        latch.countDown();
+      }
+    };
+    cancellationToken.register(waitReleaser);
+    try
+    {
+      latch.await(delayInMilliseconds, TimeUnit.MILLISECONDS);
+    }
+    catch (InterruptedException exception)
+    {
+      Thread.currentThread().interrupt();
+      throw new CallException(new InterruptedIOException("The retry of the HTTP " + callType + " request '" + uri + "' has been cancelled"));
+    }
+    finally
+    {
+      cancellationToken.unregister(waitReleaser);
+    }
+    throwIfCancelled(cancellationToken, uri, callType);
+  }
+
+  private void throwIfCancelled(CancellationToken cancellationToken, String uri, CallType callType)
+      throws CallException
+  {
+    if (cancellationToken.isCancelled() == true)
+    {
+      throw new CallException(new InterruptedIOException("The HTTP " + callType + " request '" + uri + "' has been cancelled"));
+    }
+  }
+
   /**
    * Is responsible for returning an HTTP client instance, used for actually running the HTTP requests.
    * <p>
@@ -491,7 +971,7 @@ public abstract class URLConnectionWebServiceCaller
    * @return a valid HTTP client
    * @throws CallException is the uri is {@code null} or the connectivity has been lost
    */
-  private HttpURLConnection performHttpRequest(String uri, CallType callType, Map<String, String> headers,
+  private HttpURLConnection performHttpRequestAttempt(String uri, CallType callType, Map<String, String> headers,
       Map<String, String> paramaters, String body, List<MultipartFile> files, int attemptsCount)
       throws IOException, CallException
   {
@@ -505,9 +985,15 @@ public abstract class URLConnectionWebServiceCaller
       throw new CallException(new UnknownHostException("No connectivity"));
     }
 
+    // A retried request, or a request replayed after a nested one, is not attempted anymore once cancelled
+    throwIfCancelled(CancellationToken.getCurrent(), uri, callType);
+
+    final URLConnectionWebServiceCaller.CallProbe callProbe = URLConnectionWebServiceCaller.getCallProbe();
+    callProbe.onAttemptStart();
     final StringBuilder logBuilder = new StringBuilder();
     final URL url = new URL(uri);
     final HttpURLConnection httpURLConnection = (HttpURLConnection) url.openConnection();
+    callProbe.connection = httpURLConnection;
     onBeforeHttpRequestExecution(url, httpURLConnection, callType);
 
     if (callType.verb == Verb.Post || callType.verb == Verb.Put)
@@ -641,73 +1127,38 @@ public abstract class URLConnectionWebServiceCaller
       //This a form with a file
       if (files != null && files.size() > 0)
       {
-        final DataOutputStream outputStream = new DataOutputStream(httpURLConnection.getOutputStream());
-
+        callProbe.requestBytesCount = writeMultipartBody(httpURLConnection, paramaters, body, files);
+      }
+      else
+      {
         if (paramaters != null && paramaters.size() > 0)
         {
-          for (final Entry<String, String> parameter : paramaters.entrySet())
-          {
-            outputStream.writeBytes(
-                URLConnectionWebServiceCaller.HYPHEN_HYPHEN + URLConnectionWebServiceCaller.BOUNDARY);
-            outputStream.writeBytes(
-                URLConnectionWebServiceCaller.NEW_LINE + "Content-Disposition: form-data; name=\"" + parameter.getKey() + "\"");
-            outputStream.writeBytes(URLConnectionWebServiceCaller.NEW_LINE + URLConnectionWebServiceCaller.NEW_LINE);
-            outputStream.write(parameter.getValue().getBytes(getContentEncoding()));
-            outputStream.writeBytes(URLConnectionWebServiceCaller.NEW_LINE);
-            outputStream.flush();
-          }
+          body = transformPostParametersToDataString(paramaters);
         }
 
-        for (final MultipartFile file : files)
+        if ("".equals(body) == false && body != null)
         {
-          outputStream.writeBytes(URLConnectionWebServiceCaller.HYPHEN_HYPHEN + URLConnectionWebServiceCaller.BOUNDARY);
-          outputStream.writeBytes(
-              URLConnectionWebServiceCaller.NEW_LINE + "Content-Disposition: form-data; name=\"" + file.name + "\"; filename=\"" + file.fileName + "\"");
-          outputStream.writeBytes(URLConnectionWebServiceCaller.NEW_LINE + "Content-Type: " + file.contentType);
-          outputStream.writeBytes(URLConnectionWebServiceCaller.NEW_LINE + URLConnectionWebServiceCaller.NEW_LINE);
-          outputStream.flush();
-
-          if (file.inputStream != null)
+          final byte[] bodyBytes = body.getBytes(getContentEncoding());
+          if (bodyBytes.length >= getStreamingThresholdInBytes())
           {
-            int bytesRead;
-            final byte[] dataBuffer = new byte[1024];
-
-            while ((bytesRead = file.inputStream.read(dataBuffer)) != -1)
-            {
-              outputStream.write(dataBuffer, 0, bytesRead);
-            }
-
-            outputStream.writeBytes(URLConnectionWebServiceCaller.NEW_LINE);
-            outputStream.flush();
+            // The body is known in advance, hence we do not let the connection buffer it
+            httpURLConnection.setFixedLengthStreamingMode(bodyBytes.length);
           }
+          callProbe.requestBytesCount = bodyBytes.length;
+          final OutputStream outputStream = httpURLConnection.getOutputStream();
+          outputStream.write(bodyBytes);
+          outputStream.flush();
+          outputStream.close();
         }
-
-        outputStream.writeBytes(
-            URLConnectionWebServiceCaller.NEW_LINE + URLConnectionWebServiceCaller.HYPHEN_HYPHEN + URLConnectionWebServiceCaller.BOUNDARY + URLConnectionWebServiceCaller.HYPHEN_HYPHEN + URLConnectionWebServiceCaller.NEW_LINE);
-        outputStream.writeBytes(URLConnectionWebServiceCaller.NEW_LINE);
-        outputStream.flush();
-        outputStream.close();
-      }
-      else if (paramaters != null && paramaters.size() > 0)
-      {
-        body = transformPostParametersToDataString(paramaters);
-      }
-
-      if ("".equals(body) == false && body != null)
-      {
-        final OutputStream outputStream = httpURLConnection.getOutputStream();
-        final BufferedWriter bufferedWriter = new BufferedWriter(
-            new OutputStreamWriter(outputStream, getContentEncoding()));
-        bufferedWriter.write(body);
-        bufferedWriter.flush();
-        bufferedWriter.close();
-        outputStream.close();
       }
     }
 
     final long start = System.currentTimeMillis();
     httpURLConnection.connect();
+    callProbe.connectedInNanoseconds = System.nanoTime();
     final int responseCode = httpURLConnection.getResponseCode();
+    callProbe.firstByteInNanoseconds = System.nanoTime();
+    callProbe.statusCode = responseCode;
     final String responseMessage = httpURLConnection.getResponseMessage();
     final StringBuilder responseHeadersSb = new StringBuilder();
 
@@ -736,6 +1187,13 @@ public abstract class URLConnectionWebServiceCaller
 
     if (!(responseCode >= HttpURLConnection.HTTP_OK && responseCode < HttpURLConnection.HTTP_MULT_CHOICE))
     {
+      final long delayInMilliseconds = computeRetryDelayInMilliseconds(callType, responseCode, httpURLConnection.getHeaderFields(), null, files, attemptsCount + 1);
+      if (delayInMilliseconds >= 0)
+      {
+        httpURLConnection.disconnect();
+        waitBeforeRetry(uri, callType, responseCode, attemptsCount + 1, delayInMilliseconds);
+        return performHttpRequest(uri, callType, headers, paramaters, body, files, attemptsCount + 1);
+      }
       if (onStatusCodeNotOk(uri, callType, paramaters, headers, body, httpURLConnection, url, responseCode, responseMessage,
           attemptsCount + 1) == true)
       {
@@ -746,6 +1204,117 @@ public abstract class URLConnectionWebServiceCaller
     return httpURLConnection;
   }
 
+  /**
+   * Streams the multipart body of the request, so that the files are never entirely held in memory: when the length of every file is known, the
+   * connection is set in {@link HttpURLConnection#setFixedLengthStreamingMode(int) fixed length streaming mode}, otherwise in
+   * {@link HttpURLConnection#setChunkedStreamingMode(int) chunked streaming mode}. Hence, the redirections and the authentication challenges of
+   * those requests are not handled by the connection, which throws an {@link java.net.HttpRetryException} instead.
+   * <p>
+   * <p>
+   * When a body is provided along with the files, it is written right after the multipart closing boundary, as it has always been, and is counted in
+   * the body length.
+   * </p>
+   *
+   * @return the number of bytes of the body
+   */
+  private long writeMultipartBody(HttpURLConnection httpURLConnection, Map<String, String> parameters, String body,
+      List<MultipartFile> files)
+      throws IOException
+  {
+    final String encoding = getContentEncoding();
+    final byte[] newLineBytes = URLConnectionWebServiceCaller.NEW_LINE.getBytes(encoding);
+    long contentLength = 0;
+    boolean isContentLengthKnown = true;
+
+    final List<byte[]> parameterParts = new ArrayList<>();
+    if (parameters != null && parameters.size() > 0)
+    {
+      for (final Entry<String, String> parameter : parameters.entrySet())
+      {
+        final byte[] parameterPart = (URLConnectionWebServiceCaller.HYPHEN_HYPHEN + URLConnectionWebServiceCaller.BOUNDARY + URLConnectionWebServiceCaller.NEW_LINE + "Content-Disposition: form-data; name=\"" + parameter.getKey() + "\"" + URLConnectionWebServiceCaller.NEW_LINE + URLConnectionWebServiceCaller.NEW_LINE + parameter.getValue() + URLConnectionWebServiceCaller.NEW_LINE).getBytes(encoding);
+        parameterParts.add(parameterPart);
+        contentLength += parameterPart.length;
+      }
+    }
+
+    final List<byte[]> fileHeaders = new ArrayList<>(files.size());
+    for (final MultipartFile file : files)
+    {
+      final byte[] fileHeader = (URLConnectionWebServiceCaller.HYPHEN_HYPHEN + URLConnectionWebServiceCaller.BOUNDARY + URLConnectionWebServiceCaller.NEW_LINE + "Content-Disposition: form-data; name=\"" + file.name + "\"; filename=\"" + file.fileName + "\"" + URLConnectionWebServiceCaller.NEW_LINE + "Content-Type: " + file.contentType + URLConnectionWebServiceCaller.NEW_LINE + URLConnectionWebServiceCaller.NEW_LINE).getBytes(encoding);
+      fileHeaders.add(fileHeader);
+      contentLength += fileHeader.length;
+      if (file.inputStream != null)
+      {
+        if (file.contentLength < 0)
+        {
+          isContentLengthKnown = false;
+        }
+        contentLength += file.contentLength + newLineBytes.length;
+      }
+    }
+
+    final byte[] closingBytes = (URLConnectionWebServiceCaller.NEW_LINE + URLConnectionWebServiceCaller.HYPHEN_HYPHEN + URLConnectionWebServiceCaller.BOUNDARY + URLConnectionWebServiceCaller.HYPHEN_HYPHEN + URLConnectionWebServiceCaller.NEW_LINE + URLConnectionWebServiceCaller.NEW_LINE).getBytes(encoding);
+    contentLength += closingBytes.length;
+    final byte[] bodyBytes = "".equals(body) == false && body != null ? body.getBytes(encoding) : null;
+    if (bodyBytes != null)
+    {
+      contentLength += bodyBytes.length;
+    }
+
+    if (isContentLengthKnown == true && contentLength <= Integer.MAX_VALUE)
+    {
+      httpURLConnection.setFixedLengthStreamingMode((int) contentLength);
+    }
+    else
+    {
+      httpURLConnection.setChunkedStreamingMode(URLConnectionWebServiceCaller.UPLOAD_BUFFER_SIZE_IN_BYTES);
+    }
+
+    long bytesCount = 0;
+    final OutputStream outputStream = new BufferedOutputStream(httpURLConnection.getOutputStream(), URLConnectionWebServiceCaller.UPLOAD_BUFFER_SIZE_IN_BYTES);
+    try
+    {
+      for (final byte[] parameterPart : parameterParts)
+      {
+        outputStream.write(parameterPart);
+        bytesCount += parameterPart.length;
+      }
+
+      final byte[] dataBuffer = new byte[URLConnectionWebServiceCaller.UPLOAD_BUFFER_SIZE_IN_BYTES];
+      for (int index = 0; index < files.size(); index++)
+      {
+        final MultipartFile file = files.get(index);
+        outputStream.write(fileHeaders.get(index));
+        bytesCount += fileHeaders.get(index).length;
+        if (file.inputStream != null)
+        {
+          int bytesRead;
+          while ((bytesRead = file.inputStream.read(dataBuffer)) != -1)
+          {
+            outputStream.write(dataBuffer, 0, bytesRead);
+            bytesCount += bytesRead;
+          }
+          outputStream.write(newLineBytes);
+          bytesCount += newLineBytes.length;
+        }
+      }
+
+      outputStream.write(closingBytes);
+      bytesCount += closingBytes.length;
+      if (bodyBytes != null)
+      {
+        outputStream.write(bodyBytes);
+        bytesCount += bodyBytes.length;
+      }
+      outputStream.flush();
+    }
+    finally
+    {
+      outputStream.close();
+    }
+    return bytesCount;
+  }
+
   private String transformPostParametersToDataString(Map<String, String> params)
       throws UnsupportedEncodingException
   {
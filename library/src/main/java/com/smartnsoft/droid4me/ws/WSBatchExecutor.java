@@ -0,0 +1,261 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017 Smart&Soft
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.smartnsoft.droid4me.ws;
+
+import java.net.URI;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import com.smartnsoft.droid4me.concurrent.SmartExecutors;
+import com.smartnsoft.droid4me.log.Logger;
+import com.smartnsoft.droid4me.log.LoggerFactory;
+
+/**
+ * Responsible for running web service calls concurrently, while never running more than {@link #MAXIMUM_CONCURRENT_CALLS_PER_HOST} calls at the
+ * same time against the same host.
+ * <p>
+ * <p>
+ * This is the executor used by the {@link WSUriStreamParser#getValues(java.util.Collection)} and
+ * {@link com.smartnsoft.droid4me.wscache.BackedWSUriStreamParser.BackedUriStreamedMap#prefetch(java.util.Collection, boolean)} batch methods.
+ * </p>
+ *
+ * @since 2026.10.18
+ */
+public final class WSBatchExecutor
+{
+
+  /**
+   * A call, which releases its host slot once over.
+   */
+  private static final class BatchCommand<ResultType>
+      extends FutureTask<ResultType>
+  {
+
+    private final WSBatchExecutor.HostQueue hostQueue;
+
+    BatchCommand(Callable<ResultType> callable, WSBatchExecutor.HostQueue hostQueue)
+    {
+      super(callable);
+      this.hostQueue = hostQueue;
+    }
+
+    @Override
+    public void run()
+    {
+      try
+      {
+        super.run();
+      }
+      finally
+      {
+        final WSBatchExecutor.BatchCommand<?> nextCommand = hostQueue.next();
+        if (nextCommand != null)
+        {
+          WSBatchExecutor.dispatch(hostQueue, nextCommand);
+        }
+      }
+    }
+
+    void reject(RejectedExecutionException exception)
+    {
+      setException(exception);
+    }
+
+  }
+
+  /**
+   * Holds the pending calls for a given host, and counts how many of them are currently running.
+   */
+  private static final class HostQueue
+  {
+
+    private final Queue<WSBatchExecutor.BatchCommand<?>> pending = new LinkedList<>();
+
+    private int runningCount;
+
+    /**
+     * @return the provided command if it may be run immediately, {@code null} if it has been queued
+     */
+    synchronized WSBatchExecutor.BatchCommand<?> offer(WSBatchExecutor.BatchCommand<?> command)
+    {
+      if (runningCount < WSBatchExecutor.MAXIMUM_CONCURRENT_CALLS_PER_HOST)
+      {
+        runningCount++;
+        return command;
+      }
+      pending.add(command);
+      return null;
+    }
+
+    /**
+     * Invoked when a call is over.
+     *
+     * @return the next command to run for this host, or {@code null} if there is no pending one
+     */
+    synchronized WSBatchExecutor.BatchCommand<?> next()
+    {
+      final WSBatchExecutor.BatchCommand<?> command = pending.poll();
+      if (command == null)
+      {
+        runningCount--;
+      }
+      return command;
+    }
+
+  }
+
+  /**
+   * The maximum number of calls which may run at the same time against the same host. Should be set before the first call is submitted.
+   */
+  public static int MAXIMUM_CONCURRENT_CALLS_PER_HOST = 4;
+
+  /**
+   * The number of threads of the underlying threads pool, bounded by the {@link SmartExecutors.Lane#Io} lane settings. Should be set before the first
+   * call is submitted.
+   */
+  public static int THREAD_POOL_SIZE = 8;
+
+  private final static Logger log = LoggerFactory.getInstance(WSBatchExecutor.class);
+
+  private final static ConcurrentHashMap<String, WSBatchExecutor.HostQueue> hostQueues = new ConcurrentHashMap<>();
+
+  private static ThreadPoolExecutor THREAD_POOL;
+
+  /**
+   * Submits a call which will be run as soon as a thread is available and the number of running calls against its host allows it.
+   * <p>
+   * <p>
+   * If the threads pool rejects the call, the returned future fails with the {@link RejectedExecutionException}, and the call frees its host slot.
+   * </p>
+   *
+   * @param url      the URL the call targets, used for determining its host ; may be {@code null}
+   * @param callable the call to run
+   * @return the reference which enables to wait for the call result
+   */
+  public static <ResultType> Future<ResultType> submit(String url, Callable<ResultType> callable)
+  {
+    final WSBatchExecutor.HostQueue hostQueue = WSBatchExecutor.getHostQueue(WSBatchExecutor.computeHost(url));
+    final WSBatchExecutor.BatchCommand<ResultType> batchCommand = new WSBatchExecutor.BatchCommand<>(callable, hostQueue);
+    final WSBatchExecutor.BatchCommand<?> command = hostQueue.offer(batchCommand);
+    if (command != null)
+    {
+      WSBatchExecutor.dispatch(hostQueue, command);
+    }
+    return batchCommand;
+  }
+
+  /**
+   * Enables to run the calls on another threads pool than the default {@link SmartExecutors.Lane#Io} lane one.
+   *
+   * @param threadPool the threads pool which will run the next calls ; when {@code null}, the default one will be created again when required
+   */
+  public static synchronized void setThreadPool(ThreadPoolExecutor threadPool)
+  {
+    WSBatchExecutor.THREAD_POOL = threadPool;
+  }
+
+  /**
+   * Runs the given command, which holds a slot of its host: when the threads pool rejects it, it fails and hands its slot over to the next pending
+   * command of its host, if any.
+   */
+  private static void dispatch(WSBatchExecutor.HostQueue hostQueue, WSBatchExecutor.BatchCommand<?> command)
+  {
+    WSBatchExecutor.BatchCommand<?> currentCommand = command;
+    while (currentCommand != null)
+    {
+      try
+      {
+        WSBatchExecutor.getThreadPool().execute(currentCommand);
+        return;
+      }
+      catch (RejectedExecutionException exception)
+      {
+        if (log.isWarnEnabled())
+        {
+          log.warn("The threads pool rejected a web service call", exception);
+        }
+        currentCommand.reject(exception);
+        currentCommand = hostQueue.next();
+      }
+    }
+  }
+
+  static String computeHost(String url)
+  {
+    if (url == null)
+    {
+      return "";
+    }
+    try
+    {
+      final String host = new URI(url).getHost();
+      return host == null ? "" : host;
+    }
+    catch (Exception exception)
+    {
+      if (log.isWarnEnabled())
+      {
+        log.warn("Cannot extract the host of the URL '" + url + "'", exception);
+      }
+      return "";
+    }
+  }
+
+  private static WSBatchExecutor.HostQueue getHostQueue(String host)
+  {
+    WSBatchExecutor.HostQueue hostQueue = hostQueues.get(host);
+    if (hostQueue == null)
+    {
+      final WSBatchExecutor.HostQueue newHostQueue = new WSBatchExecutor.HostQueue();
+      hostQueue = hostQueues.putIfAbsent(host, newHostQueue);
+      if (hostQueue == null)
+      {
+        hostQueue = newHostQueue;
+      }
+    }
+    return hostQueue;
+  }
+
+  private static synchronized ThreadPoolExecutor getThreadPool()
+  {
+    if (WSBatchExecutor.THREAD_POOL == null)
+    {
+      WSBatchExecutor.THREAD_POOL = SmartExecutors.newExecutor("wsbatch", SmartExecutors.Lane.Io, WSBatchExecutor.THREAD_POOL_SIZE, null, null);
+    }
+    return WSBatchExecutor.THREAD_POOL;
+  }
+
+  /**
+   * There is no reason creating an instance of that class, which is just a container.
+   */
+  private WSBatchExecutor()
+  {
+  }
+
+}
@@ -22,9 +22,13 @@
 
 package com.smartnsoft.droid4me.ws;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 import com.smartnsoft.droid4me.bo.Business;
 import com.smartnsoft.droid4me.bo.Business.InputAtom;
@@ -182,6 +186,27 @@ public abstract class WSUriStreamParser<BusinessObjectType, ParameterType, Parse
 
   }
 
+  /**
+   * Computes the URL of a business object, only in order to determine the host that the {@link WSBatchExecutor} should count its call against.
+   *
+   * @param uri the business object URI ; may be {@code null}
+   * @return the URL, or {@code null} when the URI holds no {@link Business.Source#UriStreamer} source locator or when its URL cannot be computed,
+   * in which case the problem surfaces when the call actually runs
+   */
+  public static <ParameterType> String computeBatchUrl(WSUriStreamParser.KeysAggregator<ParameterType> uri)
+  {
+    try
+    {
+      final WSUriStreamParser.UriStreamerSourceKey<ParameterType> sourceLocator = uri == null ? null : uri.<WSUriStreamParser.UriStreamerSourceKey<ParameterType>>getSourceLocator(Business.Source.UriStreamer);
+      final WebServiceClient.HttpCallTypeAndBody httpCallTypeAndBody = sourceLocator == null ? null : sourceLocator.computeUri(uri.getParameter());
+      return httpCallTypeAndBody == null ? null : httpCallTypeAndBody.url;
+    }
+    catch (RuntimeException exception)
+    {
+      return null;
+    }
+  }
+
   private final WebServiceClient webServiceClient;
 
   public WSUriStreamParser(WebServiceClient webServiceClient)
@@ -237,6 +262,36 @@ public abstract class WSUriStreamParser<BusinessObjectType, ParameterType, Parse
     }
   }
 
+  /**
+   * Fetches concurrently the business objects corresponding to the provided parameters, through the {@link WSBatchExecutor}, which limits the
+   * number of simultaneous calls per host.
+   * <p>
+   * <p>
+   * The method returns immediately: each business object is retrieved via the {@link #getValue(Object)} method.
+   * </p>
+   *
+   * @param parameters the parameters of the business objects to retrieve
+   * @return a map whose keys are the provided parameters, in the same order, and whose values enable to wait for the corresponding business object
+   * @see WSBatchExecutor#submit(String, Callable)
+   */
+  public final Map<ParameterType, Future<BusinessObjectType>> getValues(Collection<ParameterType> parameters)
+  {
+    final Map<ParameterType, Future<BusinessObjectType>> futures = new LinkedHashMap<>();
+    for (final ParameterType parameter : parameters)
+    {
+      futures.put(parameter, WSBatchExecutor.submit(WSUriStreamParser.computeBatchUrl(computeUri(parameter)), new Callable<BusinessObjectType>()
+      {
+        @Override
+        public BusinessObjectType call()
+            throws WebServiceCaller.CallException
+        {
+          return getValue(parameter);
+        }
+      }));
+    }
+    return futures;
+  }
+
   /**
    * A helper method which just wraps the {@link WebServiceCaller#computeUri(String, String, Map)} method.
    */
@@ -32,6 +32,9 @@ import java.net.URLEncoder;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.regex.Pattern;
+
+import android.util.JsonReader;
 
 import com.smartnsoft.droid4me.log.Logger;
 import com.smartnsoft.droid4me.log.LoggerFactory;
@@ -60,12 +63,30 @@ public abstract class WebServiceCaller
 
     public final InputStream inputStream;
 
+    /**
+     * The exact number of bytes the {@link #inputStream} will deliver, or {@code -1} if unknown.
+     */
+    public final long contentLength;
+
+    /**
+     * Equivalent to calling {@link #MultipartFile(String, String, String, InputStream, long)} with the last parameter set to {@code -1}.
+     */
     public MultipartFile(String name, String fileName, String contentType, InputStream inputStream)
+    {
+      this(name, fileName, contentType, inputStream, -1);
+    }
+
+    /**
+     * @param contentLength the exact number of bytes the {@code inputStream} will deliver, or {@code -1} if unknown. When the length of all the files
+     *                      of a request is known, the request body is streamed with a fixed length, otherwise it is streamed in chunks
+     */
+    public MultipartFile(String name, String fileName, String contentType, InputStream inputStream, long contentLength)
     {
       this.name = name;
       this.fileName = fileName;
       this.contentType = contentType;
       this.inputStream = inputStream;
+      this.contentLength = contentLength;
     }
 
   }
@@ -157,6 +178,23 @@ public abstract class WebServiceCaller
     }
   }
 
+  /**
+   * Creates a pull parser over the provided {@link InputStream}, so that a JSON content can be bound incrementally, in a single pass and without
+   * building an intermediate {@link String}, as opposed to the {@link #getJson(InputStream, String)} method.
+   *
+   * @param inputStream the input stream to parse ; it will be closed when the returned reader is {@link JsonReader#close() closed}
+   * @param encoding    the encoding to use
+   * @return a new reader positioned at the beginning of the JSON content
+   * @throws IOException if the encoding is not supported
+   * @see #getJsonReader(InputStream)
+   * @see JsonWSUriStreamParser
+   */
+  public static JsonReader getJsonReader(InputStream inputStream, String encoding)
+      throws IOException
+  {
+    return new JsonReader(new InputStreamReader(inputStream, encoding));
+  }
+
   /**
    * Computes a URI from its path elements.
    *
@@ -229,8 +267,15 @@ public abstract class WebServiceCaller
     return uri;
   }
 
+  /**
+   * Matches the URI path segments which are identifiers, i.e. numbers or long hexadecimal strings such as UUIDs.
+   */
+  private final static Pattern IDENTIFIER_PATH_SEGMENT_PATTERN = Pattern.compile("(?<=/)([0-9]+|[0-9a-fA-F-]{16,})(?=/|$)");
+
   protected boolean isConnected = true;
 
+  private final WebServiceMetrics metrics = new WebServiceMetrics();
+
   /**
    * Just invokes {@code #computeUri(String, String, Map, boolean)}, with {@code false} as last parameter.
    */
@@ -260,6 +305,41 @@ public abstract class WebServiceCaller
     this.isConnected = isConnected;
   }
 
+  /**
+   * @return the latency, size and error metrics of the HTTP requests run by this instance
+   */
+  public final WebServiceMetrics getMetrics()
+  {
+    return metrics;
+  }
+
+  /**
+   * Computes the template of the provided URI, which identifies its endpoint in the {@link #getMetrics() metrics}. The default implementation
+   * removes the query and the fragment, and replaces the path segments which look like identifiers by {@code {id}}.
+   *
+   * @param uri the URI of an HTTP request
+   * @return the URI template, which is common to all the requests targeting the same endpoint
+   */
+  protected String computeUrlTemplate(String uri)
+  {
+    if (uri == null)
+    {
+      return null;
+    }
+    int endIndex = uri.length();
+    final int queryIndex = uri.indexOf('?');
+    if (queryIndex >= 0)
+    {
+      endIndex = queryIndex;
+    }
+    final int fragmentIndex = uri.indexOf('#');
+    if (fragmentIndex >= 0 && fragmentIndex < endIndex)
+    {
+      endIndex = fragmentIndex;
+    }
+    return WebServiceCaller.IDENTIFIER_PATH_SEGMENT_PATTERN.matcher(uri.substring(0, endIndex)).replaceAll("{id}");
+  }
+
   /**
    * Equivalent to {@code WebServiceCaller.getString(inputStream, getContentEncoding())}.
    *
@@ -285,6 +365,17 @@ public abstract class WebServiceCaller
     return WebServiceCaller.getJson(inputStream, getContentEncoding());
   }
 
+  /**
+   * Equivalent to {@code WebServiceCaller.getJsonReader(inputStream, getContentEncoding())}.
+   *
+   * @see #getJsonReader(InputStream, String)
+   */
+  public final JsonReader getJsonReader(InputStream inputStream)
+      throws IOException
+  {
+    return WebServiceCaller.getJsonReader(inputStream, getContentEncoding());
+  }
+
   /**
    * Just invokes {@code #encodeUri(String, String, Map, boolean, String)}, with {@code #getUrlEncoding()} as last parameter.
    */
@@ -0,0 +1,353 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017 Smart&Soft
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.smartnsoft.droid4me.ws;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Gathers the latency, size and error metrics of the HTTP requests run by a {@link WebServiceCaller}, per {@link WebServiceClient.CallType HTTP
+ * method} and URL template.
+ * <p>
+ * <p>
+ * Every request produces a {@link WebServiceMetrics.Sample}, which is delivered to the registered {@link WebServiceMetrics.Listener listeners} and
+ * aggregated, so that the per-endpoint statistics can be retrieved at any time through the {@link #getSnapshot()} method.
+ * </p>
+ *
+ * @see WebServiceCaller#getMetrics()
+ * @since 2026.10.18
+ */
+public final class WebServiceMetrics
+{
+
+  /**
+   * The measures of a single HTTP request, including its retries.
+   */
+  public static final class Sample
+  {
+
+    public final WebServiceClient.Verb verb;
+
+    /**
+     * The URL template of the request, as computed by the {@link WebServiceCaller#computeUrlTemplate(String)} method.
+     */
+    public final String urlTemplate;
+
+    /**
+     * The status code of the response, or {@code -1} if no response has been received.
+     */
+    public final int statusCode;
+
+    /**
+     * The number of times the request has been run again.
+     */
+    public final int retriesCount;
+
+    /**
+     * The duration of the host name resolution, of the connection and of the request body upload, for the last attempt, or {@code -1} if unknown.
+     */
+    public final long connectDurationInMilliseconds;
+
+    /**
+     * The duration between the beginning of the last attempt and the reception of the response status line, or {@code -1} if unknown.
+     */
+    public final long timeToFirstByteInMilliseconds;
+
+    /**
+     * The duration of the whole request, including its retries and the reading of its response body.
+     */
+    public final long totalDurationInMilliseconds;
+
+    /**
+     * The size of the request body, or {@code -1} if unknown.
+     */
+    public final long requestBytesCount;
+
+    /**
+     * The size of the response body as transferred on the network, or {@code -1} if unknown.
+     */
+    public final long responseCompressedBytesCount;
+
+    /**
+     * The size of the response body once decoded, or {@code -1} if unknown.
+     */
+    public final long responseUncompressedBytesCount;
+
+    public Sample(WebServiceClient.Verb verb, String urlTemplate, int statusCode, int retriesCount,
+        long connectDurationInMilliseconds, long timeToFirstByteInMilliseconds, long totalDurationInMilliseconds,
+        long requestBytesCount, long responseCompressedBytesCount, long responseUncompressedBytesCount)
+    {
+      this.verb = verb;
+      this.urlTemplate = urlTemplate;
+      this.statusCode = statusCode;
+      this.retriesCount = retriesCount;
+      this.connectDurationInMilliseconds = connectDurationInMilliseconds;
+      this.timeToFirstByteInMilliseconds = timeToFirstByteInMilliseconds;
+      this.totalDurationInMilliseconds = totalDurationInMilliseconds;
+      this.requestBytesCount = requestBytesCount;
+      this.responseCompressedBytesCount = responseCompressedBytesCount;
+      this.responseUncompressedBytesCount = responseUncompressedBytesCount;
+    }
+
+    /**
+     * @return {@code true} if and only if no response has been received, or if its status code is not {@code 2XX}
+     */
+    public boolean isFailure()
+    {
+      return statusCode < 200 || statusCode >= 300;
+    }
+
+    @Override
+    public String toString()
+    {
+      return "(" + verb + ") " + urlTemplate + ": " + statusCode + " in " + totalDurationInMilliseconds + " ms (connect " + connectDurationInMilliseconds + " ms, first byte " + timeToFirstByteInMilliseconds + " ms), " + requestBytesCount + " bytes sent, " + responseCompressedBytesCount + "/" + responseUncompressedBytesCount + " bytes received, " + retriesCount + " retries";
+    }
+
+  }
+
+  /**
+   * The aggregated statistics of an endpoint, i.e. an HTTP method and a URL template.
+   */
+  public static final class EndpointStats
+  {
+
+    public final WebServiceClient.Verb verb;
+
+    public final String urlTemplate;
+
+    public final int callsCount;
+
+    /**
+     * The number of calls which did not receive a response, or whose status code is not {@code 2XX}.
+     */
+    public final int failuresCount;
+
+    public final int retriesCount;
+
+    /**
+     * The number of calls per response status code, {@code -1} standing for the calls which did not receive any response.
+     */
+    public final Map<Integer, Integer> statusCodesCount;
+
+    public final long connectDurationSumInMilliseconds;
+
+    public final long timeToFirstByteSumInMilliseconds;
+
+    public final long totalDurationSumInMilliseconds;
+
+    public final long totalDurationMaximumInMilliseconds;
+
+    public final long requestBytesSum;
+
+    public final long responseCompressedBytesSum;
+
+    public final long responseUncompressedBytesSum;
+
+    EndpointStats(WebServiceClient.Verb verb, String urlTemplate, int callsCount, int failuresCount, int retriesCount,
+        Map<Integer, Integer> statusCodesCount, long connectDurationSumInMilliseconds,
+        long timeToFirstByteSumInMilliseconds, long totalDurationSumInMilliseconds,
+        long totalDurationMaximumInMilliseconds, long requestBytesSum, long responseCompressedBytesSum,
+        long responseUncompressedBytesSum)
+    {
+      this.verb = verb;
+      this.urlTemplate = urlTemplate;
+      this.callsCount = callsCount;
+      this.failuresCount = failuresCount;
+      this.retriesCount = retriesCount;
+      this.statusCodesCount = statusCodesCount;
+      this.connectDurationSumInMilliseconds = connectDurationSumInMilliseconds;
+      this.timeToFirstByteSumInMilliseconds = timeToFirstByteSumInMilliseconds;
+      this.totalDurationSumInMilliseconds = totalDurationSumInMilliseconds;
+      this.totalDurationMaximumInMilliseconds = totalDurationMaximumInMilliseconds;
+      this.requestBytesSum = requestBytesSum;
+      this.responseCompressedBytesSum = responseCompressedBytesSum;
+      this.responseUncompressedBytesSum = responseUncompressedBytesSum;
+    }
+
+    public long getAverageTotalDurationInMilliseconds()
+    {
+      return callsCount == 0 ? 0 : totalDurationSumInMilliseconds / callsCount;
+    }
+
+    public long getAverageTimeToFirstByteInMilliseconds()
+    {
+      return callsCount == 0 ? 0 : timeToFirstByteSumInMilliseconds / callsCount;
+    }
+
+    public long getAverageConnectDurationInMilliseconds()
+    {
+      return callsCount == 0 ? 0 : connectDurationSumInMilliseconds / callsCount;
+    }
+
+    @Override
+    public String toString()
+    {
+      return "(" + verb + ") " + urlTemplate + ": " + callsCount + " calls, " + failuresCount + " failures, " + retriesCount + " retries, average " + getAverageTotalDurationInMilliseconds() + " ms (maximum " + totalDurationMaximumInMilliseconds + " ms, first byte " + getAverageTimeToFirstByteInMilliseconds() + " ms), " + requestBytesSum + " bytes sent, " + responseCompressedBytesSum + "/" + responseUncompressedBytesSum + " bytes received, status codes " + statusCodesCount;
+    }
+
+  }
+
+  /**
+   * Notified every time an HTTP request is over.
+   */
+  public interface Listener
+  {
+
+    /**
+     * Invoked from the thread which ran the request, hence the implementation should be fast.
+     *
+     * @param sample the measures of the request
+     */
+    void onSample(WebServiceMetrics.Sample sample);
+
+  }
+
+  private static final class Aggregate
+  {
+
+    private final WebServiceClient.Verb verb;
+
+    private final String urlTemplate;
+
+    private final Map<Integer, Integer> statusCodesCount = new HashMap<>();
+
+    private int callsCount;
+
+    private int failuresCount;
+
+    private int retriesCount;
+
+    private long connectDurationSumInMilliseconds;
+
+    private long timeToFirstByteSumInMilliseconds;
+
+    private long totalDurationSumInMilliseconds;
+
+    private long totalDurationMaximumInMilliseconds;
+
+    private long requestBytesSum;
+
+    private long responseCompressedBytesSum;
+
+    private long responseUncompressedBytesSum;
+
+    Aggregate(WebServiceClient.Verb verb, String urlTemplate)
+    {
+      this.verb = verb;
+      this.urlTemplate = urlTemplate;
+    }
+
+    synchronized void add(WebServiceMetrics.Sample sample)
+    {
+      callsCount++;
+      if (sample.isFailure() == true)
+      {
+        failuresCount++;
+      }
+      retriesCount += sample.retriesCount;
+      final Integer statusCodeCount = statusCodesCount.get(sample.statusCode);
+      statusCodesCount.put(sample.statusCode, statusCodeCount == null ? 1 : statusCodeCount + 1);
+      connectDurationSumInMilliseconds += Math.max(0, sample.connectDurationInMilliseconds);
+      timeToFirstByteSumInMilliseconds += Math.max(0, sample.timeToFirstByteInMilliseconds);
+      totalDurationSumInMilliseconds += sample.totalDurationInMilliseconds;
+      totalDurationMaximumInMilliseconds = Math.max(totalDurationMaximumInMilliseconds, sample.totalDurationInMilliseconds);
+      requestBytesSum += Math.max(0, sample.requestBytesCount);
+      responseCompressedBytesSum += Math.max(0, sample.responseCompressedBytesCount);
+      responseUncompressedBytesSum += Math.max(0, sample.responseUncompressedBytesCount);
+    }
+
+    synchronized WebServiceMetrics.EndpointStats snapshot()
+    {
+      return new WebServiceMetrics.EndpointStats(verb, urlTemplate, callsCount, failuresCount, retriesCount, Collections.unmodifiableMap(new HashMap<>(statusCodesCount)), connectDurationSumInMilliseconds, timeToFirstByteSumInMilliseconds, totalDurationSumInMilliseconds, totalDurationMaximumInMilliseconds, requestBytesSum, responseCompressedBytesSum, responseUncompressedBytesSum);
+    }
+
+  }
+
+  private final ConcurrentHashMap<String, WebServiceMetrics.Aggregate> aggregates = new ConcurrentHashMap<>();
+
+  private final List<WebServiceMetrics.Listener> listeners = new CopyOnWriteArrayList<>();
+
+  WebServiceMetrics()
+  {
+  }
+
+  public void addListener(WebServiceMetrics.Listener listener)
+  {
+    listeners.add(listener);
+  }
+
+  public void removeListener(WebServiceMetrics.Listener listener)
+  {
+    listeners.remove(listener);
+  }
+
+  /**
+   * @return the statistics of every endpoint which has been called since the creation of the instance or its last {@link #reset()}, indexed by
+   * {@code "<HTTP method> <URL template>"}
+   */
+  public Map<String, WebServiceMetrics.EndpointStats> getSnapshot()
+  {
+    final Map<String, WebServiceMetrics.EndpointStats> snapshot = new HashMap<>();
+    for (Map.Entry<String, WebServiceMetrics.Aggregate> entry : aggregates.entrySet())
+    {
+      snapshot.put(entry.getKey(), entry.getValue().snapshot());
+    }
+    return snapshot;
+  }
+
+  /**
+   * Forgets all the statistics gathered so far.
+   */
+  public void reset()
+  {
+    aggregates.clear();
+  }
+
+  /**
+   * Aggregates the provided sample and notifies the listeners.
+   */
+  public void record(WebServiceMetrics.Sample sample)
+  {
+    final String key = sample.verb + " " + sample.urlTemplate;
+    WebServiceMetrics.Aggregate aggregate = aggregates.get(key);
+    if (aggregate == null)
+    {
+      final WebServiceMetrics.Aggregate newAggregate = new WebServiceMetrics.Aggregate(sample.verb, sample.urlTemplate);
+      aggregate = aggregates.putIfAbsent(key, newAggregate);
+      if (aggregate == null)
+      {
+        aggregate = newAggregate;
+      }
+    }
+    aggregate.add(sample);
+    for (WebServiceMetrics.Listener listener : listeners)
+    {
+      listener.onSample(sample);
+    }
+  }
+
+}
@@ -22,9 +22,16 @@
 
 package com.smartnsoft.droid4me.wscache;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
 import com.smartnsoft.droid4me.bo.Business.IOStreamer;
 import com.smartnsoft.droid4me.cache.Cacher;
 import com.smartnsoft.droid4me.cache.Values;
+import com.smartnsoft.droid4me.ws.WSBatchExecutor;
 import com.smartnsoft.droid4me.ws.WSUriStreamParser;
 import com.smartnsoft.droid4me.ws.WebServiceClient;
 import com.smartnsoft.droid4me.ws.WebServiceClient.CallException;
@@ -66,6 +73,40 @@ public final class BackedWSUriStreamParser
       backed = new Values.BackedCachedMap<>(cacher);
     }
 
+    /**
+     * Loads concurrently in the {@link #backed} memory cache the business objects corresponding to the provided parameters, through the
+     * {@link WSBatchExecutor}, which limits the number of simultaneous calls per host. Once a business object is loaded, a later
+     * {@link Values.BackedCachedMap#getValue(boolean, Values.CachingEvent, Object)} call for its parameter will be served from memory.
+     * <p>
+     * <p>
+     * The method returns immediately: each business object is retrieved via the
+     * {@link Values.BackedCachedMap#getValue(boolean, boolean, Values.CachingEvent, Object)} method, with the {@code fromMemory} parameter set to
+     * {@code true}.
+     * </p>
+     *
+     * @param parameters the parameters of the business objects to load
+     * @param fromCache  whether the business objects may be taken from the persistence layer
+     * @return a map whose keys are the provided parameters, in the same order, and whose values enable to wait for the corresponding business object
+     */
+    public final Map<ParameterType, Future<BusinessObjectType>> prefetch(Collection<ParameterType> parameters,
+        final boolean fromCache)
+    {
+      final Map<ParameterType, Future<BusinessObjectType>> futures = new LinkedHashMap<>();
+      for (final ParameterType parameter : parameters)
+      {
+        futures.put(parameter, WSBatchExecutor.submit(WSUriStreamParser.computeBatchUrl(computeUri(parameter)), new Callable<BusinessObjectType>()
+        {
+          @Override
+          public BusinessObjectType call()
+              throws Values.CacheException
+          {
+            return backed.getValue(true, fromCache, null, parameter);
+          }
+        }));
+      }
+      return futures;
+    }
+
   }
 
 }
@@ -0,0 +1,280 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017 Smart&Soft
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.smartnsoft.droid4me.app.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.smartnsoft.droid4me.app.AppInternals;
+import com.smartnsoft.droid4me.test.BasisTests;
+
+import junit.framework.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the {@link AppInternals.RefreshScheduler} and the {@link AppInternals.RefreshRequest} merging.
+ *
+ * @since 2026.10.18
+ */
+public final class RefreshSchedulerTest
+    extends BasisTests
+{
+
+  /**
+   * A timer whose time only goes by when the test says so.
+   */
+  private static final class ManualTimer
+      implements AppInternals.RefreshScheduler.Timer
+  {
+
+    private final Map<Runnable, Long> postedRunnables = new HashMap<>();
+
+    private long now = 10000;
+
+    @Override
+    public long uptimeMillis()
+    {
+      return now;
+    }
+
+    @Override
+    public void postAtTime(Runnable runnable, long uptimeMillis)
+    {
+      postedRunnables.put(runnable, uptimeMillis);
+    }
+
+    @Override
+    public void removeCallbacks(Runnable runnable)
+    {
+      postedRunnables.remove(runnable);
+    }
+
+    /**
+     * Makes the time go by, and runs the runnables which are due.
+     */
+    public void advance(long durationInMilliseconds)
+    {
+      now += durationInMilliseconds;
+      for (Map.Entry<Runnable, Long> entry : new ArrayList<>(postedRunnables.entrySet()))
+      {
+        if (entry.getValue() <= now && postedRunnables.remove(entry.getKey()) != null)
+        {
+          entry.getKey().run();
+        }
+      }
+    }
+
+  }
+
+  private static final class RecordingListener
+      implements AppInternals.RefreshScheduler.Listener
+  {
+
+    private final List<AppInternals.RefreshRequest> requests = new ArrayList<>();
+
+    @Override
+    public void onRefreshDue(AppInternals.RefreshRequest request)
+    {
+      requests.add(request);
+    }
+
+  }
+
+  private static final class RecordingRunnable
+      implements Runnable
+  {
+
+    private final List<Integer> runIndexes;
+
+    private final int index;
+
+    private RecordingRunnable(List<Integer> runIndexes, int index)
+    {
+      this.runIndexes = runIndexes;
+      this.index = index;
+    }
+
+    @Override
+    public void run()
+    {
+      runIndexes.add(index);
+    }
+
+  }
+
+  private final ManualTimer timer = new ManualTimer();
+
+  private final RecordingListener listener = new RecordingListener();
+
+  @Test
+  public void mergeFlags()
+  {
+    final List<Integer> runIndexes = new ArrayList<>();
+    final AppInternals.RefreshRequest first = AppInternals.RefreshRequest.merge(null, false, null, false);
+    Assert.assertFalse("The first request should not retrieve the business objects", first.retrieveBusinessObjects);
+    Assert.assertFalse("The first request should not be immediate", first.immediately);
+    Assert.assertNull("The first request should have no callback", first.onOver);
+
+    final Runnable onOver = new RecordingRunnable(runIndexes, 1);
+    final AppInternals.RefreshRequest second = AppInternals.RefreshRequest.merge(first, true, onOver, false);
+    Assert.assertTrue("The merged request should retrieve the business objects as soon as one request asks for it", second.retrieveBusinessObjects);
+    Assert.assertFalse("The merged request should not be immediate", second.immediately);
+    Assert.assertSame("The only callback should be kept as is", onOver, second.onOver);
+
+    final AppInternals.RefreshRequest third = AppInternals.RefreshRequest.merge(second, false, null, true);
+    Assert.assertTrue("The merged request should still retrieve the business objects", third.retrieveBusinessObjects);
+    Assert.assertTrue("The merged request should be immediate as soon as one request is", third.immediately);
+    Assert.assertSame("A missing callback should not replace the previous one", onOver, third.onOver);
+
+    final AppInternals.RefreshRequest fourth = AppInternals.RefreshRequest.merge(third, false, new RecordingRunnable(runIndexes, 2), false);
+    fourth.onOver.run();
+    Assert.assertEquals("Both callbacks should have been run, in the order of the requests", Arrays.asList(1, 2), runIndexes);
+  }
+
+  @Test
+  public void mergedCallbacksSurviveFailure()
+  {
+    final List<Integer> runIndexes = new ArrayList<>();
+    final AppInternals.RefreshRequest request = AppInternals.RefreshRequest.merge(AppInternals.RefreshRequest.merge(null, false, new Runnable()
+    {
+      @Override
+      public void run()
+      {
+        throw new IllegalStateException();
+      }
+    }, false), false, new RecordingRunnable(runIndexes, 1), false);
+    try
+    {
+      request.onOver.run();
+      Assert.fail("The failure of the first callback should be propagated");
+    }
+    catch (IllegalStateException exception)
+    {
+      // This is expected
+    }
+    Assert.assertEquals("The second callback should have been run despite the failure of the first one", Arrays.asList(1), runIndexes);
+  }
+
+  @Test
+  public void burstResultsInSingleRefresh()
+  {
+    final AppInternals.RefreshScheduler scheduler = new AppInternals.RefreshScheduler(100, 0, timer, listener);
+    final List<Integer> runIndexes = new ArrayList<>();
+    final int requestsCount = 20;
+    for (int index = 0; index < requestsCount; index++)
+    {
+      Assert.assertTrue("The request #" + index + " should have been postponed", scheduler.schedule(index == 7, new RecordingRunnable(runIndexes, index), false));
+      timer.advance(10);
+    }
+    Assert.assertEquals("No refresh should have been run during the burst", 0, listener.requests.size());
+
+    timer.advance(1000);
+    Assert.assertEquals("The burst should result in a single refresh", 1, listener.requests.size());
+    final AppInternals.RefreshRequest request = listener.requests.get(0);
+    Assert.assertTrue("The refresh should retrieve the business objects, since one request asked for it", request.retrieveBusinessObjects);
+    Assert.assertFalse("The refresh should not be immediate", request.immediately);
+    request.onOver.run();
+    final List<Integer> expectedIndexes = new ArrayList<>();
+    for (int index = 0; index < requestsCount; index++)
+    {
+      expectedIndexes.add(index);
+    }
+    Assert.assertEquals("All the callbacks should have been run, in the order of the requests", expectedIndexes, runIndexes);
+  }
+
+  @Test
+  public void trailingEdge()
+  {
+    final AppInternals.RefreshScheduler scheduler = new AppInternals.RefreshScheduler(100, 0, timer, listener);
+    Assert.assertTrue("The first request should have been postponed", scheduler.schedule(true, null, false));
+    timer.advance(80);
+    Assert.assertTrue("The second request should have been postponed", scheduler.schedule(false, null, false));
+    timer.advance(99);
+    Assert.assertEquals("The debounce window should have been restarted by the second request", 0, listener.requests.size());
+    timer.advance(1);
+    Assert.assertEquals("The refresh should be run once the debounce window following the last request is over", 1, listener.requests.size());
+    timer.advance(1000);
+    Assert.assertEquals("The refresh should have been run only once", 1, listener.requests.size());
+  }
+
+  @Test
+  public void throttle()
+  {
+    final AppInternals.RefreshScheduler scheduler = new AppInternals.RefreshScheduler(0, 500, timer, listener);
+    scheduler.onRefreshStarted();
+    timer.advance(100);
+    Assert.assertTrue("A request within the throttle window should have been postponed", scheduler.schedule(false, null, false));
+    timer.advance(399);
+    Assert.assertEquals("The refresh should wait for the end of the throttle window", 0, listener.requests.size());
+    timer.advance(1);
+    Assert.assertEquals("The refresh should be run at the end of the throttle window", 1, listener.requests.size());
+
+    scheduler.onRefreshStarted();
+    timer.advance(500);
+    Assert.assertFalse("A request after the throttle window should be run right now", scheduler.schedule(false, null, false));
+  }
+
+  @Test
+  public void dueRefreshIsNotPostponedAgain()
+  {
+    final boolean[] postponed = new boolean[1];
+    final AppInternals.RefreshScheduler[] scheduler = new AppInternals.RefreshScheduler[1];
+    scheduler[0] = new AppInternals.RefreshScheduler(100, 0, timer, new AppInternals.RefreshScheduler.Listener()
+    {
+      @Override
+      public void onRefreshDue(AppInternals.RefreshRequest request)
+      {
+        // The entity runs the refresh, which asks the scheduler again
+        postponed[0] = scheduler[0].schedule(request.retrieveBusinessObjects, request.onOver, request.immediately);
+        listener.onRefreshDue(request);
+      }
+    });
+    Assert.assertTrue("The request should have been postponed", scheduler[0].schedule(true, null, false));
+    timer.advance(100);
+    Assert.assertEquals("The refresh should have been run", 1, listener.requests.size());
+    Assert.assertFalse("The due refresh should not have been postponed again", postponed[0]);
+  }
+
+  @Test
+  public void cancel()
+  {
+    final AppInternals.RefreshScheduler scheduler = new AppInternals.RefreshScheduler(100, 0, timer, listener);
+    Assert.assertTrue("The request should have been postponed", scheduler.schedule(true, null, false));
+    scheduler.cancel();
+    timer.advance(1000);
+    Assert.assertEquals("The cancelled refresh should not have been run", 0, listener.requests.size());
+  }
+
+  @Test
+  public void disabled()
+  {
+    final AppInternals.RefreshScheduler scheduler = new AppInternals.RefreshScheduler(0, 0, timer, listener);
+    Assert.assertFalse("Without any debounce or throttle window, the requests should be run right now", scheduler.schedule(true, null, false));
+    timer.advance(1000);
+    Assert.assertEquals("No refresh should have been scheduled", 0, listener.requests.size());
+  }
+
+}
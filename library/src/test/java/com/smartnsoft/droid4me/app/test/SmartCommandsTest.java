@@ -0,0 +1,209 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017 Smart&Soft
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+
+package com.smartnsoft.droid4me.app.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.smartnsoft.droid4me.app.SmartCommands;
+import com.smartnsoft.droid4me.concurrent.SmartExecutors;
+import com.smartnsoft.droid4me.test.BasisTests;
+
+import junit.framework.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the {@link SmartCommands.SmartThreadPoolExecutor} with a {@link SmartCommands.PriorityWorkQueue}.
+ *
+ * @since 2026.10.18
+ */
+public final class SmartCommandsTest
+    extends BasisTests
+{
+
+  private static class Command
+      implements SmartCommands.SchedulableCommand
+  {
+
+    private final String name;
+
+    private final SmartCommands.Priority priority;
+
+    private final List<String> runNames;
+
+    private final AtomicBoolean expired = new AtomicBoolean();
+
+    private Command(String name, SmartCommands.Priority priority, List<String> runNames)
+    {
+      this.name = name;
+      this.priority = priority;
+      this.runNames = runNames;
+    }
+
+    @Override
+    public SmartCommands.Priority getPriority()
+    {
+      return priority;
+    }
+
+    @Override
+    public boolean isExpired()
+    {
+      return false;
+    }
+
+    @Override
+    public void onExpired()
+    {
+      expired.set(true);
+    }
+
+    @Override
+    public void run()
+    {
+      runNames.add(name);
+    }
+
+  }
+
+  private static SmartCommands.SmartThreadPoolExecutor newExecutor(int capacity)
+  {
+    return new SmartCommands.SmartThreadPoolExecutor("test", SmartExecutors.Lane.Io, 1, 1, 10, TimeUnit.SECONDS, new SmartCommands.PriorityWorkQueue(capacity), SmartExecutors.newThreadFactory("test", Thread.NORM_PRIORITY), new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  /**
+   * Occupies the single thread of the executor until the returned latch is released.
+   */
+  private static CountDownLatch block(SmartCommands.SmartThreadPoolExecutor executor)
+      throws InterruptedException
+  {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch latch = new CountDownLatch(1);
+    executor.execute(new Runnable()
+    {
+      @Override
+      public void run()
+      {
+        started.countDown();
+        try
+        {
+          latch.await();
+        }
+        catch (InterruptedException exception)
+        {
+          // Does not matter
+        }
+      }
+    });
+    started.await();
+    return latch;
+  }
+
+  @Test
+  public void highestPriorityFirst()
+      throws InterruptedException
+  {
+    final SmartCommands.SmartThreadPoolExecutor executor = SmartCommandsTest.newExecutor(16);
+    try
+    {
+      final List<String> runNames = Collections.synchronizedList(new ArrayList<String>());
+      final CountDownLatch latch = SmartCommandsTest.block(executor);
+      executor.execute(new Command("low1", SmartCommands.Priority.Low, runNames));
+      executor.execute(new Command("normal", SmartCommands.Priority.Normal, runNames));
+      executor.execute(new Command("high1", SmartCommands.Priority.High, runNames));
+      executor.execute(new Command("low2", SmartCommands.Priority.Low, runNames));
+      executor.execute(new Command("high2", SmartCommands.Priority.High, runNames));
+      Thread.sleep(50);
+      latch.countDown();
+      executor.shutdown();
+      executor.awaitTermination(5, TimeUnit.SECONDS);
+
+      Assert.assertEquals("The commands should have been run by priority, and then in their submission order", "[high1, high2, normal, low1, low2]", runNames.toString());
+      Assert.assertTrue("The high priority commands should have waited less than the low priority ones", executor.getAverageQueueWaitInNanoseconds(SmartCommands.Priority.High) < executor.getAverageQueueWaitInNanoseconds(SmartCommands.Priority.Low));
+      Assert.assertTrue("The maximum wait should have been measured", executor.getMaximumQueueWaitInNanoseconds(SmartCommands.Priority.Low) >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+    finally
+    {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void expiredCommandsAreDropped()
+      throws InterruptedException
+  {
+    final SmartCommands.SmartThreadPoolExecutor executor = SmartCommandsTest.newExecutor(16);
+    try
+    {
+      final List<String> runNames = Collections.synchronizedList(new ArrayList<String>());
+      final CountDownLatch latch = SmartCommandsTest.block(executor);
+      final Command expiredCommand = new Command("expired", SmartCommands.Priority.High, runNames)
+      {
+        @Override
+        public boolean isExpired()
+        {
+          return true;
+        }
+      };
+      executor.execute(expiredCommand);
+      executor.execute(new Command("valid", SmartCommands.Priority.Low, runNames));
+      latch.countDown();
+      executor.shutdown();
+      executor.awaitTermination(5, TimeUnit.SECONDS);
+
+      Assert.assertEquals("Only the valid command should have been run", "[valid]", runNames.toString());
+      Assert.assertEquals("The expired command should have been counted", 1, executor.getExpiredCount());
+      Assert.assertTrue("The expired command should have been notified", expiredCommand.expired.get());
+    }
+    finally
+    {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void queueIsBounded()
+  {
+    final SmartCommands.PriorityWorkQueue queue = new SmartCommands.PriorityWorkQueue(2);
+    final List<String> runNames = new ArrayList<>();
+
+    Assert.assertTrue("The queue should accept commands", queue.offer(new Command("first", SmartCommands.Priority.Low, runNames)));
+    Assert.assertTrue("The queue should accept commands", queue.offer(new Command("second", SmartCommands.Priority.High, runNames)));
+    Assert.assertFalse("The queue should not exceed its capacity", queue.offer(new Command("third", SmartCommands.Priority.High, runNames)));
+    Assert.assertEquals("The queue should have no remaining capacity", 0, queue.remainingCapacity());
+    Assert.assertEquals("The highest priority command should be handed out first", "second", ((Command) queue.poll()).name);
+  }
+
+  @Test
+  public void lowPriorityPoolQueueIsNotBoundedByTheLane()
+  {
+    Assert.assertTrue("The low-priority pool should accept more commands than the lane capacity", SmartCommands.LOW_PRIORITY_THREAD_POOL.getQueue().remainingCapacity() > SmartExecutors.getLaneSettings(SmartExecutors.Lane.Io).queueCapacity);
+  }
+
+}
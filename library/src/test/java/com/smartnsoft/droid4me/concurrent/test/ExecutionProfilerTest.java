@@ -0,0 +1,151 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017 Smart&Soft
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+
+package com.smartnsoft.droid4me.concurrent.test;
+
+import java.util.List;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import com.smartnsoft.droid4me.concurrent.ExecutionProfiler;
+import com.smartnsoft.droid4me.concurrent.SmartExecutors;
+import com.smartnsoft.droid4me.test.BasisTests;
+
+import junit.framework.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ExecutionProfiler}.
+ *
+ * @since 2026.10.18
+ */
+public final class ExecutionProfilerTest
+    extends BasisTests
+{
+
+  private static final class SlowCommand
+      implements Runnable
+  {
+
+    @Override
+    public void run()
+    {
+      try
+      {
+        Thread.sleep(30);
+      }
+      catch (InterruptedException exception)
+      {
+        // Does not matter
+      }
+    }
+
+  }
+
+  private static final class FailingCommand
+      implements Runnable
+  {
+
+    @Override
+    public void run()
+    {
+      throw new IllegalStateException("Expected failure");
+    }
+
+  }
+
+  private static ExecutionProfiler.CommandProfile findProfile(List<ExecutionProfiler.CommandProfile> profiles, Class<?> commandClass)
+  {
+    for (ExecutionProfiler.CommandProfile profile : profiles)
+    {
+      if (profile.commandClassName.equals(commandClass.getName()) == true)
+      {
+        return profile;
+      }
+    }
+    return null;
+  }
+
+  @Test
+  public void profilesPerCommandClass()
+      throws InterruptedException
+  {
+    ExecutionProfiler.getInstance().clear();
+    final SmartExecutors.InstrumentedThreadPoolExecutor executor = SmartExecutors.newExecutor("profiled", SmartExecutors.Lane.Io, 1, null, null);
+    try
+    {
+      executor.execute(new SlowCommand());
+      executor.execute(new SlowCommand());
+      // The failure is caught by the future, and the wrapped command is profiled instead of the wrapper
+      executor.execute(new SmartExecutors.OwnedFutureTask(new SmartExecutors.CommandsOwner()
+      {
+        @Override
+        public boolean isAcceptingCommands()
+        {
+          return true;
+        }
+      }, new FailingCommand()));
+      executor.execute(new FutureTask<Void>(new SlowCommand(), null));
+      executor.shutdown();
+      executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+    finally
+    {
+      executor.shutdownNow();
+    }
+    final List<ExecutionProfiler.CommandProfile> profiles = ExecutionProfiler.getInstance().getSlowestProfiles(10);
+
+    final ExecutionProfiler.CommandProfile slowProfile = ExecutionProfilerTest.findProfile(profiles, SlowCommand.class);
+    Assert.assertNotNull("The slow commands should have been profiled", slowProfile);
+    Assert.assertEquals("Both slow commands should have been counted", 2, slowProfile.run.count);
+    Assert.assertEquals("The slow commands should not have failed", 0, slowProfile.failedCount);
+    Assert.assertTrue("The run duration should have been measured", slowProfile.run.getAverageInNanoseconds() >= TimeUnit.MILLISECONDS.toNanos(25));
+    Assert.assertTrue("The second command should have waited for the first one", slowProfile.queueWait.maximumInNanoseconds >= TimeUnit.MILLISECONDS.toNanos(25));
+    Assert.assertTrue("The percentile should be bounded by the maximum", slowProfile.run.getPercentileInNanoseconds(95) <= slowProfile.run.maximumInNanoseconds);
+
+    final ExecutionProfiler.CommandProfile failingProfile = ExecutionProfilerTest.findProfile(profiles, FailingCommand.class);
+    Assert.assertNotNull("The failing command should have been profiled through its wrapper", failingProfile);
+    Assert.assertEquals("The failure should have been counted", 1, failingProfile.failedCount);
+
+    Assert.assertNotNull("The unknown wrappers should be profiled as such", ExecutionProfilerTest.findProfile(profiles, FutureTask.class));
+    Assert.assertTrue("The slowest commands should come first", profiles.get(0).run.maximumInNanoseconds >= profiles.get(profiles.size() - 1).run.maximumInNanoseconds);
+  }
+
+  @Test
+  public void histogramPercentiles()
+  {
+    ExecutionProfiler.getInstance().clear();
+    for (int index = 1; index <= 100; index++)
+    {
+      ExecutionProfiler.getInstance().record(ExecutionProfilerTest.class, 0, TimeUnit.MILLISECONDS.toNanos(index), index % 10 == 0);
+    }
+    final ExecutionProfiler.CommandProfile profile = ExecutionProfiler.getInstance().getProfiles().get(0);
+
+    Assert.assertEquals("All the executions should have been counted", 100, profile.run.count);
+    Assert.assertEquals("The failures should have been counted", 10, profile.failedCount);
+    Assert.assertEquals("The maximum should be exact", TimeUnit.MILLISECONDS.toNanos(100), profile.run.maximumInNanoseconds);
+    final long median = profile.run.getPercentileInNanoseconds(50);
+    Assert.assertTrue("The median should be accurate up to a factor of two, but is " + median, median >= TimeUnit.MILLISECONDS.toNanos(50) && median <= TimeUnit.MILLISECONDS.toNanos(100));
+  }
+
+}
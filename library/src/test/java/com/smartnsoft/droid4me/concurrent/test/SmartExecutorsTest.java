@@ -0,0 +1,318 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017 Smart&Soft
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.smartnsoft.droid4me.concurrent.test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.smartnsoft.droid4me.concurrent.SmartExecutors;
+import com.smartnsoft.droid4me.test.BasisTests;
+
+import junit.framework.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the {@link SmartExecutors} registry.
+ *
+ * @since 2026.10.18
+ */
+public final class SmartExecutorsTest
+    extends BasisTests
+{
+
+  private static final class Owner
+      implements SmartExecutors.CommandsOwner
+  {
+
+    private volatile boolean alive = true;
+
+    @Override
+    public boolean isAcceptingCommands()
+    {
+      return alive;
+    }
+
+  }
+
+  @Test
+  public void laneBoundsThreadsCount()
+  {
+    final SmartExecutors.InstrumentedThreadPoolExecutor executor = SmartExecutors.newExecutor("bounded", SmartExecutors.Lane.Cpu, Integer.MAX_VALUE, null, null);
+    try
+    {
+      Assert.assertEquals("The threads count should be bounded by the lane settings", SmartExecutors.getLaneSettings(SmartExecutors.Lane.Cpu).maximumThreadsCount, executor.getMaximumPoolSize());
+      Assert.assertFalse("The executors configuration should be ignored once one of them has been created", SmartExecutors.configure(SmartExecutors.Configuration.newDefault()));
+    }
+    finally
+    {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void metrics()
+      throws InterruptedException
+  {
+    final SmartExecutors.InstrumentedThreadPoolExecutor executor = SmartExecutors.newExecutor("metrics", SmartExecutors.Lane.Io, 2, null, null);
+    final int commandsCount = 20;
+    final CountDownLatch latch = new CountDownLatch(commandsCount);
+    for (int index = 0; index < commandsCount; index++)
+    {
+      executor.execute(new Runnable()
+      {
+        @Override
+        public void run()
+        {
+          try
+          {
+            Thread.sleep(10);
+          }
+          catch (InterruptedException exception)
+          {
+            // Does not matter
+          }
+          latch.countDown();
+        }
+      });
+    }
+    Assert.assertTrue("All the commands should have been run", latch.await(5, TimeUnit.SECONDS));
+    executor.shutdown();
+    Assert.assertTrue("The executor should terminate", executor.awaitTermination(5, TimeUnit.SECONDS));
+
+    final SmartExecutors.Metrics metrics = executor.getMetrics();
+    Assert.assertEquals("All the commands should have been submitted", commandsCount, metrics.submittedCount);
+    Assert.assertEquals("All the commands should have been completed", commandsCount, metrics.completedCount);
+    Assert.assertEquals("No command should be queued anymore", 0, metrics.queueDepth);
+    Assert.assertTrue("With 2 threads, the last commands should have waited in the queue", metrics.maximumQueueWaitInNanoseconds >= TimeUnit.MILLISECONDS.toNanos(10 * (commandsCount / 2 - 1)));
+    Assert.assertTrue("The commands executions should have been measured", metrics.executionSumInNanoseconds >= TimeUnit.MILLISECONDS.toNanos(10 * commandsCount));
+    Assert.assertTrue("The lane metrics should include the executor ones", SmartExecutors.getMetrics(SmartExecutors.Lane.Io).completedCount >= commandsCount);
+  }
+
+  @Test
+  public void submittedTasksKeepTheirSubmissionTime()
+      throws Exception
+  {
+    final SmartExecutors.InstrumentedThreadPoolExecutor executor = SmartExecutors.newExecutor("timed", SmartExecutors.Lane.Io, 1, null, null);
+    final CountDownLatch latch = new CountDownLatch(1);
+    try
+    {
+      executor.submit(new Runnable()
+      {
+        @Override
+        public void run()
+        {
+          try
+          {
+            latch.await();
+          }
+          catch (InterruptedException exception)
+          {
+            // Does not matter
+          }
+        }
+      });
+      final long beforeInNanoseconds = System.nanoTime();
+      final Future<?> future = executor.submit(new Runnable()
+      {
+        @Override
+        public void run()
+        {
+        }
+      });
+      Assert.assertTrue("The submitted task should keep its submission time", future instanceof SmartExecutors.TimedCommand);
+      Assert.assertTrue("The submission time should have been set when submitting", ((SmartExecutors.TimedCommand) future).getSubmissionTimeInNanoseconds() >= beforeInNanoseconds);
+      Thread.sleep(50);
+      latch.countDown();
+      future.get(5, TimeUnit.SECONDS);
+    }
+    finally
+    {
+      latch.countDown();
+      executor.shutdown();
+    }
+    Assert.assertTrue("The executor should terminate", executor.awaitTermination(5, TimeUnit.SECONDS));
+    Assert.assertTrue("The wait of the second task should have been measured", executor.getMetrics().maximumQueueWaitInNanoseconds >= TimeUnit.MILLISECONDS.toNanos(50));
+  }
+
+  @Test
+  public void rejection()
+      throws InterruptedException
+  {
+    final SmartExecutors.InstrumentedThreadPoolExecutor executor = SmartExecutors.newExecutor("rejection", SmartExecutors.Lane.Io, 1, new LinkedBlockingQueue<Runnable>(1), null);
+    final CountDownLatch latch = new CountDownLatch(1);
+    final Runnable blockingCommand = new Runnable()
+    {
+      @Override
+      public void run()
+      {
+        try
+        {
+          latch.await();
+        }
+        catch (InterruptedException exception)
+        {
+          // Does not matter
+        }
+      }
+    };
+    try
+    {
+      executor.execute(blockingCommand);
+      executor.execute(blockingCommand);
+      try
+      {
+        executor.execute(blockingCommand);
+        Assert.fail("The command should have been rejected, since the queue is full");
+      }
+      catch (RejectedExecutionException exception)
+      {
+        // This is expected
+      }
+      Assert.assertEquals("The rejection should have been counted", 1, executor.getMetrics().rejectedCount);
+    }
+    finally
+    {
+      latch.countDown();
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void droppingFinishedOwnersResubmits()
+      throws InterruptedException
+  {
+    final SmartExecutors.InstrumentedThreadPoolExecutor executor = SmartExecutors.newExecutor("resubmission", SmartExecutors.Lane.Io, 1, new LinkedBlockingQueue<Runnable>(1), null);
+    executor.setRejectedExecutionHandler(new SmartExecutors.DropFinishedOwnersPolicy(new ThreadPoolExecutor.AbortPolicy()));
+    final CountDownLatch latch = new CountDownLatch(1);
+    final AtomicInteger runCount = new AtomicInteger();
+    final Runnable command = new Runnable()
+    {
+      @Override
+      public void run()
+      {
+        runCount.incrementAndGet();
+      }
+    };
+    final SmartExecutorsTest.Owner finishedOwner = new SmartExecutorsTest.Owner();
+    final SmartExecutors.OwnedFutureTask droppedCommand = new SmartExecutors.OwnedFutureTask(finishedOwner, command);
+    final SmartExecutors.OwnedFutureTask resubmittedCommand = new SmartExecutors.OwnedFutureTask(new SmartExecutorsTest.Owner(), command);
+    try
+    {
+      executor.execute(new Runnable()
+      {
+        @Override
+        public void run()
+        {
+          try
+          {
+            latch.await();
+          }
+          catch (InterruptedException exception)
+          {
+            // Does not matter
+          }
+        }
+      });
+      executor.execute(droppedCommand);
+      finishedOwner.alive = false;
+      // The queue is full, hence the command of the finished owner is dropped so as to make room
+      executor.execute(resubmittedCommand);
+    }
+    finally
+    {
+      latch.countDown();
+      executor.shutdown();
+    }
+    Assert.assertTrue("The executor should terminate", executor.awaitTermination(5, TimeUnit.SECONDS));
+
+    final SmartExecutors.Metrics metrics = executor.getMetrics();
+    Assert.assertTrue("The command of the finished owner should have been dropped", droppedCommand.isCancelled());
+    Assert.assertTrue("The rejected command should have been run", resubmittedCommand.isDone() == true && resubmittedCommand.isCancelled() == false);
+    Assert.assertEquals("Only the rejected command should have been run", 1, runCount.get());
+    Assert.assertEquals("The rejection should have been counted", 1, metrics.rejectedCount);
+    Assert.assertEquals("The rejected command should have been submitted again through the executor", 4, metrics.submittedCount);
+    Assert.assertEquals("The blocking and the resubmitted commands should have been completed", 2, metrics.completedCount);
+  }
+
+  @Test
+  public void backpressureStress()
+      throws InterruptedException
+  {
+    final int ownersCount = 400;
+    final int threadsCount = 8;
+    final SmartExecutors.InstrumentedThreadPoolExecutor executor = SmartExecutors.newExecutor("stress", SmartExecutors.Lane.Io, threadsCount, new LinkedBlockingQueue<Runnable>(32), null);
+    executor.setRejectedExecutionHandler(new SmartExecutors.DropFinishedOwnersPolicy(new ThreadPoolExecutor.CallerRunsPolicy()));
+    final AtomicInteger finishedOwnersRunCount = new AtomicInteger();
+    final AtomicInteger aliveOwnersRunCount = new AtomicInteger();
+    int aliveOwnersCount = 0;
+    try
+    {
+      // Simulates a burst of screens creations, every other screen being finished right after having submitted its command
+      for (int index = 0; index < ownersCount; index++)
+      {
+        final SmartExecutorsTest.Owner owner = new SmartExecutorsTest.Owner();
+        final boolean finishing = index % 2 == 1;
+        executor.execute(new SmartExecutors.OwnedFutureTask(owner, new Runnable()
+        {
+          @Override
+          public void run()
+          {
+            (finishing == false ? aliveOwnersRunCount : finishedOwnersRunCount).incrementAndGet();
+            try
+            {
+              Thread.sleep(5);
+            }
+            catch (InterruptedException exception)
+            {
+              // Does not matter
+            }
+          }
+        }));
+        if (finishing == true)
+        {
+          owner.alive = false;
+        }
+        else
+        {
+          aliveOwnersCount++;
+        }
+      }
+    }
+    finally
+    {
+      executor.shutdown();
+    }
+    Assert.assertTrue("The executor should terminate", executor.awaitTermination(10, TimeUnit.SECONDS));
+    final SmartExecutors.Metrics metrics = executor.getMetrics();
+
+    Assert.assertTrue("The threads count should never exceed the bound", metrics.largestThreadsCount <= threadsCount);
+    Assert.assertEquals("All the commands of the alive owners should have been run", aliveOwnersCount, aliveOwnersRunCount.get());
+    Assert.assertTrue("Most of the commands of the finished owners should have been dropped", finishedOwnersRunCount.get() < (ownersCount - aliveOwnersCount) / 2);
+  }
+
+}
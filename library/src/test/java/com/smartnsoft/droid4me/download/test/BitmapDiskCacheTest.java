@@ -0,0 +1,164 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017 Smart&Soft
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.smartnsoft.droid4me.download.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.smartnsoft.droid4me.download.BitmapDiskCache;
+import com.smartnsoft.droid4me.test.BasisTests;
+
+import junit.framework.Assert;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link BitmapDiskCache}.
+ *
+ * @since 2026.10.18
+ */
+public final class BitmapDiskCacheTest
+    extends BasisTests
+{
+
+  private static byte[] read(InputStream inputStream)
+      throws IOException
+  {
+    try
+    {
+      final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      final byte[] buffer = new byte[1024];
+      int count;
+      while ((count = inputStream.read(buffer)) != -1)
+      {
+        outputStream.write(buffer, 0, count);
+      }
+      return outputStream.toByteArray();
+    }
+    finally
+    {
+      inputStream.close();
+    }
+  }
+
+  private File directory;
+
+  @Before
+  public void before()
+  {
+    directory = new File(getTemporaryDirectory(), "bitmapDiskCache");
+    deleteDirectory();
+  }
+
+  @After
+  public void after()
+  {
+    deleteDirectory();
+  }
+
+  @Test
+  public void putAndGet()
+      throws IOException
+  {
+    final BitmapDiskCache diskCache = new BitmapDiskCache(directory, 1024);
+    final byte[] bytes = new byte[] { 1, 2, 3, 4 };
+    Assert.assertNull("The URL should not be cached yet", diskCache.get("http://host/1.png"));
+    Assert.assertEquals("The returned stream should contain the stored bytes", 4, BitmapDiskCacheTest.read(diskCache.put("http://host/1.png", new ByteArrayInputStream(bytes))).length);
+    Assert.assertEquals("The cached bytes should be returned", 4, BitmapDiskCacheTest.read(diskCache.get("http://host/1.png")).length);
+    Assert.assertEquals("The cache size should be accounted", 4, diskCache.getSizeInBytes());
+    Assert.assertEquals("One hit should have been counted", 1, diskCache.getHitsCount());
+    Assert.assertEquals("One miss should have been counted", 1, diskCache.getMissesCount());
+  }
+
+  @Test
+  public void leastRecentlyUsedEviction()
+      throws IOException
+  {
+    final BitmapDiskCache diskCache = new BitmapDiskCache(directory, 250);
+    BitmapDiskCacheTest.read(diskCache.put("http://host/1.png", new ByteArrayInputStream(new byte[100])));
+    BitmapDiskCacheTest.read(diskCache.put("http://host/2.png", new ByteArrayInputStream(new byte[100])));
+    // The first entry becomes the most recently used
+    BitmapDiskCacheTest.read(diskCache.get("http://host/1.png"));
+    BitmapDiskCacheTest.read(diskCache.put("http://host/3.png", new ByteArrayInputStream(new byte[100])));
+    Assert.assertTrue("The most recently read entry should have been kept", diskCache.contains("http://host/1.png"));
+    Assert.assertFalse("The least recently used entry should have been evicted", diskCache.contains("http://host/2.png"));
+    Assert.assertTrue("The last entry should have been kept", diskCache.contains("http://host/3.png"));
+    Assert.assertEquals("The cache size should respect the budget", 200, diskCache.getSizeInBytes());
+  }
+
+  @Test
+  public void journalReplay()
+      throws IOException
+  {
+    final BitmapDiskCache diskCache = new BitmapDiskCache(directory, 250);
+    BitmapDiskCacheTest.read(diskCache.put("http://host/1.png", new ByteArrayInputStream(new byte[100])));
+    BitmapDiskCacheTest.read(diskCache.put("http://host/2.png", new ByteArrayInputStream(new byte[100])));
+    BitmapDiskCacheTest.read(diskCache.get("http://host/1.png"));
+    diskCache.remove("http://host/2.png");
+    // We simulate an interrupted write
+    new File(directory, "orphan.1.tmp").createNewFile();
+
+    final BitmapDiskCache otherDiskCache = new BitmapDiskCache(directory, 250);
+    Assert.assertTrue("The stored entry should have been restored", otherDiskCache.contains("http://host/1.png"));
+    Assert.assertFalse("The removed entry should not have been restored", otherDiskCache.contains("http://host/2.png"));
+    Assert.assertEquals("The restored size should be accurate", 100, otherDiskCache.getSizeInBytes());
+    Assert.assertFalse("The temporary file should have been deleted", new File(directory, "orphan.1.tmp").exists());
+  }
+
+  @Test
+  public void putBytesAndClose()
+      throws IOException
+  {
+    final BitmapDiskCache diskCache = new BitmapDiskCache(directory, 250);
+    final byte[] bytes = new byte[] { 1, 2, 3, 4, 5, 6 };
+    diskCache.put("http://host/1.png", bytes, 1, 4);
+    Assert.assertTrue("The entry should have been stored", diskCache.contains("http://host/1.png"));
+    Assert.assertEquals("Only the provided range of bytes should have been stored", 4, diskCache.getSizeInBytes());
+    final byte[] cachedBytes = BitmapDiskCacheTest.read(diskCache.get("http://host/1.png"));
+    Assert.assertEquals("The first cached byte should be the one at the provided offset", 2, cachedBytes[0]);
+    Assert.assertEquals("The last cached byte should be the one at the end of the provided range", 5, cachedBytes[3]);
+    diskCache.close();
+
+    final BitmapDiskCache otherDiskCache = new BitmapDiskCache(directory, 250);
+    Assert.assertTrue("The entry stored before closing the cache should have been restored", otherDiskCache.contains("http://host/1.png"));
+    otherDiskCache.close();
+  }
+
+  private void deleteDirectory()
+  {
+    final File[] files = directory.listFiles();
+    if (files != null)
+    {
+      for (File file : files)
+      {
+        file.delete();
+      }
+    }
+    directory.delete();
+  }
+
+}
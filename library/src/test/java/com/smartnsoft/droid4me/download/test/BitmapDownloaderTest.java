@@ -23,6 +23,8 @@
 package com.smartnsoft.droid4me.download.test;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
@@ -34,12 +36,17 @@ import com.smartnsoft.droid4me.download.BasisBitmapDownloader;
 import com.smartnsoft.droid4me.download.BasisBitmapDownloader.BasisAnalyticsData;
 import com.smartnsoft.droid4me.download.BasisDownloadInstructions;
 import com.smartnsoft.droid4me.download.BasisDownloadInstructions.InputStreamDownloadInstructor;
+import com.smartnsoft.droid4me.download.BasisDownloadInstructions.ProgressiveInstructions;
+import com.smartnsoft.droid4me.download.BasisDownloadInstructions.ShareableDownloadInstructions;
+import com.smartnsoft.droid4me.download.BitmapDiskCache;
+import com.smartnsoft.droid4me.download.BytesInputStream;
 import com.smartnsoft.droid4me.download.CoreBitmapDownloader;
 import com.smartnsoft.droid4me.download.CoreBitmapDownloader.CoreAnalyticsData;
 import com.smartnsoft.droid4me.download.DownloadContracts.Bitmapable;
 import com.smartnsoft.droid4me.download.DownloadContracts.Handlerable;
 import com.smartnsoft.droid4me.download.DownloadContracts.Viewable;
 import com.smartnsoft.droid4me.download.DownloadInstructions.BitmapableBitmap;
+import com.smartnsoft.droid4me.download.DownloadSpecs.SizedImageSpecs;
 import com.smartnsoft.droid4me.test.BasisTests;
 
 import junit.framework.Assert;
@@ -153,6 +160,13 @@ public final class BitmapDownloaderTest
 
     public int convert;
 
+    public int convertPreview;
+
+    /**
+     * The last stream handed to the 'convert()' method.
+     */
+    public volatile InputStream convertedInputStream;
+
     private int onOver;
 
     private boolean markedAsOnOver;
@@ -194,7 +208,7 @@ public final class BitmapDownloaderTest
       implements BasisDownloadInstructions.Instructions<DummyBitmapable, DummyViewable>
   {
 
-    private final Expectations expectations;
+    protected final Expectations expectations;
 
     private final boolean hasLocalBitmap;
 
@@ -240,7 +254,7 @@ public final class BitmapDownloaderTest
     }
 
     @Override
-    public BitmapableBitmap hasTemporaryBitmap(DummyViewable view, String bitmapUid, Object imageSpecs)
+    public DummyBitmapable hasTemporaryBitmap(DummyViewable view, String bitmapUid, Object imageSpecs)
     {
       expectations.hasTemporaryBitmap++;
       return hasTemporaryBitmap == true ? new DummyBitmapable(200 * 1024) : null;
@@ -327,6 +341,7 @@ public final class BitmapDownloaderTest
     public DummyBitmapable convert(InputStream inputStream, String bitmapUid, Object imageSpecs, String url)
     {
       expectations.convert++;
+      expectations.convertedInputStream = inputStream;
       return new DummyBitmapable(300 * 1024);
     }
 
@@ -349,6 +364,93 @@ public final class BitmapDownloaderTest
 
   }
 
+  private static class ProgressiveExpectedInstructions
+      extends ExpectedInstructions
+      implements ProgressiveInstructions<DummyBitmapable>
+  {
+
+    public ProgressiveExpectedInstructions(Expectations expectations)
+    {
+      super(expectations, false, false, ExpectedInstructions.SimulationdMethod.FakeSuccess);
+    }
+
+    @Override
+    public InputStream downloadInputStream(String bitmapUid, Object imageSpecs, String url)
+        throws IOException
+    {
+      super.downloadInputStream(bitmapUid, imageSpecs, url);
+      // We simulate a slow network
+      return new FilterInputStream(generateBitmapInputStream())
+      {
+        @Override
+        public int read(byte[] buffer, int offset, int count)
+            throws IOException
+        {
+          try
+          {
+            Thread.sleep(5);
+          }
+          catch (InterruptedException exception)
+          {
+            // Does not matter
+          }
+          return super.read(buffer, offset, Math.min(count, 16 * 1024));
+        }
+      };
+    }
+
+    @Override
+    public int getPreviewThresholdInBytes(String bitmapUid, Object imageSpecs, String url)
+    {
+      return 32 * 1024;
+    }
+
+    @Override
+    public DummyBitmapable convertPreview(byte[] bytes, String bitmapUid, Object imageSpecs, String url)
+    {
+      expectations.convertPreview++;
+      return new DummyBitmapable(bytes.length / 64);
+    }
+
+  }
+
+  private static class ShareableExpectedInstructions
+      extends ExpectedInstructions
+      implements ShareableDownloadInstructions
+  {
+
+    private final boolean shareable;
+
+    public ShareableExpectedInstructions(Expectations expectations, boolean shareable)
+    {
+      super(expectations, false, false, ExpectedInstructions.SimulationdMethod.FakeSuccess);
+      this.shareable = shareable;
+    }
+
+    @Override
+    public InputStream downloadInputStream(String bitmapUid, Object imageSpecs, String url)
+        throws IOException
+    {
+      final InputStream inputStream = super.downloadInputStream(bitmapUid, imageSpecs, url);
+      // We introduce some latency on purpose, so that the downloads overlap
+      try
+      {
+        Thread.sleep(200);
+      }
+      catch (InterruptedException exception)
+      {
+      }
+      return inputStream;
+    }
+
+    @Override
+    public boolean isDownloadShareable(String bitmapUid, Object imageSpecs, String url)
+    {
+      return shareable;
+    }
+
+  }
+
   private final String VALID_BITMAP_URL = "http://www.smartnsoft.com/images/home/illu.png";
 
   private final String INVALID_BITMAP_URL = "http://abcd.smartnsoft.com";
@@ -1170,6 +1272,185 @@ public final class BitmapDownloaderTest
     checkAnalyticsData();
   }
 
+  @Test
+  public void sameUrlWithDifferentSpecsDownloadedSeparately()
+      throws InterruptedException
+  {
+    final Expectations expectations1 = new Expectations();
+    final Expectations expectations2 = new Expectations();
+    bitmapDownloader.get(view, VALID_BITMAP_URL, new SizedImageSpecs(-1, 100, 100), handler, new ShareableExpectedInstructions(expectations1, false));
+    bitmapDownloader.get(new DummyViewable(5678), VALID_BITMAP_URL, new SizedImageSpecs(-1, 200, 200), handler, new ShareableExpectedInstructions(expectations2, false));
+
+    expectations1.waitForOnOver();
+    expectations2.waitForOnOver();
+    // The download may depend on the image specifications, hence it is not shared by default
+    Assert.assertEquals("The 'downloadInputStream()' method has not been invoked the expected number of times", 2, expectations1.downloadInputStream + expectations2.downloadInputStream);
+    Assert.assertEquals("The 'onBindBitmap()' method has not been invoked the expected number of times", 2, expectations1.onBindBitmap + expectations2.onBindBitmap);
+    Assert.assertEquals("The number of saved downloads is not the expected one", 0, bitmapDownloader.getSavedDownloadsCount());
+  }
+
+  @Test
+  public void sameUrlWithDifferentSpecsDownloadedOnceWhenShareable()
+      throws InterruptedException
+  {
+    final Expectations expectations1 = new Expectations();
+    final Expectations expectations2 = new Expectations();
+    bitmapDownloader.get(view, VALID_BITMAP_URL, new SizedImageSpecs(-1, 100, 100), handler, new ShareableExpectedInstructions(expectations1, true));
+    bitmapDownloader.get(new DummyViewable(5678), VALID_BITMAP_URL, new SizedImageSpecs(-1, 200, 200), handler, new ShareableExpectedInstructions(expectations2, true));
+
+    expectations1.waitForOnOver();
+    expectations2.waitForOnOver();
+    Assert.assertEquals("The 'downloadInputStream()' method has not been invoked the expected number of times", 1, expectations1.downloadInputStream + expectations2.downloadInputStream);
+    Assert.assertEquals("The 'onBindBitmap()' method has not been invoked the expected number of times", 2, expectations1.onBindBitmap + expectations2.onBindBitmap);
+    Assert.assertEquals("The number of saved downloads is not the expected one", 1, bitmapDownloader.getSavedDownloadsCount());
+    Assert.assertTrue("The shared bytes should have been handed without being copied", expectations1.convertedInputStream instanceof BytesInputStream);
+    Assert.assertTrue("The shared bytes should have been handed without being copied", expectations2.convertedInputStream instanceof BytesInputStream);
+  }
+
+  @Test
+  public void decodedBitmapStoredInDiskCache()
+      throws InterruptedException, IOException
+  {
+    final BitmapDiskCache diskCache = newDiskCache();
+    try
+    {
+      final Expectations expectations = new Expectations();
+      bitmapDownloader.get(view, VALID_BITMAP_URL, null, handler, new ExpectedInstructions(expectations, false, false, ExpectedInstructions.SimulationdMethod.FakeSuccess));
+
+      expectations.waitForOnOver();
+      Assert.assertTrue("The downloaded bytes should have been handed as a stream on the buffered bytes", expectations.convertedInputStream instanceof BytesInputStream);
+      final long start = System.currentTimeMillis();
+      while (diskCache.contains(VALID_BITMAP_URL) == false && System.currentTimeMillis() - start < timeOutInMilliseconds)
+      {
+        Thread.sleep(10);
+      }
+      Assert.assertTrue("The decoded bitmap should have been stored in the disk cache", diskCache.contains(VALID_BITMAP_URL));
+    }
+    finally
+    {
+      deleteDiskCache(diskCache);
+    }
+  }
+
+  @Test
+  public void undecodableBitmapNotStoredInDiskCache()
+      throws InterruptedException, IOException
+  {
+    final BitmapDiskCache diskCache = newDiskCache();
+    try
+    {
+      final Expectations expectations = new Expectations();
+      bitmapDownloader.get(view, VALID_BITMAP_URL, null, handler, new ExpectedInstructions(expectations, false, false, ExpectedInstructions.SimulationdMethod.FakeSuccess)
+      {
+        @Override
+        public DummyBitmapable convert(InputStream inputStream, String bitmapUid, Object imageSpecs, String url)
+        {
+          super.convert(inputStream, bitmapUid, imageSpecs, url);
+          // We simulate a truncated response
+          return null;
+        }
+      });
+
+      expectations.waitForOnOver();
+      Assert.assertEquals("The 'convert()' method has not been invoked the expected number of times", 1, expectations.convert);
+      Assert.assertFalse("The bytes which could not be decoded should not have been stored in the disk cache", diskCache.contains(VALID_BITMAP_URL));
+    }
+    finally
+    {
+      deleteDiskCache(diskCache);
+    }
+  }
+
+  @Test
+  public void downloadedBytesNotBufferedWhenNotRequired()
+      throws InterruptedException
+  {
+    final Expectations expectations = new Expectations();
+    bitmapDownloader.get(view, VALID_BITMAP_URL, null, handler, new ExpectedInstructions(expectations, false, false, ExpectedInstructions.SimulationdMethod.FakeSuccess));
+
+    expectations.waitForOnOver();
+    Assert.assertEquals("The 'convert()' method has not been invoked the expected number of times", 1, expectations.convert);
+    Assert.assertTrue("Without any sharing, disk cache or preview, the downloaded stream should have been decoded as is", expectations.convertedInputStream instanceof ByteArrayInputStream);
+    Assert.assertFalse("Without any sharing, disk cache or preview, the downloaded bytes should not have been read in memory", expectations.convertedInputStream instanceof BytesInputStream);
+  }
+
+  @Test
+  public void progressivePreview()
+      throws InterruptedException
+  {
+    final Expectations expectations = new Expectations();
+    bitmapDownloader.get(view, VALID_BITMAP_URL, null, handler, new ProgressiveExpectedInstructions(expectations));
+
+    expectations.waitForOnOver();
+    Assert.assertEquals("The 'convertPreview()' method has not been invoked the expected number of times", 1, expectations.convertPreview);
+    assertPreAndBindingExpectations(expectations, true, 1, 1, 1, 0, 1, 1, 1, 1, Boolean.TRUE);
+    Assert.assertEquals("The 'convert()' method has not been invoked the expected number of times", 1, expectations.convert);
+    checkAnalyticsData();
+  }
+
+  @Test
+  public void prioritiesStacksContention()
+      throws InterruptedException
+  {
+    // We simulate several threads which frantically ask for bitmaps on a small set of views, like a fast scrolling list would do
+    final int threadsCount = 8;
+    final int commandsCountPerThread = 250;
+    final DummyViewable[] views = new DummyViewable[24];
+    for (int index = 0; index < views.length; index++)
+    {
+      views[index] = new DummyViewable(index);
+    }
+    final AtomicInteger onOverCount = new AtomicInteger();
+    final Thread[] threads = new Thread[threadsCount];
+    for (int threadIndex = 0; threadIndex < threadsCount; threadIndex++)
+    {
+      final int offset = threadIndex;
+      threads[threadIndex] = new Thread(new Runnable()
+      {
+        @Override
+        public void run()
+        {
+          for (int index = 0; index < commandsCountPerThread; index++)
+          {
+            bitmapDownloader.get(views[(offset + index) % views.length], VALID_BITMAP_URL + "?" + (index % 5), null, handler, new ExpectedInstructions(new Expectations(), true, false, ExpectedInstructions.SimulationdMethod.FakeSuccess)
+            {
+              @Override
+              public void onOver(boolean aborted, DummyViewable view, String bitmapUid, Object imageSpecs)
+              {
+                onOverCount.incrementAndGet();
+              }
+            });
+          }
+        }
+      }, "contention #" + threadIndex);
+    }
+    for (Thread thread : threads)
+    {
+      thread.start();
+    }
+    for (Thread thread : threads)
+    {
+      thread.join();
+    }
+
+    // We wait for the commands to be over
+    final AtomicInteger prioritiesPreStack = new AtomicInteger();
+    final AtomicInteger prioritiesStack = new AtomicInteger();
+    final AtomicInteger prioritiesDownloadStack = new AtomicInteger();
+    final long deadline = System.currentTimeMillis() + 10 * timeOutInMilliseconds;
+    do
+    {
+      Thread.sleep(50);
+      bitmapDownloader.getStacks(prioritiesPreStack, prioritiesStack, prioritiesDownloadStack, new AtomicInteger(), new AtomicInteger());
+    }
+    while (prioritiesPreStack.get() + prioritiesStack.get() + prioritiesDownloadStack.get() > 0 && System.currentTimeMillis() < deadline);
+
+    Assert.assertTrue("At least one command per view should be over", onOverCount.get() >= views.length);
+    Assert.assertEquals("The 'prioritiesPreStack' size does not have the right size", 0, prioritiesPreStack.get());
+    Assert.assertEquals("The 'prioritiesStack' size does not have the right size", 0, prioritiesStack.get());
+    Assert.assertEquals("The 'prioritiesDownloadStack' size does not have the right size", 0, prioritiesDownloadStack.get());
+  }
+
   private void onBindBitmapExceptionInternal(boolean fromCache, final RuntimeException exception, final Error error)
       throws InterruptedException
   {
@@ -1228,7 +1509,7 @@ public final class BitmapDownloaderTest
     {
 
       @Override
-      public BitmapableBitmap hasTemporaryBitmap(DummyViewable view, String bitmapUid, Object imageSpecs)
+      public DummyBitmapable hasTemporaryBitmap(DummyViewable view, String bitmapUid, Object imageSpecs)
       {
         super.hasTemporaryBitmap(view, bitmapUid, imageSpecs);
         if (exception != null)
@@ -1323,6 +1604,30 @@ public final class BitmapDownloaderTest
     Assert.assertEquals("The 'onOver()' method has not been invoked the expected number of times", onOver == true ? 1 : 0, expectations.onOver);
   }
 
+  private BitmapDiskCache newDiskCache()
+      throws IOException
+  {
+    final BitmapDiskCache diskCache = new BitmapDiskCache(new File(getTemporaryDirectory(), "bitmapDownloaderDiskCache"), 1024 * 1024);
+    bitmapDownloader.setDiskCache(diskCache);
+    return diskCache;
+  }
+
+  private void deleteDiskCache(BitmapDiskCache diskCache)
+  {
+    bitmapDownloader.setDiskCache(null);
+    diskCache.clear();
+    diskCache.close();
+    final File[] files = diskCache.directory.listFiles();
+    if (files != null)
+    {
+      for (File file : files)
+      {
+        file.delete();
+      }
+    }
+    diskCache.directory.delete();
+  }
+
   private static ByteArrayInputStream generateBitmapInputStream()
   {
     try
@@ -0,0 +1,174 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017 Smart&Soft
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.smartnsoft.droid4me.download.test;
+
+import java.util.Arrays;
+
+import com.smartnsoft.droid4me.download.gif.PooledBitmapProvider;
+import com.smartnsoft.droid4me.test.BasisTests;
+
+import junit.framework.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the {@link PooledBitmapProvider}.
+ *
+ * @since 2026.10.18
+ */
+public final class PooledBitmapProviderTest
+    extends BasisTests
+{
+
+  /**
+   * The sizes of the arrays requested by the tests.
+   */
+  private static final int[] SIZES = { 255, 4096, 4097, 10800, 43200 };
+
+  /**
+   * The number of arrays requested by {@link #obtainAndRelease(PooledBitmapProvider, int)}.
+   */
+  private static final int ARRAYS_PER_ROUND_COUNT = 3;
+
+  /**
+   * Obtains a byte, an int and a short arrays with the given size, writes to them and releases them.
+   *
+   * @return the number of requested bytes
+   */
+  private static long obtainAndRelease(PooledBitmapProvider provider, int size)
+  {
+    final byte[] bytes = provider.obtainByteArray(size);
+    final int[] ints = provider.obtainIntArray(size);
+    final short[] shorts = provider.obtainShortArray(size);
+    Assert.assertEquals("The byte array should have the requested size", size, bytes.length);
+    Assert.assertEquals("The int array should have the requested size", size, ints.length);
+    Assert.assertEquals("The short array should have the requested size", size, shorts.length);
+    Arrays.fill(bytes, (byte) 1);
+    Arrays.fill(ints, 1);
+    Arrays.fill(shorts, (short) 1);
+    provider.release(shorts);
+    provider.release(ints);
+    provider.release(bytes);
+    return 7L * size;
+  }
+
+  @Test
+  public void budget()
+  {
+    final PooledBitmapProvider provider = new PooledBitmapProvider(1024);
+    final byte[] small = provider.obtainByteArray(512);
+    final byte[] large = provider.obtainByteArray(2048);
+    provider.release(small);
+    provider.release(large);
+    Assert.assertEquals("Only the array which fits in the budget should have been pooled", 512, provider.getArraysSizeInBytes());
+    Assert.assertSame("The pooled array should be reused", small, provider.obtainByteArray(512));
+    Assert.assertNotSame("The array which did not fit in the budget should not be reused", large, provider.obtainByteArray(2048));
+    Assert.assertEquals("The allocations should have been counted", 3, provider.getAllocatedArraysCount());
+  }
+
+  @Test
+  public void arraysReusedByExactLength()
+  {
+    final PooledBitmapProvider provider = new PooledBitmapProvider(1024 * 1024);
+    final int[] ints = provider.obtainIntArray(100);
+    provider.release(ints);
+    Assert.assertNotSame("An array with another length should not be reused", ints, provider.obtainIntArray(99));
+    Assert.assertSame("The array with the same length should be reused", ints, provider.obtainIntArray(100));
+    final short[] shorts = provider.obtainShortArray(100);
+    provider.release(shorts);
+    provider.clear();
+    Assert.assertEquals("The pool should be empty once cleared", 0, provider.getArraysSizeInBytes());
+    Assert.assertNotSame("A cleared array should not be reused", shorts, provider.obtainShortArray(100));
+  }
+
+  @Test
+  public void sequentialObtainAndRelease()
+  {
+    final PooledBitmapProvider provider = new PooledBitmapProvider(4 * 1024 * 1024);
+    final int roundsCount = 400;
+    long requestedBytesCount = 0;
+    for (int index = 0; index < roundsCount; index++)
+    {
+      requestedBytesCount += PooledBitmapProviderTest.obtainAndRelease(provider, PooledBitmapProviderTest.SIZES[index % PooledBitmapProviderTest.SIZES.length]);
+    }
+
+    Assert.assertEquals("All the arrays requests should have been counted", roundsCount * PooledBitmapProviderTest.ARRAYS_PER_ROUND_COUNT, provider.getObtainedArraysCount());
+    // Once every distinct size has been requested, the arrays are all reused
+    Assert.assertEquals("The arrays should have been reused", PooledBitmapProviderTest.SIZES.length * PooledBitmapProviderTest.ARRAYS_PER_ROUND_COUNT, provider.getAllocatedArraysCount());
+    Assert.assertTrue("Most of the arrays bytes should have been reused", provider.getAllocatedBytesCount() < requestedBytesCount / 4);
+    Assert.assertTrue("The pooled arrays should respect the budget", provider.getArraysSizeInBytes() <= provider.maximumArraysSizeInBytes);
+  }
+
+  @Test
+  public void concurrentObtainAndRelease()
+      throws InterruptedException
+  {
+    final PooledBitmapProvider provider = new PooledBitmapProvider(4 * 1024 * 1024);
+    final int threadsCount = 4;
+    final int roundsCountPerThread = 200;
+    final long[] requestedBytesCounts = new long[threadsCount];
+    final Throwable[] throwables = new Throwable[threadsCount];
+    final Thread[] threads = new Thread[threadsCount];
+    for (int threadIndex = 0; threadIndex < threadsCount; threadIndex++)
+    {
+      final int offset = threadIndex;
+      threads[threadIndex] = new Thread(new Runnable()
+      {
+        @Override
+        public void run()
+        {
+          try
+          {
+            for (int index = 0; index < roundsCountPerThread; index++)
+            {
+              requestedBytesCounts[offset] += PooledBitmapProviderTest.obtainAndRelease(provider, PooledBitmapProviderTest.SIZES[(offset + index) % PooledBitmapProviderTest.SIZES.length]);
+            }
+          }
+          catch (Throwable throwable)
+          {
+            throwables[offset] = throwable;
+          }
+        }
+      }, "provider #" + threadIndex);
+    }
+    for (Thread thread : threads)
+    {
+      thread.start();
+    }
+    for (Thread thread : threads)
+    {
+      thread.join();
+    }
+    long requestedBytesCount = 0;
+    for (int threadIndex = 0; threadIndex < threadsCount; threadIndex++)
+    {
+      Assert.assertNull("The thread #" + threadIndex + " should not have failed", throwables[threadIndex]);
+      requestedBytesCount += requestedBytesCounts[threadIndex];
+    }
+    final int roundsCount = threadsCount * roundsCountPerThread;
+
+    Assert.assertEquals("All the arrays requests should have been counted", roundsCount * PooledBitmapProviderTest.ARRAYS_PER_ROUND_COUNT, provider.getObtainedArraysCount());
+    Assert.assertTrue("Most of the arrays bytes should have been reused", provider.getAllocatedBytesCount() < requestedBytesCount / 4);
+    Assert.assertTrue("The pooled arrays should respect the budget", provider.getArraysSizeInBytes() <= provider.maximumArraysSizeInBytes);
+  }
+
+}
@@ -0,0 +1,141 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017 Smart&Soft
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.smartnsoft.droid4me.log.test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import android.util.Log;
+
+import com.smartnsoft.droid4me.log.AbstractLogger;
+import com.smartnsoft.droid4me.log.LoggerFactory;
+import com.smartnsoft.droid4me.test.BasisTests;
+
+import junit.framework.Assert;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests the parameterized methods of the {@link AbstractLogger}.
+ *
+ * @since 2026.10.18
+ */
+public final class AbstractLoggerTest
+    extends BasisTests
+{
+
+  private static final class RecordingLogger
+      extends AbstractLogger
+  {
+
+    private final List<String> messages = new ArrayList<>();
+
+    private final List<Throwable> throwables = new ArrayList<>();
+
+    @Override
+    protected void print(int level, CharSequence message, Throwable throwable)
+    {
+      messages.add(message.toString());
+      throwables.add(throwable);
+    }
+
+  }
+
+  private static final class CountingArgument
+  {
+
+    private int toStringCount;
+
+    @Override
+    public String toString()
+    {
+      toStringCount++;
+      return "argument";
+    }
+
+  }
+
+  private final int previousLogLevel = LoggerFactory.logLevel;
+
+  @After
+  public void restoreLogLevel()
+  {
+    LoggerFactory.logLevel = previousLogLevel;
+  }
+
+  @Test
+  public void formatting()
+  {
+    LoggerFactory.logLevel = Log.DEBUG;
+    final RecordingLogger logger = new RecordingLogger();
+    final IllegalStateException exception = new IllegalStateException("Expected failure");
+    logger.debug("The URI '{}' took {} ms", "http://host/path", 12L);
+    logger.info("{} + {} = {}", 1, 2, "3");
+    logger.warn("No placeholder", "ignored");
+    logger.warn("The URI '{}' failed", "http://host/path", exception);
+    logger.error("{} and {}", 3, 4);
+    logger.error("{} is missing", (Object) null);
+
+    Assert.assertEquals("The placeholders should have been replaced", "The URI 'http://host/path' took 12 ms", logger.messages.get(0));
+    Assert.assertEquals("The variable arguments should have been formatted", "1 + 2 = 3", logger.messages.get(1));
+    Assert.assertEquals("The arguments with no placeholder should have been ignored", "No placeholder", logger.messages.get(2));
+    Assert.assertEquals("The trailing throwable should not have been formatted", "The URI 'http://host/path' failed", logger.messages.get(3));
+    Assert.assertSame("The trailing throwable should have been attached", exception, logger.throwables.get(3));
+    Assert.assertEquals("The primitive arguments should have been formatted", "3 and 4", logger.messages.get(4));
+    Assert.assertEquals("A null argument should have been formatted", "null is missing", logger.messages.get(5));
+  }
+
+  @Test
+  public void lazyFormatting()
+  {
+    LoggerFactory.logLevel = Log.WARN;
+    final RecordingLogger logger = new RecordingLogger();
+    final CountingArgument argument = new CountingArgument();
+    logger.debug("The argument {}", argument);
+    logger.info("The arguments {} and {}", argument, argument);
+
+    Assert.assertEquals("Nothing should have been logged", 0, logger.messages.size());
+    Assert.assertEquals("The arguments should not have been formatted", 0, argument.toStringCount);
+  }
+
+  @Test
+  public void reentrantFormatting()
+  {
+    LoggerFactory.logLevel = Log.DEBUG;
+    final RecordingLogger logger = new RecordingLogger();
+    final Object argument = new Object()
+    {
+      @Override
+      public String toString()
+      {
+        logger.debug("Inner {}", 1L);
+        return "outer";
+      }
+    };
+    logger.debug("The {} message", argument);
+
+    Assert.assertEquals("The inner message should have been logged first", "Inner 1", logger.messages.get(0));
+    Assert.assertEquals("The outer message should not have been corrupted by the inner one", "The outer message", logger.messages.get(1));
+  }
+
+}
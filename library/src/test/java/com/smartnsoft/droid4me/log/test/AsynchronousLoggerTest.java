@@ -0,0 +1,253 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017 Smart&Soft
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.smartnsoft.droid4me.log.test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import android.util.Log;
+
+import com.smartnsoft.droid4me.log.AbstractLogger;
+import com.smartnsoft.droid4me.log.AsynchronousLogger;
+import com.smartnsoft.droid4me.log.LoggerFactory;
+import com.smartnsoft.droid4me.log.ParameterizedLogger;
+import com.smartnsoft.droid4me.test.BasisTests;
+
+import junit.framework.Assert;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests the {@link AsynchronousLogger}, including when many threads log concurrently through it.
+ *
+ * @since 2026.10.18
+ */
+public final class AsynchronousLoggerTest
+    extends BasisTests
+{
+
+  /**
+   * Outputs the messages as the standard output does, i.e. through a synchronized and flushed stream.
+   */
+  private static final class StreamLogger
+      extends AbstractLogger
+  {
+
+    private final AtomicLong printedCount = new AtomicLong();
+
+    private final PrintStream stream = new PrintStream(new OutputStream()
+    {
+      @Override
+      public void write(int oneByte)
+      {
+      }
+
+      @Override
+      public void write(byte[] bytes, int offset, int length)
+      {
+      }
+    }, true);
+
+    @Override
+    protected void print(int level, CharSequence message, Throwable throwable)
+    {
+      stream.println(message);
+      printedCount.incrementAndGet();
+    }
+
+  }
+
+  private static final class RecordingLogger
+      extends AbstractLogger
+  {
+
+    private final List<String> messages = new ArrayList<>();
+
+    private CountDownLatch latch;
+
+    @Override
+    protected void print(int level, CharSequence message, Throwable throwable)
+    {
+      if (latch != null)
+      {
+        try
+        {
+          latch.await();
+        }
+        catch (InterruptedException exception)
+        {
+          // Does not matter
+        }
+      }
+      synchronized (messages)
+      {
+        messages.add(message.toString());
+      }
+    }
+
+  }
+
+  /**
+   * Logs the given number of messages from every thread, and waits for all the threads to be over.
+   */
+  private static void log(final ParameterizedLogger logger, int threadsCount, final int messagesCountPerThread)
+      throws InterruptedException
+  {
+    final Thread[] threads = new Thread[threadsCount];
+    for (int threadIndex = 0; threadIndex < threadsCount; threadIndex++)
+    {
+      threads[threadIndex] = new Thread(new Runnable()
+      {
+        @Override
+        public void run()
+        {
+          for (int index = 0; index < messagesCountPerThread; index++)
+          {
+            logger.debug("The message #{} relative to the URI '{}'", index, "http://host/path");
+          }
+        }
+      }, "logging #" + threadIndex);
+    }
+    for (Thread thread : threads)
+    {
+      thread.start();
+    }
+    for (Thread thread : threads)
+    {
+      thread.join();
+    }
+  }
+
+  private final int previousLogLevel = LoggerFactory.logLevel;
+
+  @After
+  public void restoreLogLevel()
+  {
+    LoggerFactory.logLevel = previousLogLevel;
+  }
+
+  @Test
+  public void order()
+  {
+    LoggerFactory.logLevel = Log.DEBUG;
+    final RecordingLogger recordingLogger = new RecordingLogger();
+    final AsynchronousLogger.Appender appender = new AsynchronousLogger.Appender(16, AsynchronousLogger.OverflowPolicy.Block);
+    final AsynchronousLogger logger = new AsynchronousLogger(appender, recordingLogger);
+    final int messagesCount = 1000;
+    for (int index = 0; index < messagesCount; index++)
+    {
+      logger.info("Message #{}", index);
+    }
+
+    Assert.assertTrue("The messages should have been output", appender.flush(5000));
+    Assert.assertEquals("No message should have been discarded", 0, appender.getDiscardedCount());
+    Assert.assertEquals("All the messages should have been output", messagesCount, recordingLogger.messages.size());
+    for (int index = 0; index < messagesCount; index++)
+    {
+      Assert.assertEquals("The messages should have been output in their logging order", "Message #" + index, recordingLogger.messages.get(index));
+    }
+  }
+
+  @Test
+  public void overflowDiscard()
+  {
+    LoggerFactory.logLevel = Log.DEBUG;
+    final RecordingLogger recordingLogger = new RecordingLogger();
+    recordingLogger.latch = new CountDownLatch(1);
+    final AsynchronousLogger.Appender appender = new AsynchronousLogger.Appender(4, AsynchronousLogger.OverflowPolicy.Discard);
+    final AsynchronousLogger logger = new AsynchronousLogger(appender, recordingLogger);
+    final int messagesCount = 20;
+    for (int index = 0; index < messagesCount; index++)
+    {
+      logger.warn("Message #{}", index);
+    }
+    // At most, the ring buffer is full and the background thread is outputting one more message
+    final long discardedCount = appender.getDiscardedCount();
+    recordingLogger.latch.countDown();
+
+    Assert.assertTrue("The overflowing messages should have been discarded", discardedCount >= messagesCount - appender.capacity - 1);
+    Assert.assertTrue("The remaining messages should have been output", appender.flush(5000));
+    Assert.assertEquals("The messages should have been either output or discarded", messagesCount, recordingLogger.messages.size() + discardedCount);
+  }
+
+  @Test
+  public void callerDoesNotWaitForSlowOutput()
+      throws InterruptedException
+  {
+    LoggerFactory.logLevel = Log.DEBUG;
+    final RecordingLogger recordingLogger = new RecordingLogger();
+    // The output is blocked until the latch is released
+    recordingLogger.latch = new CountDownLatch(1);
+    final AsynchronousLogger.Appender appender = new AsynchronousLogger.Appender(1024, AsynchronousLogger.OverflowPolicy.Block);
+    final AsynchronousLogger logger = new AsynchronousLogger(appender, recordingLogger);
+    final int messagesCount = 100;
+    final Thread thread = new Thread(new Runnable()
+    {
+      @Override
+      public void run()
+      {
+        for (int index = 0; index < messagesCount; index++)
+        {
+          logger.info("Message #{}", index);
+        }
+      }
+    }, "logging");
+    thread.start();
+    thread.join(5000);
+    final boolean callerBlocked = thread.isAlive();
+    final int outputCount;
+    synchronized (recordingLogger.messages)
+    {
+      outputCount = recordingLogger.messages.size();
+    }
+    recordingLogger.latch.countDown();
+
+    Assert.assertFalse("The calling thread should not have waited for the blocked output", callerBlocked);
+    Assert.assertEquals("No message should have been output while the output is blocked", 0, outputCount);
+    Assert.assertTrue("The messages should have been output once the output is unblocked", appender.flush(5000));
+    Assert.assertEquals("All the messages should have been output", messagesCount, recordingLogger.messages.size());
+  }
+
+  @Test
+  public void concurrentLogging()
+      throws InterruptedException
+  {
+    LoggerFactory.logLevel = Log.DEBUG;
+    final int threadsCount = 4;
+    final int messagesCountPerThread = 20000;
+    final int messagesCount = threadsCount * messagesCountPerThread;
+
+    final StreamLogger streamLogger = new StreamLogger();
+    final AsynchronousLogger.Appender appender = new AsynchronousLogger.Appender(8192, AsynchronousLogger.OverflowPolicy.Block);
+    AsynchronousLoggerTest.log(new AsynchronousLogger(appender, streamLogger), threadsCount, messagesCountPerThread);
+    Assert.assertTrue("The messages should have been output", appender.flush(10000));
+
+    Assert.assertEquals("All the messages should have been output asynchronously", messagesCount, streamLogger.printedCount.get());
+    Assert.assertEquals("No message should have been discarded", 0, appender.getDiscardedCount());
+  }
+
+}
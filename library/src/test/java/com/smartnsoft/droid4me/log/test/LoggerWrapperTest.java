@@ -0,0 +1,190 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017 Smart&Soft
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+
+package com.smartnsoft.droid4me.log.test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.smartnsoft.droid4me.log.Logger;
+import com.smartnsoft.droid4me.log.LoggerWrapper;
+import com.smartnsoft.droid4me.test.BasisTests;
+
+import junit.framework.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the parameterized methods of the {@link LoggerWrapper}, when it wraps a {@link Logger} which only implements the plain methods.
+ *
+ * @since 2026.10.18
+ */
+public final class LoggerWrapperTest
+    extends BasisTests
+{
+
+  private static final class PlainLogger
+      implements Logger
+  {
+
+    private final List<String> messages = new ArrayList<>();
+
+    private final List<Throwable> throwables = new ArrayList<>();
+
+    private boolean debugEnabled = true;
+
+    @Override
+    public void debug(String message)
+    {
+      record("D " + message, null);
+    }
+
+    @Override
+    public void info(String message)
+    {
+      record("I " + message, null);
+    }
+
+    @Override
+    public void warn(String message)
+    {
+      record("W " + message, null);
+    }
+
+    @Override
+    public void warn(String message, Throwable throwable)
+    {
+      record("W " + message, throwable);
+    }
+
+    @Override
+    public void warn(StringBuffer message, Throwable throwable)
+    {
+      record("W " + message, throwable);
+    }
+
+    @Override
+    public void error(String message)
+    {
+      record("E " + message, null);
+    }
+
+    @Override
+    public void error(String message, Throwable throwable)
+    {
+      record("E " + message, throwable);
+    }
+
+    @Override
+    public void error(StringBuffer message, Throwable throwable)
+    {
+      record("E " + message, throwable);
+    }
+
+    @Override
+    public void fatal(String message)
+    {
+      record("F " + message, null);
+    }
+
+    @Override
+    public void fatal(String message, Throwable throwable)
+    {
+      record("F " + message, throwable);
+    }
+
+    @Override
+    public boolean isDebugEnabled()
+    {
+      return debugEnabled;
+    }
+
+    @Override
+    public boolean isInfoEnabled()
+    {
+      return true;
+    }
+
+    @Override
+    public boolean isWarnEnabled()
+    {
+      return true;
+    }
+
+    @Override
+    public boolean isErrorEnabled()
+    {
+      return true;
+    }
+
+    @Override
+    public boolean isFatalEnabled()
+    {
+      return true;
+    }
+
+    private void record(String message, Throwable throwable)
+    {
+      messages.add(message);
+      throwables.add(throwable);
+    }
+
+  }
+
+  @Test
+  public void formattingOnBehalfOfPlainLogger()
+  {
+    final PlainLogger plainLogger = new PlainLogger();
+    final LoggerWrapper logger = new LoggerWrapper(LoggerWrapperTest.class, plainLogger);
+    final IllegalStateException exception = new IllegalStateException("Expected failure");
+    logger.debug("The URI '{}' took {} ms", "http://host/path", 12L);
+    logger.info("{} + {} = {}", 1, 2, "3");
+    logger.warn("The URI '{}' failed", "http://host/path", exception);
+    logger.error("{} and {}", 3, 4);
+
+    Assert.assertEquals("The debug message should have been formatted", "D The URI 'http://host/path' took 12 ms", plainLogger.messages.get(0));
+    Assert.assertEquals("The info message should have been formatted", "I 1 + 2 = 3", plainLogger.messages.get(1));
+    Assert.assertEquals("The trailing throwable should not have been formatted", "W The URI 'http://host/path' failed", plainLogger.messages.get(2));
+    Assert.assertSame("The trailing throwable should have been handed to the wrapped logger", exception, plainLogger.throwables.get(2));
+    Assert.assertEquals("The error message should have been formatted", "E 3 and 4", plainLogger.messages.get(3));
+  }
+
+  @Test
+  public void disabledLevelIsNotFormatted()
+  {
+    final PlainLogger plainLogger = new PlainLogger();
+    plainLogger.debugEnabled = false;
+    final LoggerWrapper logger = new LoggerWrapper(LoggerWrapperTest.class, plainLogger);
+    final Object argument = new Object()
+    {
+      @Override
+      public String toString()
+      {
+        throw new AssertionError("The argument should not have been formatted");
+      }
+    };
+    logger.debug("The argument {}", argument);
+
+    Assert.assertEquals("Nothing should have been logged", 0, plainLogger.messages.size());
+  }
+
+}
@@ -0,0 +1,254 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017 Smart&Soft
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+
+package com.smartnsoft.droid4me.test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.smartnsoft.droid4me.LifeCycle;
+import com.smartnsoft.droid4me.LifeCycle.BusinessObjectUnavailableException;
+import com.smartnsoft.droid4me.concurrent.CancellationToken;
+
+import junit.framework.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the {@link LifeCycle.ParallelRetrieval}.
+ *
+ * @since 2026.10.18
+ */
+public final class ParallelRetrievalTest
+    extends BasisTests
+{
+
+  private static final class SleepingTask
+      implements LifeCycle.ParallelRetrieval.Task
+  {
+
+    private final long durationInMilliseconds;
+
+    private final AtomicInteger completedCount;
+
+    private SleepingTask(long durationInMilliseconds, AtomicInteger completedCount)
+    {
+      this.durationInMilliseconds = durationInMilliseconds;
+      this.completedCount = completedCount;
+    }
+
+    @Override
+    public void run()
+        throws BusinessObjectUnavailableException
+    {
+      try
+      {
+        Thread.sleep(durationInMilliseconds);
+      }
+      catch (InterruptedException exception)
+      {
+        throw new BusinessObjectUnavailableException(exception);
+      }
+      completedCount.incrementAndGet();
+    }
+
+  }
+
+  @Test
+  public void tasksRunConcurrently()
+      throws BusinessObjectUnavailableException
+  {
+    final AtomicInteger completedCount = new AtomicInteger();
+    final long start = System.currentTimeMillis();
+    new LifeCycle.ParallelRetrieval(null, null).fork("first", 2000, true, new SleepingTask(300, completedCount)).fork("second", 2000, true, new SleepingTask(300, completedCount)).fork("third", 2000, true, new SleepingTask(300, completedCount)).join();
+    final long duration = System.currentTimeMillis() - start;
+
+    Assert.assertEquals("All the tasks should have completed", 3, completedCount.get());
+    Assert.assertTrue("The tasks should have run concurrently, but they took " + duration + " ms", duration < 800);
+  }
+
+  @Test
+  public void optionalTaskFailureDoesNotFailRetrieval()
+      throws BusinessObjectUnavailableException, InterruptedException
+  {
+    final AtomicInteger completedCount = new AtomicInteger();
+    final AtomicBoolean cancelled = new AtomicBoolean();
+    final CountDownLatch interrupted = new CountDownLatch(1);
+    final long start = System.currentTimeMillis();
+    new LifeCycle.ParallelRetrieval(null, null).fork("mandatory", 2000, true, new SleepingTask(100, completedCount)).fork("slow", 200, false, new LifeCycle.ParallelRetrieval.Task()
+    {
+      @Override
+      public void run()
+          throws BusinessObjectUnavailableException
+      {
+        try
+        {
+          Thread.sleep(5000);
+        }
+        catch (InterruptedException exception)
+        {
+          cancelled.set(CancellationToken.getCurrent().isCancelled());
+          interrupted.countDown();
+          throw new BusinessObjectUnavailableException(exception);
+        }
+      }
+    }).join();
+
+    Assert.assertEquals("The mandatory task should have completed", 1, completedCount.get());
+    Assert.assertTrue("The optional task should have been cancelled when its timeout expired", System.currentTimeMillis() - start < 1000);
+    Assert.assertTrue("The optional task should have been interrupted", interrupted.await(1, TimeUnit.SECONDS));
+    Assert.assertTrue("The optional task token should have been cancelled", cancelled.get());
+  }
+
+  @Test
+  public void mandatoryTaskFailureFailsRetrieval()
+  {
+    final AtomicInteger completedCount = new AtomicInteger();
+    final long start = System.currentTimeMillis();
+    try
+    {
+      new LifeCycle.ParallelRetrieval(null, null).fork("timeout", 100, true, new SleepingTask(5000, completedCount)).fork("other", 2000, true, new SleepingTask(3000, completedCount)).join();
+      Assert.fail("The retrieval should have failed");
+    }
+    catch (BusinessObjectUnavailableException exception)
+    {
+      Assert.assertTrue("The failure should come from the timeout", exception.getCause() instanceof TimeoutException);
+      Assert.assertTrue("The other tasks should have been cancelled", System.currentTimeMillis() - start < 1000);
+    }
+    Assert.assertEquals("No task should have completed", 0, completedCount.get());
+  }
+
+  @Test
+  public void lastForkedMandatoryTaskFailureFailsFast()
+      throws InterruptedException
+  {
+    final AtomicInteger completedCount = new AtomicInteger();
+    final CountDownLatch interrupted = new CountDownLatch(2);
+    final LifeCycle.ParallelRetrieval.Task slowTask = new LifeCycle.ParallelRetrieval.Task()
+    {
+      @Override
+      public void run()
+          throws BusinessObjectUnavailableException
+      {
+        try
+        {
+          Thread.sleep(5000);
+        }
+        catch (InterruptedException exception)
+        {
+          interrupted.countDown();
+          throw new BusinessObjectUnavailableException(exception);
+        }
+        completedCount.incrementAndGet();
+      }
+    };
+    final BusinessObjectUnavailableException failure = new BusinessObjectUnavailableException("The web service is not available");
+    final long start = System.currentTimeMillis();
+    try
+    {
+      new LifeCycle.ParallelRetrieval(null, null).fork("first", 10000, true, slowTask).fork("second", 10000, false, slowTask).fork("failing", 10000, true, new LifeCycle.ParallelRetrieval.Task()
+      {
+        @Override
+        public void run()
+            throws BusinessObjectUnavailableException
+        {
+          throw failure;
+        }
+      }).join();
+      Assert.fail("The retrieval should have failed");
+    }
+    catch (BusinessObjectUnavailableException exception)
+    {
+      Assert.assertSame("The failure should come from the failing mandatory task", failure, exception);
+      Assert.assertTrue("The failure should have been detected before the first forked tasks complete", System.currentTimeMillis() - start < 1000);
+    }
+    Assert.assertTrue("The other tasks should have been cancelled", interrupted.await(1, TimeUnit.SECONDS));
+    Assert.assertEquals("No other task should have completed", 0, completedCount.get());
+  }
+
+  @Test
+  public void cancelledRetrievalDoesNotReportFailures()
+      throws BusinessObjectUnavailableException, InterruptedException
+  {
+    final AtomicInteger completedCount = new AtomicInteger();
+    final CountDownLatch interrupted = new CountDownLatch(2);
+    final LifeCycle.ParallelRetrieval.Task slowTask = new LifeCycle.ParallelRetrieval.Task()
+    {
+      @Override
+      public void run()
+          throws BusinessObjectUnavailableException
+      {
+        try
+        {
+          Thread.sleep(5000);
+        }
+        catch (InterruptedException exception)
+        {
+          interrupted.countDown();
+          throw new BusinessObjectUnavailableException(exception);
+        }
+        completedCount.incrementAndGet();
+      }
+    };
+    // The token plays the role of the one of the entity, which is cancelled when the entity is destroyed
+    final CancellationToken cancellationToken = new CancellationToken();
+    final CancellationToken previousToken = CancellationToken.attach(cancellationToken);
+    final long start = System.currentTimeMillis();
+    try
+    {
+      final LifeCycle.ParallelRetrieval parallelRetrieval = new LifeCycle.ParallelRetrieval(null, null).fork("first", 10000, false, slowTask).fork("second", 10000, false, slowTask);
+      new Thread(new Runnable()
+      {
+        @Override
+        public void run()
+        {
+          try
+          {
+            Thread.sleep(200);
+          }
+          catch (InterruptedException exception)
+          {
+            // Does not matter
+          }
+          cancellationToken.cancel();
+        }
+      }).start();
+      parallelRetrieval.join();
+      Assert.fail("The retrieval should have been cancelled instead of reporting the optional tasks failures");
+    }
+    catch (CancellationException exception)
+    {
+      Assert.assertTrue("The retrieval should have been cancelled as soon as the entity token is cancelled", System.currentTimeMillis() - start < 1000);
+    }
+    finally
+    {
+      CancellationToken.attach(previousToken);
+    }
+    Assert.assertTrue("The tasks should have been cancelled", interrupted.await(1, TimeUnit.SECONDS));
+    Assert.assertEquals("No task should have completed", 0, completedCount.get());
+  }
+
+}
@@ -0,0 +1,649 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017 Smart&Soft
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.smartnsoft.droid4me.ws.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.smartnsoft.droid4me.concurrent.CancellationToken;
+import com.smartnsoft.droid4me.test.BasisTests;
+import com.smartnsoft.droid4me.ws.URLConnectionWebServiceCaller;
+import com.smartnsoft.droid4me.ws.WebServiceCaller.HttpResponse;
+import com.smartnsoft.droid4me.ws.WebServiceCaller.MultipartFile;
+import com.smartnsoft.droid4me.ws.WebServiceClient.CallException;
+import com.smartnsoft.droid4me.ws.WebServiceClient.CallType;
+import com.smartnsoft.droid4me.ws.WebServiceMetrics;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import junit.framework.Assert;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Runs the {@link URLConnectionWebServiceCaller} against a local HTTP server which returns scripted status codes.
+ *
+ * @since 2026.10.18
+ */
+public final class URLConnectionWebServiceCallerTest
+    extends BasisTests
+{
+
+  private final static class ScriptedHandler
+      implements HttpHandler
+  {
+
+    private final int[] statusCodes;
+
+    private final String retryAfter;
+
+    private final AtomicInteger requestsCount = new AtomicInteger();
+
+    public ScriptedHandler(String retryAfter, int... statusCodes)
+    {
+      this.retryAfter = retryAfter;
+      this.statusCodes = statusCodes;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange)
+        throws IOException
+    {
+      final int index = requestsCount.getAndIncrement();
+      final int statusCode = statusCodes[Math.min(index, statusCodes.length - 1)];
+      if (retryAfter != null)
+      {
+        exchange.getResponseHeaders().add("Retry-After", retryAfter);
+      }
+      final byte[] bytes = ("Response #" + index).getBytes("UTF-8");
+      exchange.sendResponseHeaders(statusCode, bytes.length);
+      final OutputStream outputStream = exchange.getResponseBody();
+      outputStream.write(bytes);
+      outputStream.close();
+    }
+
+  }
+
+  private final static class RecordingHandler
+      implements HttpHandler
+  {
+
+    private String contentLength;
+
+    private String transferEncoding;
+
+    private byte[] body;
+
+    @Override
+    public void handle(HttpExchange exchange)
+        throws IOException
+    {
+      contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+      transferEncoding = exchange.getRequestHeaders().getFirst("Transfer-Encoding");
+      final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+      final InputStream inputStream = exchange.getRequestBody();
+      final byte[] buffer = new byte[8192];
+      int bytesRead;
+      while ((bytesRead = inputStream.read(buffer)) != -1)
+      {
+        outputStream.write(buffer, 0, bytesRead);
+      }
+      body = outputStream.toByteArray();
+      exchange.sendResponseHeaders(200, -1);
+      exchange.close();
+    }
+
+  }
+
+  /**
+   * Redirects the requests to the "/redirected" path, where their body is recorded.
+   */
+  private final static class RedirectingHandler
+      implements HttpHandler
+  {
+
+    private final RecordingHandler recordingHandler = new RecordingHandler();
+
+    @Override
+    public void handle(HttpExchange exchange)
+        throws IOException
+    {
+      if (exchange.getRequestURI().getPath().endsWith("/redirected") == true)
+      {
+        recordingHandler.handle(exchange);
+        return;
+      }
+      exchange.getResponseHeaders().add("Location", "/redirected");
+      exchange.sendResponseHeaders(307, -1);
+      exchange.close();
+    }
+
+  }
+
+  private final static class BlockingHandler
+      implements HttpHandler
+  {
+
+    private final CountDownLatch latch = new CountDownLatch(1);
+
+    @Override
+    public void handle(HttpExchange exchange)
+        throws IOException
+    {
+      try
+      {
+        latch.await(10, TimeUnit.SECONDS);
+      }
+      catch (InterruptedException exception)
+      {
+        // Does not matter
+      }
+      exchange.sendResponseHeaders(200, -1);
+      exchange.close();
+    }
+
+  }
+
+  /**
+   * Answers to the "/refresh" path, and returns a 401, then a 503 status code, and eventually blocks, for the other paths.
+   */
+  private final static class NestedRequestHandler
+      implements HttpHandler
+  {
+
+    private final AtomicInteger requestsCount = new AtomicInteger();
+
+    private final CountDownLatch latch = new CountDownLatch(1);
+
+    @Override
+    public void handle(HttpExchange exchange)
+        throws IOException
+    {
+      if (exchange.getRequestURI().getPath().endsWith("/refresh") == false)
+      {
+        final int index = requestsCount.getAndIncrement();
+        if (index == 0 || index == 1)
+        {
+          exchange.sendResponseHeaders(index == 0 ? 401 : 503, -1);
+          exchange.close();
+          return;
+        }
+        try
+        {
+          latch.await(10, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException exception)
+        {
+          // Does not matter
+        }
+      }
+      exchange.sendResponseHeaders(200, -1);
+      exchange.close();
+    }
+
+  }
+
+  private static class TestWebServiceCaller
+      extends URLConnectionWebServiceCaller
+  {
+
+    public TestWebServiceCaller()
+    {
+      super(5000, 5000, false);
+    }
+
+    @Override
+    protected String getUrlEncoding()
+    {
+      return "UTF-8";
+    }
+
+    @Override
+    protected String getContentEncoding()
+    {
+      return "UTF-8";
+    }
+
+  }
+
+  private HttpServer server;
+
+  private TestWebServiceCaller webServiceCaller;
+
+  @Before
+  public void setup()
+  {
+    super.setup();
+    webServiceCaller = new TestWebServiceCaller();
+    webServiceCaller.setRetryPolicy(new URLConnectionWebServiceCaller.ExponentialBackoffRetryPolicy(3, 10, 50));
+  }
+
+  @After
+  public void tearDown()
+  {
+    if (server != null)
+    {
+      server.stop(0);
+    }
+  }
+
+  @Test
+  public void retryOnServerError()
+      throws IOException, CallException
+  {
+    final ScriptedHandler handler = startServer(new ScriptedHandler(null, 503, 500, 200));
+    final HttpResponse httpResponse = webServiceCaller.runRequest(computeUri());
+    Assert.assertEquals("The request should eventually succeed", 200, httpResponse.statusCode);
+    Assert.assertEquals("The response should be the third one", "Response #2", webServiceCaller.getString(httpResponse.inputStream));
+    Assert.assertEquals("The request should have been run three times", 3, handler.requestsCount.get());
+    Assert.assertEquals("Two retries should have been reported", 2, webServiceCaller.getRetriesCount());
+  }
+
+  @Test
+  public void giveUpAfterMaximumAttempts()
+      throws IOException
+  {
+    final ScriptedHandler handler = startServer(new ScriptedHandler(null, 502));
+    try
+    {
+      webServiceCaller.runRequest(computeUri());
+      Assert.fail("The request should have failed");
+    }
+    catch (CallException exception)
+    {
+      Assert.assertEquals("The status code should be the last returned one", 502, exception.getStatusCode());
+    }
+    Assert.assertEquals("The request should have been run the maximum number of times", 3, handler.requestsCount.get());
+  }
+
+  @Test
+  public void noRetryOnClientError()
+      throws IOException
+  {
+    final ScriptedHandler handler = startServer(new ScriptedHandler(null, 404, 200));
+    try
+    {
+      webServiceCaller.runRequest(computeUri());
+      Assert.fail("The request should have failed");
+    }
+    catch (CallException exception)
+    {
+      Assert.assertEquals("The status code should be the returned one", 404, exception.getStatusCode());
+    }
+    Assert.assertEquals("The request should have been run once", 1, handler.requestsCount.get());
+  }
+
+  @Test
+  public void noRetryOfNonIdempotentRequestWithoutRetryAfter()
+      throws IOException
+  {
+    final ScriptedHandler handler = startServer(new ScriptedHandler(null, 503, 200));
+    try
+    {
+      webServiceCaller.runRequest(computeUri(), CallType.Post, null, "body");
+      Assert.fail("The request should have failed");
+    }
+    catch (CallException exception)
+    {
+      Assert.assertEquals("The status code should be the returned one", 503, exception.getStatusCode());
+    }
+    Assert.assertEquals("The request should have been run once", 1, handler.requestsCount.get());
+  }
+
+  @Test
+  public void retryOfNonIdempotentRequestWithRetryAfter()
+      throws IOException, CallException
+  {
+    final ScriptedHandler handler = startServer(new ScriptedHandler("0", 429, 200));
+    final HttpResponse httpResponse = webServiceCaller.runRequest(computeUri(), CallType.Post, null, "body");
+    Assert.assertEquals("The request should eventually succeed", 200, httpResponse.statusCode);
+    Assert.assertEquals("The request should have been run twice", 2, handler.requestsCount.get());
+  }
+
+  @Test
+  public void retryDelaysAreBounded()
+  {
+    final URLConnectionWebServiceCaller.ExponentialBackoffRetryPolicy retryPolicy = new URLConnectionWebServiceCaller.ExponentialBackoffRetryPolicy(10, 100, 400);
+    for (int attemptsCount = 1; attemptsCount < 10; attemptsCount++)
+    {
+      final long delayInMilliseconds = retryPolicy.computeRetryDelayInMilliseconds(CallType.Get, 500, null, null, attemptsCount);
+      Assert.assertTrue("The delay should be positive", delayInMilliseconds >= 0);
+      Assert.assertTrue("The delay should not exceed the exponential ceiling", delayInMilliseconds <= Math.min(400, 100 << (attemptsCount - 1)));
+    }
+    Assert.assertEquals("No retry should be attempted beyond the maximum attempts count", -1, retryPolicy.computeRetryDelayInMilliseconds(CallType.Get, 500, null, null, 10));
+    final Map<String, List<String>> headers = Collections.singletonMap("Retry-After", Collections.singletonList("60"));
+    Assert.assertEquals("The Retry-After delay should be capped", 400, retryPolicy.computeRetryDelayInMilliseconds(CallType.Post, 503, headers, null, 1));
+    final SimpleDateFormat dateFormat = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+    dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+    final Map<String, List<String>> dateHeaders = Collections.singletonMap("Retry-After", Collections.singletonList(dateFormat.format(new Date(System.currentTimeMillis() + 60000))));
+    Assert.assertEquals("The Retry-After HTTP-date should delay the retry", 400, retryPolicy.computeRetryDelayInMilliseconds(CallType.Post, 503, dateHeaders, null, 1));
+    final Map<String, List<String>> invalidHeaders = Collections.singletonMap("Retry-After", Collections.singletonList("soon"));
+    Assert.assertEquals("An invalid Retry-After should not allow retrying a non-idempotent request", -1, retryPolicy.computeRetryDelayInMilliseconds(CallType.Post, 503, invalidHeaders, null, 1));
+  }
+
+  @Test
+  public void multipartUploadWithKnownLength()
+      throws IOException, CallException
+  {
+    final RecordingHandler handler = startServer(new RecordingHandler());
+    final byte[] fileBytes = computeFileBytes(1024 * 1024);
+    webServiceCaller.runRequest(computeUri(), CallType.Post, null, Collections.singletonMap("key", "value"), null, Arrays.asList(new MultipartFile("file", "file.bin", "application/octet-stream", new ByteArrayInputStream(fileBytes), fileBytes.length)));
+    Assert.assertNull("The body should not be chunked", handler.transferEncoding);
+    Assert.assertEquals("The declared length should be the actual one", String.valueOf(handler.body.length), handler.contentLength);
+    Assert.assertTrue("The body should embed the file", new String(handler.body, "ISO-8859-1").contains(new String(fileBytes, "ISO-8859-1")));
+  }
+
+  @Test
+  public void multipartUploadWithBody()
+      throws IOException, CallException
+  {
+    final RecordingHandler handler = startServer(new RecordingHandler());
+    final byte[] fileBytes = computeFileBytes(64 * 1024);
+    final String body = "{\"key\":\"value\"}";
+    webServiceCaller.runRequest(computeUri(), CallType.Post, null, null, body, Arrays.asList(new MultipartFile("file", "file.bin", "application/octet-stream", new ByteArrayInputStream(fileBytes), fileBytes.length)));
+    Assert.assertNull("The body should not be chunked", handler.transferEncoding);
+    Assert.assertEquals("The declared length should include the body", String.valueOf(handler.body.length), handler.contentLength);
+    final String content = new String(handler.body, "ISO-8859-1");
+    Assert.assertTrue("The body should embed the file", content.contains(new String(fileBytes, "ISO-8859-1")));
+    Assert.assertTrue("The body should follow the multipart content", content.endsWith("--\r\n\r\n" + body));
+  }
+
+  @Test
+  public void smallBodyFollowsRedirection()
+      throws IOException, CallException
+  {
+    final RedirectingHandler handler = startServer(new RedirectingHandler());
+    webServiceCaller.runRequest(computeUri(), CallType.Post, null, "body");
+    Assert.assertEquals("The body should have been sent again to the redirected URL", "body", new String(handler.recordingHandler.body, "UTF-8"));
+  }
+
+  @Test
+  public void streamedBodyDoesNotFollowRedirection()
+      throws IOException
+  {
+    startServer(new RedirectingHandler());
+    final TestWebServiceCaller streamingWebServiceCaller = new TestWebServiceCaller()
+    {
+      @Override
+      protected int getStreamingThresholdInBytes()
+      {
+        return 0;
+      }
+    };
+    try
+    {
+      streamingWebServiceCaller.runRequest(computeUri(), CallType.Post, null, "body");
+      Assert.fail("A streamed body cannot be sent again to the redirected URL");
+    }
+    catch (CallException exception)
+    {
+      // This is expected
+    }
+  }
+
+  @Test
+  public void multipartUploadWithUnknownLength()
+      throws IOException, CallException
+  {
+    final RecordingHandler handler = startServer(new RecordingHandler());
+    final byte[] fileBytes = computeFileBytes(1024 * 1024);
+    webServiceCaller.runRequest(computeUri(), CallType.Post, null, null, null, Arrays.asList(new MultipartFile("file", "file.bin", "application/octet-stream", new ByteArrayInputStream(fileBytes))));
+    Assert.assertEquals("The body should be chunked", "chunked", handler.transferEncoding);
+    Assert.assertTrue("The body should embed the file", new String(handler.body, "ISO-8859-1").contains(new String(fileBytes, "ISO-8859-1")));
+  }
+
+  @Test
+  public void metricsPerEndpoint()
+      throws IOException, CallException
+  {
+    final ScriptedHandler handler = startServer(new ScriptedHandler(null, 503, 200, 404));
+    final List<WebServiceMetrics.Sample> samples = new ArrayList<>();
+    webServiceCaller.getMetrics().addListener(new WebServiceMetrics.Listener()
+    {
+      @Override
+      public void onSample(WebServiceMetrics.Sample sample)
+      {
+        samples.add(sample);
+      }
+    });
+    webServiceCaller.runRequest(computeUri() + "/12/details?page=1");
+    try
+    {
+      webServiceCaller.runRequest(computeUri() + "/13/details?page=2");
+      Assert.fail("The request should have failed");
+    }
+    catch (CallException exception)
+    {
+      // This is expected
+    }
+    Assert.assertEquals("Each request should produce a sample", 2, samples.size());
+    Assert.assertEquals("The first sample should report the retry", 1, samples.get(0).retriesCount);
+    Assert.assertEquals("The first sample should report the response size", "Response #1".length(), samples.get(0).responseUncompressedBytesCount);
+    final Map<String, WebServiceMetrics.EndpointStats> snapshot = webServiceCaller.getMetrics().getSnapshot();
+    Assert.assertEquals("Both requests should target the same endpoint", 1, snapshot.size());
+    final WebServiceMetrics.EndpointStats endpointStats = snapshot.get("Get " + computeUri() + "/{id}/details");
+    Assert.assertNotNull("The endpoint should be identified by its URL template", endpointStats);
+    Assert.assertEquals("The calls count is not the expected one", 2, endpointStats.callsCount);
+    Assert.assertEquals("The failures count is not the expected one", 1, endpointStats.failuresCount);
+    Assert.assertEquals("The retries count is not the expected one", 1, endpointStats.retriesCount);
+    Assert.assertEquals("The 404 status code should be recorded", Integer.valueOf(1), endpointStats.statusCodesCount.get(404));
+  }
+
+  @Test
+  public void cancellationAbortsRetriedRequestAfterNestedRequest()
+      throws IOException
+  {
+    final NestedRequestHandler handler = startServer(new NestedRequestHandler());
+    final String refreshUri = computeUri() + "/refresh";
+    // The 401 status code triggers a nested token refresh request, the 503 one a retry, and the third attempt blocks until cancelled
+    webServiceCaller = new TestWebServiceCaller()
+    {
+      @Override
+      protected boolean onStatusCodeNotOk(String uri, CallType callType, Map<String, String> postParameters,
+          Map<String, String> headers, String body, HttpURLConnection httpURLConnection, URL url, int statusCode,
+          String statusMessage, int attemptsCount)
+          throws CallException
+      {
+        if (statusCode == 401)
+        {
+          runRequest(refreshUri);
+          return true;
+        }
+        return super.onStatusCodeNotOk(uri, callType, postParameters, headers, body, httpURLConnection, url, statusCode, statusMessage, attemptsCount);
+      }
+    };
+    webServiceCaller.setRetryPolicy(new URLConnectionWebServiceCaller.ExponentialBackoffRetryPolicy(3, 10, 50));
+    final List<WebServiceMetrics.Sample> samples = Collections.synchronizedList(new ArrayList<WebServiceMetrics.Sample>());
+    webServiceCaller.getMetrics().addListener(new WebServiceMetrics.Listener()
+    {
+      @Override
+      public void onSample(WebServiceMetrics.Sample sample)
+      {
+        samples.add(sample);
+      }
+    });
+    final CancellationToken cancellationToken = new CancellationToken();
+    final CancellationToken previousToken = CancellationToken.attach(cancellationToken);
+    final long start = System.currentTimeMillis();
+    try
+    {
+      new Thread(new Runnable()
+      {
+        @Override
+        public void run()
+        {
+          while (handler.requestsCount.get() < 3)
+          {
+            Thread.yield();
+          }
+          cancellationToken.cancel();
+        }
+      }).start();
+      webServiceCaller.runRequest(computeUri());
+      Assert.fail("The request should have been cancelled");
+    }
+    catch (CallException exception)
+    {
+      Assert.assertTrue("The exception should indicate the cancellation", exception.getCause() instanceof InterruptedIOException);
+      Assert.assertTrue("The retried request should have been aborted as soon as cancelled", System.currentTimeMillis() - start < 5000);
+    }
+    finally
+    {
+      CancellationToken.attach(previousToken);
+      handler.latch.countDown();
+    }
+    Assert.assertEquals("Both the nested and the outer requests should have been measured", 2, samples.size());
+    Assert.assertEquals("The nested request should have been measured first", 0, samples.get(0).retriesCount);
+    Assert.assertEquals("The retry of the outer request should have been measured", 1, samples.get(1).retriesCount);
+  }
+
+  @Test
+  public void cancellationAbortsPendingRequest()
+      throws IOException
+  {
+    final BlockingHandler handler = startServer(new BlockingHandler());
+    final CancellationToken cancellationToken = new CancellationToken();
+    final CancellationToken previousToken = CancellationToken.attach(cancellationToken);
+    final long start = System.currentTimeMillis();
+    try
+    {
+      new Thread(new Runnable()
+      {
+        @Override
+        public void run()
+        {
+          try
+          {
+            Thread.sleep(200);
+          }
+          catch (InterruptedException exception)
+          {
+            // Does not matter
+          }
+          cancellationToken.cancel();
+        }
+      }).start();
+      webServiceCaller.runRequest(computeUri());
+      Assert.fail("The request should have been cancelled");
+    }
+    catch (CallException exception)
+    {
+      Assert.assertTrue("The exception should indicate the cancellation", exception.getCause() instanceof InterruptedIOException);
+      Assert.assertTrue("The request should have been aborted as soon as cancelled", System.currentTimeMillis() - start < 3000);
+    }
+    finally
+    {
+      CancellationToken.attach(previousToken);
+      handler.latch.countDown();
+    }
+  }
+
+  @Test
+  public void cancellationAbortsRetryWait()
+      throws IOException
+  {
+    // The Retry-After header asks for a one-minute wait before the retry
+    final ScriptedHandler handler = startServer(new ScriptedHandler("60", 503, 200));
+    webServiceCaller.setRetryPolicy(new URLConnectionWebServiceCaller.ExponentialBackoffRetryPolicy(3, 10, 60000));
+    final CancellationToken cancellationToken = new CancellationToken();
+    final CancellationToken previousToken = CancellationToken.attach(cancellationToken);
+    final long start = System.currentTimeMillis();
+    try
+    {
+      new Thread(new Runnable()
+      {
+        @Override
+        public void run()
+        {
+          try
+          {
+            Thread.sleep(200);
+          }
+          catch (InterruptedException exception)
+          {
+            // Does not matter
+          }
+          cancellationToken.cancel();
+        }
+      }).start();
+      webServiceCaller.runRequest(computeUri());
+      Assert.fail("The request should have been cancelled");
+    }
+    catch (CallException exception)
+    {
+      Assert.assertTrue("The exception should indicate the cancellation", exception.getCause() instanceof InterruptedIOException);
+      Assert.assertTrue("The wait before the retry should have been aborted as soon as cancelled", System.currentTimeMillis() - start < 5000);
+    }
+    finally
+    {
+      CancellationToken.attach(previousToken);
+    }
+    Assert.assertEquals("The request should not have been retried once cancelled", 1, handler.requestsCount.get());
+  }
+
+  private byte[] computeFileBytes(int sizeInBytes)
+  {
+    final byte[] bytes = new byte[sizeInBytes];
+    for (int index = 0; index < sizeInBytes; index++)
+    {
+      bytes[index] = (byte) (index % 251);
+    }
+    return bytes;
+  }
+
+  private <HandlerClass extends HttpHandler> HandlerClass startServer(HandlerClass handler)
+      throws IOException
+  {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/", handler);
+    server.start();
+    return handler;
+  }
+
+  private String computeUri()
+  {
+    return "http://127.0.0.1:" + server.getAddress().getPort() + "/endpoint";
+  }
+
+}
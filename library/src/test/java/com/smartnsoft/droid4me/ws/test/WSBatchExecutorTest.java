@@ -0,0 +1,194 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017 Smart&Soft
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+
+package com.smartnsoft.droid4me.ws.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.smartnsoft.droid4me.test.BasisTests;
+import com.smartnsoft.droid4me.ws.WSBatchExecutor;
+
+import junit.framework.Assert;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the {@link WSBatchExecutor}.
+ *
+ * @since 2026.10.18
+ */
+public final class WSBatchExecutorTest
+    extends BasisTests
+{
+
+  private int previousMaximumConcurrentCallsPerHost;
+
+  private ThreadPoolExecutor threadPool;
+
+  @Before
+  public void save()
+  {
+    previousMaximumConcurrentCallsPerHost = WSBatchExecutor.MAXIMUM_CONCURRENT_CALLS_PER_HOST;
+  }
+
+  @After
+  public void restore()
+  {
+    WSBatchExecutor.MAXIMUM_CONCURRENT_CALLS_PER_HOST = previousMaximumConcurrentCallsPerHost;
+    WSBatchExecutor.setThreadPool(null);
+    if (threadPool != null)
+    {
+      threadPool.shutdownNow();
+    }
+  }
+
+  @Test
+  public void perHostLimit()
+      throws Exception
+  {
+    threadPool = new ThreadPoolExecutor(16, 16, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+    WSBatchExecutor.setThreadPool(threadPool);
+    final AtomicInteger runningCount = new AtomicInteger();
+    final AtomicInteger maximumRunningCount = new AtomicInteger();
+    final List<Future<Integer>> futures = new ArrayList<>();
+    for (int index = 0; index < 12; index++)
+    {
+      final int callIndex = index;
+      futures.add(WSBatchExecutor.submit("http://limit.host/path/" + index, new Callable<Integer>()
+      {
+        @Override
+        public Integer call()
+            throws InterruptedException
+        {
+          final int count = runningCount.incrementAndGet();
+          synchronized (maximumRunningCount)
+          {
+            maximumRunningCount.set(Math.max(maximumRunningCount.get(), count));
+          }
+          Thread.sleep(20);
+          runningCount.decrementAndGet();
+          return callIndex;
+        }
+      }));
+    }
+    for (int index = 0; index < futures.size(); index++)
+    {
+      Assert.assertEquals("The call should have returned its result", index, futures.get(index).get(5, TimeUnit.SECONDS).intValue());
+    }
+
+    Assert.assertEquals("The calls against the same host should have been limited", WSBatchExecutor.MAXIMUM_CONCURRENT_CALLS_PER_HOST, maximumRunningCount.get());
+  }
+
+  @Test
+  public void pendingCallsOrder()
+      throws Exception
+  {
+    WSBatchExecutor.MAXIMUM_CONCURRENT_CALLS_PER_HOST = 1;
+    threadPool = new ThreadPoolExecutor(4, 4, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+    WSBatchExecutor.setThreadPool(threadPool);
+    final List<Integer> order = Collections.synchronizedList(new ArrayList<Integer>());
+    final List<Future<Void>> futures = new ArrayList<>();
+    for (int index = 0; index < 10; index++)
+    {
+      final int callIndex = index;
+      futures.add(WSBatchExecutor.submit("http://order.host/path/" + index, new Callable<Void>()
+      {
+        @Override
+        public Void call()
+        {
+          order.add(callIndex);
+          return null;
+        }
+      }));
+    }
+    for (Future<Void> future : futures)
+    {
+      future.get(5, TimeUnit.SECONDS);
+    }
+
+    for (int index = 0; index < 10; index++)
+    {
+      Assert.assertEquals("The pending calls against the same host should have been run in their submission order", index, order.get(index).intValue());
+    }
+  }
+
+  @Test
+  public void rejectionReleasesHostSlot()
+      throws Exception
+  {
+    WSBatchExecutor.MAXIMUM_CONCURRENT_CALLS_PER_HOST = 1;
+    threadPool = new ThreadPoolExecutor(1, 1, 10, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), new ThreadPoolExecutor.AbortPolicy());
+    WSBatchExecutor.setThreadPool(threadPool);
+    final CountDownLatch releaseLatch = new CountDownLatch(1);
+    final Future<String> blockingFuture = WSBatchExecutor.submit("http://busy.host/path", new Callable<String>()
+    {
+      @Override
+      public String call()
+          throws InterruptedException
+      {
+        releaseLatch.await();
+        return "busy";
+      }
+    });
+    final Callable<String> callable = new Callable<String>()
+    {
+      @Override
+      public String call()
+      {
+        return "rejected";
+      }
+    };
+    final Future<String> rejectedFuture = WSBatchExecutor.submit("http://rejected.host/path", callable);
+    try
+    {
+      rejectedFuture.get(5, TimeUnit.SECONDS);
+      Assert.fail("The rejected call should have failed");
+    }
+    catch (ExecutionException exception)
+    {
+      Assert.assertTrue("The rejected call should have failed with the rejection", exception.getCause() instanceof RejectedExecutionException);
+    }
+    releaseLatch.countDown();
+    Assert.assertEquals("The blocking call should have returned its result", "busy", blockingFuture.get(5, TimeUnit.SECONDS));
+
+    // We wait for the single thread to be available again, and had the rejected call kept its host slot, the next call would wait forever
+    while (threadPool.getActiveCount() > 0)
+    {
+      Thread.sleep(5);
+    }
+    Assert.assertEquals("The host slot should have been released by the rejected call", "rejected", WSBatchExecutor.submit("http://rejected.host/path", callable).get(5, TimeUnit.SECONDS));
+  }
+
+}